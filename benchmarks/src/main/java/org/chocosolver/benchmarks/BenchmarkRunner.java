@@ -0,0 +1,39 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * It accepts the usual JMH command line options (for instance, a regular expression to select benchmarks),
+ * but, unless stated otherwise, results are written in JSON in <i>jmh-result.json</i>,
+ * so that runs of two releases can be compared with any JMH result viewer.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar "micro.*" -rf json -rff micro.json
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        Options opt = new OptionsBuilder()
+                .parent(cmd)
+                .resultFormat(cmd.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cmd.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.macro;
+
+import org.chocosolver.examples.AbstractProblem;
+import org.chocosolver.examples.integer.AirPlaneLanding;
+import org.chocosolver.examples.integer.CarSequencing;
+import org.chocosolver.examples.integer.Nonogram;
+import org.chocosolver.examples.nqueen.NQueenGlobal;
+import org.chocosolver.parser.SetUpException;
+import org.chocosolver.solver.Solver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to build and solve some models from the examples module.
+ * Satisfaction problems are solved to the first solution, optimization problems to optimality.
+ * <p>
+ * The seed is passed to each problem, so that two runs explore the same search tree.
+ * The number of nodes explored is part of the returned value,
+ * which prevents the JIT from discarding the resolution.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExamplesBenchmark {
+
+    @Param({"29091981"})
+    public long seed;
+
+    private long run(AbstractProblem problem, String... args) throws SetUpException {
+        String[] all = new String[args.length + 2];
+        all[0] = "-seed";
+        all[1] = Long.toString(seed);
+        System.arraycopy(args, 0, all, 2, args.length);
+        problem.setUp(all);
+        problem.buildModel();
+        problem.configureSearch();
+        Solver solver = problem.getModel().getSolver();
+        if (solver.hasObjective()) {
+            //noinspection StatementWithEmptyBody
+            while (solver.solve()) {
+            }
+        } else {
+            solver.solve();
+        }
+        return solver.getNodeCount();
+    }
+
+    @Benchmark
+    public long nQueen() throws SetUpException {
+        return run(new NQueenGlobal(), "-q", "40");
+    }
+
+    @Benchmark
+    public long carSequencing() throws SetUpException {
+        return run(new CarSequencing(), "-d", "P4_72");
+    }
+
+    @Benchmark
+    public long airPlaneLanding() throws SetUpException {
+        return run(new AirPlaneLanding(), "-d", "airland1");
+    }
+
+    @Benchmark
+    public long nonogram() throws SetUpException {
+        return run(new Nonogram(), "-d", "rabbit");
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.chocosolver.solver.variables.impl.BitsetIntVarImpl#removeValue},
+ * by removing half of the values of an enumerated domain, in random order, in one world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitsetRemoveValueBenchmark {
+
+    @Param({"64", "1024"})
+    public int size;
+
+    @Param({"0"})
+    public long seed;
+
+    private Model model;
+    private IntVar var;
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new Model();
+        var = model.intVar("x", 0, size - 1, false);
+        Random rnd = new Random(seed);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+
+    @Benchmark
+    public int removeValues() throws ContradictionException {
+        model.getEnvironment().worldPush();
+        for (int i = 0; i < size / 2; i++) {
+            var.removeValue(values[i], Cause.Null);
+        }
+        int card = var.getDomainSize();
+        model.getEnvironment().worldPop();
+        return card;
+    }
+}
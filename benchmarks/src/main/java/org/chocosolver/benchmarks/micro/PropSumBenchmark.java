@@ -0,0 +1,81 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.nary.sum.PropSum;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PropSum#propagate(int)} alone, on a long linear inequality.
+ * Each invocation opens a world, raises the lower bound of a random variable,
+ * runs the filtering algorithm once and backtracks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropSumBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    @Param({"0"})
+    public long seed;
+
+    private static final int MODIFICATIONS = 256;
+
+    private IEnvironment environment;
+    private PropSum propagator;
+    private IntVar[] vars;
+    private int[] varIdx;
+    private int[] bounds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ContradictionException {
+        Model model = new Model();
+        vars = model.intVarArray("x", size, 0, 100, true);
+        propagator = new PropSum(vars, size, Operator.LE, 40 * size);
+        new Constraint("SUM", propagator).post();
+        model.getSolver().propagate();
+        environment = model.getEnvironment();
+        Random rnd = new Random(seed);
+        varIdx = new int[MODIFICATIONS];
+        bounds = new int[MODIFICATIONS];
+        for (int i = 0; i < MODIFICATIONS; i++) {
+            varIdx[i] = rnd.nextInt(size);
+            bounds[i] = rnd.nextInt(101);
+        }
+    }
+
+    @Benchmark
+    public int propagate() throws ContradictionException {
+        environment.worldPush();
+        int i = next++ % MODIFICATIONS;
+        vars[varIdx[i]].updateLowerBound(bounds[i], Cause.Null);
+        propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        int ub = vars[0].getUB();
+        environment.worldPop();
+        return ub;
+    }
+}
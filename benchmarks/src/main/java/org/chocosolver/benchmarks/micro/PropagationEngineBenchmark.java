@@ -0,0 +1,104 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PropagationEngine#propagate()} on a network mixing binary, linear and global constraints
+ * (a magic-square-like model).
+ * Each invocation opens a world, instantiates a few random variables,
+ * reaches the fix point (or fails) and backtracks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropagationEngineBenchmark {
+
+    @Param({"5"})
+    public int n;
+
+    @Param({"0"})
+    public long seed;
+
+    private static final int DECISIONS = 256;
+
+    private IEnvironment environment;
+    private PropagationEngine engine;
+    private IntVar[] vars;
+    private int[] varIdx;
+    private int[] values;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ContradictionException {
+        Model model = new Model();
+        int ms = n * (n * n + 1) / 2;
+        vars = model.intVarArray("x", n * n, 1, n * n, false);
+        model.allDifferent(vars, "AC").post();
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            IntVar[] row = new IntVar[n];
+            IntVar[] col = new IntVar[n];
+            for (int j = 0; j < n; j++) {
+                row[j] = vars[i * n + j];
+                col[j] = vars[j * n + i];
+            }
+            model.sum(row, "=", ms).post();
+            model.sum(col, "=", ms).post();
+            diag1[i] = vars[i * n + i];
+            diag2[i] = vars[i * n + n - 1 - i];
+        }
+        model.sum(diag1, "=", ms).post();
+        model.sum(diag2, "=", ms).post();
+        model.arithm(vars[0], "<", vars[n - 1]).post();
+        model.getSolver().propagate();
+        environment = model.getEnvironment();
+        engine = model.getSolver().getEngine();
+        Random rnd = new Random(seed);
+        varIdx = new int[DECISIONS];
+        values = new int[DECISIONS];
+        for (int i = 0; i < DECISIONS; i++) {
+            varIdx[i] = rnd.nextInt(vars.length);
+            values[i] = 1 + rnd.nextInt(n * n);
+        }
+    }
+
+    @Benchmark
+    public boolean propagate() {
+        boolean ok = true;
+        environment.worldPush();
+        try {
+            for (int k = 0; k < 3; k++) {
+                int i = next++ % DECISIONS;
+                vars[varIdx[i]].instantiateTo(values[i], Cause.Null);
+                engine.propagate();
+            }
+        } catch (ContradictionException e) {
+            engine.flush();
+            ok = false;
+        }
+        environment.worldPop();
+        return ok;
+    }
+}
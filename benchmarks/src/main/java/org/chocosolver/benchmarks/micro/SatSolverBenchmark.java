@@ -0,0 +1,103 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.SatSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares unit propagation in {@link SatSolver} with the former implementation based on hash maps
+ * ({@link HashSatSolver}), on a random 3-SAT instance.
+ * Each invocation dives by propagating random literals, as {@code PropSat} does,
+ * until a failure or a given depth, then backtracks to the root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SatSolverBenchmark {
+
+    @Param({"array", "hash"})
+    public String implementation;
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"4.0"})
+    public double ratio;
+
+    @Param({"50"})
+    public int depth;
+
+    @Param({"0"})
+    public long seed;
+
+    private static final int DECISIONS = 4096;
+
+    private SatSolver array;
+    private HashSatSolver hash;
+    private int[] decisions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(seed);
+        if (implementation.equals("array")) {
+            array = new SatSolver();
+            for (int i = 0; i < size; i++) {
+                array.newVariable();
+            }
+        } else {
+            hash = new HashSatSolver();
+            for (int i = 0; i < size; i++) {
+                hash.newVariable();
+            }
+        }
+        TIntArrayList clause = new TIntArrayList(3);
+        for (int c = 0; c < ratio * size; c++) {
+            clause.resetQuick();
+            while (clause.size() < 3) {
+                int v = rnd.nextInt(size);
+                if (!clause.contains(SatSolver.makeLiteral(v, true))
+                        && !clause.contains(SatSolver.makeLiteral(v, false))) {
+                    clause.add(SatSolver.makeLiteral(v, rnd.nextBoolean()));
+                }
+            }
+            if (array != null) {
+                array.addClause(clause);
+            } else {
+                hash.addClause(clause);
+            }
+        }
+        decisions = new int[DECISIONS];
+        for (int i = 0; i < DECISIONS; i++) {
+            decisions[i] = SatSolver.makeLiteral(rnd.nextInt(size), rnd.nextBoolean());
+        }
+    }
+
+    @Benchmark
+    public int dive() {
+        int d = 0;
+        if (array != null) {
+            while (d++ < depth && array.propagateOneLiteral(decisions[next++ & (DECISIONS - 1)])) ;
+            array.cancelUntil(0);
+        } else {
+            while (d++ < depth && hash.propagateOneLiteral(decisions[next++ & (DECISIONS - 1)])) ;
+            hash.cancelUntil(0);
+        }
+        return d;
+    }
+}
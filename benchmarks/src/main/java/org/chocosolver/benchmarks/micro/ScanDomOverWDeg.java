@@ -0,0 +1,137 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.IntMap;
+
+/**
+ * The former implementation of {@link org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg},
+ * which computes the weight of all uninstantiated variables at each decision.
+ * It is only kept as a baseline for {@link VariableSelectionBenchmark}.
+ */
+@SuppressWarnings("rawtypes")
+final class ScanDomOverWDeg extends AbstractStrategy<IntVar> implements IMonitorContradiction {
+
+    private final java.util.Random random;
+    private final IStateInt last;
+    private final IntValueSelector valueSelector;
+    private final TIntArrayList bests = new TIntArrayList();
+    private final IntMap pid2arity;
+    private final IntMap p2w = new IntMap(10, 0);
+
+    ScanDomOverWDeg(IntVar[] vars, long seed, IntValueSelector valueSelector) {
+        super(vars);
+        this.random = new java.util.Random(seed);
+        this.valueSelector = valueSelector;
+        this.last = vars[0].getModel().getEnvironment().makeInt(vars.length - 1);
+        this.pid2arity = new IntMap(vars[0].getModel().getCstrs().length * 3 / 2 + 1, -1);
+    }
+
+    @Override
+    public boolean init() {
+        if (!vars[0].getModel().getSolver().getSearchMonitors().contains(this)) {
+            vars[0].getModel().getSolver().plugMonitor(this);
+        }
+        return true;
+    }
+
+    @Override
+    public void remove() {
+        if (vars[0].getModel().getSolver().getSearchMonitors().contains(this)) {
+            vars[0].getModel().getSolver().unplugMonitor(this);
+        }
+    }
+
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        if (cex.c instanceof Propagator) {
+            p2w.putOrAdjust(((Propagator) cex.c).getId(), 1, 1);
+        }
+    }
+
+    @Override
+    public Decision<IntVar> getDecision() {
+        IntVar best = null;
+        bests.resetQuick();
+        pid2arity.clear();
+        double w = 0.;
+        int to = last.get();
+        for (int idx = 0; idx <= to; idx++) {
+            int dsize = vars[idx].getDomainSize();
+            if (dsize > 1) {
+                double weight = weight(vars[idx]);
+                if (w < weight) {
+                    bests.resetQuick();
+                    bests.add(idx);
+                    w = weight;
+                } else if (w == weight) {
+                    bests.add(idx);
+                }
+            } else {
+                IntVar tmp = vars[to];
+                vars[to] = vars[idx];
+                vars[idx] = tmp;
+                idx--;
+                to--;
+            }
+        }
+        last.set(to);
+        if (bests.size() > 0) {
+            best = vars[bests.get(random.nextInt(bests.size()))];
+        }
+        return computeDecision(best);
+    }
+
+    @Override
+    public Decision<IntVar> computeDecision(IntVar variable) {
+        if (variable == null || variable.isInstantiated()) {
+            return null;
+        }
+        return variable.getModel().getSolver().getDecisionPath()
+                .makeIntDecision(variable, DecisionOperatorFactory.makeIntEq(), valueSelector.selectValue(variable));
+    }
+
+    private double weight(IntVar v) {
+        int w = 1;
+        int nbp = v.getNbProps();
+        for (int i = 0; i < nbp; i++) {
+            Propagator prop = v.getPropagator(i);
+            if (futVars(prop) > 1) {
+                w += p2w.get(prop.getId());
+            }
+        }
+        return w * 1.d / v.getDomainSize();
+    }
+
+    private int futVars(Propagator prop) {
+        int pid = prop.getId();
+        int futVars = pid2arity.get(pid);
+        if (futVars == -1) {
+            futVars = 0;
+            for (int i = 0; i < prop.getNbVars() && futVars < 2; i++) {
+                if (!prop.getVar(i).isInstantiated()) {
+                    futVars++;
+                }
+            }
+            pid2arity.put(pid, futVars);
+        }
+        return futVars;
+    }
+}
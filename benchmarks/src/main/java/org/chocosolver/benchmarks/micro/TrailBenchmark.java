@@ -0,0 +1,90 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of saving states, that is
+ * {@link org.chocosolver.memory.trailing.trail.chunck.ChunckedIntTrail#savePreviousState} and its siblings,
+ * and of restoring them.
+ * Each invocation opens <i>depth</i> worlds, modifies a random subset of the states in each of them,
+ * then backtracks to the root world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrailBenchmark {
+
+    @Param({"chunk", "flat", "copy"})
+    public String environment;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"50"})
+    public int depth;
+
+    @Param({"0"})
+    public long seed;
+
+    private IEnvironment env;
+    private IStateInt[] states;
+    private int[][] modified;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EnvironmentBuilder builder = new EnvironmentBuilder();
+        switch (environment) {
+            case "chunk":
+                builder.fromChunk();
+                break;
+            case "copy":
+                builder.fromCopy();
+                break;
+            default:
+                builder.fromFlat();
+        }
+        env = builder.build();
+        states = new IStateInt[size];
+        for (int i = 0; i < size; i++) {
+            states[i] = env.makeInt(i);
+        }
+        Random rnd = new Random(seed);
+        modified = new int[depth][size / 10];
+        for (int d = 0; d < depth; d++) {
+            for (int i = 0; i < modified[d].length; i++) {
+                modified[d][i] = rnd.nextInt(size);
+            }
+        }
+    }
+
+    @Benchmark
+    public int saveAndRestore() {
+        for (int d = 0; d < depth; d++) {
+            env.worldPush();
+            int[] mod = modified[d];
+            for (int i = 0; i < mod.length; i++) {
+                states[mod[i]].add(1);
+            }
+        }
+        env.worldPopUntil(0);
+        return states[0].get();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.micro;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DomOverWDeg}, which keeps variables in a heap, with the former implementation
+ * which computes the weight of all variables at each decision ({@link ScanDomOverWDeg}).
+ * Each invocation explores a given number of nodes of a random graph coloring problem.
+ * Both implementations select the same variables, so they explore the same search tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VariableSelectionBenchmark {
+
+    @Param({"heap", "scan"})
+    public String implementation;
+
+    @Param({"1000", "50000"})
+    public int size;
+
+    @Param({"2.2"})
+    public double density;
+
+    @Param({"1000"})
+    public int nodes;
+
+    @Param({"0"})
+    public long seed;
+
+    private Solver solver;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        Random rnd = new Random(seed);
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("c", size, 0, 3);
+        for (int e = 0; e < density * size; e++) {
+            int i = rnd.nextInt(size);
+            int j = rnd.nextInt(size);
+            if (i != j) {
+                model.arithm(vars[i], "!=", vars[j]).post();
+            }
+        }
+        solver = model.getSolver();
+        if (implementation.equals("heap")) {
+            solver.setSearch(new DomOverWDeg(vars, seed, new IntDomainMin()));
+        } else {
+            solver.setSearch(new ScanDomOverWDeg(vars, seed, new IntDomainMin()));
+        }
+        solver.limitNode(nodes);
+    }
+
+    @Benchmark
+    public long explore() {
+        solver.solve();
+        return solver.getNodeCount();
+    }
+}
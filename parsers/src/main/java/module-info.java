@@ -19,6 +19,7 @@ module org.chocosolver.parsers {
     requires xcsp3.tools;
     requires args4j;
     requires java.sql;
+    requires java.xml;
     requires org.antlr.antlr4.runtime;
     requires trove4j;
 
@@ -0,0 +1,96 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only file mapped in memory, possibly larger than 2GB.
+ * <p>
+ * The file is mapped in segments of 1GB, and bytes are read by absolute position,
+ * without copying them on the heap.
+ * Instances can be shared by threads, since reading does not modify any position.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public final class MappedFile {
+
+    private static final int SEGMENT_BITS = 30;
+
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long size;
+
+    /**
+     * Map <i>path</i> in memory
+     *
+     * @param path a regular file
+     * @throws IOException if the file cannot be read or mapped
+     */
+    public MappedFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.size = channel.size();
+            int n = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+            this.segments = new MappedByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                long from = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(SEGMENT_MASK + 1, size - from));
+            }
+        }
+    }
+
+    /**
+     * @return the size of the file, in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param pos a position in [0, {@link #size()}[
+     * @return the byte at position <i>pos</i>
+     */
+    public byte get(long pos) {
+        return segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK));
+    }
+
+    /**
+     * Decode the bytes in [<i>from</i>, <i>to</i>[
+     *
+     * @param from    position of the first byte
+     * @param to      position following the last byte
+     * @param charset charset to decode bytes with
+     * @return the decoded string
+     */
+    public String getString(long from, long to, Charset charset) {
+        byte[] bytes = new byte[(int) (to - from)];
+        int s = (int) (from >>> SEGMENT_BITS);
+        if (s == (int) ((to - 1) >>> SEGMENT_BITS)) {
+            // duplicate() keeps the segment shareable
+            ByteBuffer b = segments[s].duplicate();
+            b.position((int) (from & SEGMENT_MASK));
+            b.get(bytes);
+        } else {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = get(from + i);
+            }
+        }
+        return new String(bytes, charset);
+    }
+}
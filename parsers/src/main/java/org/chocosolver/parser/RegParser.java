@@ -28,6 +28,9 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
  * A regular parser with default and common services
@@ -116,6 +119,10 @@ public abstract class RegParser implements IParser {
             "--nb-cores"}, usage = "Number of cores available for parallel search (default: 1).")
     protected int nb_cores = 1;
 
+    @Option(name = "-pb", aliases = {
+            "--nb-builders"}, usage = "Maximum number of models built at the same time (default: 2).")
+    protected int nb_builders = 2;
+
     @Option(name = "-seed", usage = "Set the seed for random number generator. ")
     protected long seed = 0L;
 
@@ -216,6 +223,59 @@ public abstract class RegParser implements IParser {
         return true;
     }
 
+    /**
+     * Build the models declared in the portfolio by calling <i>builder</i> with the index of each model.
+     * When more than one model is declared, they are built by at most <i>nb_builders</i> threads,
+     * each of them building one model after the other.
+     * Each model being built holds its own parsing structures in memory,
+     * so this bounds the peak memory of the startup while still preparing workers concurrently.
+     * The first exception thrown by a builder, if any, is rethrown once all threads are done.
+     *
+     * @param builder builds the model whose index is given in parameter
+     */
+    protected final void buildModels(IntConsumer builder) {
+        int n = portfolio.getModels().size();
+        int b = Math.max(1, Math.min(n, nb_builders));
+        if (b == 1) {
+            for (int i = 0; i < n; i++) {
+                builder.accept(i);
+            }
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[b];
+        for (int i = 0; i < b; i++) {
+            threads[i] = new Thread(() -> {
+                int idx;
+                while (failure.get() == null && (idx = next.getAndIncrement()) < n) {
+                    try {
+                        builder.accept(idx);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            }, "build-model-" + (i + 1));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new RuntimeException(t);
+        }
+    }
+
     /**
      * Create a complementary search on non-decision variables
      *
@@ -330,6 +390,13 @@ public abstract class RegParser implements IParser {
         return m;
     }
 
+    /**
+     * @return the resolution portfolio, which contains one model per core
+     */
+    public final ParallelPortfolio getPortfolio() {
+        return portfolio;
+    }
+
     public final int bestModelID() {
         Model best = getModel();
         for (int i = 0; i < nb_cores; i++) {
@@ -11,6 +11,7 @@ package org.chocosolver.parser.flatzinc;
 
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.chocosolver.parser.MappedFile;
 import org.chocosolver.parser.ParserListener;
 import org.chocosolver.parser.RegParser;
 import org.chocosolver.parser.flatzinc.ast.Datas;
@@ -23,6 +24,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -110,23 +113,79 @@ public class Flatzinc extends RegParser {
     public void buildModel() {
         listeners.forEach(ParserListener::beforeParsingFile);
         List<Model> models = portfolio.getModels();
-        for (int i = 0; i < models.size(); i++) {
-            try {
-                FileInputStream fileInputStream = new FileInputStream(new File(instance));
-                parse(models.get(i), datas[i], fileInputStream);
-                fileInputStream.close();
-            } catch (IOException e) {
-                throw new Error(e.getMessage());
+        // the file is mapped once and, if possible, never copied on the heap
+        MappedFile file = map(instance);
+        if (models.size() == 1) {
+            // a single model is fed while lexing
+            if (file != null) {
+                parse(models.get(0), datas[0], new MappedCharStream(file, instance), false);
+            } else {
+                try (FileInputStream fileInputStream = new FileInputStream(new File(instance))) {
+                    parse(models.get(0), datas[0], fileInputStream);
+                } catch (IOException e) {
+                    throw new Error(e.getMessage());
+                }
+            }
+        } else {
+            // otherwise, the instance is lexed once and its tokens are replayed into each model
+            FlatzincTokens tokens;
+            if (file != null) {
+                tokens = FlatzincTokens.lex(new MappedCharStream(file, instance), false);
+            } else {
+                try (FileInputStream fileInputStream = new FileInputStream(new File(instance))) {
+                    tokens = FlatzincTokens.lex(new UnbufferedCharStream(fileInputStream), true);
+                } catch (IOException e) {
+                    throw new Error(e.getMessage());
+                }
             }
+            // each model owns its parser, so they can be fed concurrently
+            buildModels(i -> parse(models.get(i), datas[i], new UnbufferedTokenStream<CommonToken>(tokens.replay())));
         }
         listeners.forEach(ParserListener::afterParsingFile);
     }
 
+    /**
+     * Map <i>instance</i> in memory, if it is a regular file smaller than 2GB
+     *
+     * @param instance path to a flatzinc file
+     * @return the mapped file, or <i>null</i> if the file has to be streamed
+     */
+    private static MappedFile map(String instance) {
+        Path path = Paths.get(instance);
+        try {
+            if (Files.isRegularFile(path) && Files.size(path) > 0 && Files.size(path) <= Integer.MAX_VALUE) {
+                return new MappedFile(path);
+            }
+        } catch (IOException ignored) {
+            // fall back to streaming
+        }
+        return null;
+    }
+
     public void parse(Model target, Datas data, InputStream is) {
-        CharStream input = new UnbufferedCharStream(is);
+        parse(target, data, new UnbufferedCharStream(is), true);
+    }
+
+    /**
+     * Parse a flatzinc file mapped in memory.
+     * Token texts are not copied by the lexer but decoded from the file when needed.
+     *
+     * @param target model to fill
+     * @param data   data of the model
+     * @param path   path to an UTF-8 flatzinc file, smaller than 2GB
+     * @throws IOException if the file cannot be mapped
+     */
+    public void parse(Model target, Datas data, Path path) throws IOException {
+        parse(target, data, new MappedCharStream(new MappedFile(path), path.toString()), false);
+    }
+
+    private void parse(Model target, Datas data, CharStream input, boolean copyText) {
         Flatzinc4Lexer lexer = new Flatzinc4Lexer(input);
-        lexer.setTokenFactory(new CommonTokenFactory(true));
-        TokenStream tokens = new UnbufferedTokenStream<CommonToken>(lexer);
+        lexer.setTokenFactory(new CommonTokenFactory(copyText));
+        parse(target, data, new UnbufferedTokenStream<CommonToken>(lexer));
+    }
+
+    private void parse(Model target, Datas data, TokenStream tokens) {
         Flatzinc4Parser parser = new Flatzinc4Parser(tokens);
         parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
         parser.setBuildParseTree(false);
@@ -160,6 +219,9 @@ public class Flatzinc extends RegParser {
         }
         userinterruption = false;
         Runtime.getRuntime().removeShutdownHook(statOnKill);
+        if (stat && solver.getPresolver() != null) {
+            System.out.printf("%% %s\n", solver.getPresolver());
+        }
         datas[0].doFinalOutPut(!userinterruption && runInTime());
     }
 
@@ -0,0 +1,168 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc;
+
+import org.antlr.v4.runtime.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A flatzinc instance lexed once and stored in a compact form: a type, a line and, when it is not a keyword,
+ * a text for each token.
+ * Identical texts are shared, so an identifier referenced many times is stored once.
+ * <p>
+ * The tokens can then be replayed into as many parsers as needed, concurrently,
+ * which avoids reading and lexing the instance once per model.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+final class FlatzincTokens {
+
+    /**
+     * Texts of the keywords and symbols, indexed by token type
+     */
+    private static final String[] LITERALS;
+
+    static {
+        Vocabulary vocabulary = Flatzinc4Lexer.VOCABULARY;
+        LITERALS = new String[vocabulary.getMaxTokenType() + 1];
+        for (int t = 0; t < LITERALS.length; t++) {
+            String literal = vocabulary.getLiteralName(t);
+            if (literal != null) {
+                LITERALS[t] = literal.substring(1, literal.length() - 1);
+            }
+        }
+    }
+
+    private final String name;
+
+    private int[] types;
+
+    private int[] lines;
+
+    private String[] texts;
+
+    private int size;
+
+    private FlatzincTokens(String name) {
+        this.name = name;
+        this.types = new int[1024];
+        this.lines = new int[1024];
+        this.texts = new String[1024];
+    }
+
+    /**
+     * Lex <i>input</i> until its end
+     *
+     * @param input    the flatzinc instance
+     * @param copyText set to <i>true</i> when the input does not keep the characters read, like an unbuffered stream
+     * @return the tokens of <i>input</i>, ended by {@link Token#EOF}
+     */
+    static FlatzincTokens lex(CharStream input, boolean copyText) {
+        Flatzinc4Lexer lexer = new Flatzinc4Lexer(input);
+        lexer.setTokenFactory(new CommonTokenFactory(copyText));
+        FlatzincTokens tokens = new FlatzincTokens(input.getSourceName());
+        HashMap<String, String> shared = new HashMap<>();
+        Token token;
+        do {
+            token = lexer.nextToken();
+            int type = token.getType();
+            String text = null;
+            if (type != Token.EOF && (type >= LITERALS.length || LITERALS[type] == null)) {
+                text = shared.computeIfAbsent(token.getText(), s -> s);
+            }
+            tokens.add(type, token.getLine(), text);
+        } while (token.getType() != Token.EOF);
+        tokens.trim();
+        return tokens;
+    }
+
+    private void add(int type, int line, String text) {
+        if (size == types.length) {
+            int capacity = size + (size >> 1);
+            types = Arrays.copyOf(types, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        types[size] = type;
+        lines[size] = line;
+        texts[size] = text;
+        size++;
+    }
+
+    private void trim() {
+        types = Arrays.copyOf(types, size);
+        lines = Arrays.copyOf(lines, size);
+        texts = Arrays.copyOf(texts, size);
+    }
+
+    /**
+     * @return a new source replaying the tokens from the first one.
+     * Sources do not modify the tokens, so they can be consumed by different threads.
+     */
+    TokenSource replay() {
+        return new Replay();
+    }
+
+    private final class Replay implements TokenSource {
+
+        private int p;
+
+        private TokenFactory<?> factory = CommonTokenFactory.DEFAULT;
+
+        @Override
+        public Token nextToken() {
+            int i = Math.min(p, size - 1);
+            if (p < size) {
+                p++;
+            }
+            int type = types[i];
+            String text = texts[i];
+            if (text == null) {
+                text = type == Token.EOF ? "<EOF>" : LITERALS[type];
+            }
+            CommonToken token = new CommonToken(type, text);
+            token.setLine(lines[i]);
+            return token;
+        }
+
+        @Override
+        public int getLine() {
+            return lines[Math.min(p, size - 1)];
+        }
+
+        @Override
+        public int getCharPositionInLine() {
+            return -1;
+        }
+
+        @Override
+        public CharStream getInputStream() {
+            return null;
+        }
+
+        @Override
+        public String getSourceName() {
+            return name;
+        }
+
+        @Override
+        public void setTokenFactory(TokenFactory<?> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public TokenFactory<?> getTokenFactory() {
+            return factory;
+        }
+    }
+}
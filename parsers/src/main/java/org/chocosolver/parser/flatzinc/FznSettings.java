@@ -40,6 +40,7 @@ public class FznSettings extends DefaultSettings {
         this.setLearntClausesDominancePerimeter(0);
         this.setNbMaxLearntClauses(Integer.MAX_VALUE);
         this.setRatioForClauseStoreReduction(.66f);
+        this.setEnablePresolve(true);
     }
 
     public boolean printConstraints() {
@@ -0,0 +1,149 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.chocosolver.parser.MappedFile;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharStream} reading an UTF-8 file mapped in memory.
+ * <p>
+ * Indices are byte offsets in the file, so the whole input is never decoded on the heap:
+ * characters are decoded when looked ahead, and token texts are decoded on demand.
+ * Since ANTLR indices are integers, the file must be smaller than 2GB.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+final class MappedCharStream implements CharStream {
+
+    private final MappedFile file;
+
+    private final int size;
+
+    private final String name;
+
+    /**
+     * Current byte offset
+     */
+    private int p;
+
+    MappedCharStream(MappedFile file, String name) {
+        if (file.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot map more than 2GB in a char stream");
+        }
+        this.file = file;
+        this.size = (int) file.size();
+        this.name = name;
+    }
+
+    /**
+     * @return the number of bytes of the character starting with <i>b</i>
+     */
+    private static int width(byte b) {
+        if (b >= 0) return 1;
+        if ((b & 0xE0) == 0xC0) return 2;
+        if ((b & 0xF0) == 0xE0) return 3;
+        if ((b & 0xF8) == 0xF0) return 4;
+        return 1; // malformed, read as a single byte
+    }
+
+    private int decode(int pos) {
+        byte b = file.get(pos);
+        if (b >= 0) {
+            return b;
+        }
+        int w = width(b);
+        if (w == 1 || pos + w > size) {
+            return b & 0xFF;
+        }
+        int c = b & (0x7F >> w);
+        for (int i = 1; i < w; i++) {
+            c = (c << 6) | (file.get(pos + i) & 0x3F);
+        }
+        return c;
+    }
+
+    @Override
+    public void consume() {
+        if (p >= size) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        p += width(file.get(p));
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) {
+            return 0; // undefined
+        }
+        int pos = p;
+        if (i > 0) {
+            while (--i > 0 && pos < size) {
+                pos += width(file.get(pos));
+            }
+            return pos < size ? decode(pos) : IntStream.EOF;
+        }
+        while (i++ < 0) {
+            do {
+                pos--;
+            } while (pos > 0 && (file.get(pos) & 0xC0) == 0x80);
+            if (pos < 0) {
+                return IntStream.EOF;
+            }
+        }
+        return decode(pos);
+    }
+
+    @Override
+    public int mark() {
+        return -1; // random access, nothing to buffer
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return p;
+    }
+
+    @Override
+    public void seek(int index) {
+        p = Math.min(index, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return name;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = interval.a;
+        int stop = Math.min(interval.b, size - 1);
+        if (start < 0 || stop < start) {
+            return "";
+        }
+        // include all the bytes of the last character
+        stop += width(file.get(stop));
+        return file.getString(start, Math.min(stop, size), StandardCharsets.UTF_8);
+    }
+}
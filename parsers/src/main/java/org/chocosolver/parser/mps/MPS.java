@@ -108,21 +108,43 @@ public class MPS extends RegParser {
     public void buildModel() {
         listeners.forEach(ParserListener::beforeParsingFile);
         List<Model> models = portfolio.getModels();
-        for (int i = 0; i < models.size(); i++) {
+        try {
+            // the instance is read once and its data is shared by all the models
+            parsers[0].read(instance, ninf, pinf);
+        } catch (Exception e) {
+            System.out.printf("s UNSUPPORTED\n");
+            System.out.printf("%c %s\n", getCommentChar(), e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("UNSUPPORTED");
+        }
+        buildModels(i -> {
             try {
-                parse(models.get(i), parsers[i], i);
+                parse(models.get(i), parsers[i], parsers[0], i);
             } catch (Exception e) {
                 System.out.printf("s UNSUPPORTED\n");
                 System.out.printf("%c %s\n", getCommentChar(), e.getMessage());
                 e.printStackTrace();
                 throw new RuntimeException("UNSUPPORTED");
             }
-        }
+        });
         listeners.forEach(ParserListener::afterParsingFile);
     }
 
     public void parse(Model target, MPSParser parser, int i) throws Exception {
         parser.model(target, instance, maximize, ninf, pinf, ibex, noeq);
+        configure(target, i);
+    }
+
+    /**
+     * Feed <i>target</i> with the instance already read by <i>source</i>.
+     * This avoids reading and parsing the file once per model.
+     */
+    public void parse(Model target, MPSParser parser, MPSParser source, int i) {
+        parser.model(target, source, maximize, ibex, noeq);
+        configure(target, i);
+    }
+
+    private void configure(Model target, int i) {
         if (i == 0) {
             Solver solver = target.getSolver();
             if (target.getNbRealVar() == 0) {
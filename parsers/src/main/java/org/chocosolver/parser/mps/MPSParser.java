@@ -9,6 +9,7 @@
  */
 package org.chocosolver.parser.mps;
 
+import org.chocosolver.parser.MappedFile;
 import org.chocosolver.parser.ParserException;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
@@ -20,12 +21,21 @@ import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.tools.ArrayUtils;
 import org.chocosolver.util.tools.VariableUtils;
 
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -50,6 +60,11 @@ public class MPSParser {
 
     private static final int CACHING = 12 * 5;
 
+    /**
+     * Approximate size, in bytes, of a chunk of COLUMNS read in parallel
+     */
+    private static final long CHUNK = 1 << 18;
+
     private HashMap<String, String> ope4eq;
     private HashMap<String, List<Number>> coeffs4eq;
     private HashMap<String, ArrayList<String>> vars4eq;
@@ -68,6 +83,15 @@ public class MPSParser {
                       double ninf, double pinf,
                       boolean ibex,
                       boolean noeq) throws IOException {
+        read(instance, ninf, pinf);
+        build(model, maximize, ibex, noeq);
+    }
+
+    /**
+     * Read <i>instance</i> without building any model.
+     * The data read can then be shared by other parsers, see {@link #model(Model, MPSParser, boolean, boolean, boolean)}.
+     */
+    public void read(String instance, double ninf, double pinf) throws IOException {
         ope4eq = new HashMap<>();
         coeffs4eq = new HashMap<>();
         vars4eq = new HashMap<>();
@@ -81,38 +105,59 @@ public class MPSParser {
         this.POS_INF = pinf;
         this.NEG_INF = ninf;
 
-        Reader reader = null;
-        GZIPInputStream gzis = null;
         if (instance.endsWith("mps.gz")) {
-            FileInputStream fin = new FileInputStream(instance);
-            gzis = new GZIPInputStream(fin);
-            reader = new InputStreamReader(gzis);
+            // a compressed file cannot be mapped, it is streamed
+            try (BufferedReader br = new BufferedReader(
+                    new InputStreamReader(new GZIPInputStream(new FileInputStream(instance))))) {
+                read(br);
+            }
         } else {
-            reader = new FileReader(instance);
-        }
-        try (BufferedReader br = new BufferedReader(reader)) {
-            readName(br);
-            readRows(br);
-            readColumns(br);
-            readRHS(br);
-            // optional tags
-            br.reset();
-            String line = br.readLine();
-            while (line != null && !line.startsWith(TAG_ENDATA)) {
-                if (line.startsWith(TAG_RANGES)) {
-                    readRanges(br);
-                }
-                if (line.startsWith(TAG_BOUNDS)) {
-                    readBounds(br);
-                }
+            readMapped(new MappedFile(Paths.get(instance)));
+        }
+    }
+
+    /**
+     * Feed <i>model</i> with the data already read by <i>source</i>, which may be this parser.
+     * The data is only read while building, so different parsers can share it and build their model concurrently.
+     */
+    public void model(Model model, MPSParser source, boolean maximize,
+                      boolean ibex,
+                      boolean noeq) {
+        ope4eq = source.ope4eq;
+        coeffs4eq = source.coeffs4eq;
+        vars4eq = source.vars4eq;
+        rhs4eq = source.rhs4eq;
+        range4eq = source.range4eq;
+        allvars = source.allvars;
+        varsIsInt = source.varsIsInt;
+        varsDom = source.varsDom;
+        this.POS_INF = source.POS_INF;
+        this.NEG_INF = source.NEG_INF;
+        build(model, maximize, ibex, noeq);
+    }
+
+    private void read(BufferedReader br) throws IOException {
+        readName(br);
+        readRows(br);
+        readColumns(br);
+        readRHS(br);
+        // optional tags
+        br.reset();
+        String line = br.readLine();
+        while (line != null && !line.startsWith(TAG_ENDATA)) {
+            if (line.startsWith(TAG_RANGES)) {
+                readRanges(br);
+            } else if (line.startsWith(TAG_BOUNDS)) {
+                readBounds(br);
+            } else {
                 br.mark(CACHING);
                 line = br.readLine();
+                continue;
             }
-        }
-        build(model, maximize, ibex, noeq);
-        reader.close();
-        if(gzis != null) {
-            gzis.close();
+            // the mark is set before the line that ended the section, which may start another one
+            br.reset();
+            br.mark(CACHING);
+            line = br.readLine();
         }
     }
 
@@ -142,26 +187,30 @@ public class MPSParser {
         while (line != null && !line.startsWith(TAG_COLUMNS)) {
             // Fields start in column 2, 5, 15, 25, 40 and 50
             values = Arrays.stream(line.split(" ")).filter(v -> v.length() > 0).toArray(String[]::new);
-            switch (values[0]) {
-                case "N":
-                    break;
-                case "E":
-                    ope4eq.put(values[1], "=");
-                    break;
-                case "L":
-                    ope4eq.put(values[1], "<=");
-                    break;
-                case "G":
-                    ope4eq.put(values[1], ">=");
-                    break;
-                default:
-                    throw new ParserException("Unknown identifier \"" + values[0] + "\"");
-            }
+            addRow(values[0], values[1]);
             br.mark(CACHING);
             line = br.readLine();
         }
     }
 
+    private void addRow(String type, String cnam) {
+        switch (type) {
+            case "N":
+                break;
+            case "E":
+                ope4eq.put(cnam, "=");
+                break;
+            case "L":
+                ope4eq.put(cnam, "<=");
+                break;
+            case "G":
+                ope4eq.put(cnam, ">=");
+                break;
+            default:
+                throw new ParserException("Unknown identifier \"" + type + "\"");
+        }
+    }
+
     private void readColumns(BufferedReader br) throws IOException {
         br.reset();
         String line = br.readLine();
@@ -177,13 +226,10 @@ public class MPSParser {
             if (values[1].equals(TAG_MARKER)) {
                 isInt = values[2].equals(TAG_INTORG);
             } else {
-                if (!decVars.containsKey(values[0])) {
-                    decVars.put(values[0], null);
-                    allvars.add(values[0]);
-                }
-                addElement(values[1], values[0], values[2], isInt);
+                addVariable(values[0]);
+                addElement(values[1], values[0], toNumber(values[2]), isInt);
                 if (values.length == 5) {
-                    addElement(values[3], values[0], values[4], isInt);
+                    addElement(values[3], values[0], toNumber(values[4]), isInt);
                 }
             }
             br.mark(CACHING);
@@ -191,7 +237,14 @@ public class MPSParser {
         }
     }
 
-    private void addElement(String cnam, String vnam, String coeff, boolean isInt) {
+    private void addVariable(String vnam) {
+        if (!decVars.containsKey(vnam)) {
+            decVars.put(vnam, null);
+            allvars.add(vnam);
+        }
+    }
+
+    private void addElement(String cnam, String vnam, Number coeff, boolean isInt) {
         List<Number> coeffs = coeffs4eq.get(cnam);
         ArrayList<String> vars = vars4eq.get(cnam);
         if (coeffs == null) {
@@ -200,11 +253,7 @@ public class MPSParser {
             coeffs4eq.put(cnam, coeffs);
             vars4eq.put(cnam, vars);
         }
-        if (coeff.matches("-?\\d+")) {
-            coeffs.add(Integer.parseInt(coeff));
-        } else {
-            coeffs.add(Double.parseDouble(coeff));
-        }
+        coeffs.add(coeff);
         vars.add(vnam);
         Boolean vint = varsIsInt.get(vnam);
         if (vint == null) {
@@ -228,27 +277,15 @@ public class MPSParser {
                 && !line.startsWith(TAG_BOUNDS)
                 && !line.startsWith(TAG_ENDATA)) {
             values = Arrays.stream(line.split(" ")).filter(v -> v.length() > 0).toArray(String[]::new);
-            addRhs(values[1], values[2]);
+            rhs4eq.putIfAbsent(values[1], toNumber(values[2]));
             if (values.length == 5) {
-                addRhs(values[3], values[4]);
+                rhs4eq.putIfAbsent(values[3], toNumber(values[4]));
             }
             br.mark(CACHING);
             line = br.readLine();
         }
     }
 
-    private void addRhs(String cnam, String rhsv) {
-        Number rhs = rhs4eq.get(cnam);
-        if (rhs == null) {
-            if (rhsv.matches("-?\\d+")) {
-                rhs = Integer.parseInt(rhsv);
-            } else {
-                rhs = Double.parseDouble(rhsv);
-            }
-            rhs4eq.put(cnam, rhs);
-        }
-    }
-
     private void readRanges(BufferedReader br) throws IOException {
         br.reset();
         String line = br.readLine();
@@ -261,27 +298,15 @@ public class MPSParser {
                 && !line.startsWith(TAG_BOUNDS)
                 && !line.startsWith(TAG_ENDATA)) {
             values = Arrays.stream(line.split(" ")).filter(v -> v.length() > 0).toArray(String[]::new);
-            addRange(values[1], values[2]);
+            range4eq.putIfAbsent(values[1], toNumber(values[2]));
             if (values.length > 3) {
-                addRange(values[3], values[4]);
+                range4eq.putIfAbsent(values[3], toNumber(values[4]));
             }
             br.mark(CACHING);
             line = br.readLine();
         }
     }
 
-    private void addRange(String cnam, String range) {
-        Number rng = range4eq.get(cnam);
-        if (rng == null) {
-            if (range.matches("-?\\d+")) {
-                rng = Integer.parseInt(range);
-            } else {
-                rng = Double.parseDouble(range);
-            }
-            range4eq.put(cnam, rng);
-        }
-    }
-
     private void readBounds(BufferedReader br) throws IOException {
         br.reset();
         String line = br.readLine();
@@ -293,80 +318,380 @@ public class MPSParser {
         while (line != null
                 && !line.startsWith(TAG_ENDATA)) {
             values = Arrays.stream(line.split(" ")).filter(v -> v.length() > 0).toArray(String[]::new);
-            String var = values[2];
-            Number[] bounds = varsDom.get(var);
-            if (bounds == null) {
-                bounds = new Number[]{0, POS_INF};
-                varsDom.put(var, bounds);
+            addBound(values[0], values[2], values.length > 3 ? values[3] : "--");
+            br.mark(CACHING);
+            line = br.readLine();
+        }
+    }
+
+    private void addBound(String type, String var, String val) {
+        Number[] bounds = varsDom.get(var);
+        if (bounds == null) {
+            bounds = new Number[]{0, POS_INF};
+            varsDom.put(var, bounds);
+        }
+        switch (type) {
+            case "LO":
+                bounds[0] = toNumber(val);
+                break;
+            case "UP":
+                bounds[1] = toNumber(val);
+                break;
+            case "FX":
+                bounds[0] = bounds[1] = toNumber(val);
+                break;
+            case "FR":
+                bounds[0] = NEG_INF;
+                bounds[1] = POS_INF;
+                break;
+            case "MI":
+                bounds[0] = NEG_INF;
+                bounds[1] = 0;
+                break;
+            case "PL":
+                bounds[0] = 0;
+                bounds[1] = POS_INF;
+                break;
+            case "BV":
+                varsIsInt.put(var, true);
+                bounds[0] = 0;
+                bounds[1] = 1;
+                break;
+            case "UI":
+                varsIsInt.put(var, true);
+                if (isInteger(val)) {
+                    bounds[1] = Integer.parseInt(val);
+                } else {
+                    throw new ParserException("UI refers to double instead of int");
+                }
+                break;
+            case "LI":
+                varsIsInt.put(var, true);
+                if (isInteger(val)) {
+                    bounds[0] = Integer.parseInt(val);
+                } else {
+                    throw new ParserException("LI refers to double instead of int");
+                }
+                break;
+            case "SC":
+                throw new ParserException("semi-continuous not supported");
+            default:
+                throw new ParserException("Unknown identifier \"" + type + "\"");
+        }
+    }
+
+    /**
+     * @return <i>true</i> if <i>value</i> matches <code>-?\d+</code>
+     */
+    private static boolean isInteger(CharSequence value) {
+        int i = value.length() > 0 && value.charAt(0) == '-' ? 1 : 0;
+        if (i == value.length()) {
+            return false;
+        }
+        for (; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
             }
-            String val = values.length > 3 ? values[3] : "--";
-            switch (values[0]) {
-                case "LO":
-                    if (val.matches("-?\\d+")) {
-                        bounds[0] = Integer.parseInt(val);
-                    } else {
-                        bounds[0] = Double.parseDouble(val);
+        }
+        return true;
+    }
+
+    private static Number toNumber(String value) {
+        if (isInteger(value)) {
+            return Integer.parseInt(value);
+        }
+        return Double.parseDouble(value);
+    }
+
+    //***********************************************************************************
+    // MAPPED FILES
+    //***********************************************************************************
+
+    /**
+     * Read a file mapped in memory.
+     * Sections are first located, then COLUMNS is cut in chunks of lines which are tokenized in parallel,
+     * together with RHS, RANGES and BOUNDS. Chunks are finally merged in the file order.
+     */
+    private void readMapped(MappedFile file) {
+        Map<String, long[]> sections = locateSections(file);
+        section(sections, TAG_NAME);
+        long[] rows = section(sections, TAG_ROWS);
+        long[] columns = section(sections, TAG_COLUMNS);
+        long[] rhs = section(sections, TAG_RHS);
+        long[] ranges = sections.get(TAG_RANGES);
+        long[] bnds = sections.get(TAG_BOUNDS);
+
+        Fields fields = new Fields(file, rows[0], rows[1]);
+        while (fields.next()) {
+            addRow(fields.string(0), fields.string(1));
+        }
+
+        long[] cuts = cut(file, columns[0], columns[1]);
+        int k = cuts.length - 1;
+        Columns[] chunks = new Columns[k];
+        List<String[]> bounds = new ArrayList<>();
+        IntStream.range(0, k + 3).parallel().forEach(i -> {
+            if (i < k) {
+                chunks[i] = readColumns(file, cuts[i], cuts[i + 1]);
+            } else if (i == k) {
+                readValues(file, rhs, rhs4eq, 5);
+            } else if (i == k + 1) {
+                readValues(file, ranges, range4eq, 4);
+            } else if (bnds != null) {
+                Fields f = new Fields(file, bnds[0], bnds[1]);
+                while (f.next()) {
+                    bounds.add(new String[]{f.string(0), f.string(2), f.size > 3 ? f.string(3) : "--"});
+                }
+            }
+        });
+        boolean isInt = false;
+        for (Columns chunk : chunks) {
+            for (int i = 0; i < chunk.vars.size(); i++) {
+                String cnam = chunk.cons.get(i);
+                if (cnam == null) {
+                    isInt = chunk.coeffs.get(i).intValue() == 1;
+                } else {
+                    addVariable(chunk.vars.get(i));
+                    addElement(cnam, chunk.vars.get(i), chunk.coeffs.get(i), isInt);
+                }
+            }
+        }
+        // BOUNDS may modify the types declared in COLUMNS
+        for (String[] b : bounds) {
+            addBound(b[0], b[1], b[2]);
+        }
+    }
+
+    /**
+     * @return for each section, the position of its first line and the position following its last line
+     */
+    private static Map<String, long[]> locateSections(MappedFile file) {
+        List<String> tags = Arrays.asList(TAG_NAME, TAG_ROWS, TAG_COLUMNS, TAG_RHS, TAG_RANGES, TAG_BOUNDS, TAG_ENDATA);
+        Map<String, long[]> sections = new HashMap<>();
+        long[] current = null;
+        long n = file.size();
+        long pos = 0;
+        while (pos < n) {
+            long eol = endOfLine(file, pos, n);
+            if (!Fields.isBlank(file.get(pos))) {
+                long e = pos;
+                while (e < eol && !Fields.isBlank(file.get(e))) {
+                    e++;
+                }
+                String tag = file.getString(pos, e, StandardCharsets.ISO_8859_1);
+                // some data lines may start in the first column, like in free MPS
+                if (tags.contains(tag)) {
+                    if (current != null) {
+                        current[1] = pos;
                     }
-                    break;
-                case "UP":
-                    if (val.matches("-?\\d+")) {
-                        bounds[1] = Integer.parseInt(val);
-                    } else {
-                        bounds[1] = Double.parseDouble(val);
+                    if (tag.equals(TAG_ENDATA)) {
+                        return sections;
                     }
-                    break;
-                case "FX":
-                    if (val.matches("-?\\d+")) {
-                        bounds[0] = bounds[1] = Integer.parseInt(val);
-                    } else {
-                        bounds[0] = bounds[1] = Double.parseDouble(val);
+                    current = new long[]{Math.min(eol + 1, n), n};
+                    sections.putIfAbsent(tag, current);
+                }
+            }
+            pos = eol + 1;
+        }
+        return sections;
+    }
+
+    private static long[] section(Map<String, long[]> sections, String tag) {
+        long[] section = sections.get(tag);
+        if (section == null) {
+            throw new ParserException("No tag \"" + tag + "\" found");
+        }
+        return section;
+    }
+
+    private static long endOfLine(MappedFile file, long pos, long end) {
+        while (pos < end && file.get(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Cut [<i>from</i>, <i>to</i>[ in chunks of entire lines, of about {@link #CHUNK} bytes each
+     *
+     * @return positions of the cuts, including <i>from</i> and <i>to</i>
+     */
+    private static long[] cut(MappedFile file, long from, long to) {
+        int k = (int) Math.max(1, (to - from) / CHUNK);
+        long[] cuts = new long[k + 1];
+        cuts[0] = from;
+        cuts[k] = to;
+        for (int i = 1; i < k; i++) {
+            long c = Math.max(from + (to - from) / k * i, cuts[i - 1]);
+            cuts[i] = Math.min(endOfLine(file, c, to) + 1, to);
+        }
+        return cuts;
+    }
+
+    private static Columns readColumns(MappedFile file, long from, long to) {
+        Columns chunk = new Columns();
+        Fields f = new Fields(file, from, to);
+        String vnam = null;
+        while (f.next()) {
+            if (f.size < 3) {
+                throw new ParserException("Incomplete line in COLUMNS");
+            }
+            if (f.is(1, TAG_MARKER)) {
+                chunk.add(null, null, f.is(2, TAG_INTORG) ? 1 : 0);
+            } else {
+                // consecutive lines usually share the same variable
+                if (vnam == null || !f.is(0, vnam)) {
+                    vnam = f.string(0);
+                }
+                chunk.add(vnam, f.string(1), f.number(2));
+                if (f.size == 5) {
+                    chunk.add(vnam, f.string(3), f.number(4));
+                }
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Read the values of RHS or RANGES, the first value of a row wins
+     *
+     * @param pair number of fields from which a line holds two values
+     */
+    private static void readValues(MappedFile file, long[] section, Map<String, Number> values, int pair) {
+        if (section == null) {
+            return;
+        }
+        Fields f = new Fields(file, section[0], section[1]);
+        while (f.next()) {
+            values.putIfAbsent(f.string(1), f.number(2));
+            if (f.size >= pair) {
+                values.putIfAbsent(f.string(3), f.number(4));
+            }
+        }
+    }
+
+    /**
+     * Entries read from a chunk of COLUMNS, in order.
+     * A marker is stored with no constraint and a coefficient set to 1 for INTORG, 0 for INTEND.
+     */
+    private static final class Columns {
+        final List<String> vars = new ArrayList<>();
+        final List<String> cons = new ArrayList<>();
+        final List<Number> coeffs = new ArrayList<>();
+
+        void add(String vnam, String cnam, Number coeff) {
+            vars.add(vnam);
+            cons.add(cnam);
+            coeffs.add(coeff);
+        }
+    }
+
+    /**
+     * Splits the lines of a range of a mapped file in fields, skipping blank lines and comments
+     */
+    private static final class Fields {
+        private final MappedFile file;
+        private final long end;
+        private final long[] from = new long[6];
+        private final long[] to = new long[6];
+        private long pos;
+        int size;
+
+        Fields(MappedFile file, long from, long to) {
+            this.file = file;
+            this.pos = from;
+            this.end = to;
+        }
+
+        static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        /**
+         * Move to the next line
+         *
+         * @return <i>false</i> if there are no more lines
+         */
+        boolean next() {
+            while (pos < end) {
+                size = 0;
+                byte b;
+                while (pos < end && (b = file.get(pos)) != '\n') {
+                    if (isBlank(b)) {
+                        pos++;
+                        continue;
                     }
-                    break;
-                case "FR":
-                    bounds[0] = NEG_INF;
-                    bounds[1] = POS_INF;
-                    break;
-                case "MI":
-                    bounds[0] = NEG_INF;
-                    bounds[1] = 0;
-                    break;
-                case "PL":
-                    bounds[0] = 0;
-                    bounds[1] = POS_INF;
-                    break;
-                case "BV":
-                    varsIsInt.put(var, true);
-                    bounds[0] = 0;
-                    bounds[1] = 1;
-                    break;
-                case "UI":
-                    varsIsInt.put(var, true);
-                    if (val.matches("-?\\d+")) {
-                        bounds[1] = Integer.parseInt(val);
-                    } else {
-                        throw new ParserException("UI refers to double instead of int");
+                    long s = pos;
+                    while (pos < end && !isBlank(file.get(pos))) {
+                        pos++;
                     }
-                    break;
-                case "LI":
-                    varsIsInt.put(var, true);
-                    if (val.matches("-?\\d+")) {
-                        bounds[0] = Integer.parseInt(val);
-                    } else {
-                        throw new ParserException("LI refers to double instead of int");
+                    if (size < from.length) {
+                        from[size] = s;
+                        to[size] = pos;
                     }
-                    break;
-                case "SC":
-                    throw new ParserException("semi-continuous not supported");
-                default:
-                    throw new ParserException("Unknown identifier \"" + values[0] + "\"");
+                    size++;
+                }
+                pos++;
+                if (size > 0 && file.get(from[0]) != '*') {
+                    return true;
+                }
             }
-            br.mark(CACHING);
-            line = br.readLine();
+            return false;
+        }
+
+        String string(int i) {
+            if (i >= size) {
+                throw new ParserException("Missing field " + (i + 1));
+            }
+            return file.getString(from[i], to[i], Charset.defaultCharset());
         }
-    }
 
+        boolean is(int i, String value) {
+            if (i >= size || to[i] - from[i] != value.length()) {
+                return false;
+            }
+            for (int j = 0; j < value.length(); j++) {
+                if (file.get(from[i] + j) != value.charAt(j)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Parse an integer directly from the bytes, or a double if the field does not match <code>-?\d+</code>
+         */
+        Number number(int i) {
+            if (i >= size) {
+                throw new ParserException("Missing field " + (i + 1));
+            }
+            long p = from[i];
+            boolean neg = file.get(p) == '-';
+            if (neg) {
+                p++;
+            }
+            if (p == to[i] || to[i] - p > 10) {
+                return toNumber(string(i));
+            }
+            long v = 0;
+            for (; p < to[i]; p++) {
+                int d = file.get(p) - '0';
+                if (d < 0 || d > 9) {
+                    return Double.parseDouble(string(i));
+                }
+                v = v * 10 + d;
+            }
+            v = neg ? -v : v;
+            if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + string(i) + "\"");
+            }
+            return (int) v;
+        }
+    }
 
     private void build(Model model, boolean maximize, boolean ibex, boolean noeq) {
+        // variables are owned by the model, they are never shared
+        decVars = new HashMap<>();
         // First, create variables
         for (int i = 0; i < allvars.size(); i++) {
             String vnam = allvars.get(i);
@@ -628,14 +953,13 @@ public class MPSParser {
             RealVar objective = model.realVar("OBJ", NEG_INF, POS_INF, model.getPrecision());
             model.setObjective(maximize, objective);
             Variable[] svars = vars.stream().map(s -> decVars.get(s)).toArray(Variable[]::new);
-            coefs.add(-1d);
+            // the coefficients may be shared with other parsers, they are not modified
             mixedScalar(
                     ArrayUtils.append(svars, new RealVar[]{objective}),
-                    coefs.stream().mapToDouble(Number::doubleValue)
+                    DoubleStream.concat(coefs.stream().mapToDouble(Number::doubleValue), DoubleStream.of(-1d))
                             .toArray(),
                     "=",
                     rhs.doubleValue()).post();
-            coefs.remove(coefs.size() - 1);
         }
         return true;
     }
@@ -19,6 +19,7 @@ import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.kohsuke.args4j.Option;
+import org.w3c.dom.Document;
 import org.xcsp.parser.callbacks.SolutionChecker;
 
 import java.io.ByteArrayInputStream;
@@ -88,6 +89,10 @@ public class XCSP extends RegParser {
             Model threadModel = new Model(iname + "_" + (i + 1), defaultSettings);
             portfolio.addModel(threadModel);
             parsers[i] = new XCSPParser();
+            if (i > 0) {
+                // identical relations share their tuples, and thus their supports, across models
+                parsers[i].shareTuples(parsers[0]);
+            }
         }
         listeners.forEach(ParserListener::afterSolverCreation);
     }
@@ -96,9 +101,18 @@ public class XCSP extends RegParser {
     public void buildModel() {
         listeners.forEach(ParserListener::beforeParsingFile);
         List<Model> models = portfolio.getModels();
+        Document document;
+        try {
+            // the XML document is loaded once and shared by all the models
+            document = parsers[0].loadDocument(instance);
+        } catch (Exception e) {
+            if (PRINT_LOG) System.out.printf("s UNSUPPORTED\n");
+            if (PRINT_LOG) System.out.printf("c %s\n", e.getMessage());
+            throw new RuntimeException("UNSUPPORTED");
+        }
         for (int i = 0; i < models.size(); i++) {
             try {
-                parse(models.get(i), parsers[i], i);
+                parse(models.get(i), parsers[i], document, i);
             } catch (Exception e) {
                 if (PRINT_LOG) System.out.printf("s UNSUPPORTED\n");
                 if (PRINT_LOG) System.out.printf("c %s\n", e.getMessage());
@@ -111,6 +125,19 @@ public class XCSP extends RegParser {
 
     public void parse(Model target, XCSPParser parser, int i) throws Exception {
         parser.model(target, instance);
+        configure(target, parser, i);
+    }
+
+    /**
+     * Feed <i>target</i> with an already loaded XCSP3 document.
+     * This avoids reading and parsing the XML file once per model.
+     */
+    public void parse(Model target, XCSPParser parser, Document document, int i) throws Exception {
+        parser.model(target, document);
+        configure(target, parser, i);
+    }
+
+    private void configure(Model target, XCSPParser parser, int i) {
         if (i == 0) {
             IntVar[] decVars = (IntVar[]) getModel().getHook("decisions");;
             if (decVars == null) {
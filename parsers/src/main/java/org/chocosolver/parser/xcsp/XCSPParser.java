@@ -30,6 +30,7 @@ import org.chocosolver.util.objects.queues.CircularQueue;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.ArrayUtils;
 import org.chocosolver.util.tools.VariableUtils;
+import org.w3c.dom.Document;
 import org.xcsp.common.Condition;
 import org.xcsp.common.Types;
 import org.xcsp.common.predicates.XNode;
@@ -71,6 +72,12 @@ public class XCSPParser implements XCallbacks2 {
     protected TIntObjectHashMap<String> intToSymbol;
     protected int unusedSymbol = 0;
     private ArrayList<IntVar> ovars;
+    /**
+     * Tuples built so far, indexed by the hash of their content, so that identical relations share the same tuples,
+     * and thus the supports computed by table propagators.
+     * Only the tuples are stored, relations are compared to their content.
+     */
+    private Map<Integer, List<Tuples>> tables = new HashMap<>();
     /**
      * The model to feed
      */
@@ -79,18 +86,73 @@ public class XCSPParser implements XCallbacks2 {
     Implem implem;
 
     public void model(Model model, String instance) throws Exception {
+        File file = new File(instance);
+        if(file.exists()){
+            model(model, loadDocument(instance));
+        }else{
+            throw new RuntimeException("FILE DOES NOT EXIST");
+        }
+    }
+
+    /**
+     * Feed <i>model</i> from an already loaded XCSP3 document.
+     * The document is only read, so it can be used to feed several models in a row.
+     * @param model the model to feed
+     * @param document a XCSP3 document
+     * @throws Exception if the document cannot be loaded
+     */
+    public void model(Model model, Document document) throws Exception {
         this.model = model;
         this.mvars = new HashMap<>();
         this.symbolics = new HashSet<>();
         this.symbolToInt = new TObjectIntHashMap<>();
         this.intToSymbol = new TIntObjectHashMap<>();
         this.implem = new Implem(this);
-        File file = new File(instance);
-        if(file.exists()){
-            loadInstance(instance);
-        }else{
-            throw new RuntimeException("FILE DOES NOT EXIST");
+        loadInstance(document);
+    }
+
+    /**
+     * Share the tuples built by <i>other</i>, for instance when parsing the same instance for several models.
+     * Parsers sharing tuples should not feed models concurrently.
+     * @param other another parser
+     */
+    public void shareTuples(XCSPParser other) {
+        this.tables = other.tables;
+    }
+
+    /**
+     * @return the tuples of this relation, built once for all identical relations
+     */
+    private Tuples tuples(int[][] tuples, boolean positive, boolean starred) {
+        int hash = 31 * (31 * Arrays.deepHashCode(tuples) + Boolean.hashCode(positive)) + Boolean.hashCode(starred);
+        List<Tuples> candidates = tables.computeIfAbsent(hash, k -> new ArrayList<>(1));
+        for (Tuples candidate : candidates) {
+            if (sameRelation(candidate, tuples, positive, starred)) {
+                return candidate;
+            }
+        }
+        Tuples mTuples = new Tuples(tuples, positive);
+        if (starred) {
+            mTuples.setUniversalValue(STAR_INT);
+        }
+        candidates.add(mTuples);
+        return mTuples;
+    }
+
+    /**
+     * @return <i>true</i> if <i>mTuples</i> was built from this relation
+     */
+    private static boolean sameRelation(Tuples mTuples, int[][] tuples, boolean positive, boolean starred) {
+        if (mTuples.isFeasible() != positive || mTuples.allowUniversalValue() != starred
+                || mTuples.nbTuples() != tuples.length) {
+            return false;
         }
+        for (int i = 0; i < tuples.length; i++) {
+            if (!Arrays.equals(mTuples.get(i), tuples[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -374,16 +436,14 @@ public class XCSPParser implements XCallbacks2 {
         if (flags.contains(Types.TypeFlag.UNCLEAN_TUPLES)) {
             // do you have to clean the tuples, so as to remove those that cannot be built from variable domains ?
         }
-        Tuples mTuples = new Tuples(Arrays.stream(tuples)
-                .map(t -> Arrays.stream(t).mapToInt(e -> symbolToInt.get(e)).toArray())
-                .toArray(int[][]::new), positive);
-        if (flags.contains(Types.TypeFlag.STARRED_TUPLES)) {
-            if (!positive) {
-                // can you manage tables with symbol * ?
-                throw new ParserException("Negative tables with symbol * are not supported");
-            }
-            mTuples.setUniversalValue(STAR_INT);
+        boolean starred = flags.contains(Types.TypeFlag.STARRED_TUPLES);
+        if (starred && !positive) {
+            // can you manage tables with symbol * ?
+            throw new ParserException("Negative tables with symbol * are not supported");
         }
+        Tuples mTuples = tuples(Arrays.stream(tuples)
+                .map(t -> Arrays.stream(t).mapToInt(e -> symbolToInt.get(e)).toArray())
+                .toArray(int[][]::new), positive, starred);
         model.table(vars(list), mTuples).post();
     }
 
@@ -393,15 +453,12 @@ public class XCSPParser implements XCallbacks2 {
         if (flags.contains(Types.TypeFlag.UNCLEAN_TUPLES)) {
             // do you have to clean the tuples, so as to remove those that cannot be built from variable domains ?
         }
-        Tuples mTuples = new Tuples(tuples, positive);
-        if (flags.contains(Types.TypeFlag.STARRED_TUPLES)) {
-            if(!positive){
-                // can you manage tables with symbol * ?
-                throw new ParserException("Negative tables with symbol * are not supported");
-            }
-            mTuples.setUniversalValue(STAR_INT);
+        boolean starred = flags.contains(Types.TypeFlag.STARRED_TUPLES);
+        if (starred && !positive) {
+            // can you manage tables with symbol * ?
+            throw new ParserException("Negative tables with symbol * are not supported");
         }
-        model.table(vars(list), mTuples).post();
+        model.table(vars(list), tuples(tuples, positive, starred)).post();
     }
 
     @Override
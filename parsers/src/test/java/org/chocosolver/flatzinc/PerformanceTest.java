@@ -12,6 +12,7 @@ package org.chocosolver.flatzinc;
 import org.chocosolver.parser.SetUpException;
 import org.chocosolver.parser.flatzinc.BaseFlatzincListener;
 import org.chocosolver.parser.flatzinc.Flatzinc;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.SearchState;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -92,4 +93,30 @@ public class PerformanceTest {
         }
     }
 
+    @DataProvider()
+    public Object[][] builders() {
+        return new Object[][]{{"1"}, {"2"}, {"4"}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "builders")
+    public void testParallelBuild(String builders) throws SetUpException {
+        String file = this.getClass().getResource(ROOT + "2020/bnn+inventory_4_8s.fzn").getFile();
+        String[] args = new String[]{
+                file,
+                "-limit", "[50s]",
+                "-p", "4",
+                "-pb", builders
+        };
+        Flatzinc fzn = new Flatzinc();
+        fzn.setUp(args);
+        fzn.createSolver();
+        fzn.buildModel();
+        Model first = fzn.getModel();
+        Assert.assertEquals(fzn.getPortfolio().getModels().size(), 4);
+        for (Model model : fzn.getPortfolio().getModels()) {
+            Assert.assertEquals(model.getNbVars(), first.getNbVars());
+            Assert.assertEquals(model.getNbCstrs(), first.getNbCstrs());
+        }
+    }
+
 }
@@ -10,15 +10,22 @@
 package org.chocosolver.mps;
 
 import org.chocosolver.parser.mps.MPS;
+import org.chocosolver.parser.mps.MPSParser;
 import org.chocosolver.parser.SetUpException;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.SearchState;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
 
 /**
  * <p> Project: choco-parsers.
@@ -52,6 +59,62 @@ public class ParserTest {
         run(file);
     }
 
+    @DataProvider(name = "compressed")
+    public Object[][] compressed() {
+        return new Object[][]{
+                {"janos-us-DDM"}, // COLUMNS read in several chunks
+                {"p2m2p1m1p0n100"}, // RANGES followed by BOUNDS
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "compressed")
+    public void testMapped(String name) throws IOException {
+        ClassLoader cl = this.getClass().getClassLoader();
+        String gz = cl.getResource("mps/" + name + ".mps.gz").getFile();
+        Path plain = Files.createTempFile(name, ".mps");
+        try {
+            try (InputStream in = new GZIPInputStream(new FileInputStream(gz))) {
+                Files.copy(in, plain, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Model streamed = new Model();
+            new MPSParser().model(streamed, gz, false, -999., 999., false, false);
+            Model mapped = new Model();
+            new MPSParser().model(mapped, plain.toString(), false, -999., 999., false, false);
+            Assert.assertEquals(mapped.getNbVars(), streamed.getNbVars());
+            Assert.assertEquals(mapped.getNbCstrs(), streamed.getNbCstrs());
+            for (int i = 0; i < mapped.getNbVars(); i++) {
+                Assert.assertEquals(mapped.getVar(i).toString(), streamed.getVar(i).toString());
+            }
+            for (int i = 0; i < mapped.getNbCstrs(); i++) {
+                Assert.assertEquals(mapped.getCstrs()[i].toString(), streamed.getCstrs()[i].toString());
+            }
+        } finally {
+            Files.delete(plain);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "compressed")
+    public void testSharedRead(String name) throws SetUpException {
+        ClassLoader cl = this.getClass().getClassLoader();
+        String gz = cl.getResource("mps/" + name + ".mps.gz").getFile();
+        MPS mps = new MPS();
+        mps.setUp(gz, "-ninf", "-999.D", "-pinf", "999.D", "-p", "3", "-pb", "3");
+        mps.createSolver();
+        mps.buildModel();
+        Model alone = new Model();
+        new MPSParser().model(alone, mps.parsers[0], false, false, false);
+        for (Model model : mps.getPortfolio().getModels()) {
+            Assert.assertEquals(model.getNbVars(), alone.getNbVars());
+            Assert.assertEquals(model.getNbCstrs(), alone.getNbCstrs());
+            for (int i = 0; i < alone.getNbVars(); i++) {
+                Assert.assertEquals(model.getVar(i).toString(), alone.getVar(i).toString());
+            }
+            for (int i = 0; i < alone.getNbCstrs(); i++) {
+                Assert.assertEquals(model.getCstrs()[i].toString(), alone.getCstrs()[i].toString());
+            }
+        }
+    }
+
     private void run(String file) throws SetUpException {
         String[] args = new String[]{
                 file,
@@ -14,7 +14,11 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /*
 * User : CPRUDHOM
@@ -95,4 +99,34 @@ public class FlatzincModelTest {
         Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
     }
 
+    @Test(groups = "1s")
+    public void testMapped() throws IOException {
+        String fzn = "% comment with non-ASCII characters: \u00e9\u00e8\u20ac\n" +
+                "array[1 .. 3] of int: covers = [1,5,8];\n" +
+                "array[1 .. 3] of var 1 .. 10: vars::output_array([1..3]);\n" +
+                "var -5 .. 5: b::output_var;\n" +
+                "constraint int_lin_le([1,-1],[vars[1],b],3);\n" +
+                "constraint alldifferentChoco(vars);\n" +
+                "solve satisfy;";
+        Path path = Files.createTempFile("mapped", ".fzn");
+        try {
+            Files.write(path, fzn.getBytes(StandardCharsets.UTF_8));
+            Flatzinc streamed = new Flatzinc(true, false, 1);
+            streamed.addListener(new BaseFlatzincListener(streamed));
+            streamed.createSolver();
+            streamed.parse(streamed.getModel(), streamed.datas[0],
+                    new ByteArrayInputStream(fzn.getBytes(StandardCharsets.UTF_8)));
+            Flatzinc mapped = new Flatzinc(true, false, 1);
+            mapped.addListener(new BaseFlatzincListener(mapped));
+            mapped.createSolver();
+            mapped.parse(mapped.getModel(), mapped.datas[0], path);
+            Assert.assertEquals(mapped.getModel().getNbVars(), streamed.getModel().getNbVars());
+            Assert.assertEquals(mapped.getModel().getNbCstrs(), streamed.getModel().getNbCstrs());
+            Assert.assertEquals(mapped.getModel().getSolver().streamSolutions().count(),
+                    streamed.getModel().getSolver().streamSolutions().count());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
 }
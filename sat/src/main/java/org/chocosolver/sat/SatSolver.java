@@ -11,16 +11,20 @@ package org.chocosolver.sat;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 
 /**
  * A MiniSat solver.
  * <p>
  * (or-tools, booleans.cc, ty L. Perron).
+ * <p>
+ * All the data structures are dense and indexed by literal (or variable), so that propagating
+ * neither boxes nor hashes: the assignment is a byte array, each literal has a flat watch list
+ * made of (clause, blocker) pairs, and the literals of all clauses are stored in a single arena.
+ * Since secret variables are negative, indices are obtained by zigzag encoding
+ * (see {@link #index(int)}).
  * <br/>
  *
  * @author Charles Prud'homme
@@ -34,6 +38,11 @@ public class SatSolver implements SatFactory {
      */
     private static final int kUndefinedLiteral = -2;
 
+    // Values stored in 'assignment_', see Boolean
+    private static final byte kTrue = 0;
+    private static final byte kFalse = 1;
+    private static final byte kUndefined = 2;
+
     // If false, the constraints are already unsatisfiable. No part of
     // the solver state may be used!
     public boolean ok_;
@@ -41,13 +50,22 @@ public class SatSolver implements SatFactory {
     public ArrayList<Clause> clauses;
     // List of learnt addClauses.
     public ArrayList<Clause> learnts;
-    // 'watches_[lit]' is a list of constraints watching 'lit'(will go
-    // there if literal becomes true).
-    private TIntObjectHashMap<ArrayList<Watcher>> watches_;
-    // implies_[lit] is a list of literals to set to true if 'lit' becomes true.
-    public TIntObjectHashMap<TIntArrayList> implies_;
-    // The current assignments.
-    TIntObjectHashMap<Boolean> assignment_;
+    // Literals of the clauses: the size of a clause, followed by its literals.
+    // A clause is referenced by the position of its size.
+    private int[] arena_;
+    // Next free position in 'arena_'.
+    private int arena_top_;
+    // Number of positions in 'arena_' used by detached clauses.
+    private int arena_wasted_;
+    // 'watches_[index(lit)]' is a list of (clause, blocker) pairs watching 'lit'
+    // (will go there if literal becomes true).
+    private int[][] watches_;
+    private int[] watches_size_;
+    // implies_[index(lit)] is a list of literals to set to true if 'lit' becomes true.
+    private int[][] implies_;
+    private int[] implies_size_;
+    // The current assignments, indexed by index(var).
+    byte[] assignment_;
     // Assignment stack; stores all assigments made in the order they
     // were made.
     TIntArrayList trail_;
@@ -71,9 +89,13 @@ public class SatSolver implements SatFactory {
         num_vars_ = 0;
         this.clauses = new ArrayList<>();
         this.learnts = new ArrayList<>();
-        this.watches_ = new TIntObjectHashMap<>();
-        this.implies_ = new TIntObjectHashMap<>();
-        this.assignment_ = new TIntObjectHashMap<>();
+        this.arena_ = new int[64];
+        this.watches_ = new int[16][];
+        this.watches_size_ = new int[16];
+        this.implies_ = new int[16][];
+        this.implies_size_ = new int[16];
+        this.assignment_ = new byte[16];
+        Arrays.fill(assignment_, kUndefined);
         this.trail_ = new TIntArrayList();
         this.trail_markers_ = new TIntArrayList();
         this.temporary_add_vector_ = new TIntArrayList();
@@ -88,9 +110,7 @@ public class SatSolver implements SatFactory {
     // Add a new variable.
     public int newVariable() {
         int v = incrementVariableCounter();
-//            watches_.resize(2 * v + 2);
-//        implies_.resize(2 * v.value() + 2);
-        assignment_.put(v, Boolean.kUndefined);
+        ensureVariable(v);
         return v;
     }
 
@@ -98,10 +118,28 @@ public class SatSolver implements SatFactory {
     // That is a variable not known from CP solver
     protected int newSecretVariable(){
         int v = sec_vars_--;
-        assignment_.put(v, Boolean.kUndefined);
+        ensureVariable(v);
         return v;
     }
 
+    private void ensureVariable(int v) {
+        int x = index(v);
+        if (x >= assignment_.length) {
+            int o = assignment_.length;
+            assignment_ = Arrays.copyOf(assignment_, Math.max(x + 1, o * 3 / 2));
+            Arrays.fill(assignment_, o, assignment_.length, kUndefined);
+        }
+        // literals of 'v' are indexed by 2 * x + 2 at most
+        int n = 2 * x + 3;
+        if (n > watches_.length) {
+            n = Math.max(n, watches_.length * 3 / 2);
+            watches_ = Arrays.copyOf(watches_, n);
+            watches_size_ = Arrays.copyOf(watches_size_, n);
+            implies_ = Arrays.copyOf(implies_, n);
+            implies_size_ = Arrays.copyOf(implies_size_, n);
+        }
+    }
+
 
     // Add a clause to the solver.
     public boolean addClause(TIntList ps) {
@@ -113,9 +151,9 @@ public class SatSolver implements SatFactory {
         int lit = kUndefinedLiteral;
         int j = 0;
         for (int i = 0; i < ps.size(); i++) {
-            if (valueLit(ps.get(i)) == Boolean.kTrue || ps.get(i) == negated(lit)) {
+            if (value(ps.get(i)) == kTrue || ps.get(i) == negated(lit)) {
                 return true;
-            } else if (valueLit(ps.get(i)) != Boolean.kFalse && ps.get(i) != lit) {
+            } else if (value(ps.get(i)) != kFalse && ps.get(i) != lit) {
                 lit = ps.get(i);
                 ps.set(j++, lit);
             }
@@ -134,24 +172,13 @@ public class SatSolver implements SatFactory {
             case 2:
                 int l0 = ps.get(0);
                 int l1 = ps.get(1);
-                TIntArrayList i0 = implies_.get(negated(l0));
-                if (i0 == null) {
-                    i0 = new TIntArrayList();
-                    implies_.put(negated(l0), i0);
-                }
-                i0.add(l1);
-
-                TIntArrayList i1 = implies_.get(negated(l1));
-                if (i1 == null) {
-                    i1 = new TIntArrayList();
-                    implies_.put(negated(l1), i1);
-                }
-                i1.add(l0);
+                addImplication(negated(l0), l1);
+                addImplication(negated(l1), l0);
                 break;
             default:
-                Clause cr = new Clause(ps.toArray());
+                Clause cr = newClause(ps.toArray());
                 clauses.add(cr);
-                attachClause(cr);
+                attachClause(cr.ref);
                 break;
 
         }
@@ -172,9 +199,9 @@ public class SatSolver implements SatFactory {
                 dynUncheckedEnqueue(ps[0]);
                 return (ok_ = propagate());
             default:
-                Clause cr = new Clause(ps);
+                Clause cr = newClause(ps);
                 learnts.add(cr);
-                attachClause(cr);
+                attachClause(cr.ref);
                 break;
         }
         return true;
@@ -221,7 +248,7 @@ public class SatSolver implements SatFactory {
         if (trailMarker() > level) {
             for (int c = trail_.size() - 1; c >= trail_markers_.get(level); c--) {
                 int x = var(trail_.get(c));
-                assignment_.put(x, Boolean.kUndefined);
+                assignment_[index(x)] = kUndefined;
             }
             qhead_ = trail_markers_.get(level);
             trail_.remove(trail_markers_.get(level), trail_.size() - trail_markers_.get(level));
@@ -236,13 +263,18 @@ public class SatSolver implements SatFactory {
 
     // The current value of a variable.
     Boolean valueVar(int x) {
-        return assignment_.get(x);
+        return Boolean.make(assignment_[index(x)]);
     }
 
     // The current value of a literal.
     Boolean valueLit(int l) {
-        Boolean b = assignment_.get(var(l));
-        return b == Boolean.kUndefined ? Boolean.kUndefined : xor(b, sign(l));
+        return Boolean.make(value(l));
+    }
+
+    // The current value of a literal, as stored in 'assignment_'.
+    private byte value(int l) {
+        byte b = assignment_[index(l >> 1)];
+        return b == kUndefined ? kUndefined : (byte) (b ^ (l & 1));
     }
 
     // The current number of original clauses.
@@ -263,17 +295,17 @@ public class SatSolver implements SatFactory {
         if (!propagate()) {
             return false;
         }
-        if (valueLit(lit) == Boolean.kTrue) {
+        if (value(lit) == kTrue) {
             // Dummy decision level:
             pushTrailMarker();
             return true;
-        } else if (valueLit(lit) == Boolean.kFalse) {
+        } else if (value(lit) == kFalse) {
             return false;
         }
         pushTrailMarker();
         // Unchecked enqueue
-        assert valueLit(lit) == Boolean.kUndefined;
-        assignment_.put(var(lit), makeBoolean(!sign(lit)));
+        assert value(lit) == kUndefined;
+        assignment_[index(var(lit))] = (byte) (lit & 1);
         trail_.add(lit);
         return propagate();
     }
@@ -290,11 +322,12 @@ public class SatSolver implements SatFactory {
 
     // Enqueue a literal. Assumes value of literal is undefined.
     void uncheckedEnqueue(int l) {
-        assert valueLit(l) == Boolean.kUndefined;
-        if (assignment_.get(var(l)) == Boolean.kUndefined) {
+        assert value(l) == kUndefined;
+        int x = index(var(l));
+        if (assignment_[x] == kUndefined) {
             touched_variables_.add(l);
         }
-        assignment_.put(var(l), sign(l) ? Boolean.kFalse : Boolean.kTrue);
+        assignment_[x] = (byte) (l & 1);
         trail_.add(l);
     }
 
@@ -305,49 +338,102 @@ public class SatSolver implements SatFactory {
 
     // Test if fact 'p' contradicts current state, Enqueue otherwise.
     private boolean enqueue(int l) {
-        if (valueLit(l) != Boolean.kUndefined) {
-            return valueLit(l) != Boolean.kFalse;
+        byte v = value(l);
+        if (v != kUndefined) {
+            return v != kFalse;
         } else {
             uncheckedEnqueue(l);
             return true;
         }
     }
 
-    // Attach a clause to watcher lists.
-    private void attachClause(Clause cr) {
-        assert cr.size() > 1;
-        ArrayList<Watcher> l0 = watches_.get(negated(cr._g(0)));
-        if (l0 == null) {
-            l0 = new ArrayList<>();
-            watches_.put(negated(cr._g(0)), l0);
+    // Store the literals of a clause in the arena.
+    private Clause newClause(int[] ps) {
+        int ref = arena_top_;
+        if (ref + ps.length + 1 > arena_.length) {
+            arena_ = Arrays.copyOf(arena_, Math.max(ref + ps.length + 1, arena_.length * 3 / 2));
         }
-        ArrayList<Watcher> l1 = watches_.get(negated(cr._g(1)));
-        if (l1 == null) {
-            l1 = new ArrayList<>();
-            watches_.put(negated(cr._g(1)), l1);
+        arena_[ref] = ps.length;
+        System.arraycopy(ps, 0, arena_, ref + 1, ps.length);
+        arena_top_ += ps.length + 1;
+        return new Clause(this, ref);
+    }
+
+    private void addImplication(int l, int implied) {
+        int x = index(l);
+        int[] is = implies_[x];
+        if (is == null) {
+            is = implies_[x] = new int[4];
+        } else if (implies_size_[x] == is.length) {
+            is = implies_[x] = Arrays.copyOf(is, is.length * 2);
         }
-        l0.add(new Watcher(cr, cr._g(1)));
-        l1.add(new Watcher(cr, cr._g(0)));
+        is[implies_size_[x]++] = implied;
     }
 
-    public void detachLearnt(int ci) {
-        Clause cr = learnts.get(ci);
-        learnts.remove(ci);
+    private void addWatch(int l, int cr, int blocker) {
+        int x = index(l);
+        int[] ws = watches_[x];
+        if (ws == null) {
+            ws = watches_[x] = new int[8];
+        } else if (watches_size_[x] == ws.length) {
+            ws = watches_[x] = Arrays.copyOf(ws, ws.length * 2);
+        }
+        ws[watches_size_[x]++] = cr;
+        ws[watches_size_[x]++] = blocker;
+    }
 
-        ArrayList<Watcher> ws = watches_.get(negated(cr._g(0)));
-        int i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+    private void removeWatch(int l, int cr) {
+        int x = index(l);
+        int[] ws = watches_[x];
+        int i = watches_size_[x] - 2;
+        while (i >= 0 && ws[i] != cr) {
+            i -= 2;
         }
         assert i > -1;
-        ws.remove(i);
-        ws = watches_.get(negated(cr._g(1)));
-        i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+        System.arraycopy(ws, i + 2, ws, i, watches_size_[x] - i - 2);
+        watches_size_[x] -= 2;
+    }
+
+    // Attach a clause to watcher lists.
+    private void attachClause(int cr) {
+        assert arena_[cr] > 1;
+        int l0 = arena_[cr + 1];
+        int l1 = arena_[cr + 2];
+        addWatch(negated(l0), cr, l1);
+        addWatch(negated(l1), cr, l0);
+    }
+
+    public void detachLearnt(int ci) {
+        Clause cr = learnts.remove(ci);
+        removeWatch(negated(cr._g(0)), cr.ref);
+        removeWatch(negated(cr._g(1)), cr.ref);
+        arena_wasted_ += cr.size() + 1;
+        if (arena_wasted_ > arena_top_ / 2) {
+            compact();
+        }
+    }
+
+    // Remove detached clauses from the arena, which requires to attach clauses again.
+    private void compact() {
+        int[] arena = new int[Math.max(64, arena_top_ - arena_wasted_)];
+        int top = 0;
+        Arrays.fill(watches_size_, 0);
+        for (ArrayList<Clause> list : Arrays.asList(clauses, learnts)) {
+            for (Clause cr : list) {
+                int n = arena_[cr.ref] + 1;
+                System.arraycopy(arena_, cr.ref, arena, top, n);
+                cr.ref = top;
+                top += n;
+            }
+        }
+        arena_ = arena;
+        arena_top_ = top;
+        arena_wasted_ = 0;
+        for (ArrayList<Clause> list : Arrays.asList(clauses, learnts)) {
+            for (Clause cr : list) {
+                attachClause(cr.ref);
+            }
         }
-        assert i > -1;
-        ws.remove(i);
     }
 
     // Perform unit propagation. returns true upon success.
@@ -367,48 +453,53 @@ public class SatSolver implements SatFactory {
     private boolean propagateClauses(int p) {
         boolean result = true;
         // 'p' is enqueued fact to propagate.
-        ArrayList<Watcher> ws = watches_.get(p);
-
+        int x = index(p);
+        int[] ws = watches_[x];
+        if (ws == null) {
+            return true;
+        }
+        int[] arena = arena_;
+        final int false_lit = negated(p);
+        int n = watches_size_[x];
         int i = 0;
         int j = 0;
-        while (ws != null && i < ws.size()) {
+        while (i < n) {
             // Try to avoid inspecting the clause:
-            int blocker = ws.get(i).blocker;
-            if (valueLit(blocker) == Boolean.kTrue) {
-                ws.set(j++, ws.get(i++));
+            int cr = ws[i];
+            int blocker = ws[i + 1];
+            if (value(blocker) == kTrue) {
+                ws[j++] = cr;
+                ws[j++] = blocker;
+                i += 2;
                 continue;
             }
 
             // Make sure the false literal is data[1]:
-            Clause cr = ws.get(i).clause;
-            final int false_lit = negated(p);
-            if (cr._g(0) == false_lit) {
-                cr._s(0, cr._g(1));
-                cr._s(1, false_lit);
+            int c = cr + 1;
+            if (arena[c] == false_lit) {
+                arena[c] = arena[c + 1];
+                arena[c + 1] = false_lit;
             }
-            assert (cr._g(1) == false_lit);
-            i++;
+            assert (arena[c + 1] == false_lit);
+            i += 2;
 
             // If 0th watch is true, then clause is already satisfied.
-            final int first = cr._g(0);
-            Watcher w = new Watcher(cr, first);
-            if (first != blocker && valueLit(first) == Boolean.kTrue) {
-                ws.set(j++, w);
+            final int first = arena[c];
+            if (first != blocker && value(first) == kTrue) {
+                ws[j++] = cr;
+                ws[j++] = first;
                 continue;
             }
 
             // Look for new watch:
             boolean cont = false;
-            for (int k = 2; k < cr.size(); k++) {
-                if (valueLit(cr._g(k)) != Boolean.kFalse) {
-                    cr._s(1, cr._g(k));
-                    cr._s(k, false_lit);
-                    ArrayList<Watcher> lw = watches_.get(negated(cr._g(1)));
-                    if (lw == null) {
-                        lw = new ArrayList<>();
-                        watches_.put(negated(cr._g(1)), lw);
-                    }
-                    lw.add(w);
+            for (int k = 2, size = arena[cr]; k < size; k++) {
+                int l = arena[c + k];
+                if (value(l) != kFalse) {
+                    arena[c + 1] = l;
+                    arena[c + k] = false_lit;
+                    // cannot be 'ws' since 'l' is not false
+                    addWatch(negated(l), cr, first);
                     cont = true;
                     break;
                 }
@@ -416,13 +507,14 @@ public class SatSolver implements SatFactory {
 
             // Did not find watch -- clause is unit under assignment:
             if (!cont) {
-                ws.set(j++, w);
-                if (valueLit(first) == Boolean.kFalse) {
+                ws[j++] = cr;
+                ws[j++] = first;
+                if (value(first) == kFalse) {
                     result = false;
                     qhead_ = trail_.size();
                     // Copy the remaining watches_:
-                    while (i < ws.size()) {
-                        ws.set(j++, ws.get(i++));
+                    while (i < n) {
+                        ws[j++] = ws[i++];
                     }
                     touched_variables_.add(first);
                 } else {
@@ -430,27 +522,55 @@ public class SatSolver implements SatFactory {
                 }
             }
         }
-        if (ws != null) {
-            if (ws.size() > j) {
-                ws.subList(j, ws.size()).clear();
-            }
-        }
+        watches_size_[x] = j;
         return result;
     }
 
     private boolean propagateImplies(int p) {
-        TIntList to_add = implies_.get(p);
-        if (to_add != null) {
-            for (int i = 0; i < to_add.size(); ++i) {
-                if (!enqueue(to_add.get(i))) {
-                    touched_variables_.add(to_add.get(i));
-                    return false;
-                }
+        int x = index(p);
+        int[] to_add = implies_[x];
+        for (int i = 0, n = implies_size_[x]; i < n; ++i) {
+            if (!enqueue(to_add[i])) {
+                touched_variables_.add(to_add[i]);
+                return false;
             }
         }
         return true;
     }
 
+    /**
+     * @return the literals which imply at least one other literal, through binary clauses
+     */
+    public TIntList getImplyingLiterals() {
+        TIntList lits = new TIntArrayList();
+        for (int x = 0; x < implies_size_.length; x++) {
+            if (implies_size_[x] > 0) {
+                lits.add((x >>> 1) ^ -(x & 1));
+            }
+        }
+        return lits;
+    }
+
+    /**
+     * @param l a literal
+     * @return a copy of the literals set to true when <i>l</i> becomes true, through binary clauses
+     */
+    public TIntList getImpliedLiterals(int l) {
+        int x = index(l);
+        if (x >= implies_.length || implies_size_[x] == 0) {
+            return new TIntArrayList(0);
+        }
+        return TIntArrayList.wrap(Arrays.copyOf(implies_[x], implies_size_[x]));
+    }
+
+
+    /**
+     * Zigzag encoding of a literal or a variable, which may be negative for secret variables,
+     * into an index in the dense data structures: 0, -1, 1, -2, 2, ... are mapped to 0, 1, 2, 3, 4, ...
+     */
+    private static int index(int i) {
+        return (i << 1) ^ (i >> 31);
+    }
 
     /**
      * inline Literal MakeLiteral(Variable var, bool sign) {
@@ -487,78 +607,47 @@ public class SatSolver implements SatFactory {
         return (l >> 1);
     }
 
-    /**
-     * inline Boolean MakeBoolean(bool x) { return Boolean(!x); }
-     */
-    private static Boolean makeBoolean(boolean b) {
-        return (b ? Boolean.kTrue : Boolean.kFalse);
-    }
-
-    /**
-     * inline Boolean Xor(Boolean a, bool b) {
-     * return Boolean((uint8)(a.value() ^ (uint8) b));
-     * }
-     */
-    private static Boolean xor(Boolean a, boolean b) {
-        return Boolean.make((byte) (a.value() ^ (b ? 1 : 0)));
-    }
-
 
     /**
-     * Clause -- a simple class for representing a clause
+     * Clause -- a simple class for representing a clause.
+     * The literals are stored in the arena of the solver.
      * <br/>
      *
      * @author Charles Prud'homme, Laurent Perron
      * @since 12/07/13
      */
     public static class Clause {
-        private int[] literals_;
+        private final SatSolver solver;
+        // Position of the clause in the arena, may change when the arena is compacted
+        private int ref;
 
-        Clause(int[] ps) {
-            literals_ = ps.clone();
+        Clause(SatSolver solver, int ref) {
+            this.solver = solver;
+            this.ref = ref;
         }
 
         public int size() {
-            return literals_.length;
+            return solver.arena_[ref];
         }
 
         public int _g(int i) {
-            return literals_[i];
+            return solver.arena_[ref + 1 + i];
         }
 
         int _s(int pos, int l) {
-            return literals_[pos] = l;
+            return solver.arena_[ref + 1 + pos] = l;
         }
 
         int pos(int l) {
-            int i = literals_.length - 1;
-            while (i >= 0 && literals_[i] != l) {
+            int i = size() - 1;
+            while (i >= 0 && _g(i) != l) {
                 i--;
             }
             return i;
         }
 
         public String toString() {
-            return Arrays.toString(literals_);
-        }
-    }
-
-    /**
-     * // A watcher represent a clause attached to a literal.
-     * <br/>
-     * (or-tools, booleans.cc, ty L. Perron).
-     *
-     * @author Charles Prud'homme
-     * @since 12/07/13
-     */
-    static class Watcher {
-
-        Clause clause;
-        int blocker;
-
-        Watcher(final Clause cr, int l) {
-            this.clause = cr;
-            this.blocker = l;
+            return Arrays.toString(Arrays.copyOfRange(solver.arena_, ref + 1, ref + 1 + size()));
         }
     }
 
@@ -571,9 +660,9 @@ public class SatSolver implements SatFactory {
      */
     enum Boolean {
 
-        kTrue((byte) 0),
-        kFalse((byte) 1),
-        kUndefined((byte) 2);
+        kTrue(SatSolver.kTrue),
+        kFalse(SatSolver.kFalse),
+        kUndefined(SatSolver.kUndefined);
 
 
         byte value;
@@ -599,6 +688,7 @@ public class SatSolver implements SatFactory {
         this.ok_ = o.ok_;
         this.qhead_ = o.qhead_;
         this.num_vars_ = o.num_vars_;
+        this.sec_vars_ = o.sec_vars_;
         this.trail_.resetQuick();
         this.trail_.addAll(o.trail_);
         this.trail_markers_.resetQuick();
@@ -607,45 +697,40 @@ public class SatSolver implements SatFactory {
         this.touched_variables_.addAll(o.touched_variables_);
         this.temporary_add_vector_.resetQuick();
         this.temporary_add_vector_.addAll(o.temporary_add_vector_);
-        for (int k : o.assignment_.keys()) {
-            this.assignment_.putIfAbsent(k, o.assignment_.get(k));
-        }
-        for (int k : o.implies_.keys()) {
-            TIntArrayList tl = this.implies_.get(k);
-            if(tl == null){
-                tl = new TIntArrayList();
-                this.implies_.put(k, tl);
-            }else{
-                tl.resetQuick();
-            }
-            tl.addAll(o.implies_.get(k));
-        }
-        final HashMap<Clause, Clause> map = new HashMap<>();
+        this.assignment_ = o.assignment_.clone();
+        this.implies_ = deepCopy(o.implies_);
+        this.implies_size_ = o.implies_size_.clone();
+        this.watches_ = deepCopy(o.watches_);
+        this.watches_size_ = o.watches_size_.clone();
+        this.arena_ = o.arena_.clone();
+        this.arena_top_ = o.arena_top_;
+        this.arena_wasted_ = o.arena_wasted_;
         this.clauses.clear();
         for (Clause cl : o.clauses) {
-            Clause _cl = new Clause(cl.literals_);
-            map.put(cl, _cl);
-            this.clauses.add(_cl);
+            this.clauses.add(new Clause(this, cl.ref));
         }
         this.learnts.clear();
         for (Clause cl : o.learnts) {
-            Clause _cl = new Clause(cl.literals_);
-            map.put(cl, _cl);
-            this.learnts.add(_cl);
-        }
-        this.watches_.clear();
-        for (int k : o.watches_.keys()) {
-            ArrayList<Watcher> ws = o.watches_.get(k);
-            ArrayList<Watcher> _ws = new ArrayList<>(ws.size());
-            for (Watcher w : ws) {
-                _ws.add(new Watcher(map.get(w.clause), w.blocker));
+            this.learnts.add(new Clause(this, cl.ref));
+        }
+    }
+
+    private static int[][] deepCopy(int[][] lists) {
+        int[][] copy = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i] != null) {
+                copy[i] = lists[i].clone();
             }
-            this.watches_.put(k, _ws);
         }
+        return copy;
     }
 
     public long nbclauses() {
-        return clauses.size() + learnts.size() + implies_.size() / 2;
+        int implies = 0;
+        for (int n : implies_size_) {
+            if (n > 0) implies++;
+        }
+        return clauses.size() + learnts.size() + implies / 2;
     }
 
     public long numvars() {
@@ -654,4 +739,4 @@ public class SatSolver implements SatFactory {
 
 
 
-}
\ No newline at end of file
+}
@@ -53,18 +53,18 @@ public class SatSolverTest {
 
     @Test(groups = "1s")
     public void testAddClause() throws Exception {
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
 
         Assert.assertTrue(sat.addClause(SatSolver.makeLiteral(a, true)));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         Assert.assertTrue(sat.addClause(SatSolver.makeLiteral(b, false)));
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kTrue);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kTrue);
         Assert.assertEquals(sat.qhead_, 2);
         Assert.assertEquals(sat.clauses.size(), 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 0);
     }
 
     @Test(groups = "1s")
@@ -82,17 +82,17 @@ public class SatSolverTest {
         int ap = SatSolver.makeLiteral(a, true);
         int bp = SatSolver.makeLiteral(b, true);
         Assert.assertTrue(sat.addClause(ap,bp));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.clauses.size(), 0);
-        Assert.assertEquals(sat.implies_.size(), 2);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 2);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertNull(sat.implies_.get(ap));
-        Assert.assertNull(sat.implies_.get(bp));
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(ap)).size(), 1);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(ap)).get(0), bp);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(bp)).size(), 1);
-        Assert.assertEquals(sat.implies_.get(SatSolver.negated(bp)).get(0), ap);
+        Assert.assertTrue(sat.getImpliedLiterals(ap).isEmpty());
+        Assert.assertTrue(sat.getImpliedLiterals(bp).isEmpty());
+        Assert.assertEquals(sat.getImpliedLiterals(SatSolver.negated(ap)).size(), 1);
+        Assert.assertEquals(sat.getImpliedLiterals(SatSolver.negated(ap)).get(0), bp);
+        Assert.assertEquals(sat.getImpliedLiterals(SatSolver.negated(bp)).size(), 1);
+        Assert.assertEquals(sat.getImpliedLiterals(SatSolver.negated(bp)).get(0), ap);
     }
 
     @Test(groups = "1s")
@@ -101,11 +101,11 @@ public class SatSolverTest {
         int bp = SatSolver.makeLiteral(b, true);
         int cp = SatSolver.makeLiteral(c, true);
         Assert.assertTrue(sat.addClause(ap,bp, cp));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 0);
         Assert.assertEquals(sat.clauses.size(), 1);
     }
 
@@ -116,12 +116,12 @@ public class SatSolverTest {
         int cp = SatSolver.makeLiteral(c, true);
         int dp = SatSolver.makeLiteral(d, true);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{ap,bp, cp, dp})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 0);
         Assert.assertEquals(sat.clauses.size(), 1);
     }
 
@@ -129,12 +129,12 @@ public class SatSolverTest {
     public void testAddClause4() throws Exception {
         int a1 = SatSolver.makeLiteral(a, true);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{a1,a1,a1, a1})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 1);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 0);
         Assert.assertEquals(sat.clauses.size(), 0);
     }
 
@@ -143,12 +143,12 @@ public class SatSolverTest {
         int a1 = SatSolver.makeLiteral(a, true);
         int a2 = SatSolver.makeLiteral(a, false);
         Assert.assertTrue(sat.addClause(new TIntArrayList(new int[]{a1,a2})));
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(b), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(c), SatSolver.Boolean.kUndefined);
-        Assert.assertEquals(sat.assignment_.get(d), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(b), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.qhead_, 0);
-        Assert.assertEquals(sat.implies_.size(), 0);
+        Assert.assertEquals(sat.getImplyingLiterals().size(), 0);
         Assert.assertEquals(sat.clauses.size(), 0);
     }
 
@@ -156,11 +156,11 @@ public class SatSolverTest {
     public void testAddClause6() throws Exception {
         int ap = SatSolver.makeLiteral(a, true);
         sat.uncheckedEnqueue(ap);
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         int an = SatSolver.makeLiteral(a, false);
         Assert.assertFalse(sat.addClause(an));
         sat.propagate();
-        Assert.assertEquals(sat.assignment_.get(a), SatSolver.Boolean.kFalse);
+        Assert.assertEquals(sat.valueVar(a), SatSolver.Boolean.kFalse);
         Assert.assertEquals(sat.qhead_, 1);
         Assert.assertFalse(sat.ok_);
     }
@@ -351,7 +351,32 @@ public class SatSolverTest {
 
     @Test(groups = "1s")
     public void testDetachLearnt() throws Exception {
-
+        int ap = SatSolver.makeLiteral(a, true);
+        int bp = SatSolver.makeLiteral(b, true);
+        int cp = SatSolver.makeLiteral(c, true);
+        int dn = SatSolver.makeLiteral(d, false);
+        sat.addClause(ap, bp, cp);
+        for (int i = 0; i < 10; i++) {
+            sat.learnClause(SatSolver.negated(ap), bp, dn);
+        }
+        sat.learnClause(SatSolver.negated(ap), SatSolver.negated(bp), cp);
+        // detach the duplicated clauses, which compacts the clauses
+        for (int i = 0; i < 10; i++) {
+            sat.detachLearnt(0);
+        }
+        Assert.assertEquals(sat.nLearnt(), 1);
+        Assert.assertEquals(sat.learnts.get(0).size(), 3);
+        Assert.assertEquals(sat.clauses.get(0).size(), 3);
+        Assert.assertEquals(sat.nbclauses(), 2);
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(ap)));
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(bp)));
+        Assert.assertEquals(sat.valueLit(cp), SatSolver.Boolean.kTrue);
+        sat.cancelUntil(0);
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(cp)));
+        Assert.assertTrue(sat.propagateOneLiteral(SatSolver.negated(bp)));
+        Assert.assertEquals(sat.valueLit(ap), SatSolver.Boolean.kTrue);
+        // the detached clauses would have fixed d
+        Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
     }
 
     @Test(groups = "1s")
@@ -731,4 +756,23 @@ public class SatSolverTest {
         Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kUndefined);
         Assert.assertEquals(sat.valueVar(d), SatSolver.Boolean.kUndefined);
     }
-}
\ No newline at end of file
+    @Test(groups = "1s")
+    public void testSecretVariable() throws Exception {
+        int s = sat.newSecretVariable();
+        Assert.assertTrue(s < 0);
+        Assert.assertEquals(sat.valueVar(s), SatSolver.Boolean.kUndefined);
+        int sp = SatSolver.makeLiteral(s, true);
+        int ap = SatSolver.makeLiteral(a, true);
+        int bp = SatSolver.makeLiteral(b, true);
+        sat.addClause(SatSolver.negated(ap), sp);
+        sat.addClause(SatSolver.negated(sp), SatSolver.negated(bp), SatSolver.makeLiteral(c, true));
+        Assert.assertTrue(sat.propagateOneLiteral(ap));
+        Assert.assertEquals(sat.valueLit(sp), SatSolver.Boolean.kTrue);
+        Assert.assertTrue(sat.propagateOneLiteral(bp));
+        Assert.assertEquals(sat.valueVar(c), SatSolver.Boolean.kFalse);
+        sat.cancelUntil(0);
+        Assert.assertEquals(sat.valueVar(s), SatSolver.Boolean.kUndefined);
+        Assert.assertTrue(sat.getImplyingLiterals().contains(ap));
+    }
+
+}
@@ -16,6 +16,7 @@
 module org.chocosolver.solver {
     // exports in alphabetical order
     exports org.chocosolver.memory;
+    exports org.chocosolver.memory.copying;
     exports org.chocosolver.memory.trailing;
     exports org.chocosolver.memory.trailing.trail;
     exports org.chocosolver.memory.trailing.trail.flatten;
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
@@ -60,6 +61,10 @@ public class EnvironmentBuilder {
      * Trail to consider to manage operations
      */
     private IOperationTrail ot;
+    /**
+     * States to copy instead of trailing them, {@code null} if all states are trailed
+     */
+    private EnvironmentCopying.Mode copy;
 
     /**
      * The maximum numbers of updates that a
@@ -149,7 +154,7 @@ public class EnvironmentBuilder {
      * @return the resulting environment
      */
     public EnvironmentTrailing build(){
-        EnvironmentTrailing env = new EnvironmentTrailing();
+        EnvironmentTrailing env = copy == null ? new EnvironmentTrailing() : new EnvironmentCopying(copy);
         if (bt == null) {
             bt = new StoredBoolTrail(worldsize, worldnumber, loadfactor);
         }
@@ -203,4 +208,27 @@ public class EnvironmentBuilder {
         setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Build a copying environment: primitive states and bitsets are copied on world push
+     * and restored on world pop, instead of being trailed.
+     * Operations and vectors remain trailed.
+     * @return {@code this}
+     * @see EnvironmentCopying
+     */
+    public EnvironmentBuilder fromCopy(){
+        copy = EnvironmentCopying.Mode.ALL;
+        return this;
+    }
+
+    /**
+     * Build a hybrid environment: bitsets are copied on world push and restored on world pop,
+     * the other states are trailed.
+     * @return {@code this}
+     * @see EnvironmentCopying
+     */
+    public EnvironmentBuilder fromHybrid(){
+        copy = EnvironmentCopying.Mode.BITSETS;
+        return this;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBitSet;
+
+/**
+ * A backtrackable bitset of fixed capacity whose words are stored contiguously
+ * in the word arena of an {@link EnvironmentCopying}.
+ * The whole arena is saved and restored by block copy on world push and pop,
+ * so modifying a word costs no more than modifying a plain <code>long[]</code>.
+ */
+public final class CopiedBitSet implements IStateBitSet, ICopied {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    /**
+     * The environment which stores the words
+     */
+    private final EnvironmentCopying environment;
+    /**
+     * Index of the first word of this bitset in the word arena
+     */
+    private final int offset;
+    /**
+     * Number of words of this bitset
+     */
+    private final int nbWords;
+
+    /**
+     * Creates a bit set whose size is large enough to explicitly
+     * represent bits with indices in the range <code>0</code> through
+     * <code>nbits-1</code>. All bits are initially <code>false</code>.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     *
+     * @param environment backtrackable environment
+     * @param nbits       the size of the bit set.
+     */
+    public CopiedBitSet(EnvironmentCopying environment, int nbits) {
+        if (nbits < 0)
+            throw new NegativeArraySizeException("nbits < 0: " + nbits);
+        this.environment = environment;
+        this.nbWords = Math.max(1, wordIndex(nbits - 1) + 1);
+        this.offset = environment.allocateWords(this, nbWords);
+    }
+
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS_PER_WORD;
+    }
+
+    private static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (toIndex < 0)
+            throw new IndexOutOfBoundsException("toIndex < 0: " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
+    }
+
+    private void checkCapacity(int wordIndex) {
+        if (wordIndex >= nbWords)
+            throw new IndexOutOfBoundsException("bitIndex >= " + size());
+    }
+
+    @Override
+    public void backToInitial() {
+        clear();
+    }
+
+    @Override
+    public int cardinality() {
+        long[] words = environment.words;
+        int sum = 0;
+        for (int i = offset + nbWords - 1; i >= offset; i--) {
+            sum += Long.bitCount(words[i]);
+        }
+        return sum;
+    }
+
+    @Override
+    public int size() {
+        return nbWords * BITS_PER_WORD;
+    }
+
+    @Override
+    public void set(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        checkCapacity(wordIndex);
+        environment.words[offset + wordIndex] |= (1L << bitIndex);
+    }
+
+    @Override
+    public void clear(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        if (wordIndex < nbWords) {
+            environment.words[offset + wordIndex] &= ~(1L << bitIndex);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long[] words = environment.words;
+        for (int i = offset + nbWords - 1; i >= offset; i--) {
+            words[i] = 0L;
+        }
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        if (startWordIndex >= nbWords)
+            return;
+        int endWordIndex = wordIndex(toIndex - 1);
+        if (endWordIndex >= nbWords) {
+            toIndex = size();
+            endWordIndex = nbWords - 1;
+        }
+        long[] words = environment.words;
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            words[offset + startWordIndex] &= ~(firstWordMask & lastWordMask);
+        } else {
+            words[offset + startWordIndex] &= ~firstWordMask;
+            for (int i = startWordIndex + 1; i < endWordIndex; i++) {
+                words[offset + i] = 0L;
+            }
+            words[offset + endWordIndex] &= ~lastWordMask;
+        }
+    }
+
+    @Override
+    public void set(int bitIndex, boolean value) {
+        if (value) {
+            set(bitIndex);
+        } else {
+            clear(bitIndex);
+        }
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        checkCapacity(endWordIndex);
+        long[] words = environment.words;
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            words[offset + startWordIndex] |= (firstWordMask & lastWordMask);
+        } else {
+            words[offset + startWordIndex] |= firstWordMask;
+            for (int i = startWordIndex + 1; i < endWordIndex; i++) {
+                words[offset + i] = WORD_MASK;
+            }
+            words[offset + endWordIndex] |= lastWordMask;
+        }
+    }
+
+    @Override
+    public boolean get(int bitIndex) {
+        int wordIndex = bitIndex >> ADDRESS_BITS_PER_WORD;
+        return wordIndex < nbWords
+                && ((environment.words[offset + wordIndex] & (1L << bitIndex)) != 0);
+    }
+
+    @Override
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= nbWords)
+            return -1;
+        long[] words = environment.words;
+        long word = words[offset + u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == nbWords)
+                return -1;
+            word = words[offset + u];
+        }
+    }
+
+    @Override
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= nbWords)
+            return fromIndex;
+        long[] words = environment.words;
+        long word = ~words[offset + u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == nbWords)
+                return nbWords * BITS_PER_WORD;
+            word = ~words[offset + u];
+        }
+    }
+
+    @Override
+    public int prevSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        long[] words = environment.words;
+        long word;
+        if (u >= nbWords) {
+            u = nbWords - 1;
+            word = words[offset + u];
+        } else {
+            word = words[offset + u] & (WORD_MASK >>> -(fromIndex + 1));
+        }
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = words[offset + u];
+        }
+    }
+
+    @Override
+    public int prevClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= nbWords)
+            return fromIndex;
+        long[] words = environment.words;
+        long word = ~words[offset + u] & (WORD_MASK >>> -(fromIndex + 1));
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = ~words[offset + u];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long[] words = environment.words;
+        for (int i = offset + nbWords - 1; i >= offset; i--) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder(6 * nbWords + 2);
+        b.append('{');
+        int i = nextSetBit(0);
+        if (i != -1) {
+            b.append(i);
+            for (i = nextSetBit(i + 1); i >= 0; i = nextSetBit(i + 1)) {
+                b.append(", ").append(i);
+            }
+        }
+        b.append('}');
+        return b.toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateDouble;
+
+/**
+ * A class implementing backtrackable double whose value is copied by the environment
+ * on each world push, instead of being trailed on each modification.
+ */
+public final class CopiedDouble extends IStateDouble implements ICopied {
+
+    /**
+     * Value given on creation, restored when backtracking before the creation world.
+     */
+    private final double initialValue;
+
+    /**
+     * Constructs a copied double with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedDouble(final EnvironmentCopying env, final double i) {
+        super(env, i);
+        this.initialValue = i;
+        env.add(this);
+    }
+
+    /**
+     * Modifies the value, nothing is stored since the value is copied on world push.
+     */
+    @Override
+    public void set(final double y) {
+        currentValue = y;
+    }
+
+    @Override
+    public void backToInitial() {
+        currentValue = initialValue;
+    }
+}
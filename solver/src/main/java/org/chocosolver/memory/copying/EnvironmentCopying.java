@@ -0,0 +1,305 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IStateDouble;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.trailing.EnvironmentTrailing;
+
+import java.util.Arrays;
+
+/**
+ * An environment which saves states by copying them instead of trailing them.
+ * <p/>
+ * On each world push, the current value of each copied state is written in a snapshot of the world,
+ * and on world pop, the snapshot is written back.
+ * Modifying a copied state is therefore free of any test or trail access,
+ * but pushing a world costs a number of operations linear in the number of copied states.
+ * This is worth it for models with few and frequently modified states.
+ * <p/>
+ * Bitsets with more than 64 bits have their words stored contiguously in an arena,
+ * which is saved and restored by block copy ({@link System#arraycopy(Object, int, Object, int, int)}).
+ * <p/>
+ * Depending on the {@link Mode}, either all primitive states are copied ({@link Mode#ALL}),
+ * or only bitsets are while other primitive states are trailed ({@link Mode#BITSETS}).
+ * In any case, operations ({@link #save(org.chocosolver.memory.structure.IOperation)}) and vectors
+ * are trailed.
+ */
+public class EnvironmentCopying extends EnvironmentTrailing {
+
+    /**
+     * Define which states are copied
+     */
+    public enum Mode {
+        /**
+         * All primitive states and bitsets are copied
+         */
+        ALL,
+        /**
+         * Only bitsets are copied, the other states are trailed
+         */
+        BITSETS
+    }
+
+    private static final int SIZE = 64;
+
+    private final Mode mode;
+
+    private CopiedInt[] ints = new CopiedInt[SIZE];
+    private int nbInts;
+    private int[][] intWorlds = new int[NBWORLDS][];
+    private int[] nbIntsAt = new int[NBWORLDS];
+
+    private CopiedLong[] longs = new CopiedLong[SIZE];
+    private int nbLongs;
+    private long[][] longWorlds = new long[NBWORLDS][];
+    private int[] nbLongsAt = new int[NBWORLDS];
+
+    private CopiedBool[] bools = new CopiedBool[SIZE];
+    private int nbBools;
+    private boolean[][] boolWorlds = new boolean[NBWORLDS][];
+    private int[] nbBoolsAt = new int[NBWORLDS];
+
+    private CopiedDouble[] doubles = new CopiedDouble[SIZE];
+    private int nbDoubles;
+    private double[][] doubleWorlds = new double[NBWORLDS][];
+    private int[] nbDoublesAt = new int[NBWORLDS];
+
+    /**
+     * Arena of bitset words, accessed directly by {@link CopiedBitSet}
+     */
+    long[] words = new long[SIZE];
+    private int nbWords;
+    private long[][] wordWorlds = new long[NBWORLDS][];
+    private int[] nbWordsAt = new int[NBWORLDS];
+
+    /**
+     * Structures created while a fake history was needed, with the world they were created in
+     */
+    private ICopied[] fakes = new ICopied[SIZE];
+    private int[] fakeWorlds = new int[SIZE];
+    private int nbFakes;
+
+    /**
+     * Create an environment which copies states as stated by <i>mode</i>
+     *
+     * @param mode which states to copy
+     */
+    public EnvironmentCopying(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * @return which states are copied
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void worldPush() {
+        final int w = currentWorld;
+        if (w == nbIntsAt.length) {
+            growWorlds();
+        }
+        nbIntsAt[w] = nbInts;
+        int[] iw = intWorlds[w] = ensure(intWorlds[w], nbInts);
+        for (int i = 0; i < nbInts; i++) {
+            iw[i] = ints[i].get();
+        }
+        nbLongsAt[w] = nbLongs;
+        long[] lw = longWorlds[w] = ensure(longWorlds[w], nbLongs);
+        for (int i = 0; i < nbLongs; i++) {
+            lw[i] = longs[i].get();
+        }
+        nbBoolsAt[w] = nbBools;
+        boolean[] bw = boolWorlds[w] = ensure(boolWorlds[w], nbBools);
+        for (int i = 0; i < nbBools; i++) {
+            bw[i] = bools[i].get();
+        }
+        nbDoublesAt[w] = nbDoubles;
+        double[] dw = doubleWorlds[w] = ensure(doubleWorlds[w], nbDoubles);
+        for (int i = 0; i < nbDoubles; i++) {
+            dw[i] = doubles[i].get();
+        }
+        nbWordsAt[w] = nbWords;
+        System.arraycopy(words, 0, wordWorlds[w] = ensure(wordWorlds[w], nbWords), 0, nbWords);
+        super.worldPush();
+    }
+
+    @Override
+    public void worldPop() {
+        assert currentWorld > 0;
+        final int w = currentWorld - 1;
+        int[] iw = intWorlds[w];
+        for (int i = nbIntsAt[w] - 1; i >= 0; i--) {
+            ints[i]._set(iw[i], w);
+        }
+        long[] lw = longWorlds[w];
+        for (int i = nbLongsAt[w] - 1; i >= 0; i--) {
+            longs[i]._set(lw[i], w);
+        }
+        boolean[] bw = boolWorlds[w];
+        for (int i = nbBoolsAt[w] - 1; i >= 0; i--) {
+            bools[i]._set(bw[i], w);
+        }
+        double[] dw = doubleWorlds[w];
+        for (int i = nbDoublesAt[w] - 1; i >= 0; i--) {
+            doubles[i]._set(dw[i], w);
+        }
+        System.arraycopy(wordWorlds[w], 0, words, 0, nbWordsAt[w]);
+        if (nbFakes > 0) {
+            restoreFakes(w);
+        }
+        super.worldPop();
+    }
+
+    /**
+     * Structures created after world <i>w</i> are not in its snapshot.
+     * Those created while a fake history was needed get back to their initial value.
+     */
+    private void restoreFakes(int w) {
+        int k = 0;
+        for (int i = 0; i < nbFakes; i++) {
+            if (fakeWorlds[i] > w) {
+                fakes[i].backToInitial();
+                fakeWorlds[i] = w;
+            }
+            // from world 0, there is nothing more to restore
+            if (fakeWorlds[i] > 0) {
+                fakes[k] = fakes[i];
+                fakeWorlds[k++] = fakeWorlds[i];
+            }
+        }
+        Arrays.fill(fakes, k, nbFakes, null);
+        nbFakes = k;
+    }
+
+    private void growWorlds() {
+        int n = nbIntsAt.length * 3 / 2 + 1;
+        intWorlds = Arrays.copyOf(intWorlds, n);
+        nbIntsAt = Arrays.copyOf(nbIntsAt, n);
+        longWorlds = Arrays.copyOf(longWorlds, n);
+        nbLongsAt = Arrays.copyOf(nbLongsAt, n);
+        boolWorlds = Arrays.copyOf(boolWorlds, n);
+        nbBoolsAt = Arrays.copyOf(nbBoolsAt, n);
+        doubleWorlds = Arrays.copyOf(doubleWorlds, n);
+        nbDoublesAt = Arrays.copyOf(nbDoublesAt, n);
+        wordWorlds = Arrays.copyOf(wordWorlds, n);
+        nbWordsAt = Arrays.copyOf(nbWordsAt, n);
+    }
+
+    private static int[] ensure(int[] a, int size) {
+        return a != null && a.length >= size ? a : new int[Math.max(SIZE, size * 3 / 2)];
+    }
+
+    private static long[] ensure(long[] a, int size) {
+        return a != null && a.length >= size ? a : new long[Math.max(SIZE, size * 3 / 2)];
+    }
+
+    private static boolean[] ensure(boolean[] a, int size) {
+        return a != null && a.length >= size ? a : new boolean[Math.max(SIZE, size * 3 / 2)];
+    }
+
+    private static double[] ensure(double[] a, int size) {
+        return a != null && a.length >= size ? a : new double[Math.max(SIZE, size * 3 / 2)];
+    }
+
+    private void declare(ICopied state) {
+        if (fakeHistoryNeeded() && currentWorld > 0) {
+            if (nbFakes == fakes.length) {
+                fakes = Arrays.copyOf(fakes, nbFakes * 3 / 2 + 1);
+                fakeWorlds = Arrays.copyOf(fakeWorlds, nbFakes * 3 / 2 + 1);
+            }
+            fakes[nbFakes] = state;
+            fakeWorlds[nbFakes++] = currentWorld;
+        }
+    }
+
+    void add(CopiedInt state) {
+        if (nbInts == ints.length) {
+            ints = Arrays.copyOf(ints, nbInts * 3 / 2 + 1);
+        }
+        ints[nbInts++] = state;
+        declare(state);
+    }
+
+    void add(CopiedLong state) {
+        if (nbLongs == longs.length) {
+            longs = Arrays.copyOf(longs, nbLongs * 3 / 2 + 1);
+        }
+        longs[nbLongs++] = state;
+        declare(state);
+    }
+
+    void add(CopiedBool state) {
+        if (nbBools == bools.length) {
+            bools = Arrays.copyOf(bools, nbBools * 3 / 2 + 1);
+        }
+        bools[nbBools++] = state;
+        declare(state);
+    }
+
+    void add(CopiedDouble state) {
+        if (nbDoubles == doubles.length) {
+            doubles = Arrays.copyOf(doubles, nbDoubles * 3 / 2 + 1);
+        }
+        doubles[nbDoubles++] = state;
+        declare(state);
+    }
+
+    /**
+     * Reserve <i>size</i> consecutive words in the arena
+     *
+     * @param state the bitset the words are reserved for
+     * @param size  number of words to reserve
+     * @return index of the first reserved word in {@link #words}
+     */
+    int allocateWords(CopiedBitSet state, int size) {
+        if (nbWords + size > words.length) {
+            words = Arrays.copyOf(words, Math.max(nbWords + size, words.length * 3 / 2));
+        }
+        int offset = nbWords;
+        nbWords += size;
+        declare(state);
+        return offset;
+    }
+
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return mode == Mode.ALL ? new CopiedInt(this, initialValue) : super.makeInt(initialValue);
+    }
+
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return mode == Mode.ALL ? new CopiedBool(this, initialValue) : super.makeBool(initialValue);
+    }
+
+    @Override
+    public IStateDouble makeFloat(final double initialValue) {
+        return mode == Mode.ALL ? new CopiedDouble(this, initialValue) : super.makeFloat(initialValue);
+    }
+
+    @Override
+    public IStateLong makeLong(final long init) {
+        return mode == Mode.ALL ? new CopiedLong(this, init) : super.makeLong(init);
+    }
+
+    @Override
+    public IStateBitSet makeBitSet(int size) {
+        if (size < 64) {
+            return super.makeBitSet(size);
+        }
+        return new CopiedBitSet(this, size);
+    }
+}
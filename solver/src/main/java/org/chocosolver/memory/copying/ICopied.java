@@ -0,0 +1,22 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+/**
+ * Common interface of structures whose state is copied by {@link EnvironmentCopying}.
+ */
+interface ICopied {
+
+    /**
+     * Restore the value this structure had when it was created.
+     * Called when backtracking to a world that precedes its creation, if a fake history is needed.
+     */
+    void backToInitial();
+}
@@ -67,12 +67,16 @@ public class DefaultSettings implements Settings {
 
     private IntPredicate enableIncrementalityOnBoolSum = i -> i > 10;
 
+    private IntPredicate enableIncrementalityOnSum = i -> i > 50;
+
     private boolean cloneVariableArrayInPropagator = true;
 
     private String defaultPrefix = DEFAULT_PREFIX;
 
     private boolean enableSAT = false;
 
+    private boolean enablePresolve = false;
+
     private boolean swapOnPassivate = false;
 
     private boolean checkDeclaredConstraints = true;
@@ -81,6 +85,8 @@ public class DefaultSettings implements Settings {
 
     private byte hybridEngine = 0b00;
 
+    private boolean adaptivePropagation = false;
+
     private int nbMaxLearnt = 100_000;
 
     private int maxLearntCardinlity = Integer.MAX_VALUE / 100;
@@ -274,6 +280,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableIncrementalityOnSum(int nbvars) {
+        return enableIncrementalityOnSum.test(nbvars);
+    }
+
+    @Override
+    public DefaultSettings setEnableIncrementalityOnSum(IntPredicate enableIncrementalityOnSum) {
+        this.enableIncrementalityOnSum = enableIncrementalityOnSum;
+        return this;
+    }
+
     @Override
     public boolean cloneVariableArrayInPropagator() {
         return cloneVariableArrayInPropagator;
@@ -319,6 +336,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enablePresolve() {
+        return enablePresolve;
+    }
+
+    @Override
+    public DefaultSettings setEnablePresolve(boolean enablePresolve) {
+        this.enablePresolve = enablePresolve;
+        return this;
+    }
+
     @Override
     public boolean swapOnPassivate() {
         return swapOnPassivate;
@@ -375,6 +403,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableAdaptivePropagation() {
+        return adaptivePropagation;
+    }
+
+    @Override
+    public Settings setEnableAdaptivePropagation(boolean adaptive) {
+        this.adaptivePropagation = adaptive;
+        return this;
+    }
+
     @Override
     public int getNbMaxLearntClauses() {
         return nbMaxLearnt;
@@ -0,0 +1,574 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.real.RealConstraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.objective.SharedBound;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.criteria.Criterion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * An Embarrassingly Parallel Search (EPS) helper.
+ * </p>
+ * <p>
+ * Where {@link ParallelPortfolio} races diversified models against each other,
+ * this class splits the search tree of a problem into many subproblems and dispatches them
+ * to a pool of workers, each worker being an equivalent copy of the model.
+ * This way, enumerating all solutions or proving optimality scales with the number of workers.
+ * </p>
+ * <p>
+ * The resolution is made of three steps:
+ *      <ol>
+ *          <li>the decomposition: the first model instantiates the <i>decomposition variables</i> in order,
+ *          until there are at least {@link #setSubproblemsPerWorker(int)} subproblems per worker.
+ *          A subproblem is a prefix assignment which is consistent after propagation,</li>
+ *          <li>the resolution: each worker repeatedly takes a subproblem not yet solved and explores the
+ *          subtree below its prefix with its own search strategy,</li>
+ *          <li>the synchronization: when dealing with an optimization problem, each new best solution is
+ *          propagated to all workers through a {@link SharedBound}, read by their objective manager.</li>
+ *      </ol>
+ * </p>
+ * <p>
+ *     All models <b>HAVE</b> to be equivalent, that is, each variable has the same position in
+ *     {@link Model#getVars()} in every model.
+ *     When dealing with optimization problems, the objective variable has to be declared eagerly with
+ *     {@link Model#setObjective(boolean, Variable)}.
+ * </p>
+ * <p>
+ *     Since a worker goes through many subproblems, its solver is reset between two subproblems.
+ *     As a consequence, stop criteria have to be declared with {@link #addStopCriterion(Criterion...)}
+ *     and not on the solver of the workers.
+ *     For the same reason, solutions are returned as {@link Solution} objects.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>ParallelEPS eps = new ParallelEPS();
+ * int n = 4; // number of workers
+ * for (int i = 0; i < n; i++) {
+ *      eps.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = eps.findAllSolutions();
+ * </code>
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * Project: choco.
+ *
+ * @since 4.10.7
+ */
+public class ParallelEPS {
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////       VARIABLES       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * List of {@link Model}s used as workers.
+     */
+    private final List<Model> models;
+
+    /**
+     * Stop criteria, declared on each worker before each subproblem.
+     */
+    private final List<Criterion> criteria;
+
+    /**
+     * Decomposition variables, from the first model
+     */
+    private IntVar[] decomposition;
+
+    /**
+     * Expected number of subproblems per worker
+     */
+    private int subproblemsPerWorker = 30;
+
+    /**
+     * Positions in {@link Model#getVars()} of the decomposition variables
+     */
+    private int[] positions;
+
+    /**
+     * Subproblems not yet solved, each of them is the values of the decomposition variables
+     */
+    private final ConcurrentLinkedQueue<int[]> subproblems;
+
+    /**
+     * Number of subproblems produced by the last decomposition
+     */
+    private int nbSubproblems;
+
+    /**
+     * Prefix strategies, one per worker
+     */
+    private Prefix[] prefixes;
+
+    /**
+     * Stores whether or not prepare() method has been called
+     */
+    private boolean isPrepared = false;
+
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private final AtomicLong nodeCount = new AtomicLong();
+    private final AtomicLong failCount = new AtomicLong();
+
+    /**
+     * Solutions found, all of them when enumerating, the best one otherwise
+     */
+    private final List<Solution> solutions;
+
+    /**
+     * Best solution found so far, if any
+     */
+    private Solution best;
+
+    /**
+     * Objective value of {@link #best}, when dealing with an optimization problem
+     */
+    private int bestValue;
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new ParallelEPS
+     * This class stores the models used as workers in a {@link ArrayList} initially empty.
+     */
+    public ParallelEPS() {
+        this.models = new ArrayList<>();
+        this.criteria = new ArrayList<>();
+        this.subproblems = new ConcurrentLinkedQueue<>();
+        this.solutions = new ArrayList<>();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a model to the list of workers.
+     * The model should be populated before calling {@link #solve()} or {@link #findAllSolutions()},
+     * and should be equivalent to the other ones.
+     *
+     * @param model a model to add
+     */
+    public void addModel(Model model) {
+        this.models.add(model);
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this ParallelEPS
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Set the variables instantiated, in that order, to build the subproblems.
+     * By default, the variables of the search strategy of the first model are used, if any,
+     * all its integer variables otherwise.
+     * Variables with small domains should be preferred.
+     *
+     * @param vars variables of the <b>first</b> model
+     */
+    public void setDecompositionVariables(IntVar... vars) {
+        this.decomposition = vars.clone();
+    }
+
+    /**
+     * Set the expected number of subproblems per worker (30 by default).
+     * The more subproblems, the better the balance between workers,
+     * but the more redundant work at the top of the search tree.
+     *
+     * @param nb expected number of subproblems per worker
+     */
+    public void setSubproblemsPerWorker(int nb) {
+        if (nb < 1) {
+            throw new SolverException("The number of subproblems per worker must be positive");
+        }
+        this.subproblemsPerWorker = nb;
+    }
+
+    /**
+     * Add stop criteria, checked by each worker.
+     * As soon as a criterion is met, the whole resolution stops.
+     *
+     * @param criterion stop criteria to add
+     */
+    public void addStopCriterion(Criterion... criterion) {
+        Collections.addAll(criteria, criterion);
+    }
+
+    /**
+     * Run the resolution.
+     * <ul>
+     *     <li>When dealing with a satisfaction problem, the resolution stops on the first solution found.</li>
+     *     <li>When dealing with an optimization problem, the resolution stops once the optimal solution is proven,
+     *     each new solution found by a worker restricting all the other ones.</li>
+     * </ul>
+     * Note that a call to {@link #getBestSolution()} returns the (best) solution found.
+     *
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @throws SolverException if no model has been added.
+     */
+    public boolean solve() {
+        run(false);
+        return best != null;
+    }
+
+    /**
+     * Attempts to find all solutions of the declared problem.
+     * When dealing with an optimization problem, each solution found improves the previous ones
+     * found by the same worker.
+     *
+     * @return the list of solutions found, in no particular order.
+     * @throws SolverException if no model has been added.
+     */
+    public List<Solution> findAllSolutions() {
+        run(true);
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * @return the solution found by the last resolution when dealing with a satisfaction problem,
+     * the best one when dealing with an optimization problem, or <tt>null</tt> if no solution has been found.
+     */
+    public Solution getBestSolution() {
+        return best;
+    }
+
+    /**
+     * @return <tt>true</tt> if the last resolution explored all the subproblems
+     * without being stopped by a criterion.
+     */
+    public boolean isSearchCompleted() {
+        return !stopped.get() && subproblems.isEmpty();
+    }
+
+    /**
+     * @return the number of subproblems built by the last decomposition
+     */
+    public int getNbSubproblems() {
+        return nbSubproblems;
+    }
+
+    /**
+     * @return the number of solutions found by the last resolution
+     */
+    public synchronized long getSolutionCount() {
+        return solutions.size();
+    }
+
+    /**
+     * @return the number of nodes explored by all workers during the last resolution
+     */
+    public long getNodeCount() {
+        return nodeCount.get();
+    }
+
+    /**
+     * @return the number of failures encountered by all workers during the last resolution
+     */
+    public long getFailCount() {
+        return failCount.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Declare the prefix strategy on each worker.
+     * Called once, before the first resolution.
+     */
+    public void prepare() {
+        isPrepared = true;
+        check();
+        Model first = models.get(0);
+        if (decomposition == null) {
+            AbstractStrategy<?> search = first.getSolver().getSearch();
+            if (search != null) {
+                decomposition = Arrays.stream(search.getVariables())
+                        .filter(v -> (v.getTypeAndKind() & Variable.INT) != 0)
+                        .toArray(IntVar[]::new);
+            } else {
+                decomposition = first.retrieveIntVars(true);
+            }
+        }
+        Variable[] vars = first.getVars();
+        positions = new int[decomposition.length];
+        for (int i = 0; i < decomposition.length; i++) {
+            positions[i] = -1;
+            for (int j = 0; j < vars.length && positions[i] < 0; j++) {
+                if (vars[j] == decomposition[i]) {
+                    positions[i] = j;
+                }
+            }
+            if (positions[i] < 0) {
+                throw new SolverException(decomposition[i] + " is not a variable of the first model");
+            }
+        }
+        prefixes = new Prefix[models.size()];
+        for (int w = 0; w < models.size(); w++) {
+            Model m = models.get(w);
+            Solver s = m.getSolver();
+            prefixes[w] = new Prefix(m, positions);
+            AbstractStrategy<?> search = s.getSearch();
+            if (search == null) {
+                search = m.getSettings().makeDefaultSearch(m);
+            }
+            s.setSearch(prefixes[w], search);
+        }
+    }
+
+    private void run(boolean all) {
+        if (!isPrepared) {
+            prepare();
+        }
+        terminated.set(false);
+        stopped.set(false);
+        nodeCount.set(0);
+        failCount.set(0);
+        solutions.clear();
+        best = null;
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            SharedBound bound = new SharedBound(models.get(0).getResolutionPolicy());
+            for (Model m : models) {
+                m.getSolver().getObjectiveManager().setSharedBound(bound);
+            }
+        }
+        for (Model m : models) {
+            m.getSolver().reset();
+        }
+        decompose();
+        ForkJoinPool pool = new ForkJoinPool(models.size());
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int w = 0; w < models.size(); w++) {
+                final int id = w;
+                tasks.add(() -> {
+                    work(id, all);
+                    return null;
+                });
+            }
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated.set(true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SolverException(e.getCause().getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Build the subproblems by instantiating the decomposition variables of the first model,
+     * level by level, until there are enough of them.
+     */
+    private void decompose() {
+        subproblems.clear();
+        Model first = models.get(0);
+        IEnvironment environment = first.getEnvironment();
+        List<int[]> current = new ArrayList<>();
+        current.add(new int[0]);
+        int target = models.size() * subproblemsPerWorker;
+        for (int d = 0; d < decomposition.length && current.size() < target; d++) {
+            List<int[]> next = new ArrayList<>();
+            IntVar var = decomposition[d];
+            for (int[] prefix : current) {
+                environment.worldPush();
+                if (apply(first, prefix)) {
+                    int ub = var.getUB();
+                    for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                        int[] child = Arrays.copyOf(prefix, d + 1);
+                        child[d] = v;
+                        next.add(child);
+                    }
+                }
+                environment.worldPop();
+            }
+            current = next;
+        }
+        // only keep consistent subproblems
+        for (int[] prefix : current) {
+            environment.worldPush();
+            if (apply(first, prefix)) {
+                subproblems.add(prefix);
+            }
+            environment.worldPop();
+        }
+        first.getSolver().getEngine().reset();
+        nbSubproblems = subproblems.size();
+    }
+
+    /**
+     * Instantiate the decomposition variables to <i>prefix</i> and propagate.
+     * The engine is reset beforehand, so that all propagators are activated again,
+     * the previous activation having been undone by a world pop.
+     *
+     * @return <tt>false</tt> if a contradiction occurred
+     */
+    private boolean apply(Model model, int[] prefix) {
+        model.getSolver().getEngine().reset();
+        try {
+            for (int i = 0; i < prefix.length; i++) {
+                decomposition[i].instantiateTo(prefix[i], Cause.Null);
+            }
+            model.getSolver().propagate();
+            return true;
+        } catch (ContradictionException ce) {
+            return false;
+        }
+    }
+
+    private void work(int id, boolean all) {
+        Model m = models.get(id);
+        Solver s = m.getSolver();
+        boolean opt = m.getResolutionPolicy() != ResolutionPolicy.SATISFACTION;
+        int[] sub;
+        while (!terminated.get() && (sub = subproblems.poll()) != null) {
+            prefixes[id].set(sub);
+            s.addStopCriterion(terminated::get);
+            for (Criterion c : criteria) {
+                s.addStopCriterion(c);
+            }
+            while (s.solve()) {
+                onSolution(m, all);
+                if (!opt && !all) {
+                    terminated.set(true);
+                }
+            }
+            if (s.getSearchState() == SearchState.STOPPED && !terminated.get()) {
+                // a criterion is met, the subproblem may be partially explored
+                stopped.set(true);
+                terminated.set(true);
+            }
+            nodeCount.addAndGet(s.getNodeCount());
+            failCount.addAndGet(s.getFailCount());
+            s.reset();
+        }
+    }
+
+    /**
+     * Record the solution found by <i>m</i>.
+     * When dealing with an optimization problem, the objective manager of <i>m</i> has already offered
+     * the objective value to the shared bound, the other workers read it back on their next dynamic cut.
+     */
+    private synchronized void onSolution(Model m, boolean all) {
+        if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+            if (all || best == null) {
+                best = new Solution(m).record();
+                solutions.add(best);
+            }
+        } else {
+            int val = ((IntVar) m.getObjective()).getValue();
+            boolean max = m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE;
+            Solution sol = null;
+            if (all) {
+                sol = new Solution(m).record();
+                solutions.add(sol);
+            }
+            if (best == null || (max ? val > bestValue : val < bestValue)) {
+                best = sol != null ? sol : new Solution(m).record();
+                bestValue = val;
+                if (!all) {
+                    solutions.clear();
+                    solutions.add(best);
+                }
+            }
+        }
+    }
+
+    private void check() {
+        if (models.size() == 0) {
+            throw new SolverException("No model found in the ParallelEPS.");
+        }
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            Variable objective = models.get(0).getObjective();
+            if (objective == null) {
+                throw new UnsupportedOperationException("No objective has been defined");
+            }
+            if ((objective.getTypeAndKind() & Variable.INT) == 0) {
+                throw new UnsupportedOperationException("ParallelEPS only supports integer objective");
+            }
+        }
+        for (Constraint c : models.get(0).getCstrs()) {
+            if (c instanceof RealConstraint) {
+                throw new UnsupportedOperationException("" +
+                        "Ibex is not multithread safe, ParallelEPS cannot be used");
+            }
+        }
+        int n = models.get(0).getNbVars();
+        for (Model m : models) {
+            if (m.getNbVars() != n) {
+                throw new SolverException("Models of a ParallelEPS must be equivalent");
+            }
+        }
+    }
+
+    /**
+     * A strategy which applies, as non-refutable decisions, the prefix assignment of the current subproblem.
+     * Once the prefix is applied, the next strategy of the sequence takes over.
+     */
+    private static final class Prefix extends AbstractStrategy<IntVar> {
+
+        private int[] values = new int[0];
+
+        Prefix(Model model, int[] positions) {
+            super(Arrays.stream(positions).mapToObj(p -> (IntVar) model.getVar(p)).toArray(IntVar[]::new));
+        }
+
+        void set(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Decision<IntVar> getDecision() {
+            for (int i = 0; i < values.length; i++) {
+                // a variable instantiated to another value leads to a failure, as expected
+                if (!vars[i].isInstantiatedTo(values[i])) {
+                    return makeIntDecision(vars[i], values[i]).setRefutable(false);
+                }
+            }
+            return null;
+        }
+    }
+}
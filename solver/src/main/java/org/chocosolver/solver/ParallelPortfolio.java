@@ -11,14 +11,20 @@ package org.chocosolver.solver;
 
 import org.chocosolver.cutoffseq.LubyCutoffStrategy;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseExchange;
 import org.chocosolver.solver.constraints.nary.sat.NogoodStealer;
 import org.chocosolver.solver.constraints.real.RealConstraint;
 import org.chocosolver.solver.exception.InvalidSolutionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.objective.SharedBound;
 import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.neighbors.NeighborhoodPool;
+import org.chocosolver.solver.search.loop.move.SubtreeStealer;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
+import org.chocosolver.solver.search.measure.PortfolioMetrics;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.RealVar;
@@ -60,7 +66,7 @@ import static org.chocosolver.solver.search.strategy.Search.*;
  *     The resolution process is synchronized. As soon as one model ends (naturally or by hitting a limit)
  *     the other ones are eagerly stopped.
  *     Moreover, when dealing with an optimization problem, cut on the objective variable's value is propagated
- *     to all models on solution.
+ *     to all models on solution, through a lock-free {@link SharedBound} read by each model on each dynamic cut.
  *     It is essential to eagerly declare the objective variable(s) with {@link Model#setObjective(boolean, Variable)}.
  *
  * </p>
@@ -120,6 +126,26 @@ public class ParallelPortfolio {
      */
     private NogoodStealer manager = NogoodStealer.NONE;
 
+    /**
+     * This exchange is used to share learnt signed clauses, if any.
+     */
+    private ClauseExchange exchange;
+
+    /**
+     * This manager is used to share subtrees with idle workers, if any.
+     */
+    private SubtreeStealer stealer;
+
+    /**
+     * Thread-safe statistics of the workers, if collected.
+     */
+    private PortfolioMetrics metrics;
+
+    /**
+     * This pool drives a Large Neighborhood Search run by all workers, if any.
+     */
+    private NeighborhoodPool neighborhoods;
+
     /**
      * Stores whether or not prepare() method has been called
      */
@@ -134,6 +160,11 @@ public class ParallelPortfolio {
     private AtomicBoolean solutionFound = new AtomicBoolean(false);
     private AtomicInteger solverRunning = new AtomicInteger(0);
 
+    /**
+     * Best objective value found by the models, when dealing with an optimization problem
+     */
+    private SharedBound sharedBound;
+
     /**
      * Point to (one of) the solver(s) which found a solution
      */
@@ -181,6 +212,110 @@ public class ParallelPortfolio {
         this.manager = new NogoodStealer();
     }
 
+    /**
+     * Calling this method will ensure that a worker which has explored its search space does not stay idle
+     * but explores subtrees left open by busy workers, so that all workers keep on searching until the end of the
+     * resolution.
+     * Only workers running a depth-first search, possibly with restarts, can steal subtrees,
+     * and only reliable ones running a depth-first search without restarts give subtrees away.
+     * This cannot be combined with {@link #stealNogoodsOnRestarts()}, since a decision path does not describe
+     * what has been explored anymore once a subtree is given away.
+     *
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     * @see SubtreeStealer
+     */
+    public void stealSubtrees() {
+        this.stealer = new SubtreeStealer();
+    }
+
+    /**
+     * @return the manager of subtrees shared between workers, or <tt>null</tt> if they are not shared
+     */
+    public SubtreeStealer getSubtreeStealer() {
+        return stealer;
+    }
+
+    /**
+     * Calling this method will ensure that each worker runs a Large Neighborhood Search whose fragments are drawn
+     * from <i>pool</i>, on top of its own search strategy.
+     * A worker which improves the best solution found so far publishes it,
+     * and the other workers build their next fragments from it.
+     * The search heuristics being already completed by LNS for some workers when <i>searchAutoConf</i> is set,
+     * this is better used with search heuristics specified manually.
+     *
+     * @param pool the pool of neighborhoods, in which each model is added on preparation
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     * @see NeighborhoodPool
+     */
+    public void searchLNS(NeighborhoodPool pool) {
+        this.neighborhoods = pool;
+    }
+
+    /**
+     * @return the pool of neighborhoods shared by workers, or <tt>null</tt> if they do not run a LNS
+     */
+    public NeighborhoodPool getNeighborhoodPool() {
+        return neighborhoods;
+    }
+
+    /**
+     * Calling this method will ensure that workers learning signed clauses
+     * (see {@link org.chocosolver.solver.search.loop.learn.ILearnFactory#setLearningSignedClauses()})
+     * publish their short learnt clauses and import the ones of other workers on restarts.
+     * Only reliable workers publish their clauses.
+     *
+     * @param exchange the exchange to use
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     */
+    public void shareLearntClauses(ClauseExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    /**
+     * Share learnt signed clauses between workers with a default {@link ClauseExchange}.
+     *
+     * @see #shareLearntClauses(ClauseExchange)
+     */
+    public void shareLearntClauses() {
+        shareLearntClauses(new ClauseExchange());
+    }
+
+    /**
+     * @return the exchange of learnt signed clauses, or <tt>null</tt> if they are not shared
+     */
+    public ClauseExchange getClauseExchange() {
+        return exchange;
+    }
+
+    /**
+     * Collect statistics of all workers in a thread-safe way, so that they can be read,
+     * or exported with {@link org.chocosolver.solver.trace.MetricsExporter}, while the portfolio is running.
+     * Must be called once all models have been added.
+     *
+     * @return the statistics of the workers
+     */
+    public PortfolioMetrics collectMetrics() {
+        if (metrics == null) {
+            metrics = new PortfolioMetrics(models.size());
+            if (isPrepared) {
+                for (int i = 0; i < models.size(); i++) {
+                    metrics.attach(i, models.get(i).getSolver());
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return the statistics of the workers, or <tt>null</tt> if they are not collected
+     */
+    public PortfolioMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * <p>
      * Adds a model to the list of models to run in parallel.
@@ -385,6 +520,13 @@ public class ParallelPortfolio {
     public void prepare() {
         isPrepared = true;
         check();
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION
+                && (models.get(0).getObjective().getTypeAndKind() & Variable.INT) != 0) {
+            sharedBound = new SharedBound(models.get(0).getResolutionPolicy());
+            for (Model m : models) {
+                m.getSolver().getObjectiveManager().setSharedBound(sharedBound);
+            }
+        }
         for (int i = 0; i < models.size(); i++) {
             Solver s = models.get(i).getSolver();
             s.addStopCriterion(() -> getSolverTerminated().get());
@@ -392,6 +534,18 @@ public class ParallelPortfolio {
             if (searchAutoConf) {
                 configureModel(i);
             }
+            if (neighborhoods != null) {
+                neighborhoods.add(models.get(i));
+            }
+            if (exchange != null && s.getLearner() instanceof LearnSignedClauses) {
+                exchange.add(models.get(i), reliableness.get(models.get(i)));
+            }
+            if (stealer != null) {
+                stealer.add(models.get(i), reliableness.get(models.get(i)));
+            }
+            if (metrics != null) {
+                metrics.attach(i, s);
+            }
         }
     }
 
@@ -401,7 +555,9 @@ public class ParallelPortfolio {
             getSolutionFound().set(true);
         } else {
             int solverVal = ((IntVar) m.getObjective()).getValue();
-            int bestVal = m.getSolver().getObjectiveManager().getBestSolutionValue().intValue();
+            // the objective manager has already offered the value to the shared bound,
+            // the other models read it back on their next dynamic cut
+            int bestVal = sharedBound.getValue();
             if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
                 assert solverVal <= bestVal : solverVal + ">" + bestVal;
             } else
@@ -410,11 +566,6 @@ public class ParallelPortfolio {
             if (solverVal == bestVal) {
                 getSolutionFound().set(true);
                 finder = m;
-                if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestLB(bestVal));
-                } else {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestUB(bestVal));
-                }
             }
         }
     }
@@ -578,6 +729,9 @@ public class ParallelPortfolio {
         if (models.size() == 0) {
             throw new SolverException("No model found in the ParallelPortfolio.");
         }
+        if (stealer != null && manager != NogoodStealer.NONE) {
+            throw new SolverException("Subtrees and nogoods from restarts cannot be both stolen.");
+        }
         if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
             Variable objective = models.get(0).getObjective();
             if (objective == null) {
@@ -45,6 +45,7 @@ public interface Settings {
      *    <li>{@link #setInitSolver(Function)}        </li>
      *    <li>{@link #setEnvironmentHistorySimulationCondition(ICondition)}</li>
      *    <li>{@link #setEnableIncrementalityOnBoolSum(IntPredicate)}           </li>
+     *    <li>{@link #setEnableIncrementalityOnSum(IntPredicate)}           </li>
      * </ul>
      * @param properties a property file to load setting from.
      * @return the current instance
@@ -76,12 +77,16 @@ public interface Settings {
                 "variables.prefix", this.defaultPrefix()));
         this.setEnableSAT(Boolean.parseBoolean(properties.getOrDefault(
                 "satsolver.activate", this.enableSAT()).toString()));
+        this.setEnablePresolve(Boolean.parseBoolean(properties.getOrDefault(
+                "presolve.activate", this.enablePresolve()).toString()));
         this.setSwapOnPassivate(Boolean.parseBoolean(properties.getOrDefault(
                 "propagators.swap", this.swapOnPassivate()).toString()));
         this.setCheckDeclaredConstraints(Boolean.parseBoolean(properties.getOrDefault(
                 "constraints.check", this.checkDeclaredConstraints()).toString()));
         this.setHybridizationOfPropagationEngine(Byte.parseByte(properties.getOrDefault(
                 "propagationEngine.hybridization", this.enableHybridizationOfPropagationEngine()).toString()));
+        this.setEnableAdaptivePropagation(Boolean.parseBoolean(properties.getOrDefault(
+                "propagationEngine.adaptive", this.enableAdaptivePropagation()).toString()));
         this.setNbMaxLearntClauses(Integer.parseInt(properties.getOrDefault(
                 "learnt.nbMax", this.getNbMaxLearntClauses()).toString()));
         this.setRatioForClauseStoreReduction(Float.parseFloat(properties.getOrDefault(
@@ -108,6 +113,7 @@ public interface Settings {
      *    <li>{@link #setInitSolver(Function)}        </li>
      *    <li>{@link #setEnvironmentHistorySimulationCondition(ICondition)}</li>
      *    <li>{@link #setEnableIncrementalityOnBoolSum(IntPredicate)}           </li>
+     *    <li>{@link #setEnableIncrementalityOnSum(IntPredicate)}           </li>
      * </ul>
      * @param      inStream   the input stream.
      * @exception IOException  if an error occurred when reading from the
@@ -132,6 +138,7 @@ public interface Settings {
      *    <li>{@link #setInitSolver(Function)}        </li>
      *    <li>{@link #setEnvironmentHistorySimulationCondition(ICondition)}</li>
      *    <li>{@link #setEnableIncrementalityOnBoolSum(IntPredicate)}           </li>
+     *    <li>{@link #setEnableIncrementalityOnSum(IntPredicate)}           </li>
      * </ul>
      * @return the property file
      */
@@ -150,10 +157,12 @@ public interface Settings {
         properties.setProperty("propagators.clonevars", Boolean.toString(this.cloneVariableArrayInPropagator()));
         properties.setProperty("variables.prefix", this.defaultPrefix());
         properties.setProperty("satsolver.activate", Boolean.toString(enableSAT()));
+        properties.setProperty("presolve.activate", Boolean.toString(enablePresolve()));
         properties.setProperty("propagators.swap", Boolean.toString(swapOnPassivate()));
         properties.setProperty("constraints.check", Boolean.toString(checkDeclaredConstraints()));
         properties.setProperty("constraints.check.printall", Boolean.toString(printAllUndeclaredConstraints()));
         properties.setProperty("propagationEngine.hybridization", Byte.toString(enableHybridizationOfPropagationEngine()));
+        properties.setProperty("propagationEngine.adaptive", Boolean.toString(enableAdaptivePropagation()));
         properties.setProperty("learnt.nbMax", Integer.toString(this.getNbMaxLearntClauses()));
         properties.setProperty("learnt.ratio", Float.toString(this.getRatioForClauseStoreReduction()));
         properties.setProperty("learnt.maxCard", Integer.toString(this.getMaxLearntClauseCardinality()));
@@ -173,6 +182,7 @@ public interface Settings {
      *    <li>{@link #setInitSolver(Function)}        </li>
      *    <li>{@link #setEnvironmentHistorySimulationCondition(ICondition)}</li>
      *    <li>{@link #setEnableIncrementalityOnBoolSum(IntPredicate)}           </li>
+     *    <li>{@link #setEnableIncrementalityOnSum(IntPredicate)}           </li>
      * </ul>
      * @param   out      an output stream.
      * @param   comments   a description of the property list.
@@ -383,6 +393,20 @@ public interface Settings {
      */
     Settings setEnableIncrementalityOnBoolSum(IntPredicate enableIncrementalityOnBoolSum);
 
+    /**
+     * @param nbvars number of variables in the constraint
+     * @return {@code true} if the incrementality is enabled on integer sum and scalar product,
+     * based on the number of variables involved.
+     */
+    boolean enableIncrementalityOnSum(int nbvars);
+
+    /**
+     * Define the predicate to choose incremental integer sum and scalar product, based on number variables declared
+     * @param enableIncrementalityOnSum predicate to pick declare sum
+     * @return the current instance
+     */
+    Settings setEnableIncrementalityOnSum(IntPredicate enableIncrementalityOnSum);
+
     /**
      * @return true if all propagators should clone the input variable array instead of simply referencing it.
      */
@@ -435,6 +459,21 @@ public interface Settings {
      */
     Settings setEnableSAT(boolean enableSAT);
 
+    /**
+     * @return <i>true</i> if the model is presolved by {@link org.chocosolver.util.tools.Presolver}
+     * before the propagation engine is initialized.
+     */
+    boolean enablePresolve();
+
+    /**
+     * Indicate if the model is presolved before the propagation engine is initialized:
+     * equal variables are aliased and fixed ones eliminated in linear constraints,
+     * dominated linear constraints and entailed constraints are removed and cliques of boolean variables are merged.
+     * @param enablePresolve {@code true} to presolve the model
+     * @return the current instance
+     */
+    Settings setEnablePresolve(boolean enablePresolve);
+
     /**
      * @return <i>true</i> if, on propagator passivation, the propagator is swapped from active to passive in its variables' propagators list.
      * <i>false</i> if, on propagator passivation, only the propagator's state is set to PASSIVE.
@@ -508,6 +547,22 @@ public interface Settings {
      */
     Settings setHybridizationOfPropagationEngine(byte hybrid);
 
+    /**
+     * @return <tt>true</tt> if the propagation engine delays the propagators which rarely prune
+     * @see org.chocosolver.solver.propagation.AdaptiveScheduler
+     */
+    boolean enableAdaptivePropagation();
+
+    /**
+     * Define whether the propagation engine adapts the order in which propagators are executed to their pruning
+     * yield: expensive propagators which rarely prune are executed after the other ones.
+     * The fix point reached is the same, but it may be reached faster.
+     * @param adaptive {@code true} to delay the propagators which rarely prune
+     * @return the current instance
+     * @see org.chocosolver.solver.propagation.AdaptiveScheduler
+     */
+    Settings setEnableAdaptivePropagation(boolean adaptive);
+
     /**
      * @return maximum number of learnt clauses to store. When reached, a reduction is applied.
      * @see #setNbMaxLearntClauses(int)
@@ -0,0 +1,282 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.IntMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store of solutions over a fixed list of integer variables.
+ * <p>
+ * Contrary to a list of {@link Solution}, a solution only costs one <tt>int</tt> per variable:
+ * solutions are rows of a table stored by blocks of {@link #BLOCK} rows, each block being stored by column.
+ * Blocks are either on heap or, when a file is given, in a memory-mapped file,
+ * so that enumerating millions of solutions does not exhaust the heap.
+ * </p>
+ * <pre>
+ *     {@code
+ *     SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(vars));
+ *     for (int s = 0; s < store.size(); s++) {
+ *         int v = store.getIntVal(s, vars[0]);
+ *     }
+ *     }
+ * </pre>
+ *
+ * @see org.chocosolver.solver.search.IResolutionHelper#findAllSolutions(SolutionStore, org.chocosolver.util.criteria.Criterion...)
+ * @since 4.10.7
+ */
+public class SolutionStore implements Closeable {
+
+    /**
+     * Number of rows per block
+     */
+    public static final int BLOCK = 1 << 12;
+
+    /**
+     * Variables whose value is stored, one per column
+     */
+    private final IntVar[] vars;
+    /**
+     * Maps the id of a variable to its column
+     */
+    private final IntMap columns;
+    /**
+     * Blocks on heap, <i>null</i> if blocks are memory-mapped
+     */
+    private final List<int[]> blocks;
+    /**
+     * Memory-mapped blocks, <i>null</i> if blocks are on heap
+     */
+    private final List<IntBuffer> mapped;
+    /**
+     * The file blocks are mapped to, <i>null</i> if blocks are on heap
+     */
+    private final FileChannel channel;
+    /**
+     * Number of rows stored
+     */
+    private int size;
+
+    /**
+     * Create an empty store, on heap, of the values of <i>vars</i>
+     *
+     * @param vars variables to store
+     */
+    public SolutionStore(IntVar... vars) {
+        this.vars = vars.clone();
+        this.columns = new IntMap(vars.length * 3 / 2 + 1, -1);
+        for (int i = vars.length - 1; i >= 0; i--) {
+            columns.put(vars[i].getId(), i);
+        }
+        this.blocks = new ArrayList<>();
+        this.mapped = null;
+        this.channel = null;
+    }
+
+    /**
+     * Create an empty store of the values of <i>vars</i>, whose blocks are mapped into <i>file</i>.
+     * The file is created if needed, and truncated otherwise.
+     * Calling {@link #close()} releases the file, not the rows already stored.
+     *
+     * @param file the file to map blocks into
+     * @param vars variables to store
+     * @throws IOException if the file cannot be opened
+     */
+    public SolutionStore(Path file, IntVar... vars) throws IOException {
+        this.vars = vars.clone();
+        this.columns = new IntMap(vars.length * 3 / 2 + 1, -1);
+        for (int i = vars.length - 1; i >= 0; i--) {
+            columns.put(vars[i].getId(), i);
+        }
+        this.blocks = null;
+        this.mapped = new ArrayList<>();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Add a row made of the current value of the variables.
+     *
+     * @return the index of the row
+     * @throws SolverException if a variable is not instantiated
+     */
+    public int record() {
+        for (int c = 0; c < vars.length; c++) {
+            if (!vars[c].isInstantiated()) {
+                throw new SolverException("Cannot record " + vars[c] + ": this variable is not instantiated.");
+            }
+        }
+        int row = newRow();
+        int b = row / BLOCK;
+        int r = row % BLOCK;
+        for (int c = 0; c < vars.length; c++) {
+            set(b, c * BLOCK + r, vars[c].getValue());
+        }
+        return row;
+    }
+
+    /**
+     * Add a row.
+     *
+     * @param values value of each variable, in the order of the variables
+     * @return the index of the row
+     */
+    public int add(int... values) {
+        if (values.length != vars.length) {
+            throw new SolverException("Expected " + vars.length + " values, got " + values.length);
+        }
+        int row = newRow();
+        int b = row / BLOCK;
+        int r = row % BLOCK;
+        for (int c = 0; c < values.length; c++) {
+            set(b, c * BLOCK + r, values[c]);
+        }
+        return row;
+    }
+
+    private int newRow() {
+        if (size % BLOCK == 0) {
+            int cells = Math.max(vars.length, 1) * BLOCK;
+            if (blocks != null) {
+                blocks.add(new int[cells]);
+            } else {
+                try {
+                    long bytes = cells * 4L;
+                    mapped.add(channel.map(FileChannel.MapMode.READ_WRITE, mapped.size() * bytes, bytes).asIntBuffer());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return size++;
+    }
+
+    private void set(int block, int cell, int value) {
+        if (blocks != null) {
+            blocks.get(block)[cell] = value;
+        } else {
+            mapped.get(block).put(cell, value);
+        }
+    }
+
+    /**
+     * @param row index of a row
+     * @param col index of a variable
+     * @return the value of the variable at index <i>col</i> in the row at index <i>row</i>
+     */
+    public int get(int row, int col) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of [0," + size + "[");
+        }
+        int cell = col * BLOCK + row % BLOCK;
+        if (blocks != null) {
+            return blocks.get(row / BLOCK)[cell];
+        } else {
+            return mapped.get(row / BLOCK).get(cell);
+        }
+    }
+
+    /**
+     * @param row index of a row
+     * @param var a stored variable
+     * @return the value of <i>var</i> in the row at index <i>row</i>
+     * @throws SolverException if <i>var</i> is not stored
+     */
+    public int getIntVal(int row, IntVar var) {
+        int col = columns.get(var.getId());
+        if (col == -1) {
+            throw new SolverException("Cannot access value of " + var
+                    + ": This variable has not been declared to be recorded in the SolutionStore object.");
+        }
+        return get(row, col);
+    }
+
+    /**
+     * Copy a row into <i>values</i>, which is allocated if <i>null</i>
+     *
+     * @param row    index of a row
+     * @param values array to fill, may be <i>null</i>
+     * @return the array filled with the row
+     */
+    public int[] getRow(int row, int[] values) {
+        if (values == null) {
+            values = new int[vars.length];
+        }
+        for (int c = 0; c < vars.length; c++) {
+            values[c] = get(row, c);
+        }
+        return values;
+    }
+
+    /**
+     * Build a {@link Solution} from a row, for instance to restore it
+     *
+     * @param row index of a row
+     * @return a new solution object
+     */
+    public Solution toSolution(int row) {
+        Solution solution = new Solution(vars.length > 0 ? vars[0].getModel() : null, vars);
+        for (int c = 0; c < vars.length; c++) {
+            solution.setIntVal(vars[c], get(row, c));
+        }
+        return solution;
+    }
+
+    /**
+     * @return the variables stored, one per column
+     */
+    public IntVar[] getVars() {
+        return vars.clone();
+    }
+
+    /**
+     * @return the number of variables stored
+     */
+    public int arity() {
+        return vars.length;
+    }
+
+    /**
+     * @return the number of rows stored
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all rows
+     */
+    public void clear() {
+        size = 0;
+        if (blocks != null) {
+            blocks.clear();
+        } else {
+            mapped.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
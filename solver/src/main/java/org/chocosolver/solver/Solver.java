@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +20,7 @@ import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
 import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.SearchState;
 import org.chocosolver.solver.search.limits.ICounter;
 import org.chocosolver.solver.search.loop.Reporting;
@@ -33,15 +35,19 @@ import org.chocosolver.solver.search.loop.propagate.Propagate;
 import org.chocosolver.solver.search.loop.propagate.PropagateBasic;
 import org.chocosolver.solver.search.measure.IMeasures;
 import org.chocosolver.solver.search.measure.MeasuresRecorder;
+import org.chocosolver.solver.search.measure.PropagationStatistics;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.search.strategy.strategy.WarmStart;
 import org.chocosolver.solver.trace.IOutputFactory;
+import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.criteria.Criterion;
+import org.chocosolver.util.tools.Presolver;
 
 import java.io.PrintStream;
 import java.util.*;
@@ -237,6 +243,21 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     private Solution lastSol = null;
 
+    /**
+     * The presolver applied on the model, if any
+     */
+    private Presolver presolver = null;
+
+    /**
+     * Variables hinted for warm start, see {@link #addHint(IntVar, int)}
+     */
+    private final List<IntVar> hintVars = new ArrayList<>();
+
+    /**
+     * Values hinted for warm start, see {@link #addHint(IntVar, int)}
+     */
+    private final TIntArrayList hintVals = new TIntArrayList();
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -361,6 +382,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
 
     /**
      * Preparation of the search:
+     * - presolve the model, if enabled,
      * - start time recording,
      * - store root world
      * - push a back up world,
@@ -389,6 +411,9 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
                 }
             }
         }
+        if (presolver == null && !engine.isInitialized() && mModel.getSettings().enablePresolve()) {
+            presolver = new Presolver(mModel).presolve();
+        }
         engine.initialize();
         getMeasures().setReadingTimeCount(System.nanoTime() - mModel.getCreationTime());
         // end note
@@ -437,6 +462,9 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
             AbstractStrategy complete = mModel.getSettings().makeDefaultSearch(mModel);
             setSearch(declared, complete);
         }
+        if (!hintVars.isEmpty()) {
+            setSearch(new WarmStart(hintVars.toArray(new IntVar[0]), hintVals.toArray(), unwrapWarmStart()));
+        }
         if (!M.init()) { // the initialisation of the Move and strategy can detect inconsistency
             mModel.getEnvironment().worldPop();
             feasible = FALSE;
@@ -1001,6 +1029,15 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return eventObserver;
     }
 
+    /**
+     * @return the presolver applied on the model before the propagation engine was initialized,
+     * or <i>null</i> if the model was not presolved.
+     * @see Settings#enablePresolve()
+     */
+    public Presolver getPresolver() {
+        return presolver;
+    }
+
     /**
      * @return the propagation engine used in {@code this}.
      */
@@ -1173,12 +1210,28 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
     public void setEngine(PropagationEngine propagationEngine) {
         if (!engine.isInitialized()
                 || getEnvironment().getWorldIndex() == rootWorldIndex) {
+            propagationEngine.setProfiler(engine.getProfiler());
             this.engine = propagationEngine;
         } else {
             throw new SolverException("Illegal propagation engine modification.");
         }
     }
 
+    /**
+     * Enables (or disables) the profiling of the propagation.
+     * When enabled, the number of calls, the number of variable modifications, the number of failures
+     * and the time spent are recorded for each propagator,
+     * and made available through {@link #getPropagationStatistics()}.
+     * Profiling is disabled by default, and costs nothing in that case.
+     *
+     * @param enable set to <tt>true</tt> to enable profiling, to <tt>false</tt> to disable it
+     */
+    public void setPropagationProfiling(boolean enable) {
+        PropagationProfiler profiler = enable ? new PropagationProfiler() : null;
+        engine.setProfiler(profiler);
+        mMeasures.setPropagationProfiler(profiler);
+    }
+
     /**
      * Completes (or not) the declared search strategy with one over all variables
      *
@@ -1287,6 +1340,71 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         this.jumpTo = jto;
     }
 
+    /**
+     * Add a hint to warm start the next resolution: the search first branches on <i>var</i> = <i>val</i>,
+     * as long as <i>val</i> belongs to the domain of <i>var</i>.
+     * Hints are followed in the order they are added, until the first solution or the first restart.
+     * They are kept from one resolution to the next, until {@link #removeHints()} is called.
+     * <p>
+     * Combined with {@link #reset()}, hints make it possible to solve a slightly modified model again
+     * without building it from scratch:
+     * <pre>
+     *     solver.reset();
+     *     model.unpost(c1); // remove constraints
+     *     model.post(c2); // add constraints, including ones restricting domains, like model.arithm(x, "<=", 5)
+     *     solver.removeHints();
+     *     solver.addHints(lastSolution); // warm start from the previous solution
+     *     solver.solve();
+     * </pre>
+     * </p>
+     * Must be called before the resolution starts, or after a call to {@link #reset()}.
+     *
+     * @param var a variable
+     * @param val a value to try first for <i>var</i>
+     * @see WarmStart
+     */
+    public void addHint(IntVar var, int val) {
+        hintVars.add(var);
+        hintVals.add(val);
+    }
+
+    /**
+     * Add a hint for each integer variable recorded in <i>solution</i>, see {@link #addHint(IntVar, int)}.
+     *
+     * @param solution a solution, typically of a previous resolution of this model
+     */
+    public void addHints(Solution solution) {
+        if (solution.exists()) {
+            for (IntVar var : solution.retrieveIntVars(true)) {
+                addHint(var, solution.getIntVal(var));
+            }
+        }
+    }
+
+    /**
+     * Remove all hints declared with {@link #addHint(IntVar, int)},
+     * the declared search strategy is restored.
+     */
+    public void removeHints() {
+        hintVars.clear();
+        hintVals.clear();
+        if (M.getStrategy() instanceof WarmStart) {
+            M.setStrategy(unwrapWarmStart());
+        }
+    }
+
+    private AbstractStrategy<Variable> unwrapWarmStart() {
+        AbstractStrategy<Variable> strategy = M.getStrategy();
+        if (strategy instanceof WarmStart) {
+            WarmStart warmStart = (WarmStart) strategy;
+            if (searchMonitors.contains(warmStart)) {
+                unplugMonitor(warmStart);
+            }
+            strategy = warmStart.getMainStrategy();
+        }
+        return strategy;
+    }
+
     /**
      * The first call to this method will create a new solution based on all variables
      * of the model and attach it to this.
@@ -1428,6 +1546,11 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return getMeasures().getBoundsManager();
     }
 
+    @Override
+    public PropagationStatistics getPropagationStatistics() {
+        return getMeasures().getPropagationStatistics();
+    }
+
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////       OUTPUT        ////////////////////////////////////////////////////////
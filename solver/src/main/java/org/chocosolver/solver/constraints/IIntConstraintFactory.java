@@ -44,6 +44,7 @@ import org.chocosolver.solver.constraints.nary.count.PropCountVar;
 import org.chocosolver.solver.constraints.nary.count.PropCount_AC;
 import org.chocosolver.solver.constraints.nary.cumulative.CumulFilter;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.disjunctive.PropDisjunctive;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.lex.PropLex;
@@ -1221,6 +1222,27 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         ref().cumulative(tasks, h, ref().intVar(capacity), false, Cumulative.Filter.NAIVETIME).post();
     }
 
+    /**
+     * Creates a disjunctive constraint: Enforces that tasks do not overlap in time,
+     * that is, they are processed one at a time on a unary resource.
+     * It is stronger than a cumulative constraint with unit heights and capacity:
+     * it applies overload checking, detectable precedences, not-first/not-last and edge finding,
+     * each one in O(n log n).
+     *
+     * Task duration should be >= 0
+     * Discards tasks whose duration is equal to zero
+     *
+     * @param tasks Task objects containing start, duration and end variables
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks) {
+        Task[] T2 = Arrays.stream(tasks).filter(t -> t.getDuration().getUB() > 0).toArray(Task[]::new);
+        if (T2.length == 0) {
+            return ref().trueConstraint();
+        }
+        return new Constraint(ConstraintsName.DISJUNCTIVE, new PropDisjunctive(T2));
+    }
+
     /**
      * Creates a diffN constraint. Constrains each rectangle<sub>i</sub>, given by their origins X<sub>i</sub>,Y<sub>i</sub>
      * and sizes width<sub>i</sub>,height<sub>i</sub>, to be non-overlapping.
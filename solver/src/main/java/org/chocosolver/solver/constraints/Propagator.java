@@ -912,6 +912,20 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         return prio;
     }
 
+    /**
+     * Schedule this in <i>queues[prio]</i>, unless it is already scheduled.
+     * @param queues array of queues in which this can be scheduled
+     * @param prio index of the queue to schedule this in, whatever its priority
+     * @return <i>prio</i>
+     */
+    public int doSchedule(CircularQueue<Propagator>[] queues, int prio){
+        if(!scheduled) {
+            queues[prio].addLast(this);
+            schedule();
+        }
+        return prio;
+    }
+
     public void doScheduleEvent(int pindice, int mask){
         fineevt.accept(pindice, mask);
     }
@@ -120,6 +120,13 @@ public final class PropLessOrEqualXY_C extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * @return the constant <i>c</i> in X + Y &le; C
+     */
+    public int getConstant() {
+        return cste;
+    }
+
     @Override
     public String toString() {
         return x.getName() + " + " + y.getName() + " <= " + cste;
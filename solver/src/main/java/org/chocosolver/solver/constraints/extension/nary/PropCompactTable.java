@@ -20,6 +20,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 
 /**
@@ -38,11 +39,18 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     RSparseBitSet currTable;
     protected Tuples tuples; // only for checker
-    protected long[][][] supports;
+    /**
+     * Supports of the values, possibly shared with other propagators
+     */
+    Supports supports;
     int[][] residues;
     protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
     private UnaryIntProcedure<Integer> onValRem;
+    /**
+     * Values to remove from the domain of a variable, removed at once
+     */
+    private final IntIterableBitSet vrms;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -57,13 +65,14 @@ public class PropCompactTable extends Propagator<IntVar> {
     public PropCompactTable(IntVar[] vars, Tuples tuples) {
         super(vars, PropagatorPriority.QUADRATIC, true);
         this.tuples = tuples;
-        this.currTable = new RSparseBitSet(model.getEnvironment(), this.tuples.nbTuples());
         computeSupports(tuples);
+        this.currTable = new RSparseBitSet(model.getEnvironment(), supports.nbTuples);
         monitors = new IIntDeltaMonitor[vars.length];
         for (int i = 0; i < vars.length; i++) {
             monitors[i] = vars[i].monitorDelta(this);
         }
         onValRem = makeProcedure();
+        vrms = new IntIterableBitSet();
     }
 
     //***********************************************************************************
@@ -83,42 +92,31 @@ public class PropCompactTable extends Propagator<IntVar> {
 
             @Override
             public void execute(int i) throws ContradictionException {
-                currTable.addToMask((supports[var][i - off]));
+                currTable.addToMask(supports.sup[var], i - off);
             }
         };
     }
 
     protected void computeSupports(Tuples tuples) {
+        supports = Supports.of(vars, tuples, false);
+        initResidues();
+    }
+
+    /**
+     * Initialize residues, which are specific to this propagator, contrary to supports
+     */
+    void initResidues() {
         int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
+        offset = supports.offset;
         residues = new int[n][];
-        long[] tmp;
         for (int i = 0; i < n; i++) {
-            int lb = vars[i].getLB();
-            int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
-        }
-        int wI = 0;
-        byte bI = 63;
-        top:
-        for (int ti = 0; ti < tuples.nbTuples(); ti++) {
-            int[] tuple = tuples.get(ti);
-            for (int i = 0; i < tuple.length; i++) {
-                if (!vars[i].contains(tuple[i])) {
-                    continue top;
+            Supports.Column column = supports.sup[i];
+            residues[i] = new int[vars[i].getUB() - offset[i] + 1];
+            if (column.dense == null) {
+                for (int v = 0; v < residues[i].length; v++) {
+                    residues[i][v] = column.firstResidue(v);
                 }
             }
-            for (int i = 0; i < tuple.length; i++) {
-                tmp = supports[i][tuple[i] - offset[i]];
-                tmp[wI] |= 1L << (bI);
-            }
-            if (--bI < 0) {
-                bI = 63;
-                wI++;
-            }
         }
     }
 
@@ -133,7 +131,7 @@ public class PropCompactTable extends Propagator<IntVar> {
                 currTable.clearMask();
                 int ub = vars[i].getUB();
                 for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
-                    currTable.addToMask(supports[i][v - offset[i]]);
+                    currTable.addToMask(supports.sup[i], v - offset[i]);
                 }
                 currTable.intersectWithMask();
             }
@@ -150,7 +148,7 @@ public class PropCompactTable extends Propagator<IntVar> {
         } else {
             int ub = vars[vIdx].getUB();
             for (int v = vars[vIdx].getLB(); v <= ub; v = vars[vIdx].nextValue(v)) {
-                currTable.addToMask(supports[vIdx][v - offset[vIdx]]);
+                currTable.addToMask(supports.sup[vIdx], v - offset[vIdx]);
             }
         }
         currTable.intersectWithMask();
@@ -177,50 +175,54 @@ public class PropCompactTable extends Propagator<IntVar> {
         int lb = vars[i].getLB();
         int ub = vars[i].getUB();
         for (int v = lb; v <= ub; v++) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    lb++;
-                } else {
-                    residues[i][v - offset[i]] = index;
-                    break;
-                }
-            } else {
+            if (isSupported(i, v - offset[i])) {
                 break;
             }
+            lb++;
         }
         vars[i].updateLowerBound(lb, this);
         for (int v = ub; v >= lb; v--) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    ub--;
-                } else {
-                    residues[i][v - offset[i]] = index;
-                    break;
-                }
-            } else {
+            if (isSupported(i, v - offset[i])) {
                 break;
             }
+            ub--;
         }
         vars[i].updateUpperBound(ub, this);
     }
 
     private void enumFilter(int i) throws ContradictionException {
+        vrms.clear();
+        vrms.setOffset(vars[i].getLB());
         int ub = vars[i].getUB();
         for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
-            int index = residues[i][v - offset[i]];
-            if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-                index = currTable.intersectIndex(supports[i][v - offset[i]]);
-                if (index == -1) {
-                    vars[i].removeValue(v, this);
-                } else {
-                    residues[i][v - offset[i]] = index;
-                }
+            if (!isSupported(i, v - offset[i])) {
+                vrms.add(v);
+            }
+        }
+        vars[i].removeValues(vrms, this);
+    }
+
+    /**
+     * @return <tt>true</tt> if the current table contains a tuple with the value at index <i>v</i> of variable <i>i</i>,
+     * checking the residue first
+     */
+    private boolean isSupported(int i, int v) {
+        Supports.Column column = supports.sup[i];
+        int index = residues[i][v];
+        if (column.dense != null) {
+            if ((currTable.words[index].get() & column.dense[v][index]) != 0L) {
+                return true;
             }
+        } else if (index < column.start[v + 1]
+                && (currTable.words[column.index[index]].get() & column.bits[index]) != 0L) {
+            return true;
         }
+        index = currTable.intersectIndex(column, v);
+        if (index == -1) {
+            return false;
+        }
+        residues[i][v] = index;
+        return true;
     }
 
     @Override
@@ -277,6 +279,22 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
+        /**
+         * Add the supports of the value at index <i>v</i> to the mask.
+         * Sparse supports may also set words which are not active, this is harmless since the mask
+         * is cleared over active words only.
+         */
+        void addToMask(Supports.Column column, int v) {
+            if (column.dense != null) {
+                addToMask(column.dense[v]);
+            } else {
+                for (int k = column.start[v], e = column.start[v + 1]; k < e; k++) {
+                    int offset = column.index[k];
+                    mask[offset] = mask[offset] | column.bits[k];
+                }
+            }
+        }
+
         private void intersectWithMask() {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
@@ -292,11 +310,24 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
-        private int intersectIndex(long[] m) {
-            for (int i = limit.get(); i >= 0; i--) {
-                int offset = index[i];
-                if ((words[offset].get() & m[offset]) != 0L) {
-                    return offset;
+        /**
+         * @return a residue of the value at index <i>v</i>, that is the index of a word for dense supports,
+         * the position of a word for sparse ones, or -1 if this value is not supported
+         */
+        private int intersectIndex(Supports.Column column, int v) {
+            if (column.dense != null) {
+                long[] m = column.dense[v];
+                for (int i = limit.get(); i >= 0; i--) {
+                    int offset = index[i];
+                    if ((words[offset].get() & m[offset]) != 0L) {
+                        return offset;
+                    }
+                }
+            } else {
+                for (int k = column.start[v], e = column.start[v + 1]; k < e; k++) {
+                    if ((words[column.index[k]].get() & column.bits[k]) != 0L) {
+                        return k;
+                    }
                 }
             }
             return -1;
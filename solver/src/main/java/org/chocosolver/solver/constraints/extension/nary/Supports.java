@@ -0,0 +1,347 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Supports of a table constraint, as used by {@link PropCompactTable}:
+ * for each value of each variable, the bitset of the tuples containing this value.
+ * Only tuples valid wrt the domains of the variables are numbered.
+ * <p>
+ * For each variable, bitsets are either dense, one word every 64 tuples,
+ * or sparse when this is much smaller: only non-zero words are stored, together with their index.
+ * Large domains and tables usually lead to sparse bitsets.
+ * </p>
+ * <p>
+ * Supports are immutable once built. They are cached wrt the identity of the tuples and the domains of
+ * the variables, so that identical tables share them, even across models.
+ * This relies on tuples not being modified once passed to a constraint.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+final class Supports {
+
+    /**
+     * Supports of the values of a variable
+     */
+    static final class Column {
+        /**
+         * Dense bitsets, indexed by value then by word, or <i>null</i> if bitsets are sparse
+         */
+        final long[][] dense;
+        /**
+         * For sparse bitsets, non-zero words of the value at index <i>v</i> are in [start[v], start[v+1][
+         */
+        final int[] start;
+        /**
+         * For sparse bitsets, index of each non-zero word
+         */
+        final int[] index;
+        /**
+         * For sparse bitsets, each non-zero word
+         */
+        final long[] bits;
+
+        private Column(long[][] dense) {
+            this.dense = dense;
+            this.start = null;
+            this.index = null;
+            this.bits = null;
+        }
+
+        private Column(int[] start, int[] index, long[] bits) {
+            this.dense = null;
+            this.start = start;
+            this.index = index;
+            this.bits = bits;
+        }
+
+        /**
+         * @return the initial residue of the value at index <i>v</i>
+         */
+        int firstResidue(int v) {
+            return dense == null ? start[v] : 0;
+        }
+    }
+
+    /**
+     * Sparse bitsets are used when they are at least this times smaller than dense ones
+     */
+    private static final int RATIO = 2;
+
+    /**
+     * Supports built so far, weakly referenced by their tuples
+     */
+    private static final Map<Tuples, Map<Key, Supports>> CACHE = new WeakHashMap<>();
+
+    /**
+     * Number of tuples valid wrt the domains
+     */
+    final int nbTuples;
+    /**
+     * Lower bound of the domain of each variable
+     */
+    final int[] offset;
+    /**
+     * Supports of each variable, the universal value supporting all values
+     */
+    final Column[] sup;
+    /**
+     * For short tables, supports of each variable without the universal value, <i>null</i> otherwise
+     */
+    final Column[] inc;
+
+    private Supports(int nbTuples, int[] offset, Column[] sup, Column[] inc) {
+        this.nbTuples = nbTuples;
+        this.offset = offset;
+        this.sup = sup;
+        this.inc = inc;
+    }
+
+    /**
+     * Get the supports of <i>tuples</i> over <i>vars</i>, built once for given tuples and domains
+     *
+     * @param vars    the scope, whose domains are the current ones
+     * @param tuples  the allowed tuples
+     * @param starred set to <tt>true</tt> to consider the universal value of <i>tuples</i>
+     * @return the supports
+     */
+    static Supports of(IntVar[] vars, Tuples tuples, boolean starred) {
+        Key key = new Key(vars, tuples, starred);
+        Supports supports;
+        synchronized (CACHE) {
+            supports = CACHE.computeIfAbsent(tuples, t -> new HashMap<>()).get(key);
+        }
+        if (supports == null) {
+            supports = new Builder(vars, tuples, starred).build();
+            synchronized (CACHE) {
+                Supports other = CACHE.computeIfAbsent(tuples, t -> new HashMap<>()).putIfAbsent(key, supports);
+                if (other != null) {
+                    supports = other;
+                }
+            }
+        }
+        return supports;
+    }
+
+    /**
+     * Identifies supports of given tuples: the domains as a sequence of ranges,
+     * and what may change in tuples without changing their identity
+     */
+    private static final class Key {
+        private final int[][] domains;
+        private final boolean starred;
+        private final int star;
+        private final int nbTuples;
+        private final int hash;
+
+        Key(IntVar[] vars, Tuples tuples, boolean starred) {
+            this.domains = new int[vars.length][];
+            for (int i = 0; i < vars.length; i++) {
+                domains[i] = ranges(vars[i]);
+            }
+            this.starred = starred;
+            this.star = starred ? tuples.getStarValue() : 0;
+            this.nbTuples = tuples.nbTuples();
+            this.hash = 31 * (31 * (31 * Arrays.deepHashCode(domains) + Boolean.hashCode(starred)) + star) + nbTuples;
+        }
+
+        private static int[] ranges(IntVar var) {
+            if (!var.hasEnumeratedDomain()) {
+                return new int[]{var.getLB(), var.getUB()};
+            }
+            int[] r = new int[4];
+            int n = 0;
+            int ub = var.getUB();
+            for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                int from = v;
+                while (v < ub && var.nextValue(v) == v + 1) {
+                    v++;
+                }
+                if (n == r.length) {
+                    r = Arrays.copyOf(r, n * 2);
+                }
+                r[n++] = from;
+                r[n++] = v;
+            }
+            return Arrays.copyOf(r, n);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash == k.hash && starred == k.starred && star == k.star && nbTuples == k.nbTuples
+                    && Arrays.deepEquals(domains, k.domains);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Builds supports in two passes over tuples:
+     * the first one counts non-zero words to choose between dense and sparse bitsets, the second one fills them.
+     */
+    private static final class Builder {
+        private final IntVar[] vars;
+        private final Tuples tuples;
+        private final boolean starred;
+        private final int star;
+        private final int[] offset;
+        /**
+         * Per variable and value, number of non-zero words, then next free position in sparse bitsets
+         */
+        private final int[][] count;
+        private final int[][] countInc;
+        /**
+         * Per variable and value, index of the last word set
+         */
+        private final int[][] last;
+        private final int[][] lastInc;
+        private Column[] sup;
+        private Column[] inc;
+
+        Builder(IntVar[] vars, Tuples tuples, boolean starred) {
+            this.vars = vars;
+            this.tuples = tuples;
+            this.starred = starred;
+            this.star = starred ? tuples.getStarValue() : 0;
+            int n = vars.length;
+            this.offset = new int[n];
+            this.count = new int[n][];
+            this.last = new int[n][];
+            this.countInc = starred ? new int[n][] : null;
+            this.lastInc = starred ? new int[n][] : null;
+            for (int i = 0; i < n; i++) {
+                offset[i] = vars[i].getLB();
+                int size = vars[i].getUB() - offset[i] + 1;
+                count[i] = new int[size];
+                last[i] = new int[size];
+                if (starred) {
+                    countInc[i] = new int[size];
+                    lastInc[i] = new int[size];
+                }
+            }
+        }
+
+        Supports build() {
+            int kept = scan(true);
+            int nbWords = (kept + 63) >>> 6;
+            sup = allocate(count, nbWords);
+            inc = starred ? allocate(countInc, nbWords) : null;
+            scan(false);
+            return new Supports(kept, offset, sup, inc);
+        }
+
+        private boolean valid(int[] tuple) {
+            for (int i = 0; i < tuple.length; i++) {
+                if (!vars[i].contains(tuple[i]) && !(starred && tuple[i] == star)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Visit valid tuples, to count non-zero words if <i>counting</i> is set, to fill bitsets otherwise
+         *
+         * @return the number of valid tuples
+         */
+        private int scan(boolean counting) {
+            for (int i = 0; i < vars.length; i++) {
+                Arrays.fill(last[i], -1);
+                if (starred) {
+                    Arrays.fill(lastInc[i], -1);
+                }
+            }
+            int kept = 0;
+            for (int ti = 0; ti < tuples.nbTuples(); ti++) {
+                int[] tuple = tuples.get(ti);
+                if (!valid(tuple)) {
+                    continue;
+                }
+                int w = kept >>> 6;
+                long bit = 1L << (63 - (kept & 63));
+                for (int i = 0; i < tuple.length; i++) {
+                    if (starred && tuple[i] == star) {
+                        int ub = vars[i].getUB();
+                        for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+                            set(sup, count, last, counting, i, v - offset[i], w, bit);
+                        }
+                    } else {
+                        set(sup, count, last, counting, i, tuple[i] - offset[i], w, bit);
+                        if (starred) {
+                            set(inc, countInc, lastInc, counting, i, tuple[i] - offset[i], w, bit);
+                        }
+                    }
+                }
+                kept++;
+            }
+            return kept;
+        }
+
+        private static void set(Column[] columns, int[][] count, int[][] last, boolean counting,
+                                int i, int v, int w, long bit) {
+            boolean first = last[i][v] != w;
+            last[i][v] = w;
+            if (counting) {
+                if (first) {
+                    count[i][v]++;
+                }
+            } else if (columns[i].dense != null) {
+                columns[i].dense[v][w] |= bit;
+            } else {
+                if (first) {
+                    columns[i].index[count[i][v]++] = w;
+                }
+                columns[i].bits[count[i][v] - 1] |= bit;
+            }
+        }
+
+        /**
+         * Allocate bitsets, and turn counts of sparse ones into positions
+         */
+        private static Column[] allocate(int[][] count, int nbWords) {
+            Column[] columns = new Column[count.length];
+            for (int i = 0; i < count.length; i++) {
+                int size = count[i].length;
+                long nnz = 0;
+                for (int v = 0; v < size; v++) {
+                    nnz += count[i][v];
+                }
+                long dense = (long) size * (nbWords * 8L + 16);
+                long sparse = nnz * 12 + (size + 1) * 4L;
+                if (sparse * RATIO < dense && nnz <= Integer.MAX_VALUE) {
+                    int[] start = new int[size + 1];
+                    for (int v = 0; v < size; v++) {
+                        start[v + 1] = start[v] + count[i][v];
+                        count[i][v] = start[v];
+                    }
+                    columns[i] = new Column(start, new int[(int) nnz], new long[(int) nnz]);
+                } else {
+                    columns[i] = new Column(new long[size][nbWords]);
+                }
+            }
+            return columns;
+        }
+    }
+}
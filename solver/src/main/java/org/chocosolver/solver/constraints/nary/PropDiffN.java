@@ -14,6 +14,7 @@ import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
@@ -21,6 +22,7 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.ArrayUtils;
 
 /**
@@ -256,6 +258,122 @@ public class PropDiffN extends Propagator<IntVar> {
             && vars[i + 2 * n].isInstantiated() && vars[i + 3 * n].isInstantiated();
     }
 
+    /**
+     * Explains a bound of a box by the box it overlaps in the other dimension and cannot follow.
+     * Failures detected by the energy check are explained by default.
+     */
+    @Override
+    public void explain(int p, ExplanationForSignedClause explanation) {
+        if (p > -1 && explainPrecedence(p, explanation)) {
+            return;
+        }
+        super.explain(p, explanation);
+    }
+
+    private boolean explainPrecedence(int p, ExplanationForSignedClause explanation) {
+        IntVar pivot = explanation.readVar(p);
+        int k = -1;
+        for (int v = 0; v < vars.length; v++) {
+            if (vars[v] == pivot) {
+                if (k > -1) {
+                    return false;
+                }
+                k = v;
+            }
+        }
+        int b = k % n;
+        int off = k % (2 * n) < n ? 0 : n;
+        boolean length = k >= 2 * n;
+        int mask = explanation.readMask(p);
+        int value = explanation.readValue(p);
+        IntIterableRangeSet dom = explanation.readDom(pivot);
+        boolean inclow = IntEventType.isInclow(mask)
+                || mask == IntEventType.INSTANTIATE.getMask() && value > dom.min();
+        boolean decupp = IntEventType.isDecupp(mask)
+                || mask == IntEventType.INSTANTIATE.getMask() && value < dom.max();
+        for (int o = 0; o < n; o++) {
+            if (o == b || !overlap(b, o, n - off, explanation)) {
+                continue;
+            }
+            if (!length && inclow && value <= lb(o + off, explanation) + lb(o + off + 2 * n, explanation)
+                    && precedes(o, b, off, explanation)) {
+                // o precedes b
+                explainOverlap(b, o, n - off, explanation);
+                explainPrecedes(o, b, off, k, explanation);
+                vars[o + off].unionLit(IntIterableRangeSet.MIN, lb(o + off, explanation) - 1, explanation);
+                vars[o + off + 2 * n].unionLit(IntIterableRangeSet.MIN, lb(o + off + 2 * n, explanation) - 1, explanation);
+                IntIterableRangeSet set = explanation.empty();
+                set.addBetween(IntIterableRangeSet.MIN, lb(k, explanation) - 1);
+                set.addBetween(value, IntIterableRangeSet.MAX);
+                pivot.intersectLit(set, explanation);
+                return true;
+            }
+            if (decupp && precedes(b, o, off, explanation)) {
+                // b precedes o
+                int other = length ? b + off : b + off + 2 * n;
+                if (value >= ub(o + off, explanation) - lb(other, explanation)) {
+                    explainOverlap(b, o, n - off, explanation);
+                    explainPrecedes(b, o, off, k, explanation);
+                    vars[o + off].unionLit(ub(o + off, explanation) + 1, IntIterableRangeSet.MAX, explanation);
+                    vars[other].unionLit(IntIterableRangeSet.MIN, lb(other, explanation) - 1, explanation);
+                    IntIterableRangeSet set = explanation.empty();
+                    set.addBetween(IntIterableRangeSet.MIN, value);
+                    if (!length) {
+                        set.addBetween(ub(k, explanation) + 1, IntIterableRangeSet.MAX);
+                    }
+                    pivot.intersectLit(set, explanation);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int lb(int v, ExplanationForSignedClause explanation) {
+        return explanation.readDom(vars[v]).min();
+    }
+
+    private int ub(int v, ExplanationForSignedClause explanation) {
+        return explanation.readDom(vars[v]).max();
+    }
+
+    /**
+     * @return <tt>true</tt> if boxes <i>i</i> and <i>j</i> overlap in the dimension at <i>off</i>
+     */
+    private boolean overlap(int i, int j, int off, ExplanationForSignedClause explanation) {
+        return ub(i + off, explanation) < lb(j + off, explanation) + lb(j + off + 2 * n, explanation)
+                && ub(j + off, explanation) < lb(i + off, explanation) + lb(i + off + 2 * n, explanation);
+    }
+
+    private void explainOverlap(int i, int j, int off, ExplanationForSignedClause explanation) {
+        for (int[] c : new int[][]{{i, j}, {j, i}}) {
+            vars[c[0] + off].unionLit(ub(c[0] + off, explanation) + 1, IntIterableRangeSet.MAX, explanation);
+            vars[c[1] + off].unionLit(IntIterableRangeSet.MIN, lb(c[1] + off, explanation) - 1, explanation);
+            vars[c[1] + off + 2 * n].unionLit(IntIterableRangeSet.MIN, lb(c[1] + off + 2 * n, explanation) - 1, explanation);
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if box <i>i</i> precedes box <i>j</i> in the dimension at <i>off</i>,
+     * given they overlap in the other one, because <i>j</i> cannot precede <i>i</i>
+     */
+    private boolean precedes(int i, int j, int off, ExplanationForSignedClause explanation) {
+        return lb(j + off, explanation) + lb(j + off + 2 * n, explanation) > ub(i + off, explanation);
+    }
+
+    /**
+     * Explains that box <i>j</i> cannot precede box <i>i</i>, except for the bound on the pivot at <i>k</i>
+     */
+    private void explainPrecedes(int i, int j, int off, int k, ExplanationForSignedClause explanation) {
+        if (j + off != k) {
+            vars[j + off].unionLit(IntIterableRangeSet.MIN, lb(j + off, explanation) - 1, explanation);
+        }
+        vars[j + off + 2 * n].unionLit(IntIterableRangeSet.MIN, lb(j + off + 2 * n, explanation) - 1, explanation);
+        if (i + off != k) {
+            vars[i + off].unionLit(ub(i + off, explanation) + 1, IntIterableRangeSet.MAX, explanation);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("DIFFN(");
@@ -16,6 +16,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.graphOperations.connectivity.StrongConnectivityFinder;
 import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 
 import java.util.BitSet;
@@ -51,6 +52,10 @@ public class AlgoAllDiffAC {
     int[] fifo;
     protected IntVar[] vars;
     ICause aCause;
+    /**
+     * Values to remove from the domain of a variable, removed at once
+     */
+    final IntIterableBitSet vrms;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -85,6 +90,7 @@ public class AlgoAllDiffAC {
         father = new int[n2];
         in = new BitSet(n2);
         SCCfinder = new StrongConnectivityFinder(digraph);
+        vrms = new IntIterableBitSet();
     }
 
     protected void makeDigraph(){
@@ -202,28 +208,30 @@ public class AlgoAllDiffAC {
     }
 
     boolean filterVar(int i) throws ContradictionException {
-        boolean filter =false;
         IntVar v = vars[i];
+        vrms.clear();
+        vrms.setOffset(v.getLB());
         int ub = v.getUB();
         for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
             int j = map.get(k);
             if (nodeSCC[i] != nodeSCC[j]) {
                 if (matching[i] == j) {
-                    filter |= v.instantiateTo(k, aCause);
+                    // the values collected so far are removed too
+                    return v.instantiateTo(k, aCause);
                 } else {
-                    filter |= v.removeValue(k, aCause);
+                    vrms.add(k);
                     digraph.removeArc(i, j);
                 }
             }
         }
-        return filter;
+        return v.removeValues(vrms, aCause);
     }
 
     private boolean filter() throws ContradictionException {
         boolean filter =false;
         distinguish();
         buildSCC();
-        int j, ub;
+        int lb, ub;
         IntVar v;
         for (int i = 0; i < n; i++) {
             filter|=filterVar(i);
@@ -231,22 +239,22 @@ public class AlgoAllDiffAC {
         for (int i = 0; i < n; i++) {
             v = vars[i];
             if (!v.hasEnumeratedDomain()) {
+                // only bounds can be updated, at once
                 ub = v.getUB();
-                for (int k = v.getLB(); k <= ub; k++) {
-                    j = map.get(k);
-                    if (!(digraph.arcExists(i, j) || digraph.arcExists(j, i))) {
-                        filter |= v.removeValue(k, aCause);
-                    }
+                lb = v.getLB();
+                while (lb <= ub && !hasArc(i, map.get(lb))) {
+                    lb++;
                 }
-                int lb = v.getLB();
-                for (int k = v.getUB(); k >= lb; k--) {
-                    j = map.get(k);
-                    if (!(digraph.arcExists(i, j) || digraph.arcExists(j, i))) {
-                        filter |= v.removeValue(k, aCause);
-                    }
+                while (ub >= lb && !hasArc(i, map.get(ub))) {
+                    ub--;
                 }
+                filter |= v.updateBounds(lb, ub, aCause);
             }
         }
         return filter;
     }
+
+    private boolean hasArc(int i, int j) {
+        return digraph.arcExists(i, j) || digraph.arcExists(j, i);
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.clauses;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded and lock-free exchange of learnt signed clauses between equivalent models solved in parallel.
+ * <p>
+ * Each time a model learns a signed clause with at most {@link #getMaxCardinality()} literals,
+ * the clause is published in a ring buffer.
+ * On each restart, a model imports into its {@link ClauseStore} the clauses published by the others
+ * since its previous restart.
+ * When a model imports less frequently than the others publish, the oldest clauses are overwritten
+ * and thus lost for this model.
+ * </p>
+ * <p>
+ * Models that are not reliable (ie, with non-redundant constraints posted) should only import clauses.
+ * Note also that models without restart policy never import clauses.
+ * </p>
+ *
+ * @implSpec It is assumed that all models are equivalent (ie, each variable has the same ID in each model).
+ * @since 4.10.7
+ */
+public class ClauseExchange {
+
+    /**
+     * Published clauses, the one with sequence number <i>s</i> is stored at <i>s</i> modulo capacity
+     */
+    private final AtomicReferenceArray<Shared> slots;
+
+    /**
+     * Sequence number of the next clause to publish
+     */
+    private final AtomicLong head;
+
+    /**
+     * Maximum number of literals of a published clause
+     */
+    private final int maxCardinality;
+
+    /**
+     * Registered models
+     */
+    private final List<Worker> workers;
+
+    /**
+     * Create an exchange of learnt signed clauses.
+     *
+     * @param capacity       maximum number of clauses stored at a time
+     * @param maxCardinality maximum number of literals of a clause to publish
+     */
+    public ClauseExchange(int capacity, int maxCardinality) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a clause exchange must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.head = new AtomicLong();
+        this.maxCardinality = maxCardinality;
+        this.workers = new ArrayList<>();
+    }
+
+    /**
+     * Create an exchange which stores up to 4096 clauses of at most 8 literals.
+     */
+    public ClauseExchange() {
+        this(4096, 8);
+    }
+
+    /**
+     * Connect <i>model</i> to this exchange.
+     * Its clause store is created if needed.
+     * Must be called before the resolution starts.
+     *
+     * @param model   a model
+     * @param publish set to <tt>true</tt> if the clauses learnt by <i>model</i> are published,
+     *                to <tt>false</tt> if <i>model</i> only imports clauses
+     */
+    public synchronized void add(Model model, boolean publish) {
+        model.getClauseBuilder(); // mandatory to store initial domains
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        Worker w = new Worker(workers.size(), model, store);
+        workers.add(w);
+        if (publish) {
+            store.setExchange(w);
+        }
+        model.getSolver().plugMonitor(w);
+    }
+
+    /**
+     * @return maximum number of literals of a published clause
+     */
+    public int getMaxCardinality() {
+        return maxCardinality;
+    }
+
+    /**
+     * @return total number of clauses published
+     */
+    public long getNbPublished() {
+        return head.get();
+    }
+
+    /**
+     * @param model a model connected to this exchange
+     * @return number of clauses published by <i>model</i>
+     */
+    public long getNbPublished(Model model) {
+        return get(model).published;
+    }
+
+    /**
+     * @param model a model connected to this exchange
+     * @return number of clauses imported by <i>model</i>
+     */
+    public long getNbImported(Model model) {
+        return get(model).imported;
+    }
+
+    /**
+     * @param model a model connected to this exchange
+     * @return number of clauses learnt by <i>model</i> but not published because they were too long
+     */
+    public long getNbFiltered(Model model) {
+        return get(model).filtered;
+    }
+
+    /**
+     * @param model a model connected to this exchange
+     * @return number of clauses published by the other models but overwritten before <i>model</i> imports them
+     */
+    public long getNbLost(Model model) {
+        return get(model).lost;
+    }
+
+    private synchronized Worker get(Model model) {
+        for (Worker w : workers) {
+            if (w.model == model) {
+                return w;
+            }
+        }
+        throw new IllegalArgumentException(model.getName() + " is not connected to this exchange");
+    }
+
+    /**
+     * An immutable copy of a published clause
+     */
+    private static final class Shared {
+        /**
+         * Sequence number
+         */
+        final long seq;
+        /**
+         * Index of the publisher
+         */
+        final int from;
+        /**
+         * IDs of the variables
+         */
+        final int[] ids;
+        /**
+         * For each variable, the bounds of its ranges
+         */
+        final int[][] ranges;
+
+        Shared(long seq, int from, int[] ids, int[][] ranges) {
+            this.seq = seq;
+            this.from = from;
+            this.ids = ids;
+            this.ranges = ranges;
+        }
+    }
+
+    /**
+     * The connection of a model to the exchange.
+     * Counters are only modified by the thread solving the model.
+     */
+    final class Worker implements IMonitorRestart {
+
+        private final int index;
+
+        private final Model model;
+
+        private final ClauseStore store;
+
+        /**
+         * Variables of the model, indexed by ID
+         */
+        private final IntVar[] byId;
+
+        /**
+         * Sequence number of the next clause to import
+         */
+        private long cursor;
+
+        private long published, imported, filtered, lost;
+
+        Worker(int index, Model model, ClauseStore store) {
+            this.index = index;
+            this.model = model;
+            this.store = store;
+            int max = 0;
+            for (Variable v : model.getVars()) {
+                max = Math.max(max, v.getId());
+            }
+            this.byId = new IntVar[max + 1];
+            for (Variable v : model.getVars()) {
+                if ((v.getTypeAndKind() & Variable.INT) != 0) {
+                    byId[v.getId()] = (IntVar) v;
+                }
+            }
+            this.cursor = head.get();
+        }
+
+        /**
+         * Publish a clause learnt by this model, if it is short enough
+         */
+        void publish(IntVar[] vars, IntIterableRangeSet[] ranges) {
+            int card = 0;
+            for (IntIterableRangeSet r : ranges) {
+                card += r.getNbRanges();
+            }
+            if (card > maxCardinality) {
+                filtered++;
+                return;
+            }
+            int[] ids = new int[vars.length];
+            int[][] bounds = new int[vars.length][];
+            for (int i = 0; i < vars.length; i++) {
+                ids[i] = vars[i].getId();
+                bounds[i] = new int[ranges[i].getNbRanges() << 1];
+                for (int r = 0; r < ranges[i].getNbRanges(); r++) {
+                    bounds[i][r << 1] = ranges[i].minOfRange(r);
+                    bounds[i][(r << 1) + 1] = ranges[i].maxOfRange(r);
+                }
+            }
+            long seq = head.getAndIncrement();
+            slots.set((int) (seq % slots.length()), new Shared(seq, index, ids, bounds));
+            published++;
+        }
+
+        @Override
+        public void beforeRestart() {
+            long end = head.get();
+            long from = Math.max(cursor, end - slots.length());
+            lost += from - cursor;
+            long s = from;
+            for (; s < end; s++) {
+                Shared c = slots.get((int) (s % slots.length()));
+                if (c == null || c.seq < s) {
+                    // not written yet, try again on next restart
+                    break;
+                }
+                if (c.seq > s) {
+                    lost++;
+                } else if (c.from != index) {
+                    importClause(c);
+                }
+            }
+            cursor = s;
+        }
+
+        private void importClause(Shared c) {
+            IntVar[] vars = new IntVar[c.ids.length];
+            IntIterableRangeSet[] ranges = new IntIterableRangeSet[c.ids.length];
+            for (int i = 0; i < c.ids.length; i++) {
+                if (c.ids[i] >= byId.length || byId[c.ids[i]] == null) {
+                    // unknown variable, the models are not equivalent
+                    return;
+                }
+                vars[i] = byId[c.ids[i]];
+                ranges[i] = new IntIterableRangeSet();
+                for (int r = 0; r < c.ranges[i].length; r += 2) {
+                    ranges[i].addBetween(c.ranges[i][r], c.ranges[i][r + 1]);
+                }
+            }
+            store.addImported(vars, ranges);
+            imported++;
+        }
+    }
+}
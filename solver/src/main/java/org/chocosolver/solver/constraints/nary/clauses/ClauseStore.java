@@ -81,6 +81,10 @@ public class ClauseStore extends Propagator<IntVar> {
     private double clauseInc = 1d;
 
     private ClausesBased strat;
+    /**
+     * Exchange to publish learnt clauses to, if any
+     */
+    private ClauseExchange.Worker exchange;
 
     /**
      * Create a Nogood store connected to a model.
@@ -109,23 +113,57 @@ public class ClauseStore extends Propagator<IntVar> {
         return learnts.size();
     }
 
+    /**
+     * @return the signed clauses declared before the resolution, that is, not learnt ones
+     */
+    public List<SignedClause> getClauses() {
+        return Collections.unmodifiableList(clauses);
+    }
+
     public void declareClausesBasedStrategy(ClausesBased strat) {
         this.strat = strat;
     }
 
+    /**
+     * Set the exchange learnt signed clauses are published to.
+     *
+     * @param exchange exchange to publish learnt clauses to, <i>null</i> to stop publishing
+     */
+    void setExchange(ClauseExchange.Worker exchange) {
+        this.exchange = exchange;
+    }
+
     /**
      * Declare a new signed clause in this store
      */
     public void add(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        add(vars, ranges, false);
+    }
+
+    /**
+     * Declare a signed clause learnt by another model in this store.
+     * Such a clause is not published back and is not subject to dominance detection.
+     */
+    void addImported(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        add(vars, ranges, true);
+    }
+
+    private void add(IntVar[] vars, IntIterableRangeSet[] ranges, boolean imported) {
+        boolean learnt = model.getSolver().getEngine().isInitialized();
+        if (learnt && !imported && exchange != null) {
+            exchange.publish(vars, ranges);
+        }
         if (XParameters.INTERVAL_TREE) {
             SignedClause cl = new SignedClause(vars, ranges);
             attach(new Watcher(cl.pos[0], cl));
             attach(new Watcher(cl.pos[1], cl));
-            if (model.getSolver().getEngine().isInitialized()) {
+            if (learnt) {
                 this.learnts.add(cl);
-                last = cl;
-                last.activity = clauseInc;
-                last.rawActivity = 1;
+                cl.activity = clauseInc;
+                cl.rawActivity = 1;
+                if (!imported) {
+                    last = cl;
+                }
                 if (XParameters.PRINT_CLAUSE) System.out.printf("learn: %s\n", cl);
             } else {
                 if (XParameters.PRINT_CLAUSE) System.out.printf("add: %s\n", cl);
@@ -574,6 +612,30 @@ public class ClauseStore extends Propagator<IntVar> {
             return mvars.length;
         }
 
+        /**
+         * @param p index of a literal, in [0, {@link #cardinality()})
+         * @return the variable of the literal <i>p</i>
+         */
+        public final IntVar getLiteralVar(int p) {
+            return mvars[p];
+        }
+
+        /**
+         * @param p index of a literal, in [0, {@link #cardinality()})
+         * @return the lower bound of the range of the literal <i>p</i>
+         */
+        public final int getLiteralLB(int p) {
+            return bounds[p << 1];
+        }
+
+        /**
+         * @param p index of a literal, in [0, {@link #cardinality()})
+         * @return the upper bound of the range of the literal <i>p</i>
+         */
+        public final int getLiteralUB(int p) {
+            return bounds[(p << 1) + 1];
+        }
+
         private ESat check(int p) {
             return ClauseStore.check(mvars[p].getLB(), mvars[p].getUB(), bounds[p << 1], bounds[(p << 1) + 1], mvars[p]);
         }
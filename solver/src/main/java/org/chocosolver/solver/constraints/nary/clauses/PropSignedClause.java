@@ -148,6 +148,30 @@ public class PropSignedClause extends Propagator<IntVar> {
         return mvars.length;
     }
 
+    /**
+     * @param p index of a literal, in [0, {@link #cardinality()})
+     * @return the variable of the literal <i>p</i>
+     */
+    public final IntVar getLiteralVar(int p) {
+        return mvars[p];
+    }
+
+    /**
+     * @param p index of a literal, in [0, {@link #cardinality()})
+     * @return the lower bound of the range of the literal <i>p</i>
+     */
+    public final int getLiteralLB(int p) {
+        return bounds[p << 1];
+    }
+
+    /**
+     * @param p index of a literal, in [0, {@link #cardinality()})
+     * @return the upper bound of the range of the literal <i>p</i>
+     */
+    public final int getLiteralUB(int p) {
+        return bounds[(p << 1) + 1];
+    }
+
     private ESat check(int p) {
         IntVar v = mvars[p];
         int lv = v.getLB();
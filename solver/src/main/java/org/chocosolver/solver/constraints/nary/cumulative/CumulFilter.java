@@ -11,7 +11,9 @@ package org.chocosolver.solver.constraints.nary.cumulative;
 
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 
 
@@ -27,6 +29,7 @@ public abstract class CumulFilter {
 	//***********************************************************************************
 
 	protected int nbMaxTasks;
+	private TimeTableExplanation timeTable;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -56,4 +59,55 @@ public abstract class CumulFilter {
 	 * @throws ContradictionException
 	 */
 	public abstract void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException;
+
+	/**
+	 * Explains, with the reasoning of this filter, the event stored at position <i>p</i> in the implication graph
+	 * and caused by a cumulative propagator.
+	 * Domains are read from <i>explanation</i>, that is as they were just before the event.
+	 * Any filter can be asked, whichever actually triggered the event: it is only explained if the reasoning
+	 * of this filter, over all tasks, justifies it.
+	 * @param s		start variables
+	 * @param d		duration variables
+	 * @param e		end variables
+	 * @param h		height variables
+	 * @param capa	maximum capacity variable
+	 * @param p		position of the event in the implication graph
+	 * @param explanation	the explanation to complete
+	 * @return <tt>true</tt> if the event is explained, <tt>false</tt> if this filter cannot justify it
+	 * (in which case <i>explanation</i> is left unchanged)
+	 */
+	public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+		return false;
+	}
+
+	/**
+	 * Explains an event with time-table reasoning, for filters based on compulsory parts.
+	 * @see #explain(IntVar[], IntVar[], IntVar[], IntVar[], IntVar, int, ExplanationForSignedClause)
+	 */
+	protected final boolean explainTimeTable(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+		if (timeTable == null) {
+			timeTable = new TimeTableExplanation(s.length);
+		}
+		return timeTable.explain(s, d, e, h, capa, p, explanation);
+	}
+
+	/**
+	 * @return <tt>true</tt> if the event at position <i>p</i> increases the lower bound of its variable,
+	 * possibly instantiating it
+	 */
+	static boolean isInclow(ExplanationForSignedClause explanation, int p) {
+		int mask = explanation.readMask(p);
+		return IntEventType.isInclow(mask) || mask == IntEventType.INSTANTIATE.getMask()
+				&& explanation.readValue(p) > explanation.readDom(explanation.readVar(p)).min();
+	}
+
+	/**
+	 * @return <tt>true</tt> if the event at position <i>p</i> decreases the upper bound of its variable,
+	 * possibly instantiating it
+	 */
+	static boolean isDecupp(ExplanationForSignedClause explanation, int p) {
+		int mask = explanation.readMask(p);
+		return IntEventType.isDecupp(mask) || mask == IntEventType.INSTANTIATE.getMask()
+				&& explanation.readValue(p) < explanation.readDom(explanation.readVar(p)).max();
+	}
 }
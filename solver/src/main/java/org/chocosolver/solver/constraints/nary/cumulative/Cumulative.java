@@ -185,6 +185,37 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n);
 			}
 		},
+		/**
+		 * time-table algorithm based on a profile of the compulsory parts maintained incrementally,
+		 * stored in a segment tree
+		 * not idempotent
+		 */
+		INCREMENTAL_TIME {
+			public CumulFilter make(int n){
+				return new IncrementalTimeCumulFilter(n);
+			}
+		},
+		/**
+		 * time-table edge-finding algorithm, in O(n^2)
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		TIME_EDGE_FINDING {
+			public CumulFilter make(int n){
+				return new TimeEdgeFindingCumulFilter(n);
+			}
+		},
+		/**
+		 * energetic reasoning checker, in O(n^2 log n)
+		 * fails on an overloaded interval and filters the lower bound of the capacity only:
+		 * the start and end times of the tasks are not adjusted
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		ENERGETIC {
+			public CumulFilter make(int n){
+				return new EnergeticCumulFilter(n);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
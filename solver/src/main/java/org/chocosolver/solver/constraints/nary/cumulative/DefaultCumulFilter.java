@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints.nary.cumulative;
 
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
@@ -68,6 +69,13 @@ public class DefaultCumulFilter extends CumulFilter {
 		}
 	}
 
+	@Override
+	public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+		return getTime().explain(s, d, e, h, capa, p, explanation)
+				|| nrj.explain(s, d, e, h, capa, p, explanation)
+				|| (disjTaskInter != null && disjTaskInter.explain(s, d, e, h, capa, p, explanation));
+	}
+
 	//***********************************************************************************
 	// Lazy creation (saves memory)
 	//***********************************************************************************
@@ -12,9 +12,11 @@ package org.chocosolver.solver.constraints.nary.cumulative;
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.sort.ArraySort;
 
 /**
@@ -27,6 +29,9 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter{
     //***********************************************************************************
 
     private TIntArrayList list = new TIntArrayList();
+    // bounds of tasks, as they were before the event to explain
+    private int[] slb, sub, elb, eub, dlb, inside;
+    private ArraySort<?> sorter;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -90,4 +95,163 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter{
             }
         }
     }
-}
\ No newline at end of file
+
+    //***********************************************************************************
+    // EXPLANATIONS
+    //***********************************************************************************
+
+    /**
+     * Explains a bound of a start or of an end by a precedence between two tasks, on a disjunctive resource.
+     */
+    @Override
+    public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+        IntVar pivot = explanation.readVar(p);
+        int value = explanation.readValue(p);
+        if (pivot == capa) {
+            if (isDecupp(explanation, p) && value >= 1) {
+                // the resource is disjunctive
+                capa.intersectLit(IntIterableRangeSet.MIN, 1, explanation);
+                return true;
+            }
+            return false;
+        }
+        if (explanation.readDom(capa).max() > 1) {
+            return false;
+        }
+        int n = s.length;
+        if (slb == null) {
+            slb = new int[n];
+            sub = new int[n];
+            elb = new int[n];
+            eub = new int[n];
+            dlb = new int[n];
+            inside = new int[n];
+            sorter = new ArraySort<>(n, false, true);
+        }
+        for (int i = 0; i < n; i++) {
+            slb[i] = explanation.readDom(s[i]).min();
+            sub[i] = explanation.readDom(s[i]).max();
+            elb[i] = explanation.readDom(e[i]).min();
+            eub[i] = explanation.readDom(e[i]).max();
+            // tasks which do not consume the resource are ignored
+            dlb[i] = explanation.readDom(h[i]).min() > 0 ? explanation.readDom(d[i]).min() : 0;
+        }
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a == b || dlb[a] <= 0 || dlb[b] <= 0) {
+                    continue;
+                }
+                // b precedes a, so the start of a is at least the end of b
+                if (pivot == s[a] && isInclow(explanation, p) && elb[b] >= value) {
+                    int rule = precedence(b, a);
+                    if (rule > 0) {
+                        IntIterableRangeSet set = explanation.empty();
+                        set.addBetween(value, IntIterableRangeSet.MAX);
+                        if (rule == ENERGY) {
+                            set.addBetween(IntIterableRangeSet.MIN, slb[a] - 1);
+                        }
+                        explainPrecedence(rule, b, a, pivot, s, d, e, h, capa, explanation);
+                        e[b].unionLit(IntIterableRangeSet.MIN, value - 1, explanation);
+                        s[a].intersectLit(set, explanation);
+                        return true;
+                    }
+                }
+                // b precedes a, so the end of b is at most the start of a
+                if (pivot == e[b] && isDecupp(explanation, p) && sub[a] <= value) {
+                    int rule = precedence(b, a);
+                    if (rule > 0) {
+                        IntIterableRangeSet set = explanation.empty();
+                        set.addBetween(IntIterableRangeSet.MIN, value);
+                        if (rule == ENERGY) {
+                            set.addBetween(eub[b] + 1, IntIterableRangeSet.MAX);
+                        }
+                        explainPrecedence(rule, b, a, pivot, s, d, e, h, capa, explanation);
+                        s[a].unionLit(value + 1, IntIterableRangeSet.MAX, explanation);
+                        e[b].intersectLit(set, explanation);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final int OVERLAP = 1, ENERGY = 2;
+
+    /**
+     * @return {@link #OVERLAP} if <i>b</i> precedes <i>a</i> because <i>a</i> cannot end before <i>b</i> starts,
+     * {@link #ENERGY} if it does because <i>a</i>, <i>b</i> and what the other tasks have to process in
+     * [slb(<i>a</i>), eub(<i>b</i>)) would not fit in this interval otherwise,
+     * 0 if <i>b</i> is not known to precede <i>a</i>
+     */
+    private int precedence(int b, int a) {
+        if (elb[a] > sub[b]) {
+            return OVERLAP;
+        }
+        long slack = (long) eub[b] - slb[a] - dlb[a] - dlb[b];
+        for (int c = 0; c < slb.length && slack >= 0; c++) {
+            if (c != a && c != b) {
+                slack -= inside(c, slb[a], eub[b]);
+            }
+        }
+        return slack < 0 ? ENERGY : 0;
+    }
+
+    /**
+     * @return the minimal processing time of task <i>c</i> inside [<i>t1</i>, <i>t2</i>)
+     */
+    private int inside(int c, int t1, int t2) {
+        if (dlb[c] <= 0) {
+            return 0;
+        }
+        return Math.max(0, dlb[c] - Math.max(0, t1 - slb[c]) - Math.max(0, eub[c] - t2));
+    }
+
+    /**
+     * Explains that <i>b</i> precedes <i>a</i>, except for the bound
+     * on the pivot, which is explained by the caller.
+     */
+    private void explainPrecedence(int rule, int b, int a, IntVar pivot, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa,
+                                   ExplanationForSignedClause explanation) {
+        // both tasks consume the resource, which is disjunctive
+        capa.unionLit(2, IntIterableRangeSet.MAX, explanation);
+        h[a].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+        h[b].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+        if (rule == OVERLAP) {
+            d[a].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+            d[b].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+            // a ends after b starts
+            e[a].unionLit(IntIterableRangeSet.MIN, sub[b], explanation);
+            s[b].unionLit(sub[b] + 1, IntIterableRangeSet.MAX, explanation);
+        } else {
+            int t1 = slb[a];
+            int t2 = eub[b];
+            // if a preceded b, both would be processed in [t1, t2)
+            if (pivot != s[a]) {
+                s[a].unionLit(IntIterableRangeSet.MIN, t1 - 1, explanation);
+            }
+            if (pivot != e[b]) {
+                e[b].unionLit(t2 + 1, IntIterableRangeSet.MAX, explanation);
+            }
+            d[a].unionLit(IntIterableRangeSet.MIN, dlb[a] - 1, explanation);
+            d[b].unionLit(IntIterableRangeSet.MIN, dlb[b] - 1, explanation);
+            int size = 0;
+            int[] tasks = new int[slb.length];
+            for (int c = 0; c < slb.length; c++) {
+                if (c != a && c != b && (inside[c] = inside(c, t1, t2)) > 0) {
+                    tasks[size++] = c;
+                }
+            }
+            sorter.sort(tasks, size, (c1, c2) -> inside[c2] - inside[c1]);
+            long slack = (long) t2 - t1 - dlb[a] - dlb[b];
+            for (int k = 0; k < size && slack >= 0; k++) {
+                int c = tasks[k];
+                s[c].unionLit(IntIterableRangeSet.MIN, slb[c] - 1, explanation);
+                e[c].unionLit(eub[c] + 1, IntIterableRangeSet.MAX, explanation);
+                d[c].unionLit(IntIterableRangeSet.MIN, dlb[c] - 1, explanation);
+                h[c].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+                slack -= inside[c];
+            }
+        }
+    }
+}
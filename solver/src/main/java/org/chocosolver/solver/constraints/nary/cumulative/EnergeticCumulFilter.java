@@ -0,0 +1,159 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Energetic reasoning checker, in O(n^2 log n).
+ * <br/>
+ * For each interval [t1, t2), with t1 among the earliest starting times, earliest completion times and latest starting times,
+ * and t2 among the latest completion times, earliest completion times and latest starting times,
+ * the minimal energy the tasks must process in the interval, whichever side they are shifted to,
+ * is compared to the capacity of the interval.
+ * For a given t1, the minimal energy is a piecewise linear function of t2,
+ * which is evaluated on all relevant t2 by a single sweep.
+ * Fails when an interval is overloaded, and filters the lower bound of the capacity.
+ * The time-bound adjustments of the paper below are not applied: start and end times are left to the other filters.
+ * Not enough to ensure correctness (only an additional filtering).
+ * <br/>
+ * Based on the satisfiability test of "Satisfiability tests and time-bound adjustments for cumulative scheduling problems",
+ * P. Baptiste, C. Le Pape and W. Nuijten, Annals of Operations Research, 1999.
+ *
+ * @since 4.10.7
+ */
+public class EnergeticCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int[] est, lct, p, hlb;
+    // candidate lower bounds of the intervals
+    private final int[] lefts;
+    // candidate upper bounds of the intervals, sorted
+    private final int[] rights;
+    // breakpoints of the minimal energy, for a given lower bound: time and variation of the slope
+    private final int[] bpTime;
+    private final long[] bpSlope;
+    private final int[] bpOrder;
+    private final ArraySort<?> sorter;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public EnergeticCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        est = new int[nbMaxTasks];
+        lct = new int[nbMaxTasks];
+        p = new int[nbMaxTasks];
+        hlb = new int[nbMaxTasks];
+        lefts = new int[3 * nbMaxTasks];
+        rights = new int[3 * nbMaxTasks];
+        bpTime = new int[2 * nbMaxTasks];
+        bpSlope = new long[2 * nbMaxTasks];
+        bpOrder = new int[2 * nbMaxTasks];
+        sorter = new ArraySort<>(3 * nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        int m = 0;
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int i = tIter.nextInt();
+            if (d[i].getLB() > 0 && h[i].getLB() > 0) {
+                est[m] = s[i].getLB();
+                lct[m] = e[i].getUB();
+                p[m] = d[i].getLB();
+                hlb[m] = h[i].getLB();
+                lefts[3 * m] = rights[3 * m] = est[m] + p[m];
+                lefts[3 * m + 1] = rights[3 * m + 1] = lct[m] - p[m];
+                lefts[3 * m + 2] = est[m];
+                rights[3 * m + 2] = lct[m];
+                m++;
+            }
+        }
+        if (m == 0) {
+            return;
+        }
+        int nl = distinct(lefts, 3 * m);
+        int nr = distinct(rights, 3 * m);
+        long c = capa.getUB();
+        long load = 0;
+        for (int l = 0; l < nl; l++) {
+            int t1 = lefts[l];
+            // minimal energy in [t1, t2) of each task: 0 until u, then slope h, then constant after u + a
+            int nb = 0;
+            for (int k = 0; k < m; k++) {
+                int a = Math.min(p[k], est[k] + p[k] - t1);
+                if (a > 0) {
+                    int u = Math.max(t1, lct[k] - p[k]);
+                    bpTime[nb] = u;
+                    bpSlope[nb] = hlb[k];
+                    bpOrder[nb] = nb;
+                    nb++;
+                    bpTime[nb] = u + a;
+                    bpSlope[nb] = -hlb[k];
+                    bpOrder[nb] = nb;
+                    nb++;
+                }
+            }
+            sorter.sort(bpOrder, nb, (i, j) -> Integer.compare(bpTime[i], bpTime[j]));
+            long energy = 0, slope = 0;
+            int last = t1;
+            int b = 0;
+            for (int r = 0; r < nr; r++) {
+                int t2 = rights[r];
+                if (t2 <= t1) {
+                    continue;
+                }
+                while (b < nb && bpTime[bpOrder[b]] <= t2) {
+                    int bp = bpOrder[b++];
+                    energy += slope * (bpTime[bp] - last);
+                    last = bpTime[bp];
+                    slope += bpSlope[bp];
+                }
+                long w = energy + slope * (t2 - last);
+                if (w > c * (t2 - t1)) {
+                    aCause.fails();
+                }
+                load = Math.max(load, (w + t2 - t1 - 1) / (t2 - t1));
+            }
+        }
+        capa.updateLowerBound((int) load, aCause);
+    }
+
+    /**
+     * Sorts the first <i>n</i> values of <i>values</i> and removes duplicates
+     *
+     * @return the number of distinct values
+     */
+    private int distinct(int[] values, int n) {
+        sorter.sort(values, n, Integer::compare);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (k == 0 || values[k - 1] != values[i]) {
+                values[k++] = values[i];
+            }
+        }
+        return k;
+    }
+}
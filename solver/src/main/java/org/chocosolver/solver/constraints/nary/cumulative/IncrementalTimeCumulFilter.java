@@ -0,0 +1,358 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+
+/**
+ * Time-table filtering based on a profile of the compulsory parts which is maintained incrementally.
+ * <br/>
+ * The profile is stored in a segment tree over the time horizon, supporting range additions and
+ * range maximum queries in O(log H).
+ * Each call only updates the compulsory parts which changed since the previous one,
+ * the modifications of the profile being undone upon backtracking.
+ * Then, each task is pushed over the profile, each conflicting segment being found in O(log H),
+ * instead of sorting the tasks or scanning each point in time.
+ * <br/>
+ * When the time horizon is too large to be stored, {@link SweepCumulFilter} is used instead.
+ * Not idempotent.
+ *
+ * @since 4.10.7
+ */
+public class IncrementalTimeCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Largest time horizon for which the profile is stored
+     */
+    private static final int MAX_HORIZON = 1 << 22;
+
+    private IEnvironment environment;
+    /**
+     * Filter to use when the time horizon is too large, null otherwise
+     */
+    private CumulFilter fallback;
+    /**
+     * Compulsory part of each task, as recorded in the profile: [from, to) with a given height
+     */
+    private IStateInt[] from, to, height;
+    /**
+     * Time point of the first leaf
+     */
+    private int origin;
+    /**
+     * Number of leaves, a power of 2
+     */
+    private int size;
+    /**
+     * Segment tree: value added to the whole subtree of each node, maximal and minimal values of the subtree
+     */
+    private int[] add, max, min;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public IncrementalTimeCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    private void initialize(IntVar[] s, IntVar[] e, Propagator<IntVar> aCause) {
+        long first = Integer.MAX_VALUE;
+        long horizon = Integer.MIN_VALUE;
+        for (int i = 0; i < s.length; i++) {
+            first = Math.min(first, s[i].getLB());
+            horizon = Math.max(horizon, e[i].getUB());
+        }
+        if (horizon - first > MAX_HORIZON) {
+            fallback = new SweepCumulFilter(nbMaxTasks);
+            return;
+        }
+        environment = aCause.getModel().getEnvironment();
+        origin = (int) first;
+        size = 1;
+        while (size < horizon - first) {
+            size <<= 1;
+        }
+        add = new int[2 * size];
+        max = new int[2 * size];
+        min = new int[2 * size];
+        from = new IStateInt[s.length];
+        to = new IStateInt[s.length];
+        height = new IStateInt[s.length];
+        for (int i = 0; i < s.length; i++) {
+            from[i] = environment.makeInt(0);
+            to[i] = environment.makeInt(0);
+            height[i] = environment.makeInt(0);
+        }
+    }
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        if (max == null && fallback == null) {
+            initialize(s, e, aCause);
+        }
+        if (fallback != null) {
+            fallback.filter(s, d, e, h, capa, tasks, aCause);
+            return;
+        }
+        // update the compulsory parts which changed
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int i = tIter.nextInt();
+            int f = 0, t = 0, hh = 0;
+            if (d[i].getLB() > 0 && h[i].getLB() > 0 && s[i].getUB() < e[i].getLB()) {
+                f = s[i].getUB();
+                t = e[i].getLB();
+                hh = h[i].getLB();
+            }
+            if (f != from[i].get() || t != to[i].get() || hh != height[i].get()) {
+                record(from[i].get(), to[i].get(), -height[i].get());
+                record(f, t, hh);
+                from[i].set(f);
+                to[i].set(t);
+                height[i].set(hh);
+            }
+        }
+        capa.updateLowerBound(max[1], aCause);
+        int capaMax = capa.getUB();
+        tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int i = tIter.nextInt();
+            int dlb = d[i].getLB();
+            int hlb = h[i].getLB();
+            int f = from[i].get(), t = to[i].get(), hh = height[i].get();
+            // fixed tasks are checked with the capacity, and tasks which fit anywhere are not filtered
+            if (s[i].isInstantiated() && e[i].isInstantiated() && h[i].isInstantiated()
+                    || (f >= t || h[i].isInstantiated()) && rangeMax(s[i].getLB(), e[i].getUB()) <= capaMax - hlb) {
+                continue;
+            }
+            // the task is removed from the profile while being filtered
+            shift(f, t, -hh);
+            try {
+                if (f < t && !h[i].isInstantiated()) {
+                    h[i].updateUpperBound(capaMax - rangeMax(f, t), aCause);
+                }
+                if (dlb > 0 && hlb > 0) {
+                    filterStart(s[i], dlb, capaMax - hlb, aCause);
+                    filterEnd(e[i], dlb, capaMax - hlb, aCause);
+                }
+            } finally {
+                shift(f, t, hh);
+            }
+        }
+    }
+
+    /**
+     * Pushes the start of a task after the segments of the profile it would overlap with
+     */
+    private void filterStart(IntVar start, int dlb, int threshold, Propagator<IntVar> aCause) throws ContradictionException {
+        int t = start.getLB();
+        int sub = start.getUB();
+        int q;
+        while (t <= sub && (q = lastAbove(t, t + dlb, threshold)) >= 0) {
+            // skip the segments of the profile which are too high
+            t = firstAtMost(q + 1, threshold);
+        }
+        start.updateLowerBound(t, aCause);
+    }
+
+    /**
+     * Pushes the end of a task before the segments of the profile it would overlap with
+     */
+    private void filterEnd(IntVar end, int dlb, int threshold, Propagator<IntVar> aCause) throws ContradictionException {
+        int t = end.getUB();
+        int elb = end.getLB();
+        int q;
+        while (t >= elb && (q = firstAbove(t - dlb, t, threshold)) >= 0) {
+            // skip the segments of the profile which are too high
+            t = lastAtMost(q - 1, threshold) + 1;
+        }
+        end.updateUpperBound(t, aCause);
+    }
+
+    /**
+     * Adds <i>v</i> to the profile on [<i>f</i>, <i>t</i>), the addition being undone upon backtracking
+     */
+    private void record(int f, int t, int v) {
+        if (f < t && v != 0) {
+            shift(f, t, v);
+            environment.save(() -> shift(f, t, -v));
+        }
+    }
+
+    private void shift(int f, int t, int v) {
+        int l = Math.max(0, f - origin);
+        int r = Math.min(size, t - origin);
+        if (l < r && v != 0) {
+            shift(1, 0, size, l, r, v);
+        }
+    }
+
+    private void shift(int node, int nl, int nr, int l, int r, int v) {
+        if (r <= nl || nr <= l) {
+            return;
+        }
+        if (l <= nl && nr <= r) {
+            add[node] += v;
+            max[node] += v;
+            min[node] += v;
+            return;
+        }
+        int mid = (nl + nr) >>> 1;
+        shift(2 * node, nl, mid, l, r, v);
+        shift(2 * node + 1, mid, nr, l, r, v);
+        max[node] = add[node] + Math.max(max[2 * node], max[2 * node + 1]);
+        min[node] = add[node] + Math.min(min[2 * node], min[2 * node + 1]);
+    }
+
+    /**
+     * @return the maximal height of the profile on [<i>f</i>, <i>t</i>)
+     */
+    private int rangeMax(int f, int t) {
+        int l = Math.max(0, f - origin);
+        int r = Math.min(size, t - origin);
+        return l < r ? rangeMax(1, 0, size, l, r) : 0;
+    }
+
+    private int rangeMax(int node, int nl, int nr, int l, int r) {
+        if (l <= nl && nr <= r) {
+            return max[node];
+        }
+        int mid = (nl + nr) >>> 1;
+        int m = Integer.MIN_VALUE / 2;
+        if (l < mid) {
+            m = rangeMax(2 * node, nl, mid, l, r);
+        }
+        if (mid < r) {
+            m = Math.max(m, rangeMax(2 * node + 1, mid, nr, l, r));
+        }
+        return add[node] + m;
+    }
+
+    /**
+     * @return the last time point in [<i>f</i>, <i>t</i>) where the profile is higher than <i>threshold</i>,
+     * or -1 if there is none
+     */
+    private int lastAbove(int f, int t, int threshold) {
+        int l = Math.max(0, f - origin);
+        int r = Math.min(size, t - origin);
+        if (l >= r) {
+            return -1;
+        }
+        int q = lastAbove(1, 0, size, l, r, threshold);
+        return q < 0 ? -1 : q + origin;
+    }
+
+    private int lastAbove(int node, int nl, int nr, int l, int r, int threshold) {
+        if (r <= nl || nr <= l || max[node] <= threshold) {
+            return -1;
+        }
+        if (nr - nl == 1) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int q = lastAbove(2 * node + 1, mid, nr, l, r, threshold - add[node]);
+        return q >= 0 ? q : lastAbove(2 * node, nl, mid, l, r, threshold - add[node]);
+    }
+
+    /**
+     * @return the first time point in [<i>f</i>, <i>t</i>) where the profile is higher than <i>threshold</i>,
+     * or -1 if there is none
+     */
+    private int firstAbove(int f, int t, int threshold) {
+        int l = Math.max(0, f - origin);
+        int r = Math.min(size, t - origin);
+        if (l >= r) {
+            return -1;
+        }
+        int q = firstAbove(1, 0, size, l, r, threshold);
+        return q < 0 ? -1 : q + origin;
+    }
+
+    private int firstAbove(int node, int nl, int nr, int l, int r, int threshold) {
+        if (r <= nl || nr <= l || max[node] <= threshold) {
+            return -1;
+        }
+        if (nr - nl == 1) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int q = firstAbove(2 * node, nl, mid, l, r, threshold - add[node]);
+        return q >= 0 ? q : firstAbove(2 * node + 1, mid, nr, l, r, threshold - add[node]);
+    }
+
+    /**
+     * @return the first time point from <i>f</i> where the profile is not higher than <i>threshold</i>
+     */
+    private int firstAtMost(int f, int threshold) {
+        int l = f - origin;
+        if (l < 0 || l >= size) {
+            return f;
+        }
+        int q = firstAtMost(1, 0, size, l, threshold);
+        return q < 0 ? size + origin : q + origin;
+    }
+
+    private int firstAtMost(int node, int nl, int nr, int l, int threshold) {
+        if (nr <= l || min[node] > threshold) {
+            return -1;
+        }
+        if (nr - nl == 1) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int q = firstAtMost(2 * node, nl, mid, l, threshold - add[node]);
+        return q >= 0 ? q : firstAtMost(2 * node + 1, mid, nr, l, threshold - add[node]);
+    }
+
+    /**
+     * @return the last time point up to <i>t</i> where the profile is not higher than <i>threshold</i>
+     */
+    private int lastAtMost(int t, int threshold) {
+        int r = t - origin;
+        if (r < 0 || r >= size) {
+            return t;
+        }
+        int q = lastAtMost(1, 0, size, r, threshold);
+        return q < 0 ? origin - 1 : q + origin;
+    }
+
+    private int lastAtMost(int node, int nl, int nr, int r, int threshold) {
+        if (nl > r || min[node] > threshold) {
+            return -1;
+        }
+        if (nr - nl == 1) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int q = lastAtMost(2 * node + 1, mid, nr, r, threshold - add[node]);
+        return q >= 0 ? q : lastAtMost(2 * node, nl, mid, r, threshold - add[node]);
+    }
+
+    @Override
+    public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+        return explainTimeTable(s, d, e, h, capa, p, explanation);
+    }
+}
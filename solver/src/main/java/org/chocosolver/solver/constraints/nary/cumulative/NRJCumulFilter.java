@@ -11,9 +11,11 @@ package org.chocosolver.solver.constraints.nary.cumulative;
 
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.sort.ArraySort;
 import org.chocosolver.util.sort.IntComparator;
 
@@ -94,4 +96,82 @@ public class NRJCumulFilter extends CumulFilter{
 			}
 		}
 	}
+
+	/**
+	 * Explains a bound of a height, of a duration or of the capacity, as the greedy algorithm does:
+	 * by the energy of the tasks sorted before the task, all of them lying in the same window.
+	 */
+	@Override
+	public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+		IntVar pivot = explanation.readVar(p);
+		int value = explanation.readValue(p);
+		boolean onCapa = pivot == capa && isInclow(explanation, p);
+		if (!onCapa && !isDecupp(explanation, p)) {
+			return false;
+		}
+		int idx = 0;
+		for (int i = 0; i < s.length; i++) {
+			dlb[i] = explanation.readDom(d[i]).min();
+			if (dlb[i] > 0) {
+				slb[i] = explanation.readDom(s[i]).min();
+				eub[i] = explanation.readDom(e[i]).max();
+				hlb[i] = explanation.readDom(h[i]).min();
+				if (eub[i] > slb[i]) {
+					sor_array[idx++] = i;
+				}
+			}
+		}
+		sorter.sort(sor_array, idx, comparator);
+		long camax = explanation.readDom(capa).max();
+		int xMin = Integer.MAX_VALUE / 2;
+		int xMax = Integer.MIN_VALUE / 2;
+		long surface = 0;
+		for (int k = 0; k < idx; k++) {
+			int i = sor_array[k];
+			xMax = Math.max(xMax, eub[i]);
+			xMin = Math.min(xMin, slb[i]);
+			long width = xMax - xMin;
+			long availSurf = width * camax - surface;
+			if (pivot == h[i] && Math.floorDiv(availSurf, dlb[i]) <= value) {
+				explainWindow(k, xMin, xMax, s, d, e, h, explanation);
+				d[i].unionLit(IntIterableRangeSet.MIN, dlb[i] - 1, explanation);
+				capa.unionLit((int) camax + 1, IntIterableRangeSet.MAX, explanation);
+				h[i].intersectLit(IntIterableRangeSet.MIN, value, explanation);
+				return true;
+			}
+			if (pivot == d[i] && hlb[i] > 0 && Math.floorDiv(availSurf, hlb[i]) <= value) {
+				explainWindow(k, xMin, xMax, s, d, e, h, explanation);
+				h[i].unionLit(IntIterableRangeSet.MIN, hlb[i] - 1, explanation);
+				capa.unionLit((int) camax + 1, IntIterableRangeSet.MAX, explanation);
+				d[i].intersectLit(IntIterableRangeSet.MIN, value, explanation);
+				return true;
+			}
+			surface += (long) dlb[i] * hlb[i];
+			if (onCapa && (surface + width - 1) / width >= value) {
+				explainWindow(k, xMin, xMax, s, d, e, h, explanation);
+				d[i].unionLit(IntIterableRangeSet.MIN, dlb[i] - 1, explanation);
+				h[i].unionLit(IntIterableRangeSet.MIN, hlb[i] - 1, explanation);
+				capa.intersectLit(value, IntIterableRangeSet.MAX, explanation);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tasks sorted before the <i>k</i>-th one lie in [<i>xMin</i>, <i>xMax</i>) with their minimal energy,
+	 * and so does the <i>k</i>-th one, whose energy is explained by the caller.
+	 */
+	private void explainWindow(int k, int xMin, int xMax, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h,
+							   ExplanationForSignedClause explanation) {
+		for (int l = 0; l <= k; l++) {
+			int j = sor_array[l];
+			s[j].unionLit(IntIterableRangeSet.MIN, xMin - 1, explanation);
+			e[j].unionLit(xMax + 1, IntIterableRangeSet.MAX, explanation);
+			if (l < k) {
+				d[j].unionLit(IntIterableRangeSet.MIN, dlb[j] - 1, explanation);
+				h[j].unionLit(IntIterableRangeSet.MIN, hlb[j] - 1, explanation);
+			}
+		}
+	}
 }
@@ -26,7 +26,6 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeS
 import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.Arrays;
-import java.util.stream.IntStream;
 
 /**
  * Cumulative propagator
@@ -207,75 +206,65 @@ public class PropCumulative extends Propagator<IntVar> {
     }
 
     /**
-     * Return the index of an IntVar
+     * Explains the event at position <i>p</i> with the filtering algorithms, falling back to the default explanation
+     * when none of them can justify it.
      *
-     * @param pivot
+     * @param p           the position of the event to explain
+     * @param explanation the explanation to complete
      */
-    private int getInd(IntVar pivot) {
-        int ind = -1;
-        for (int i = 0; i < vars.length; i++) {
-            if (vars[i] == pivot) {
-                ind = i;
+    @Override
+    public void explain(int p, ExplanationForSignedClause explanation) {
+        IntVar pivot = p > -1 ? explanation.readVar(p) : null;
+        if (pivot != null && count(pivot) == 1 && (explainCapacity(pivot, p, explanation) || explainFilters(p, explanation))) {
+            return;
+        }
+        super.explain(p, explanation);
+    }
+
+    /**
+     * Explains the filtering of {@link #updateMaxCapa()}
+     */
+    private boolean explainCapacity(IntVar pivot, int p, ExplanationForSignedClause explanation) {
+        int value = explanation.readValue(p);
+        int cub = explanation.readDom(capa).max();
+        for (int i = 0; i < n; i++) {
+            if (pivot == h[i] && CumulFilter.isDecupp(explanation, p)
+                    && explanation.readDom(d[i]).min() >= 1 && value >= cub) {
+                d[i].unionLit(IntIterableRangeSet.MIN, 0, explanation);
+                capa.unionLit(value + 1, IntIterableRangeSet.MAX, explanation);
+                h[i].intersectLit(IntIterableRangeSet.MIN, value, explanation);
+                return true;
+            }
+            if (pivot == d[i] && CumulFilter.isDecupp(explanation, p) && value <= 0
+                    && explanation.readDom(h[i]).min() > cub) {
+                h[i].unionLit(IntIterableRangeSet.MIN, cub, explanation);
+                capa.unionLit(cub + 1, IntIterableRangeSet.MAX, explanation);
+                d[i].intersectLit(IntIterableRangeSet.MIN, 0, explanation);
+                return true;
             }
         }
-        if (ind == -1) throw new UnsupportedOperationException("Unfindable pivot variable ");
-        return ind;
+        return false;
     }
 
-    private boolean explainOverlap(ExplanationForSignedClause e, int[] indexes, int t, int[] indD) {
-        boolean flag = false;
-        for (int i : indexes) {
-            if (e.domain(vars[i]).max() < t && e.domain(vars[i]).min() >= t - e.domain(vars[indD[i]]).min()) {
-                vars[i].unionLit(t, IntIterableRangeSet.MAX, e);
-                vars[i].unionLit(IntIterableRangeSet.MIN, t - 1 - e.domain(vars[indD[i]]).min(), e);
-                flag = true;
+    private boolean explainFilters(int p, ExplanationForSignedClause explanation) {
+        for (CumulFilter filter : filters) {
+            if (filter.explain(s, d, e, h, capa, p, explanation)) {
+                return true;
             }
         }
-        return flag;
+        return false;
     }
 
     /**
-     * Detect and explain the event at pivot variable p
-     *
-     * @param p pivot variable
+     * @return the number of occurrences of <i>var</i> in the scope of this propagator
      */
-    @Override
-    public void explain(int p, ExplanationForSignedClause e) {
-        IntVar pivot = e.readVar(p);
-        int[] X = IntStream.range(0, n).filter(i -> vars[i] != pivot).toArray();
-        int[] indD = IntStream.range(n, n * 2).toArray();
-        int t = e.readValue(p);
-        int ipivot = getInd(pivot);
-        int dpivot = e.domain(vars[ipivot + n]).min();
-        if (ipivot >= n) {
-            throw new UnsupportedOperationException("Try to explain an event not on a start variable");
-        }
-        switch (e.readMask(p)) {
-            case 2://INCLOW
-                if (explainOverlap(e, X, t, indD)) {
-                    IntIterableRangeSet set = e.empty();
-                    set.addBetween(t - dpivot, t - 1);
-                    pivot.intersectLit(set.flip(), e);
-                }else{
-                    throw new UnsupportedOperationException("Unable to find overlapping tasks");
-                }
-                break;
-            case 4://DECUPP
-                t++;// required due to decomposition
-                if (explainOverlap(e, X, t + dpivot, indD)) {
-                    IntIterableRangeSet set = e.empty();
-                    set.addBetween(t, t - 1 + dpivot);
-                    pivot.intersectLit(set.flip(), e);
-                } else {
-                    throw new UnsupportedOperationException("Unable to find overlapping tasks");
-                }
-                break;
-            case 8://INSTANTIATE
-            case 1://REMOVE
-            case 0://VOID
-            case 6://BOUND inclow+decup
-            default:
-                throw new UnsupportedOperationException("Unknown event type explanation");
+    private int count(IntVar var) {
+        int c = 0;
+        for (IntVar v : vars) {
+            if (v == var) {
+                c++;
+            }
         }
+        return c;
     }
 }
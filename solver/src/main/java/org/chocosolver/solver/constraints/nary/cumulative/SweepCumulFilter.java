@@ -12,6 +12,7 @@ package org.chocosolver.solver.constraints.nary.cumulative;
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
@@ -236,6 +237,11 @@ public class SweepCumulFilter extends CumulFilter {
 		}
 	}
 
+	@Override
+	public boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p, ExplanationForSignedClause explanation) {
+		return explainTimeTable(s, d, e, h, capa, p, explanation);
+	}
+
 	//***********************************************************************************
 	// DATA STRUCTURES
 	//***********************************************************************************
@@ -0,0 +1,209 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Time-table edge-finding filtering, in O(n^2).
+ * <br/>
+ * Each task is split into its compulsory part, which belongs to the time-table, and its free part.
+ * For each window [est(a), lct(b)), the energy of the free parts of the tasks lying in the window,
+ * plus the energy of the time-table in the window, is compared to the capacity of the window:
+ * the resource is overloaded if it is greater, and the task whose free part would add the most energy
+ * to the window, if started at its earliest starting time, is pushed if it does not fit.
+ * Latest completion times are filtered symmetrically.
+ * Not idempotent.
+ * <br/>
+ * Based on "Timetable Edge Finding Filtering Algorithm for Discrete Cumulative Resources", P. Vilim, CPAIOR 2011.
+ *
+ * @since 4.10.7
+ */
+public class TimeEdgeFindingCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    // tasks considered, and their bounds, possibly mirrored
+    private final int[] map, est, lct, p, hlb, pf;
+    // updated earliest starting times
+    private final long[] nest;
+    // energy of the time-table before the earliest starting time and before the latest completion time of each task
+    private final long[] ttEst, ttLct;
+    // tasks sorted by earliest starting time and by latest completion time
+    private final int[] byEst, byLct;
+    // tasks with a compulsory part, sorted by start and by end of their compulsory part
+    private final int[] byCpStart, byCpEnd;
+    private final ArraySort<?> sorter;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public TimeEdgeFindingCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        map = new int[nbMaxTasks];
+        est = new int[nbMaxTasks];
+        lct = new int[nbMaxTasks];
+        p = new int[nbMaxTasks];
+        hlb = new int[nbMaxTasks];
+        pf = new int[nbMaxTasks];
+        nest = new long[nbMaxTasks];
+        ttEst = new long[nbMaxTasks];
+        ttLct = new long[nbMaxTasks];
+        byEst = new int[nbMaxTasks];
+        byLct = new int[nbMaxTasks];
+        byCpStart = new int[nbMaxTasks];
+        byCpEnd = new int[nbMaxTasks];
+        sorter = new ArraySort<>(nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        int m = 0;
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int i = tIter.nextInt();
+            if (d[i].getLB() > 0 && h[i].getLB() > 0) {
+                map[m] = i;
+                p[m] = d[i].getLB();
+                hlb[m] = h[i].getLB();
+                m++;
+            }
+        }
+        if (m == 0) {
+            return;
+        }
+        long c = capa.getUB();
+        for (int k = 0; k < m; k++) {
+            est[k] = s[map[k]].getLB();
+            lct[k] = e[map[k]].getUB();
+        }
+        edgeFinding(m, c, aCause);
+        for (int k = 0; k < m; k++) {
+            s[map[k]].updateLowerBound((int) Math.min(Integer.MAX_VALUE, nest[k]), aCause);
+        }
+        // mirrored tasks
+        for (int k = 0; k < m; k++) {
+            est[k] = -e[map[k]].getUB();
+            lct[k] = -s[map[k]].getLB();
+        }
+        edgeFinding(m, c, aCause);
+        for (int k = 0; k < m; k++) {
+            e[map[k]].updateUpperBound((int) Math.max(Integer.MIN_VALUE, -nest[k]), aCause);
+        }
+    }
+
+    /**
+     * Apply the rule on the <i>m</i> tasks described by {@link #est}, {@link #lct}, {@link #p} and {@link #hlb},
+     * and store the new earliest starting times in {@link #nest}.
+     */
+    private void edgeFinding(int m, long c, Propagator<IntVar> aCause) throws ContradictionException {
+        int nb = 0;
+        for (int k = 0; k < m; k++) {
+            byEst[k] = byLct[k] = k;
+            nest[k] = est[k];
+            int lst = lct[k] - p[k];
+            int ect = est[k] + p[k];
+            pf[k] = p[k] - Math.max(0, ect - lst);
+            if (lst < ect) {
+                byCpStart[nb] = byCpEnd[nb] = k;
+                nb++;
+            }
+        }
+        sorter.sort(byEst, m, (i, j) -> Integer.compare(est[i], est[j]));
+        sorter.sort(byLct, m, (i, j) -> Integer.compare(lct[i], lct[j]));
+        sorter.sort(byCpStart, nb, (i, j) -> Integer.compare(lct[i] - p[i], lct[j] - p[j]));
+        sorter.sort(byCpEnd, nb, (i, j) -> Integer.compare(est[i] + p[i], est[j] + p[j]));
+        timeTable(nb, byEst, m, est, ttEst);
+        timeTable(nb, byLct, m, lct, ttLct);
+        for (int bi = m - 1; bi >= 0; bi--) {
+            int b = lct[byLct[bi]];
+            if (bi < m - 1 && lct[byLct[bi + 1]] == b) {
+                continue;
+            }
+            long ttB = ttLct[byLct[bi]];
+            long free = 0;
+            // the task whose free part adds the most energy to the window
+            int best = -1;
+            long bestExtra = 0;
+            for (int ai = m - 1; ai >= 0; ai--) {
+                int j = byEst[ai];
+                int a = est[j];
+                if (a >= b) {
+                    continue;
+                }
+                if (lct[j] <= b) {
+                    free += (long) hlb[j] * pf[j];
+                } else {
+                    long extra = (long) hlb[j] * Math.min(pf[j], b - a);
+                    if (extra > bestExtra) {
+                        best = j;
+                        bestExtra = extra;
+                    }
+                }
+                if (ai > 0 && est[byEst[ai - 1]] == a) {
+                    continue;
+                }
+                long avail = c * (b - a) - free - (ttB - ttEst[j]);
+                if (avail < 0) {
+                    aCause.fails();
+                }
+                if (best >= 0 && bestExtra > avail) {
+                    // the compulsory part of the task lying in the window is not part of the energy of the others
+                    int own = Math.max(0, Math.min(b, est[best] + p[best]) - Math.max(a, lct[best] - p[best]));
+                    avail += (long) hlb[best] * own;
+                    nest[best] = Math.max(nest[best], b - avail / hlb[best]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the energy of the time-table before each of the <i>m</i> time points <i>times</i>,
+     * visited in the order of <i>sorted</i>.
+     */
+    private void timeTable(int nb, int[] sorted, int m, int[] times, long[] energy) {
+        int is = 0, ie = 0;
+        long level = 0, acc = 0;
+        int last = Integer.MIN_VALUE;
+        for (int k = 0; k < m; k++) {
+            int t = times[sorted[k]];
+            while (true) {
+                int next = Math.min(
+                        is < nb ? lct[byCpStart[is]] - p[byCpStart[is]] : Integer.MAX_VALUE,
+                        ie < nb ? est[byCpEnd[ie]] + p[byCpEnd[ie]] : Integer.MAX_VALUE);
+                if (next > t) {
+                    break;
+                }
+                if (last != Integer.MIN_VALUE) {
+                    acc += level * (next - last);
+                }
+                last = next;
+                if (is < nb && lct[byCpStart[is]] - p[byCpStart[is]] == next) {
+                    level += hlb[byCpStart[is++]];
+                } else {
+                    level -= hlb[byCpEnd[ie++]];
+                }
+            }
+            energy[sorted[k]] = last == Integer.MIN_VALUE ? 0 : acc + level * (t - last);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.sort.ArraySort;
+
+import java.util.Arrays;
+
+/**
+ * Pointwise explanation of time-table filtering, for clause learning.
+ * <p>
+ * The profile of compulsory parts is built from the domains stored in the explanation,
+ * that is as they were when the event to explain occurred.
+ * A bound is explained by a few points in time, each one by the fewest tasks whose compulsory parts
+ * overlap it (the highest first), instead of by the whole scope of the constraint.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+final class TimeTableExplanation {
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    /**
+     * Tasks with a compulsory part, but the one the event is about
+     */
+    private final int[] tasks;
+    private int nbTasks;
+    /**
+     * Tasks overlapping a point in time, sorted by decreasing height
+     */
+    private final int[] covering;
+    /**
+     * Latest start, earliest end and minimal height of each task
+     */
+    private final int[] sub, elb, hlb;
+    /**
+     * The height of the profile is <i>heights[k]</i> on [<i>dates[k]</i>, <i>dates[k+1]</i>), 0 elsewhere
+     */
+    private final int[] dates;
+    private final long[] heights;
+    private int nbDates;
+    private final TIntArrayList points = new TIntArrayList();
+    private final ArraySort<?> sorter;
+
+    TimeTableExplanation(int nbMaxTasks) {
+        tasks = new int[nbMaxTasks];
+        covering = new int[nbMaxTasks];
+        sub = new int[nbMaxTasks];
+        elb = new int[nbMaxTasks];
+        hlb = new int[nbMaxTasks];
+        dates = new int[2 * nbMaxTasks];
+        heights = new long[2 * nbMaxTasks];
+        sorter = new ArraySort<>(nbMaxTasks, false, true);
+    }
+
+    /**
+     * Explain the event at position <i>p</i> with time-table reasoning.
+     *
+     * @return <tt>true</tt> if the event is justified by the compulsory parts of tasks
+     */
+    boolean explain(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int p,
+                    ExplanationForSignedClause explanation) {
+        IntVar pivot = explanation.readVar(p);
+        int value = explanation.readValue(p);
+        if (pivot == capa) {
+            return CumulFilter.isInclow(explanation, p) && explainCapacity(s, e, h, capa, value, explanation);
+        }
+        for (int i = 0; i < s.length; i++) {
+            if (pivot == s[i] && CumulFilter.isInclow(explanation, p)) {
+                return explainStart(i, s, d, e, h, capa, value, explanation);
+            }
+            if (pivot == e[i] && CumulFilter.isDecupp(explanation, p)) {
+                return explainEnd(i, s, d, e, h, capa, value, explanation);
+            }
+            if (pivot == h[i] && CumulFilter.isDecupp(explanation, p)) {
+                return explainHeight(i, s, e, h, capa, value, explanation);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The capacity is at least <i>value</i>: at some point in time, compulsory parts reach it.
+     */
+    private boolean explainCapacity(IntVar[] s, IntVar[] e, IntVar[] h, IntVar capa, int value,
+                                    ExplanationForSignedClause explanation) {
+        build(s, e, h, -1, explanation);
+        int t = first(IntIterableRangeSet.MIN, IntIterableRangeSet.MAX, value);
+        if (t == NONE) {
+            return false;
+        }
+        explainAt(t, value, s, e, h, explanation);
+        capa.intersectLit(value, IntIterableRangeSet.MAX, explanation);
+        return true;
+    }
+
+    /**
+     * The start of task <i>i</i> is at least <i>value</i>: task <i>i</i> would overload the resource
+     * at some points in time if it started in [old lower bound, <i>value</i> - 1].
+     * Each point <i>t</i> forbids [<i>t</i> - d + 1, <i>t</i>], they are picked from the right.
+     */
+    private boolean explainStart(int i, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int value,
+                                 ExplanationForSignedClause explanation) {
+        int dlb = explanation.readDom(d[i]).min();
+        int hlbi = explanation.readDom(h[i]).min();
+        int cub = explanation.readDom(capa).max();
+        if (dlb <= 0 || hlbi <= 0) {
+            return false;
+        }
+        int from = explanation.readDom(s[i]).min();
+        build(s, e, h, i, explanation);
+        long thr = (long) cub - hlbi + 1;
+        points.resetQuick();
+        int t = value - 1;
+        if (height(t) < thr) {
+            return false;
+        }
+        points.add(t);
+        int low = t - dlb + 1;
+        while (low > from) {
+            // the window of the next point must contain low - 1
+            t = first(low - 1, low + dlb - 2, thr);
+            if (t == NONE) {
+                return false;
+            }
+            points.add(t);
+            low = t - dlb + 1;
+        }
+        explainPoints(i, dlb, hlbi, s, d, e, h, capa, explanation);
+        IntIterableRangeSet set = explanation.universe();
+        set.removeBetween(low, value - 1);
+        s[i].intersectLit(set, explanation);
+        return true;
+    }
+
+    /**
+     * The end of task <i>i</i> is at most <i>value</i>: task <i>i</i> would overload the resource
+     * at some points in time if it ended in [<i>value</i> + 1, old upper bound].
+     * Each point <i>t</i> forbids [<i>t</i> + 1, <i>t</i> + d], they are picked from the left.
+     */
+    private boolean explainEnd(int i, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, int value,
+                               ExplanationForSignedClause explanation) {
+        int dlb = explanation.readDom(d[i]).min();
+        int hlbi = explanation.readDom(h[i]).min();
+        int cub = explanation.readDom(capa).max();
+        if (dlb <= 0 || hlbi <= 0) {
+            return false;
+        }
+        int to = explanation.readDom(e[i]).max();
+        build(s, e, h, i, explanation);
+        long thr = (long) cub - hlbi + 1;
+        points.resetQuick();
+        int t = value;
+        if (height(t) < thr) {
+            return false;
+        }
+        points.add(t);
+        int high = t + dlb;
+        while (high < to) {
+            // the window of the next point must contain high + 1
+            t = last(high + 1 - dlb, high, thr);
+            if (t == NONE) {
+                return false;
+            }
+            points.add(t);
+            high = t + dlb;
+        }
+        explainPoints(i, dlb, hlbi, s, d, e, h, capa, explanation);
+        IntIterableRangeSet set = explanation.universe();
+        set.removeBetween(value + 1, high);
+        e[i].intersectLit(set, explanation);
+        return true;
+    }
+
+    /**
+     * Explain why task <i>i</i> cannot overlap any point stored in {@link #points}.
+     */
+    private void explainPoints(int i, int dlb, int hlbi, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h,
+                               IntVar capa, ExplanationForSignedClause explanation) {
+        long cub = explanation.readDom(capa).max();
+        long load = Long.MAX_VALUE;
+        for (int k = 0; k < points.size(); k++) {
+            load = Math.min(load, explainAt(points.getQuick(k), cub - hlbi + 1, s, e, h, explanation) + hlbi);
+        }
+        d[i].unionLit(IntIterableRangeSet.MIN, dlb - 1, explanation);
+        h[i].unionLit(IntIterableRangeSet.MIN, hlbi - 1, explanation);
+        // the resource is overloaded at each point as long as the capacity is less than the load
+        capa.unionLit((int) Math.min(load, IntIterableRangeSet.MAX), IntIterableRangeSet.MAX, explanation);
+    }
+
+    /**
+     * The height of task <i>i</i> is at most <i>value</i>: its compulsory part overlaps a point in time
+     * where the other tasks consume at least the capacity minus <i>value</i>.
+     */
+    private boolean explainHeight(int i, IntVar[] s, IntVar[] e, IntVar[] h, IntVar capa, int value,
+                                  ExplanationForSignedClause explanation) {
+        int cub = explanation.readDom(capa).max();
+        int from = explanation.readDom(s[i]).max();
+        int to = explanation.readDom(e[i]).min() - 1;
+        if (from > to) {
+            return false;
+        }
+        build(s, e, h, i, explanation);
+        long need = (long) cub - value;
+        int t = first(from, to, need);
+        if (t == NONE) {
+            return false;
+        }
+        long load = need > 0 ? explainAt(t, need, s, e, h, explanation) : 0;
+        s[i].unionLit(t + 1, IntIterableRangeSet.MAX, explanation);
+        e[i].unionLit(IntIterableRangeSet.MIN, t, explanation);
+        capa.unionLit((int) Math.min(load + value + 1, IntIterableRangeSet.MAX), IntIterableRangeSet.MAX, explanation);
+        h[i].intersectLit(IntIterableRangeSet.MIN, value, explanation);
+        return true;
+    }
+
+    /**
+     * Add to the explanation the highest tasks whose compulsory parts overlap <i>t</i>,
+     * until their heights sum to <i>need</i>.
+     *
+     * @return the sum of the heights of the selected tasks
+     */
+    private long explainAt(int t, long need, IntVar[] s, IntVar[] e, IntVar[] h, ExplanationForSignedClause explanation) {
+        int size = 0;
+        for (int k = 0; k < nbTasks; k++) {
+            int j = tasks[k];
+            if (sub[j] <= t && t < elb[j]) {
+                covering[size++] = j;
+            }
+        }
+        sorter.sort(covering, size, (j1, j2) -> hlb[j2] - hlb[j1]);
+        long sum = 0;
+        for (int k = 0; k < size && sum < need; k++) {
+            int j = covering[k];
+            s[j].unionLit(t + 1, IntIterableRangeSet.MAX, explanation);
+            e[j].unionLit(IntIterableRangeSet.MIN, t, explanation);
+            h[j].unionLit(IntIterableRangeSet.MIN, hlb[j] - 1, explanation);
+            sum += hlb[j];
+        }
+        return sum;
+    }
+
+    /**
+     * Build the profile of compulsory parts of all tasks but <i>except</i>.
+     */
+    private void build(IntVar[] s, IntVar[] e, IntVar[] h, int except, ExplanationForSignedClause explanation) {
+        nbTasks = 0;
+        nbDates = 0;
+        for (int j = 0; j < s.length; j++) {
+            if (j != except) {
+                sub[j] = explanation.readDom(s[j]).max();
+                elb[j] = explanation.readDom(e[j]).min();
+                hlb[j] = explanation.readDom(h[j]).min();
+                if (sub[j] < elb[j] && hlb[j] > 0) {
+                    tasks[nbTasks++] = j;
+                    dates[nbDates++] = sub[j];
+                    dates[nbDates++] = elb[j];
+                }
+            }
+        }
+        Arrays.sort(dates, 0, nbDates);
+        int k = 0;
+        for (int l = 1; l < nbDates; l++) {
+            if (dates[l] != dates[k]) {
+                dates[++k] = dates[l];
+            }
+        }
+        nbDates = nbDates == 0 ? 0 : k + 1;
+        Arrays.fill(heights, 0, nbDates, 0);
+        for (int l = 0; l < nbTasks; l++) {
+            int j = tasks[l];
+            heights[Arrays.binarySearch(dates, 0, nbDates, sub[j])] += hlb[j];
+            heights[Arrays.binarySearch(dates, 0, nbDates, elb[j])] -= hlb[j];
+        }
+        for (int l = 1; l < nbDates; l++) {
+            heights[l] += heights[l - 1];
+        }
+    }
+
+    /**
+     * @return the index of the last date not after <i>t</i>, -1 if none
+     */
+    private int floor(int t) {
+        int k = Arrays.binarySearch(dates, 0, nbDates, t);
+        return k >= 0 ? k : -k - 2;
+    }
+
+    private long height(int t) {
+        int k = floor(t);
+        return k < 0 ? 0 : heights[k];
+    }
+
+    /**
+     * @return the first point in [<i>from</i>, <i>to</i>] where the profile reaches <i>thr</i>, {@link #NONE} if none
+     */
+    private int first(int from, int to, long thr) {
+        if (from > to) {
+            return NONE;
+        }
+        if (height(from) >= thr) {
+            return from;
+        }
+        for (int k = floor(from) + 1; k < nbDates && dates[k] <= to; k++) {
+            if (heights[k] >= thr) {
+                return dates[k];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @return the last point in [<i>from</i>, <i>to</i>] where the profile reaches <i>thr</i>, {@link #NONE} if none
+     */
+    private int last(int from, int to, long thr) {
+        if (from > to) {
+            return NONE;
+        }
+        if (height(to) >= thr) {
+            return to;
+        }
+        for (int k = floor(to); k > 0 && dates[k] - 1 >= from; k--) {
+            if (heights[k - 1] >= thr) {
+                return dates[k] - 1;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Disjunctive (unary resource) propagator: tasks cannot overlap in time.
+ * <br/>
+ * Tasks whose duration may be null are ignored until their duration is known to be positive.
+ * The following rules are applied, each one in O(n log n) with a {@link ThetaLambdaTree},
+ * on the earliest starting times and, symmetrically, on the latest completion times:
+ * <ul>
+ *     <li>overload checking,</li>
+ *     <li>detectable precedences,</li>
+ *     <li>not-first/not-last,</li>
+ *     <li>edge finding.</li>
+ * </ul>
+ * The propagator is idempotent: the rules are applied until no bound changes.
+ * <br/>
+ * Based on "Filtering Algorithms for the Unary Resource Constraint", P. Vilim.
+ *
+ * @since 4.10.7
+ */
+public class PropDisjunctive extends Propagator<IntVar> {
+
+    private final int n;
+    private final IntVar[] s, d, e;
+    /**
+     * Tasks currently considered, those with a positive duration
+     */
+    private final int[] tasks;
+    /**
+     * Earliest starting time, latest completion time and minimal duration of the tasks considered,
+     * possibly mirrored
+     */
+    private final int[] est, lct, p;
+    /**
+     * Updated earliest starting time and latest completion time of the tasks considered
+     */
+    private final long[] nest, nlct;
+    /**
+     * Tasks considered sorted by earliest starting time, latest completion time,
+     * earliest completion time and latest starting time
+     */
+    private final int[] byEst, byLct, byEct, byLst;
+    private final boolean[] inTheta;
+    private final ThetaLambdaTree tree;
+    private final ArraySort<?> sorter;
+
+    /**
+     * Create a disjunctive propagator
+     *
+     * @param tasks tasks that cannot overlap
+     */
+    public PropDisjunctive(Task[] tasks) {
+        super(extract(tasks), PropagatorPriority.QUADRATIC, false);
+        this.n = tasks.length;
+        this.s = Arrays.copyOfRange(vars, 0, n);
+        this.d = Arrays.copyOfRange(vars, n, 2 * n);
+        this.e = Arrays.copyOfRange(vars, 2 * n, 3 * n);
+        this.tasks = new int[n];
+        this.est = new int[n];
+        this.lct = new int[n];
+        this.p = new int[n];
+        this.nest = new long[n];
+        this.nlct = new long[n];
+        this.byEst = new int[n];
+        this.byLct = new int[n];
+        this.byEct = new int[n];
+        this.byLst = new int[n];
+        this.inTheta = new boolean[n];
+        this.tree = new ThetaLambdaTree(n);
+        this.sorter = new ArraySort<>(n, false, true);
+    }
+
+    private static IntVar[] extract(Task[] tasks) {
+        IntVar[] starts = new IntVar[tasks.length];
+        IntVar[] durations = new IntVar[tasks.length];
+        IntVar[] ends = new IntVar[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            starts[i] = tasks[i].getStart();
+            durations[i] = tasks[i].getDuration();
+            ends[i] = tasks[i].getEnd();
+        }
+        return ArrayUtils.append(starts, durations, ends);
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            for (int i = 0; i < n; i++) {
+                d[i].updateLowerBound(0, this);
+                s[i].updateBounds(e[i].getLB() - d[i].getUB(), e[i].getUB() - d[i].getLB(), this);
+                e[i].updateBounds(s[i].getLB() + d[i].getLB(), s[i].getUB() + d[i].getUB(), this);
+                d[i].updateBounds(e[i].getLB() - s[i].getUB(), e[i].getUB() - s[i].getLB(), this);
+            }
+        }
+        boolean change;
+        do {
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (d[i].getLB() > 0) {
+                    tasks[m++] = i;
+                }
+            }
+            if (m <= 1) {
+                return;
+            }
+            // earliest starting times, then latest completion times on the mirrored tasks
+            for (int k = 0; k < m; k++) {
+                int t = tasks[k];
+                est[k] = s[t].getLB();
+                lct[k] = e[t].getUB();
+                p[k] = d[t].getLB();
+            }
+            filter(m);
+            change = false;
+            for (int k = 0; k < m; k++) {
+                int t = tasks[k];
+                change |= s[t].updateLowerBound(toInt(nest[k]), this);
+                change |= e[t].updateLowerBound(s[t].getLB() + p[k], this);
+                change |= e[t].updateUpperBound(toInt(nlct[k]), this);
+                change |= s[t].updateUpperBound(e[t].getUB() - p[k], this);
+            }
+            for (int k = 0; k < m; k++) {
+                int t = tasks[k];
+                est[k] = -e[t].getUB();
+                lct[k] = -s[t].getLB();
+            }
+            filter(m);
+            for (int k = 0; k < m; k++) {
+                int t = tasks[k];
+                change |= e[t].updateUpperBound(toInt(-nest[k]), this);
+                change |= s[t].updateUpperBound(e[t].getUB() - p[k], this);
+                change |= s[t].updateLowerBound(toInt(-nlct[k]), this);
+                change |= e[t].updateLowerBound(s[t].getLB() + p[k], this);
+            }
+        } while (change);
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    /**
+     * Apply the rules on the <i>m</i> tasks described by {@link #est}, {@link #lct} and {@link #p},
+     * and store the new bounds in {@link #nest} and {@link #nlct}.
+     */
+    private void filter(int m) throws ContradictionException {
+        for (int k = 0; k < m; k++) {
+            byEst[k] = byLct[k] = byEct[k] = byLst[k] = k;
+            nest[k] = est[k];
+            nlct[k] = lct[k];
+        }
+        sorter.sort(byEst, m, (i, j) -> Integer.compare(est[i], est[j]));
+        sorter.sort(byLct, m, (i, j) -> Integer.compare(lct[i], lct[j]));
+        sorter.sort(byEct, m, (i, j) -> Long.compare((long) est[i] + p[i], (long) est[j] + p[j]));
+        sorter.sort(byLst, m, (i, j) -> Long.compare((long) lct[i] - p[i], (long) lct[j] - p[j]));
+        overloadChecking(m);
+        detectablePrecedences(m);
+        notLast(m);
+        edgeFinding(m);
+    }
+
+    /**
+     * Fails if a set of tasks cannot be processed before its latest completion time.
+     */
+    private void overloadChecking(int m) throws ContradictionException {
+        tree.reset(byEst, m);
+        for (int k = 0; k < m; k++) {
+            int j = byLct[k];
+            tree.addToTheta(j, est[j], p[j]);
+            if (tree.getEct() > lct[j]) {
+                fails();
+            }
+        }
+    }
+
+    /**
+     * A task <i>i</i> starts after the tasks which cannot start after it completes.
+     */
+    private void detectablePrecedences(int m) {
+        tree.reset(byEst, m);
+        Arrays.fill(inTheta, 0, m, false);
+        int q = 0;
+        for (int k = 0; k < m; k++) {
+            int i = byEct[k];
+            long ecti = (long) est[i] + p[i];
+            while (q < m && (long) lct[byLst[q]] - p[byLst[q]] < ecti) {
+                int j = byLst[q++];
+                tree.addToTheta(j, est[j], p[j]);
+                inTheta[j] = true;
+            }
+            nest[i] = Math.max(nest[i], ectWithout(i));
+        }
+    }
+
+    /**
+     * A task <i>i</i> completes before the latest starting time of some task
+     * when it cannot be processed after all the tasks which may start before its latest starting time.
+     */
+    private void notLast(int m) {
+        tree.reset(byEst, m);
+        Arrays.fill(inTheta, 0, m, false);
+        int q = 0;
+        int j = -1;
+        for (int k = 0; k < m; k++) {
+            int i = byLct[k];
+            while (q < m && lct[i] > (long) lct[byLst[q]] - p[byLst[q]]) {
+                j = byLst[q++];
+                tree.addToTheta(j, est[j], p[j]);
+                inTheta[j] = true;
+            }
+            if (j >= 0 && ectWithout(i) > (long) lct[i] - p[i]) {
+                nlct[i] = Math.min(nlct[i], (long) lct[j] - p[j]);
+            }
+        }
+    }
+
+    /**
+     * @return the earliest completion time of Theta, deprived of task <i>i</i>
+     */
+    private long ectWithout(int i) {
+        if (!inTheta[i]) {
+            return tree.getEct();
+        }
+        tree.remove(i);
+        long ect = tree.getEct();
+        tree.addToTheta(i, est[i], p[i]);
+        return ect;
+    }
+
+    /**
+     * A task <i>i</i> starts after a set of tasks when it cannot be processed before their latest completion time.
+     */
+    private void edgeFinding(int m) throws ContradictionException {
+        tree.reset(byEst, m);
+        for (int k = 0; k < m; k++) {
+            tree.addToTheta(k, est[k], p[k]);
+        }
+        for (int k = m - 1; k > 0; k--) {
+            tree.moveToLambda(byLct[k]);
+            int j = byLct[k - 1];
+            if (tree.getEct() > lct[j]) {
+                fails();
+            }
+            while (tree.getEctBar() > lct[j]) {
+                int i = tree.getResponsible();
+                if (i < 0) {
+                    break;
+                }
+                nest[i] = Math.max(nest[i], tree.getEct());
+                tree.remove(i);
+            }
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        int m = 0;
+        boolean all = true;
+        for (int i = 0; i < n; i++) {
+            if (s[i].getLB() + d[i].getLB() > e[i].getUB()
+                    || s[i].getUB() + d[i].getUB() < e[i].getLB()) {
+                return ESat.FALSE;
+            }
+            all &= s[i].isInstantiated() && d[i].isInstantiated() && e[i].isInstantiated();
+            // compulsory parts
+            if (d[i].getLB() > 0 && s[i].getUB() < e[i].getLB()) {
+                tasks[m++] = i;
+            }
+        }
+        sorter.sort(tasks, m, (i, j) -> Integer.compare(s[i].getUB(), s[j].getUB()));
+        for (int k = 1; k < m; k++) {
+            if (e[tasks[k - 1]].getLB() > s[tasks[k]].getUB()) {
+                return ESat.FALSE;
+            }
+        }
+        return all ? ESat.TRUE : ESat.UNDEFINED;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.getClass().getSimpleName() + "(");
+        for (int i = 0; i < n; i++) {
+            sb.append(i > 0 ? "," : "").append("[").append(s[i].toString());
+            sb.append(",").append(d[i].toString());
+            sb.append(",").append(e[i].toString()).append("]");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import java.util.Arrays;
+
+/**
+ * A Theta-Lambda tree, the data structure of the filtering algorithms of the disjunctive constraint.
+ * <br/>
+ * A balanced binary tree whose leaves are the tasks, sorted by increasing earliest starting time.
+ * Each task is either in the set Theta (white), in the set Lambda (gray) or absent.
+ * Each node maintains, for the tasks of its subtree:
+ * <ul>
+ *     <li>the total processing time and the earliest completion time of the white tasks,</li>
+ *     <li>the same values when at most one gray task is added, and the gray task responsible for them.</li>
+ * </ul>
+ * Inserting or removing a task runs in O(log n).
+ * <br/>
+ * Based on "O(n log n) Filtering Algorithms for Unary Resource Constraint" and
+ * "Filtering Algorithms for the Unary Resource Constraint", P. Vilim.
+ *
+ * @since 4.10.7
+ */
+class ThetaLambdaTree {
+
+    /**
+     * Earliest completion time of an empty set, low enough to be ignored, high enough to prevent overflows
+     */
+    static final long NONE = Long.MIN_VALUE / 4;
+
+    /**
+     * Index of the first leaf
+     */
+    private final int leaves;
+    /**
+     * Position of each task among the leaves
+     */
+    private final int[] rank;
+    /**
+     * Total processing time of the white tasks
+     */
+    private final long[] sp;
+    /**
+     * Earliest completion time of the white tasks
+     */
+    private final long[] ect;
+    /**
+     * Total processing time of the white tasks and of at most one gray task
+     */
+    private final long[] spBar;
+    /**
+     * Earliest completion time of the white tasks and of at most one gray task
+     */
+    private final long[] ectBar;
+    /**
+     * Gray task responsible for {@link #spBar} and {@link #ectBar}, -1 if none
+     */
+    private final int[] spResp, ectResp;
+
+    /**
+     * Create a tree for up to <i>n</i> tasks
+     *
+     * @param n maximal number of tasks
+     */
+    ThetaLambdaTree(int n) {
+        int size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+        rank = new int[n];
+        sp = new long[2 * size];
+        ect = new long[2 * size];
+        spBar = new long[2 * size];
+        ectBar = new long[2 * size];
+        spResp = new int[2 * size];
+        ectResp = new int[2 * size];
+        leaves = size;
+    }
+
+    /**
+     * Empty the tree and declare the order of the leaves.
+     *
+     * @param byEst the tasks to consider, sorted by increasing earliest starting time
+     * @param size  number of tasks in <i>byEst</i>
+     */
+    void reset(int[] byEst, int size) {
+        Arrays.fill(sp, 0);
+        Arrays.fill(ect, NONE);
+        Arrays.fill(spBar, 0);
+        Arrays.fill(ectBar, NONE);
+        Arrays.fill(spResp, -1);
+        Arrays.fill(ectResp, -1);
+        for (int k = 0; k < size; k++) {
+            rank[byEst[k]] = k;
+        }
+    }
+
+    /**
+     * Add task <i>i</i> to Theta.
+     */
+    void addToTheta(int i, int est, int p) {
+        int node = leaves + rank[i];
+        sp[node] = p;
+        ect[node] = (long) est + p;
+        spBar[node] = p;
+        ectBar[node] = (long) est + p;
+        spResp[node] = -1;
+        ectResp[node] = -1;
+        update(node);
+    }
+
+    /**
+     * Move task <i>i</i> from Theta to Lambda.
+     */
+    void moveToLambda(int i) {
+        int node = leaves + rank[i];
+        sp[node] = 0;
+        ect[node] = NONE;
+        spResp[node] = i;
+        ectResp[node] = i;
+        update(node);
+    }
+
+    /**
+     * Remove task <i>i</i> from the tree, be it in Theta or in Lambda.
+     */
+    void remove(int i) {
+        int node = leaves + rank[i];
+        sp[node] = 0;
+        ect[node] = NONE;
+        spBar[node] = 0;
+        ectBar[node] = NONE;
+        spResp[node] = -1;
+        ectResp[node] = -1;
+        update(node);
+    }
+
+    /**
+     * @return the earliest completion time of Theta
+     */
+    long getEct() {
+        return ect[1];
+    }
+
+    /**
+     * @return the earliest completion time of Theta with at most one task of Lambda
+     */
+    long getEctBar() {
+        return ectBar[1];
+    }
+
+    /**
+     * @return the task of Lambda responsible for {@link #getEctBar()}, -1 if none
+     */
+    int getResponsible() {
+        return ectResp[1];
+    }
+
+    private void update(int node) {
+        node >>= 1;
+        while (node > 0) {
+            int l = node << 1;
+            int r = l + 1;
+            sp[node] = sp[l] + sp[r];
+            ect[node] = Math.max(ect[r], ect[l] + sp[r]);
+            if (spBar[l] + sp[r] >= sp[l] + spBar[r]) {
+                spBar[node] = spBar[l] + sp[r];
+                spResp[node] = spResp[l];
+            } else {
+                spBar[node] = sp[l] + spBar[r];
+                spResp[node] = spResp[r];
+            }
+            long e1 = ectBar[r];
+            long e2 = ect[l] + spBar[r];
+            long e3 = ectBar[l] + sp[r];
+            if (e1 >= e2 && e1 >= e3) {
+                ectBar[node] = e1;
+                ectResp[node] = ectResp[r];
+            } else if (e2 >= e3) {
+                ectBar[node] = e2;
+                ectResp[node] = spResp[r];
+            } else {
+                ectBar[node] = e3;
+                ectResp[node] = ectResp[l];
+            }
+            node >>= 1;
+        }
+    }
+}
@@ -159,43 +159,32 @@ public class PropFastGCC extends Propagator<IntVar> {
         return again;
     }
 
+    /**
+     * @return <tt>true</tt> if <i>val</i> is a restricted value that <i>var</i> cannot take anymore
+     */
+    private boolean isUnsupported(int var, int val) {
+        if (map.containsKey(val)) {
+            int index = map.get(val);
+            return !(possibles[index].contains(var) || mandatories[index].contains(var));
+        }
+        return false;
+    }
+
     private boolean filterBounds() throws ContradictionException {
         boolean useful = false;
         for (int i = 0; i < boundVar.size(); i++) {
             int var = boundVar.get(i);
             if (!vars[var].isInstantiated()) {
+                // unsupported bounds are removed at once
                 int lb = vars[var].getLB();
-                int index = -1;
-                if (map.containsKey(lb)) {
-                    index = map.get(lb);
-                }
-                boolean b = index != -1 && !(possibles[index].contains(var) || mandatories[index].contains(var));
-                while (b) {
-                    useful = true;
-                    vars[var].removeValue(lb, this);
-                    lb = vars[var].getLB();
-                    index = -1;
-                    if (map.containsKey(lb)) {
-                        index = map.get(lb);
-                    }
-                    b = index != -1 && !(possibles[index].contains(var) || mandatories[index].contains(var));
-                }
                 int ub = vars[var].getUB();
-                index = -1;
-                if (map.containsKey(ub)) {
-                    index = map.get(ub);
+                while (lb <= ub && isUnsupported(var, lb)) {
+                    lb = vars[var].nextValue(lb);
                 }
-                b = index != -1 && !(possibles[index].contains(var) || mandatories[index].contains(var));
-                while (b) {
-                    useful = true;
-                    vars[var].removeValue(ub, this);
-                    ub = vars[var].getUB();
-                    index = -1;
-                    if (map.containsKey(ub)) {
-                        index = map.get(ub);
-                    }
-                    b = index != -1 && !(possibles[index].contains(var) || mandatories[index].contains(var));
+                while (ub >= lb && isUnsupported(var, ub)) {
+                    ub = vars[var].previousValue(ub);
                 }
+                useful |= vars[var].updateBounds(lb, ub, this);
             } else {
                 int val = vars[var].getValue();
                 if (map.containsKey(val)) {
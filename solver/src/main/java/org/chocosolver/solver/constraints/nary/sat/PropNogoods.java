@@ -231,7 +231,7 @@ public class PropNogoods extends Propagator<Variable> {
             int var, val;
             long value;
             boolean sign, eq;
-            for (int k : sat_.implies_.keys()) {
+            for (int k : sat_.getImplyingLiterals().toArray()) {
                 sign = sign(negated(k));
                 var = var(k);
                 Variable avar = vars[lit2pos[var]];
@@ -242,12 +242,12 @@ public class PropNogoods extends Propagator<Variable> {
                     IntVar ivar = (IntVar) avar;
                     if ((eq && sign != ivar.contains(val))
                             || (!eq && sign != ivar.getUB() <= val)) {
-                        OK &= impliesEntailed(sat_.implies_.get(k));
+                        OK &= impliesEntailed(sat_.getImpliedLiterals(k));
                     }
                 } else if (VariableUtils.isSet(avar)) {
                     SetVar svar = (SetVar) avar;
                     if (eq && sign != svar.getLB().contains(val)) {
-                        OK &= impliesEntailed(sat_.implies_.get(k));
+                        OK &= impliesEntailed(sat_.getImpliedLiterals(k));
                     }
                 } else {
                     throw new UnsupportedOperationException("Unknown case");
@@ -119,13 +119,13 @@ public class PropSat extends Propagator<BoolVar> {
         if (isCompletelyInstantiated()) {
             int var, val;
             boolean sign;
-            for (int k : sat_.implies_.keys()) {
+            for (int k : sat_.getImplyingLiterals().toArray()) {
                 if (k < 0) continue; // ignore secret variables
                 sign = sign(negated(k));
                 var = var(k);
                 val = vars[var].getValue();
                 if (val == (sign ? 0 : 1)) {
-                    TIntList lits = sat_.implies_.get(k);
+                    TIntList lits = sat_.getImpliedLiterals(k);
                     for (int l : lits.toArray()) {
                         if (l < 0) continue; // ignore secret variables
                         sign = sign(l);
@@ -173,24 +173,22 @@ public class IntLinCombFactory {
                             + " (should be in {\"=\", \"!=\", \">\",\"<\",\">=\",\"<=\"})");
             }
         }
-        if(slb < Integer.MIN_VALUE || slb> Integer.MAX_VALUE){
-            throw new SolverException("Sum of lower bounds under/overflows. Consider reducing variables' domain to prevent this.");
-        }
-        if(sub < Integer.MIN_VALUE || sub > Integer.MAX_VALUE){
-            throw new SolverException("Sum of upper bounds under/overflows. Consider reducing variables' domain to prevent this.");
-        }
         if(RESULT< Integer.MIN_VALUE || RESULT> Integer.MAX_VALUE){
             throw new SolverException("RHS under/overflows. Consider reducing it to prevent this.");
         }
-        if(RESULT - slb < Integer.MIN_VALUE || RESULT - slb > Integer.MAX_VALUE
-          || sub - RESULT < Integer.MIN_VALUE || sub - RESULT> Integer.MAX_VALUE){
-            throw new SolverException("Integer under/overflow detected. Consider reducing variables' domain and/or RHS to prevent this.");
-        }
+        boolean overflow = slb < Integer.MIN_VALUE || slb > Integer.MAX_VALUE
+                || sub < Integer.MIN_VALUE || sub > Integer.MAX_VALUE
+                || RESULT - slb < Integer.MIN_VALUE || RESULT - slb > Integer.MAX_VALUE
+                || sub - RESULT < Integer.MIN_VALUE || sub - RESULT > Integer.MAX_VALUE;
         // 2. resize NVARS and NCOEFFS
         if (k < NVARS.length) {
             NVARS = Arrays.copyOf(NVARS, k, IntVar[].class);
             NCOEFFS = Arrays.copyOf(NCOEFFS, k);
         }
+        if (overflow) {
+            // sums do not fit into an int, only the long arithmetic of the incremental propagator is safe
+            return selectLongScalar(NVARS, NCOEFFS, OPERATOR, RESULT);
+        }
         // and move the variable with the largest domain at the end, it helps when considering extension representation
         if (ldom > 2 && lidx < k - 1) {
             IntVar t = NVARS[k - 1];
@@ -301,6 +299,12 @@ public class IntLinCombFactory {
 
                     }
                 }
+                if (OPERATOR != Operator.NQ && model.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+                    int[] tmpC = new int[tmpV.length];
+                    Arrays.fill(tmpC, 0, b, 1);
+                    Arrays.fill(tmpC, b, tmpC.length, -1);
+                    return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+                }
                 return new SumConstraint( new PropSum(tmpV, b, OPERATOR, RESULT));
         }
     }
@@ -357,9 +361,47 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (OPERATOR != Operator.NQ && s.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+            return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+        }
         return new SumConstraint(new PropScalar(tmpV, tmpC, b, OPERATOR, RESULT));
     }
 
+    /**
+     * Select a ScalarProduct constraint whose sums of bounds may not fit into an int
+     *
+     * @param VARS     array of integer variables
+     * @param COEFFS   array of integers
+     * @param OPERATOR on operator
+     * @param RESULT   an integer
+     * @return a constraint
+     */
+    private static Constraint selectLongScalar(IntVar[] VARS, int[] COEFFS, Operator OPERATOR, long RESULT) {
+        int b = 0, e = VARS.length;
+        IntVar[] tmpV = new IntVar[e];
+        int[] tmpC = new int[e];
+        for (int i = 0; i < VARS.length; i++) {
+            if (COEFFS[i] > 0) {
+                tmpV[b] = VARS[i];
+                tmpC[b++] = COEFFS[i];
+            } else {
+                tmpV[--e] = VARS[i];
+                tmpC[e] = COEFFS[i];
+            }
+        }
+        if (OPERATOR == Operator.GT) {
+            OPERATOR = Operator.GE;
+            RESULT++;
+        } else if (OPERATOR == Operator.LT) {
+            OPERATOR = Operator.LE;
+            RESULT--;
+        }
+        if (RESULT < Integer.MIN_VALUE || RESULT > Integer.MAX_VALUE) {
+            throw new SolverException("RHS under/overflows. Consider reducing it to prevent this.");
+        }
+        return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, (int) RESULT));
+    }
+
 ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 }
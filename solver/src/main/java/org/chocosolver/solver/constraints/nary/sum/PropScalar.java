@@ -10,6 +10,7 @@
 package org.chocosolver.solver.constraints.nary.sum;
 
 import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.nary.clauses.ClauseBuilder;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
@@ -34,7 +35,7 @@ public class PropScalar extends PropSum {
     /**
      * The coefficients
      */
-    private final int[] c;
+    final int[] c;
 
     /**
      * Create a scalar product: SUM(x_i*c_i) o b
@@ -50,6 +51,11 @@ public class PropScalar extends PropSum {
         this.c = coeffs;
     }
 
+    PropScalar(IntVar[] variables, int[] coeffs, int pos, Operator o, int b, PropagatorPriority priority, boolean reactOnFineEvent) {
+        super(variables, pos, o, b, priority, reactOnFineEvent);
+        this.c = coeffs;
+    }
+
 
     @Override
     protected void prepare() {
@@ -466,6 +472,11 @@ public class PropScalar extends PropSum {
     }
 
 
+    @Override
+    public int getCoefficient(int i) {
+        return c[i];
+    }
+
     private int divFloor(int a, int b) {
         // <!> we assume b > 0
         if (a >= 0) {
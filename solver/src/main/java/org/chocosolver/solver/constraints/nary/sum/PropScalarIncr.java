@@ -0,0 +1,417 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.solver.variables.view.IView;
+import org.chocosolver.util.ESat;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * A propagator for SUM(x_i*c_i) o b, maintained incrementally.
+ * <br/>
+ * The sums of the bounds of the terms are trailed and updated on each variable event, in long arithmetic,
+ * instead of being computed again on each propagation.
+ * The terms are sorted by decreasing initial variability, so that the filtering stops
+ * as soon as no remaining term can have a variability greater than the slack.
+ * Terms whose variable is instantiated are unlinked from this order, so that they are not visited anymore.
+ * Dedicated to very long linear constraints, or to constraints whose sums do not fit into an int.
+ * <br/>
+ * Based on "Bounds Consistency Techniques for Long Linear Constraint" </br>
+ * W. Harvey and J. Schimpf
+ *
+ * @since 4.10.7
+ */
+public class PropScalarIncr extends PropScalar {
+
+    /**
+     * Sum of lower bounds of the terms, maintained incrementally
+     */
+    private final IStateLong bLB;
+    /**
+     * Sum of upper bounds of the terms, maintained incrementally
+     */
+    private final IStateLong bUB;
+    /**
+     * Bounds of the variables the sums are computed from
+     */
+    private final IStateInt[] lbs, ubs;
+    /**
+     * Number of terms whose variable is not instantiated, according to the stored bounds
+     */
+    private final IStateInt nbFree;
+    /**
+     * Indices of the variables, by decreasing initial variability of their term
+     */
+    private final int[] order;
+    /**
+     * Initial variability of the terms, in the same order, bounding their current variability
+     */
+    private final long[] spans;
+    /**
+     * Position of each term in <i>order</i>
+     */
+    private final int[] rank;
+    /**
+     * Doubly linked list of the terms whose variable is not instantiated, in the same order.
+     * The term at position k in <i>order</i> is stored at k + 1, 0 and l + 1 are the sentinels.
+     */
+    private final IStateInt[] next, prev;
+    /**
+     * Upper bound of the current variability of the free terms, computed on the last filtering
+     */
+    private final IStateLong maxSpan;
+    /**
+     * For each term, the other terms defined on the same variable (through views), <tt>null</tt> if none.
+     * Their bounds change when this term is modified by this propagator, which is not notified of it.
+     */
+    private final int[][] twins;
+    /**
+     * Indicates when the filtering algorithm should be executed
+     */
+    private boolean doFilter;
+
+    /**
+     * Create a scalar product: SUM(x_i*c_i) o b, maintained incrementally.
+     * Variables and coefficients are excepted to be ordered wrt to coefficients: first positive ones then negative ones.
+     *
+     * @param variables list of integer variables
+     * @param coeffs    list of coefficients
+     * @param pos       position of the last positive coefficient
+     * @param o         operator among EQ, NQ, LE and GE
+     * @param b         bound to respect.
+     */
+    public PropScalarIncr(IntVar[] variables, int[] coeffs, int pos, Operator o, int b) {
+        super(variables, coeffs, pos, o, b, computePriority(variables.length), true);
+        IEnvironment env = model.getEnvironment();
+        bLB = env.makeLong();
+        bUB = env.makeLong();
+        nbFree = env.makeInt();
+        lbs = new IStateInt[l];
+        ubs = new IStateInt[l];
+        for (int i = 0; i < l; i++) {
+            lbs[i] = env.makeInt(vars[i].getLB());
+            ubs[i] = env.makeInt(vars[i].getUB());
+        }
+        order = IntStream.range(0, l).boxed()
+                .sorted(Comparator.comparingLong(i -> -(max(i, vars[i].getLB(), vars[i].getUB()) - min(i, vars[i].getLB(), vars[i].getUB()))))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        spans = new long[l];
+        rank = new int[l];
+        for (int k = 0; k < l; k++) {
+            int i = order[k];
+            spans[k] = max(i, vars[i].getLB(), vars[i].getUB()) - min(i, vars[i].getLB(), vars[i].getUB());
+            rank[i] = k;
+        }
+        maxSpan = env.makeLong(Long.MAX_VALUE);
+        next = new IStateInt[l + 2];
+        prev = new IStateInt[l + 2];
+        for (int k = 0; k < l + 2; k++) {
+            next[k] = env.makeInt(k + 1);
+            prev[k] = env.makeInt(k - 1);
+        }
+        twins = new int[l][];
+        TIntObjectHashMap<TIntArrayList> terms = new TIntObjectHashMap<>();
+        for (int i = 0; i < l; i++) {
+            int id = root(vars[i]).getId();
+            if (!terms.containsKey(id)) {
+                terms.put(id, new TIntArrayList());
+            }
+            terms.get(id).add(i);
+        }
+        for (int i = 0; i < l; i++) {
+            TIntArrayList same = terms.get(root(vars[i]).getId());
+            if (same.size() > 1) {
+                TIntArrayList others = new TIntArrayList(same);
+                others.remove(i);
+                twins[i] = others.toArray();
+            }
+        }
+    }
+
+    /**
+     * @return the variable <i>var</i> is a view of, or <i>var</i> itself
+     */
+    private static IntVar root(IntVar var) {
+        while (var instanceof IView) {
+            var = ((IView) var).getVariable();
+        }
+        return var;
+    }
+
+    /**
+     * @return the smallest value of the term of variable <i>i</i> with such bounds
+     */
+    private long min(int i, int lb, int ub) {
+        return c[i] > 0 ? (long) c[i] * lb : (long) c[i] * ub;
+    }
+
+    /**
+     * @return the largest value of the term of variable <i>i</i> with such bounds
+     */
+    private long max(int i, int lb, int ub) {
+        return c[i] > 0 ? (long) c[i] * ub : (long) c[i] * lb;
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            long lb = 0, ub = 0;
+            int free = 0;
+            int last = 0;
+            for (int k = 0; k < l; k++) {
+                int i = order[k];
+                int vlb = vars[i].getLB();
+                int vub = vars[i].getUB();
+                lbs[i].set(vlb);
+                ubs[i].set(vub);
+                lb += min(i, vlb, vub);
+                ub += max(i, vlb, vub);
+                if (vlb != vub) {
+                    free++;
+                    next[last].set(k + 1);
+                    prev[k + 1].set(last);
+                    last = k + 1;
+                }
+            }
+            next[last].set(l + 1);
+            prev[l + 1].set(last);
+            bLB.set(lb);
+            bUB.set(ub);
+            nbFree.set(free);
+        }
+        doFilter = false;
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        update(idxVarInProp);
+        updateTwins(idxVarInProp);
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        if (o == Operator.NQ) {
+            // a value may be removed, or the constraint may be entailed
+            doFilter |= nbFree.get() <= 1 || F < 0 || E < 0;
+        } else {
+            // the first free term has the largest initial variability among free terms
+            int first = next[0].get();
+            long span = Math.min(maxSpan.get(), first <= l ? spans[first - 1] : 0);
+            // a term may be pruned, or the constraint may be entailed
+            doFilter |= o != Operator.GE && (span > F || E <= 0);
+            doFilter |= o != Operator.LE && (span > E || F <= 0);
+        }
+        if (doFilter) {
+            forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        }
+    }
+
+    /**
+     * Update the sums wrt the current bounds of the variable <i>i</i>
+     */
+    private void update(int i) {
+        int olb = lbs[i].get();
+        int oub = ubs[i].get();
+        int nlb = vars[i].getLB();
+        int nub = vars[i].getUB();
+        if (olb != nlb || oub != nub) {
+            bLB.set(bLB.get() + min(i, nlb, nub) - min(i, olb, oub));
+            bUB.set(bUB.get() + max(i, nlb, nub) - max(i, olb, oub));
+            lbs[i].set(nlb);
+            ubs[i].set(nub);
+            if (olb != oub && nlb == nub) {
+                nbFree.add(-1);
+                unlink(rank[i] + 1);
+            }
+        }
+    }
+
+    /**
+     * Remove the term stored at <i>node</i> from the list of free terms
+     */
+    private void unlink(int node) {
+        int p = prev[node].get();
+        int n = next[node].get();
+        next[p].set(n);
+        prev[n].set(p);
+    }
+
+    /**
+     * Update the sums wrt the current bounds of the terms sharing their variable with the term <i>i</i>
+     */
+    private void updateTwins(int i) {
+        if (twins[i] != null) {
+            for (int j : twins[i]) {
+                update(j);
+            }
+        }
+    }
+
+    @Override
+    protected void filter() throws ContradictionException {
+        if (o == Operator.NQ) {
+            filterOnNeq();
+            return;
+        }
+        boolean le = o != Operator.GE;
+        boolean ge = o != Operator.LE;
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        boolean anychange;
+        long bound;
+        do {
+            // instantiated terms are not visited anymore, a global failure has to be detected here,
+            // it is explained by default
+            if ((le && F < 0) || (ge && E < 0)) {
+                fails();
+            }
+            anychange = false;
+            bound = 0;
+            long slack = le && ge ? Math.min(F, E) : le ? F : E;
+            // the remaining terms cannot have a variability greater than the slack
+            int node = next[0].get();
+            for (; node <= l && spans[node - 1] > slack; node = next[node].get()) {
+                int i = order[node - 1];
+                int lb = vars[i].getLB();
+                int ub = vars[i].getUB();
+                long I = max(i, lb, ub) - min(i, lb, ub);
+                boolean change = false;
+                if (le && I > F) {
+                    if (c[i] > 0) {
+                        change = vars[i].updateUpperBound(toInt(lb + Math.floorDiv(F, c[i])), this);
+                    } else {
+                        change = vars[i].updateLowerBound(toInt(ub - Math.floorDiv(F, -c[i])), this);
+                    }
+                }
+                // bounds and slacks read before the previous update remain consistent
+                if (ge && I > E) {
+                    if (c[i] > 0) {
+                        change |= vars[i].updateLowerBound(toInt(ub - Math.floorDiv(E, c[i])), this);
+                    } else {
+                        change |= vars[i].updateUpperBound(toInt(lb + Math.floorDiv(E, -c[i])), this);
+                    }
+                }
+                if (change) {
+                    update(i);
+                    updateTwins(i);
+                    F = b - bLB.get();
+                    E = bUB.get() - b;
+                    anychange = true;
+                    I = max(i, vars[i].getLB(), vars[i].getUB()) - min(i, vars[i].getLB(), vars[i].getUB());
+                }
+                bound = Math.max(bound, I);
+            }
+            // the terms not visited are bounded by their initial variability, and variabilities only decrease
+            if (node <= l) {
+                bound = Math.max(bound, spans[node - 1]);
+            }
+        } while (anychange && le && ge);
+        maxSpan.set(bound);
+        if ((!le || E <= 0) && (!ge || F <= 0)) {
+            setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnNeq() throws ContradictionException {
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        if (F < 0 || E < 0) {
+            setPassive();
+            return;
+        }
+        int free = nbFree.get();
+        if (free == 0) {
+            // the sum is instantiated to b
+            fails();
+        } else if (free == 1) {
+            int w = order[next[0].get() - 1];
+            long rest = b - (bLB.get() - min(w, lbs[w].get(), ubs[w].get()));
+            if (rest % c[w] == 0) {
+                long v = rest / c[w];
+                if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE && vars[w].removeValue((int) v, this)) {
+                    update(w);
+                    updateTwins(w);
+                }
+            }
+        }
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    @Override
+    public ESat isEntailed() {
+        long sumLB = 0, sumUB = 0;
+        for (int i = 0; i < l; i++) {
+            sumLB += min(i, vars[i].getLB(), vars[i].getUB());
+            sumUB += max(i, vars[i].getLB(), vars[i].getUB());
+        }
+        switch (o) {
+            case LE:
+                if (sumUB <= b) {
+                    return ESat.TRUE;
+                }
+                if (sumLB > b) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            case GE:
+                if (sumLB >= b) {
+                    return ESat.TRUE;
+                }
+                if (sumUB < b) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            case NQ:
+                if (sumUB < b || sumLB > b) {
+                    return ESat.TRUE;
+                }
+                if (sumLB == b && sumUB == b) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            default:
+                if (sumLB == b && sumUB == b) {
+                    return ESat.TRUE;
+                }
+                if (sumUB < b || sumLB > b) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+        }
+    }
+
+    @Override
+    public void explain(int p, ExplanationForSignedClause explanation) {
+        // the explanations of PropScalar are computed in int arithmetic, which the sums may not fit into
+        Propagator.defaultExplain(this, p, explanation);
+    }
+
+    @Override
+    protected PropSum opposite() {
+        return new PropScalarIncr(vars, c, pos, nop(o), b + nb(o));
+    }
+}
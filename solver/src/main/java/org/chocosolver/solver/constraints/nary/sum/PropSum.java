@@ -672,6 +672,28 @@ public class PropSum extends Propagator<IntVar> {
         return linComb.toString();
     }
 
+    /**
+     * @return the operator among EQ, LE, GE and NE
+     */
+    public Operator getOperator() {
+        return o;
+    }
+
+    /**
+     * @return the bound to respect
+     */
+    public int getBound() {
+        return b;
+    }
+
+    /**
+     * @param i index of a variable
+     * @return the coefficient of the <i>i</i>-th variable
+     */
+    public int getCoefficient(int i) {
+        return i < pos ? 1 : -1;
+    }
+
     public static int nb(Operator co){
         switch (co){
             case LE:
@@ -0,0 +1,151 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * A compiled form of a discrete expression.
+ * <p>
+ * Variables are identified by their position in the tuple, resolved once and for all on compilation,
+ * so that evaluating an expression on a tuple does not require any map lookup nor boxing.
+ * Relational and logical expressions evaluate to 1 when satisfied, 0 otherwise.
+ * <br/>
+ * On top of that, an evaluator computes the bounds of the expression given the bounds of the variables,
+ * by interval reasoning on sub-expressions.
+ * Bounds are exact when all variables are instantiated.
+ * An evaluator stores the last computed bounds, so it is not thread-safe:
+ * one should compile an expression for each thread.
+ *
+ * @since 4.10.7
+ */
+public abstract class Evaluator {
+
+    /**
+     * Last computed bounds
+     */
+    private int lb, ub;
+
+    /**
+     * @param values a tuple
+     * @return the value of the expression on <i>values</i>
+     */
+    public abstract int eval(int[] values);
+
+    /**
+     * Compute the bounds of the expression, retrievable with {@link #getLB()} and {@link #getUB()}
+     *
+     * @param lbs lower bounds of the variables
+     * @param ubs upper bounds of the variables
+     */
+    public abstract void bound(int[] lbs, int[] ubs);
+
+    /**
+     * Set the bounds of the expression.
+     * When they do not fit in an int, the bounds are relaxed to the whole int range,
+     * since the evaluation of the expression may overflow.
+     *
+     * @param lb the lower bound
+     * @param ub the upper bound
+     */
+    protected final void setBounds(long lb, long ub) {
+        if (lb < Integer.MIN_VALUE || ub > Integer.MAX_VALUE) {
+            this.lb = Integer.MIN_VALUE;
+            this.ub = Integer.MAX_VALUE;
+        } else {
+            this.lb = (int) lb;
+            this.ub = (int) ub;
+        }
+    }
+
+    /**
+     * @return the lower bound computed by the last call to {@link #bound(int[], int[])}
+     */
+    public final int getLB() {
+        return lb;
+    }
+
+    /**
+     * @return the upper bound computed by the last call to {@link #bound(int[], int[])}
+     */
+    public final int getUB() {
+        return ub;
+    }
+
+    /**
+     * @return <tt>true</tt> if the bounds computed by the last call to {@link #bound(int[], int[])} are equal
+     */
+    public final boolean isInstantiated() {
+        return lb == ub;
+    }
+
+    /**
+     * @param value a constant
+     * @return an evaluator of the constant <i>value</i>
+     */
+    public static Evaluator constant(int value) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return value;
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                setBounds(value, value);
+            }
+        };
+    }
+
+    /**
+     * @param function evaluates an expression on a tuple
+     * @param lb       a lower bound of the expression
+     * @param ub       an upper bound of the expression
+     * @return an evaluator relying on <i>function</i>, whose bounds are <i>lb</i> and <i>ub</i>
+     * unless all variables are instantiated
+     */
+    public static Evaluator of(ToIntFunction<int[]> function, int lb, int ub) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return function.applyAsInt(values);
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                if (Arrays.equals(lbs, ubs)) {
+                    int v = function.applyAsInt(lbs);
+                    setBounds(v, v);
+                } else {
+                    setBounds(lb, ub);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param idx position of a variable in the tuple
+     * @return an evaluator of the variable at position <i>idx</i>
+     */
+    public static Evaluator variable(int idx) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return values[idx];
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                setBounds(lbs[idx], ubs[idx]);
+            }
+        };
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.expression.discrete.relational.ReExpression;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.tools.VariableUtils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A generator of the tuples satisfying a relational expression.
+ * <p>
+ * The expression is first compiled into an {@link Evaluator}, then the Cartesian product of the domains
+ * of its variables is enumerated depth-first.
+ * Each time a variable is instantiated, the bounds of the expression are computed by interval reasoning:
+ * the sub-tree is skipped when the expression is disentailed, and all its tuples are kept without any evaluation
+ * when the expression is entailed.
+ * <br/>
+ * When the search space is large enough, the enumeration is split on the first variables,
+ * and the resulting sub-trees are enumerated in parallel.
+ * The output does not depend on the parallelism.
+ * <br/>
+ * The tuples are either stored in a {@link Tuples} object or in a {@link MultivaluedDecisionDiagram},
+ * the latter being built from the enumeration tree, without storing the tuples.
+ *
+ * @since 4.10.7
+ */
+public class TuplesGenerator {
+
+    /**
+     * Minimal size of the search space to enumerate it in parallel
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Terminal node of the MDD
+     */
+    private static final int TERMINAL = -1;
+
+    /**
+     * The expression to satisfy
+     */
+    private final ReExpression expression;
+    /**
+     * The variables of the expression, in the order of the tuples
+     */
+    private final IntVar[] vars;
+    /**
+     * Mapping between the variables and their position in the tuples
+     */
+    private final Map<IntVar, Integer> map;
+    /**
+     * Set to <tt>false</tt> to forbid parallel enumeration
+     */
+    private boolean parallel = true;
+
+    /**
+     * Create a generator of the tuples satisfying <i>expression</i>.
+     * The variables of the tuples are the ones of the expression, sorted.
+     *
+     * @param expression a relational expression
+     */
+    public TuplesGenerator(ReExpression expression) {
+        this.expression = expression;
+        HashSet<IntVar> avars = new LinkedHashSet<>();
+        expression.extractVar(avars);
+        this.vars = avars.stream().sorted().toArray(IntVar[]::new);
+        this.map = IntStream.range(0, vars.length).boxed().collect(Collectors.toMap(i -> vars[i], i -> i));
+    }
+
+    /**
+     * @return the variables of the expression, in the order of the tuples
+     */
+    public IntVar[] getVariables() {
+        return vars;
+    }
+
+    /**
+     * Allow or forbid the enumeration to be run in parallel, when the search space is large enough.
+     * Parallel enumeration is allowed by default.
+     *
+     * @param parallel set to <tt>false</tt> to enumerate the tuples in the calling thread only
+     * @return this
+     */
+    public TuplesGenerator setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * @return the (feasible) tuples satisfying the expression
+     */
+    public Tuples generateTuples() {
+        Tuples tuples = new Tuples(true);
+        if (vars.length == 0) {
+            if (expression.compile(map).eval(new int[0]) == 1) {
+                tuples.add(new int[0]);
+            }
+            return tuples;
+        }
+        for (Worker w : run(false)) {
+            for (int[] t : w.tuples) {
+                tuples.add(t);
+            }
+        }
+        return tuples;
+    }
+
+    /**
+     * @return a multi-valued decision diagram encoding the tuples satisfying the expression
+     */
+    public MultivaluedDecisionDiagram generateMDD() {
+        if (vars.length == 0) {
+            // either the empty tuple or nothing
+            return new MultivaluedDecisionDiagram(vars, generateTuples());
+        }
+        List<Worker> workers = run(true);
+        List<int[]> transitions = new ArrayList<>();
+        int k = workers.get(0).prefix.length;
+        // nodes of the enumeration tree above the sub-trees, built from the prefixes
+        int[] path = new int[k + 1];
+        int[] last = null;
+        int next = 1;
+        for (Worker w : workers) {
+            if (w.transitions.isEmpty()) {
+                continue;
+            }
+            int j = 0;
+            while (last != null && j < k && last[j] == w.prefix[j]) {
+                j++;
+            }
+            for (int d = j; d < k; d++) {
+                path[d + 1] = next++;
+                transitions.add(new int[]{path[d], w.prefix[d], path[d + 1]});
+            }
+            last = w.prefix;
+            // local root is 0, other local nodes are shifted
+            int offset = next - 1;
+            for (int t = 0; t < w.transitions.size(); t += 3) {
+                transitions.add(new int[]{
+                        w.node(w.transitions.getQuick(t), path[k], offset),
+                        w.transitions.getQuick(t + 1),
+                        w.node(w.transitions.getQuick(t + 2), path[k], offset)});
+            }
+            next = offset + w.nextNode;
+        }
+        if (transitions.isEmpty()) {
+            return new MultivaluedDecisionDiagram(vars, new Tuples(true));
+        }
+        return new MultivaluedDecisionDiagram(vars, transitions.toArray(new int[0][]));
+    }
+
+    /**
+     * Enumerate the tuples, in parallel if allowed and relevant
+     *
+     * @param mdd set to <tt>true</tt> to build MDD transitions instead of tuples
+     * @return the workers, in lexicographic order of their prefix, each of them storing its part of the output
+     */
+    private List<Worker> run(boolean mdd) {
+        int n = vars.length;
+        int k = 0;
+        if (parallel && n > 1 && VariableUtils.domainCardinality(vars) >= PARALLEL_THRESHOLD) {
+            // split on the first variables, so that there are enough sub-trees to balance the load
+            long nbTasks = 8L * ForkJoinPool.getCommonPoolParallelism();
+            long card = 1;
+            while (k < n - 1 && card < nbTasks) {
+                card *= vars[k++].getDomainSize();
+            }
+        }
+        if (k == 0) {
+            Worker w = new Worker(mdd, new int[0]);
+            w.run();
+            return Collections.singletonList(w);
+        }
+        List<int[]> prefixes = new ArrayList<>();
+        new Worker(mdd, new int[0]).prefixes(0, k, prefixes);
+        if (prefixes.isEmpty()) {
+            return Collections.singletonList(new Worker(mdd, new int[k]));
+        }
+        return prefixes.parallelStream()
+                .map(p -> {
+                    Worker w = new Worker(mdd, p);
+                    w.run();
+                    return w;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Enumerates the tuples starting with a given prefix, on its own copy of the compiled expression.
+     */
+    private final class Worker {
+
+        /**
+         * Compiled expression, not thread-safe
+         */
+        private final Evaluator root;
+        /**
+         * Values of the instantiated variables
+         */
+        private final int[] values;
+        /**
+         * Bounds of the variables
+         */
+        private final int[] lbs, ubs;
+        /**
+         * Values of the first variables
+         */
+        private final int[] prefix;
+        /**
+         * Valid tuples, when tuples are generated
+         */
+        private final List<int[]> tuples;
+        /**
+         * Transitions (from, value, to) of the MDD, when an MDD is generated.
+         * Local root is 0, nodes which lead to any tuple are encoded with a negative value.
+         */
+        private final TIntArrayList transitions;
+        /**
+         * Number of local nodes
+         */
+        private int nextNode = 1;
+
+        private Worker(boolean mdd, int[] prefix) {
+            int n = vars.length;
+            this.root = expression.compile(map);
+            this.prefix = prefix;
+            this.values = new int[n];
+            this.lbs = new int[n];
+            this.ubs = new int[n];
+            for (int i = 0; i < n; i++) {
+                lbs[i] = vars[i].getLB();
+                ubs[i] = vars[i].getUB();
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                values[i] = lbs[i] = ubs[i] = prefix[i];
+            }
+            this.tuples = mdd ? null : new ArrayList<>();
+            this.transitions = mdd ? new TIntArrayList() : null;
+        }
+
+        /**
+         * Collect the prefixes of size <i>k</i> that do not disentail the expression
+         */
+        private void prefixes(int i, int k, List<int[]> out) {
+            IntVar var = vars[i];
+            int ub = var.getUB();
+            for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                values[i] = lbs[i] = ubs[i] = v;
+                root.bound(lbs, ubs);
+                if (root.getUB() == 1) {
+                    if (i + 1 == k) {
+                        out.add(Arrays.copyOf(values, k));
+                    } else {
+                        prefixes(i + 1, k, out);
+                    }
+                }
+            }
+            lbs[i] = var.getLB();
+            ubs[i] = ub;
+        }
+
+        /**
+         * Enumerate the tuples starting with the prefix
+         */
+        private void run() {
+            int k = prefix.length;
+            root.bound(lbs, ubs);
+            if (root.getUB() == 0) {
+                return;
+            }
+            if (root.getLB() == 1) {
+                if (tuples != null) {
+                    complete(k);
+                } else {
+                    any(0, k);
+                }
+            } else {
+                enumerate(k, 0);
+            }
+            if (transitions != null) {
+                close();
+            }
+        }
+
+        /**
+         * Enumerate the values of the <i>i</i>-th variable, the previous ones being instantiated
+         *
+         * @param node the MDD node the previous values lead to
+         * @return <tt>true</tt> if at least one tuple is valid
+         */
+        private boolean enumerate(int i, int node) {
+            IntVar var = vars[i];
+            int ub = var.getUB();
+            boolean found = false;
+            for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                values[i] = lbs[i] = ubs[i] = v;
+                if (i == vars.length - 1) {
+                    if (root.eval(values) == 1) {
+                        found = true;
+                        if (tuples != null) {
+                            tuples.add(values.clone());
+                        } else {
+                            edge(node, v, TERMINAL);
+                        }
+                    }
+                    continue;
+                }
+                root.bound(lbs, ubs);
+                if (root.getUB() == 0) {
+                    continue;
+                }
+                if (root.getLB() == 1) {
+                    found = true;
+                    if (tuples != null) {
+                        complete(i + 1);
+                    } else {
+                        edge(node, v, any(i + 1));
+                    }
+                } else if (tuples != null) {
+                    found |= enumerate(i + 1, node);
+                } else {
+                    int child = nextNode++;
+                    if (enumerate(i + 1, child)) {
+                        found = true;
+                        edge(node, v, child);
+                    }
+                }
+            }
+            lbs[i] = var.getLB();
+            ubs[i] = ub;
+            return found;
+        }
+
+        /**
+         * Add all the tuples made of the instantiated variables and any value of the <i>i</i>-th and next ones
+         */
+        private void complete(int i) {
+            if (i == vars.length) {
+                tuples.add(values.clone());
+                return;
+            }
+            IntVar var = vars[i];
+            int ub = var.getUB();
+            for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                values[i] = v;
+                complete(i + 1);
+            }
+        }
+
+        /**
+         * @return the (encoded) MDD node which leads to any value of the <i>i</i>-th and next variables
+         */
+        private int any(int i) {
+            return -2 - i;
+        }
+
+        /**
+         * Add the transitions from <i>node</i> with any value of the <i>i</i>-th variable
+         */
+        private void any(int node, int i) {
+            IntVar var = vars[i];
+            int ub = var.getUB();
+            int to = i == vars.length - 1 ? TERMINAL : any(i + 1);
+            for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                edge(node, v, to);
+            }
+        }
+
+        /**
+         * Create the nodes which lead to any tuple, after all the other nodes,
+         * so that each node is created after its predecessors
+         */
+        private void close() {
+            int n = vars.length;
+            int first = n;
+            for (int t = 2; t < transitions.size(); t += 3) {
+                int to = transitions.getQuick(t);
+                if (to < TERMINAL) {
+                    first = Math.min(first, -2 - to);
+                }
+            }
+            int[] ids = new int[n];
+            for (int i = first; i < n; i++) {
+                ids[i] = nextNode++;
+                any(any(i), i);
+            }
+            for (int t = 0; t < transitions.size(); t++) {
+                int node = transitions.getQuick(t);
+                if (t % 3 != 1 && node < TERMINAL) {
+                    transitions.setQuick(t, ids[-2 - node]);
+                }
+            }
+        }
+
+        /**
+         * Add the transition from <i>from</i> to <i>to</i> with the value <i>v</i>
+         */
+        private void edge(int from, int v, int to) {
+            transitions.add(from);
+            transitions.add(v);
+            transitions.add(to);
+        }
+
+        /**
+         * @return the global identifier of the local <i>node</i>
+         */
+        private int node(int node, int root, int offset) {
+            if (node == 0) {
+                return root;
+            } else if (node == TERMINAL) {
+                return TERMINAL;
+            }
+            return offset + node;
+        }
+    }
+}
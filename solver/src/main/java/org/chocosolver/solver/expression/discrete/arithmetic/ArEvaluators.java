@@ -0,0 +1,176 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete.arithmetic;
+
+import org.chocosolver.solver.expression.discrete.Evaluator;
+
+/**
+ * Compiled forms of arithmetic expressions.
+ * Evaluation relies on {@link ArExpression.Operator}, bounds are computed by interval arithmetic.
+ *
+ * @since 4.10.7
+ */
+final class ArEvaluators {
+
+    private ArEvaluators() {
+    }
+
+    /**
+     * @return an evaluator of "op(e)"
+     */
+    static Evaluator unary(ArExpression.Operator op, Evaluator e) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return op.eval(e.eval(values));
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                e.bound(lbs, ubs);
+                long l = e.getLB(), u = e.getUB();
+                if (l == u) {
+                    int v = op.eval((int) l);
+                    setBounds(v, v);
+                    return;
+                }
+                switch (op) {
+                    case NEG:
+                        setBounds(-u, -l);
+                        break;
+                    case ABS:
+                        if (l >= 0) {
+                            setBounds(l, u);
+                        } else if (u <= 0) {
+                            setBounds(-u, -l);
+                        } else {
+                            setBounds(0, Math.max(-l, u));
+                        }
+                        break;
+                    case SQR:
+                        if (l >= 0) {
+                            setBounds(l * l, u * u);
+                        } else if (u <= 0) {
+                            setBounds(u * u, l * l);
+                        } else {
+                            setBounds(0, Math.max(l * l, u * u));
+                        }
+                        break;
+                    default:
+                        setBounds(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return an evaluator of "e1 op e2"
+     */
+    static Evaluator binary(ArExpression.Operator op, Evaluator e1, Evaluator e2) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return op.eval(e1.eval(values), e2.eval(values));
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                e1.bound(lbs, ubs);
+                e2.bound(lbs, ubs);
+                long l1 = e1.getLB(), u1 = e1.getUB();
+                long l2 = e2.getLB(), u2 = e2.getUB();
+                if (l1 == u1 && l2 == u2) {
+                    int v = op.eval((int) l1, (int) l2);
+                    setBounds(v, v);
+                    return;
+                }
+                switch (op) {
+                    case ADD:
+                        setBounds(l1 + l2, u1 + u2);
+                        break;
+                    case SUB:
+                        setBounds(l1 - u2, u1 - l2);
+                        break;
+                    case MUL:
+                        setBounds(
+                                Math.min(Math.min(l1 * l2, l1 * u2), Math.min(u1 * l2, u1 * u2)),
+                                Math.max(Math.max(l1 * l2, l1 * u2), Math.max(u1 * l2, u1 * u2)));
+                        break;
+                    case DIV:
+                        if (l2 <= 0 && u2 >= 0) {
+                            // division by zero is evaluated to an extreme value
+                            setBounds(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                        } else {
+                            setBounds(
+                                    Math.min(Math.min(l1 / l2, l1 / u2), Math.min(u1 / l2, u1 / u2)),
+                                    Math.max(Math.max(l1 / l2, l1 / u2), Math.max(u1 / l2, u1 / u2)));
+                        }
+                        break;
+                    case MOD:
+                        if (l2 <= 0 && u2 >= 0) {
+                            setBounds(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                        } else {
+                            // the remainder has the sign of the dividend and is smaller than the divisor
+                            long m = Math.max(Math.abs(l2), Math.abs(u2)) - 1;
+                            setBounds(l1 >= 0 ? 0 : Math.max(l1, -m), u1 <= 0 ? 0 : Math.min(u1, m));
+                        }
+                        break;
+                    case MIN:
+                        setBounds(Math.min(l1, l2), Math.min(u1, u2));
+                        break;
+                    case MAX:
+                        setBounds(Math.max(l1, l2), Math.max(u1, u2));
+                        break;
+                    default:
+                        setBounds(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return an evaluator of "e_1 op e_2 op ... op e_n", folded from the identity of <i>op</i>
+     */
+    static Evaluator nary(ArExpression.Operator op, Evaluator[] es) {
+        Evaluator r = Evaluator.constant(op.identity());
+        for (Evaluator e : es) {
+            r = binary(op, r, e);
+        }
+        return r;
+    }
+
+    /**
+     * @return an evaluator of "if b then e1 else e2"
+     */
+    static Evaluator ifThenElse(Evaluator b, Evaluator e1, Evaluator e2) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return b.eval(values) == 1 ? e1.eval(values) : e2.eval(values);
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                b.bound(lbs, ubs);
+                if (b.getLB() == 1) {
+                    e1.bound(lbs, ubs);
+                    setBounds(e1.getLB(), e1.getUB());
+                } else if (b.getUB() == 0) {
+                    e2.bound(lbs, ubs);
+                    setBounds(e2.getLB(), e2.getUB());
+                } else {
+                    e1.bound(lbs, ubs);
+                    e2.bound(lbs, ubs);
+                    setBounds(Math.min(e1.getLB(), e2.getLB()), Math.max(e1.getUB(), e2.getUB()));
+                }
+            }
+        };
+    }
+}
@@ -10,6 +10,7 @@
 package org.chocosolver.solver.expression.discrete.arithmetic;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.relational.BiReExpression;
 import org.chocosolver.solver.expression.discrete.relational.NaReExpression;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
@@ -343,6 +344,19 @@ public interface ArExpression {
         return values[map.get(this)];
     }
 
+    /**
+     * @param map mapping between variables of the topmost expression and position in a tuple
+     * @return a compiled form of this expression, that evaluates it on a tuple without any map lookup.
+     * An expression that does not provide one is evaluated with {@link #ieval(int[], Map)}, with unknown bounds.
+     */
+    @SuppressWarnings("SuspiciousMethodCalls")
+    default Evaluator compile(Map<IntVar, Integer> map) {
+        if (this instanceof IntVar) {
+            return Evaluator.variable(map.get(this));
+        }
+        return Evaluator.of(values -> ieval(values, map), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
     /**
      * @return the child of this expression, or null if thid
      */
@@ -757,6 +771,11 @@ public interface ArExpression {
             return v;
         }
 
+        @Override
+        public Evaluator compile(Map<IntVar, Integer> map) {
+            return Evaluator.constant(v);
+        }
+
         @Override
         public String toString() {
             return Integer.toString(v);
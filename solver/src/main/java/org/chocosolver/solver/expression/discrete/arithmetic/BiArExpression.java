@@ -11,6 +11,7 @@ package org.chocosolver.solver.expression.discrete.arithmetic;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.tools.VariableUtils;
 
@@ -142,6 +143,11 @@ public class BiArExpression implements ArExpression {
         return op.eval(e1.ieval(values, map), e2.ieval(values, map));
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ArEvaluators.binary(op, e1.compile(map), e2.compile(map));
+    }
+
     @Override
     public int getNoChild() {
         return 2;
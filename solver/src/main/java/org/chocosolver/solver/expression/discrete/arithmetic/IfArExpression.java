@@ -10,6 +10,7 @@
 package org.chocosolver.solver.expression.discrete.arithmetic;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -85,6 +86,11 @@ public class IfArExpression implements ArExpression {
         }
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ArEvaluators.ifThenElse(b0.compile(map), e1.compile(map), e2.compile(map));
+    }
+
     @Override
     public int getNoChild() {
         return 3;
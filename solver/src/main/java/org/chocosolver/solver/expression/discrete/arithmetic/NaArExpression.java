@@ -10,6 +10,7 @@
 package org.chocosolver.solver.expression.discrete.arithmetic;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.tools.ArrayUtils;
 import org.chocosolver.util.tools.VariableUtils;
@@ -125,6 +126,11 @@ public class NaArExpression implements ArExpression {
                 .reduce(op.identity(), (e1, e2) -> op.eval(e1, e2));
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ArEvaluators.nary(op, Arrays.stream(es).map(e -> e.compile(map)).toArray(Evaluator[]::new));
+    }
+
     @Override
     public int getNoChild() {
         return es.length;
@@ -10,6 +10,7 @@
 package org.chocosolver.solver.expression.discrete.arithmetic;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.tools.VariableUtils;
 
@@ -104,6 +105,11 @@ public class UnArExpression implements ArExpression {
         return op.eval(e.ieval(values, map));
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ArEvaluators.unary(op, e.compile(map));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + e.toString() + ")";
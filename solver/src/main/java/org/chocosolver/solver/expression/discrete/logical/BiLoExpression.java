@@ -12,6 +12,7 @@ package org.chocosolver.solver.expression.discrete.logical;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -106,6 +107,11 @@ public class BiLoExpression extends LoExpression {
         return op.eval(e1.beval(values, map), e2.beval(values, map));
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return LoEvaluators.fold(op, e1.compile(map), e2.compile(map));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + e1.toString() + ", " + e2.toString() + ")";
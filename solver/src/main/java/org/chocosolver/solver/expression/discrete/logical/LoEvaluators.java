@@ -0,0 +1,61 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete.logical;
+
+import org.chocosolver.solver.expression.discrete.Evaluator;
+
+/**
+ * Compiled forms of logical expressions.
+ * Evaluation relies on {@link LoExpression.Operator}, bounds are computed by three-valued logic.
+ *
+ * @since 4.10.7
+ */
+final class LoEvaluators {
+
+    private LoEvaluators() {
+    }
+
+    /**
+     * @return an evaluator of "(((e_1 op e_2) op e_3) op ...)"
+     */
+    static Evaluator fold(LoExpression.Operator op, Evaluator... es) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                boolean eval = es[0].eval(values) == 1;
+                for (int i = 1; i < es.length; i++) {
+                    eval = op.eval(eval, es[i].eval(values) == 1);
+                }
+                return eval ? 1 : 0;
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                es[0].bound(lbs, ubs);
+                int lb = es[0].getLB(), ub = es[0].getUB();
+                for (int i = 1; i < es.length; i++) {
+                    es[i].bound(lbs, ubs);
+                    int l = 1, u = 0;
+                    // evaluate the operator on each combination of possible values
+                    for (int b1 = lb; b1 <= ub; b1++) {
+                        for (int b2 = es[i].getLB(); b2 <= es[i].getUB(); b2++) {
+                            int r = op.eval(b1 == 1, b2 == 1) ? 1 : 0;
+                            l = Math.min(l, r);
+                            u = Math.max(u, r);
+                        }
+                    }
+                    lb = l;
+                    ub = u;
+                }
+                setBounds(lb, ub);
+            }
+        };
+    }
+}
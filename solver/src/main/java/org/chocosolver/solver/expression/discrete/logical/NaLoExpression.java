@@ -11,6 +11,7 @@ package org.chocosolver.solver.expression.discrete.logical;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -139,6 +140,11 @@ public class NaLoExpression extends LoExpression {
         return eval;
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return LoEvaluators.fold(op, Arrays.stream(es).map(e -> e.compile(map)).toArray(Evaluator[]::new));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + es[0].toString() + ",... ," + es[es.length - 1].toString() + ")";
@@ -12,6 +12,7 @@ package org.chocosolver.solver.expression.discrete.logical;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -83,6 +84,11 @@ public class UnLoExpression extends LoExpression {
         return op.eval(e.beval(values, map), true);
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return LoEvaluators.fold(op, e.compile(map), Evaluator.constant(1));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + e.toString()+ ")";
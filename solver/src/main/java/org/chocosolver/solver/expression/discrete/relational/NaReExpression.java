@@ -12,6 +12,7 @@ package org.chocosolver.solver.expression.discrete.relational;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -151,6 +152,11 @@ public class NaReExpression implements ReExpression {
         return eval;
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ReEvaluators.nary(op, Arrays.stream(es).map(e -> e.compile(map)).toArray(Evaluator[]::new));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + es[0].toString() + ", ...," + es[es.length - 1].toString() + ")";
@@ -0,0 +1,114 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete.relational;
+
+import org.chocosolver.solver.expression.discrete.Evaluator;
+
+/**
+ * Compiled forms of relational expressions.
+ * Evaluation relies on {@link ReExpression.Operator}, bounds are deduced from the bounds of the operands:
+ * 1 as lower bound when the relation is entailed, 0 as upper bound when it is disentailed.
+ *
+ * @since 4.10.7
+ */
+final class ReEvaluators {
+
+    private ReEvaluators() {
+    }
+
+    /**
+     * @return an evaluator of "e1 op e2"
+     */
+    static Evaluator compare(ReExpression.Operator op, Evaluator e1, Evaluator e2) {
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                return op.eval(e1.eval(values), e2.eval(values)) ? 1 : 0;
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                e1.bound(lbs, ubs);
+                e2.bound(lbs, ubs);
+                int l1 = e1.getLB(), u1 = e1.getUB();
+                int l2 = e2.getLB(), u2 = e2.getUB();
+                boolean entailed, disentailed;
+                switch (op) {
+                    case LT:
+                        entailed = u1 < l2;
+                        disentailed = l1 >= u2;
+                        break;
+                    case LE:
+                        entailed = u1 <= l2;
+                        disentailed = l1 > u2;
+                        break;
+                    case GT:
+                        entailed = l1 > u2;
+                        disentailed = u1 <= l2;
+                        break;
+                    case GE:
+                        entailed = l1 >= u2;
+                        disentailed = u1 < l2;
+                        break;
+                    case NE:
+                        entailed = u1 < l2 || u2 < l1;
+                        disentailed = l1 == u1 && l2 == u2 && l1 == l2;
+                        break;
+                    default: // EQ, IN
+                        entailed = l1 == u1 && l2 == u2 && l1 == l2;
+                        disentailed = u1 < l2 || u2 < l1;
+                }
+                setBounds(entailed ? 1 : 0, disentailed ? 0 : 1);
+            }
+        };
+    }
+
+    /**
+     * @return an evaluator of "e_0 = e_1 = ... = e_n" (EQ) or "e_0 &isin; {e_1, ..., e_n}" (IN)
+     */
+    static Evaluator nary(ReExpression.Operator op, Evaluator[] es) {
+        if (op != ReExpression.Operator.EQ && op != ReExpression.Operator.IN) {
+            throw new IllegalStateException("Unexpected value: " + op);
+        }
+        Evaluator[] eqs = new Evaluator[es.length - 1];
+        for (int i = 1; i < es.length; i++) {
+            eqs[i - 1] = compare(op, es[0], es[i]);
+        }
+        boolean all = op == ReExpression.Operator.EQ;
+        return new Evaluator() {
+            @Override
+            public int eval(int[] values) {
+                for (Evaluator eq : eqs) {
+                    if ((eq.eval(values) == 1) != all) {
+                        return all ? 0 : 1;
+                    }
+                }
+                return all ? 1 : 0;
+            }
+
+            @Override
+            public void bound(int[] lbs, int[] ubs) {
+                // a conjunction for EQ, a disjunction for IN
+                int lb = all ? 1 : 0, ub = all ? 1 : 0;
+                for (Evaluator eq : eqs) {
+                    eq.bound(lbs, ubs);
+                    if (all) {
+                        lb = Math.min(lb, eq.getLB());
+                        ub = Math.min(ub, eq.getUB());
+                    } else {
+                        lb = Math.max(lb, eq.getLB());
+                        ub = Math.max(ub, eq.getUB());
+                    }
+                }
+                setBounds(lb, ub);
+            }
+        };
+    }
+}
@@ -11,8 +11,8 @@ package org.chocosolver.solver.expression.discrete.relational;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
-import org.chocosolver.solver.constraints.extension.Tuples;
-import org.chocosolver.solver.constraints.extension.TuplesFactory;
+import org.chocosolver.solver.expression.discrete.Evaluator;
+import org.chocosolver.solver.expression.discrete.TuplesGenerator;
 import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
 import org.chocosolver.solver.expression.discrete.arithmetic.IfArExpression;
 import org.chocosolver.solver.expression.discrete.logical.BiLoExpression;
@@ -23,10 +23,7 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * relational expression
@@ -148,15 +145,20 @@ public interface ReExpression extends ArExpression {
 
     /**
      * @return a TABLE constraint that captures the expression
+     * @see TuplesGenerator
      */
     default Constraint extension() {
-        HashSet<IntVar> avars = new LinkedHashSet<>();
-        extractVar(avars);
-        IntVar[] uvars = avars.stream().sorted().toArray(IntVar[]::new);
-        Map<IntVar, Integer> map = IntStream.range(0, uvars.length).boxed().collect(Collectors.toMap(i -> uvars[i], i -> i));
-        Tuples tuples = TuplesFactory.generateTuples(values -> beval(values, map), true, uvars);
-//        System.out.printf("%d -> %d\n", VariableUtils.domainCardinality(uvars), tuples.nbTuples());
-        return getModel().table(uvars, tuples);
+        TuplesGenerator generator = new TuplesGenerator(this);
+        return getModel().table(generator.getVariables(), generator.generateTuples());
+    }
+
+    /**
+     * @return a MDD constraint that captures the expression
+     * @see TuplesGenerator
+     */
+    default Constraint mddExtension() {
+        TuplesGenerator generator = new TuplesGenerator(this);
+        return getModel().mddc(generator.getVariables(), generator.generateMDD());
     }
 
     /**
@@ -175,6 +177,20 @@ public interface ReExpression extends ArExpression {
         return beval(values, map)?1:0;
     }
 
+    /**
+     * @param map mapping between variables of the topmost expression and position in a tuple
+     * @return a compiled form of this expression, that evaluates it on a tuple without any map lookup.
+     * An expression that does not provide one is evaluated with {@link #beval(int[], Map)}.
+     */
+    @SuppressWarnings("SuspiciousMethodCalls")
+    @Override
+    default Evaluator compile(Map<IntVar, Integer> map) {
+        if (this instanceof IntVar) {
+            return Evaluator.variable(map.get(this));
+        }
+        return Evaluator.of(values -> beval(values, map) ? 1 : 0, 0, 1);
+    }
+
     /**
      * @param y some relational expressions
      * @return return the expression "x &and; y_1 &and; y_2 &and; ..." where this is "x"
@@ -12,6 +12,7 @@ package org.chocosolver.solver.expression.discrete.relational;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.expression.discrete.Evaluator;
 import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
 import org.chocosolver.solver.expression.discrete.arithmetic.BiArExpression;
 import org.chocosolver.solver.expression.discrete.arithmetic.NaArExpression;
@@ -211,6 +212,11 @@ public class UnCReExpression implements ReExpression {
         return op.eval(e1.ieval(values, map), e2);
     }
 
+    @Override
+    public Evaluator compile(Map<IntVar, Integer> map) {
+        return ReEvaluators.compare(op, e1.compile(map), Evaluator.constant(e2));
+    }
+
     @Override
     public String toString() {
         return op.name() + "(" + e1.toString() + "," + e2 + ")";
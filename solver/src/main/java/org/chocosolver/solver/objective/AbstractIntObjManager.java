@@ -26,14 +26,28 @@ abstract class AbstractIntObjManager extends AbstractObjManager<IntVar> {
 
     private static final long serialVersionUID = 5539060355541720114L;
 
+    /** Bound shared with other models, if any **/
+    transient private SharedBound shared;
+
+    /** Version of {@link #shared} when it was last read **/
+    private int sharedVersion;
+
+    /** Best objective value of the solutions found by this manager, regardless of the shared bound **/
+    protected int ownBest;
+
+    /** Number of failures of the dynamic cut due to the shared bound only **/
+    protected long foreignFails;
+
     public AbstractIntObjManager(AbstractIntObjManager objman) {
         super(objman);
+        ownBest = objman.ownBest;
     }
 
     public AbstractIntObjManager(IntVar objective, ResolutionPolicy policy, Number precision) {
         super(objective, policy, precision);
         bestProvedLB = objective.getLB() - 1;
         bestProvedUB = objective.getUB() + 1;
+        ownBest = policy == ResolutionPolicy.MAXIMIZE ? bestProvedLB.intValue() : bestProvedUB.intValue();
     }
 
     @Override
@@ -72,6 +86,44 @@ abstract class AbstractIntObjManager extends AbstractObjManager<IntVar> {
     public void resetBestBounds() {
         bestProvedLB = objective.getLB() - 1;
         bestProvedUB = objective.getUB() + 1;
+        ownBest = policy == ResolutionPolicy.MAXIMIZE ? bestProvedLB.intValue() : bestProvedUB.intValue();
+        // the shared bound is read again on next cut
+        sharedVersion = 0;
+    }
+
+    @Override
+    public void setSharedBound(SharedBound bound) {
+        this.shared = bound;
+        this.sharedVersion = 0;
+    }
+
+    @Override
+    public long getForeignFailCount() {
+        return foreignFails;
+    }
+
+    /**
+     * Offer <i>value</i> to the shared bound, if any
+     */
+    protected final void offer(int value) {
+        if (shared != null) {
+            shared.offer(value);
+        }
+    }
+
+    /**
+     * Read the shared bound, if any, and if it has been improved since the last call,
+     * update the best bounds of this manager.
+     */
+    protected final void pull() {
+        if (shared != null) {
+            long state = shared.get();
+            int version = SharedBound.version(state);
+            if (version != sharedVersion) {
+                sharedVersion = version;
+                updateBestSolution(SharedBound.value(state));
+            }
+        }
     }
 
     @Override
@@ -103,9 +155,22 @@ class MinIntObjManager extends AbstractIntObjManager {
         return updateBestUB(n);
     }
 
+    @Override
+    public boolean updateBestSolution() {
+        boolean improved = super.updateBestSolution();
+        ownBest = Math.min(ownBest, objective.getValue());
+        offer(ownBest);
+        return improved;
+    }
+
     @Override
     public void postDynamicCut() throws ContradictionException {
-        objective.updateBounds(bestProvedLB.intValue(), cutComputer.apply(bestProvedUB).intValue(), this);
+        pull();
+        int ub = cutComputer.apply(bestProvedUB).intValue();
+        if (ub < objective.getLB() && cutComputer.apply(ownBest).intValue() >= objective.getLB()) {
+            foreignFails++;
+        }
+        objective.updateBounds(bestProvedLB.intValue(), ub, this);
     }
 
     @Override
@@ -138,9 +203,22 @@ class MaxIntObjManager extends AbstractIntObjManager {
         return updateBestLB(n);
     }
 
+    @Override
+    public boolean updateBestSolution() {
+        boolean improved = super.updateBestSolution();
+        ownBest = Math.max(ownBest, objective.getValue());
+        offer(ownBest);
+        return improved;
+    }
+
     @Override
     public void postDynamicCut() throws ContradictionException {
-        objective.updateBounds(cutComputer.apply(bestProvedLB).intValue(), bestProvedUB.intValue(), this);
+        pull();
+        int lb = cutComputer.apply(bestProvedLB).intValue();
+        if (lb > objective.getUB() && cutComputer.apply(ownBest).intValue() <= objective.getUB()) {
+            foreignFails++;
+        }
+        objective.updateBounds(lb, bestProvedUB.intValue(), this);
     }
 
     @Override
@@ -61,4 +61,25 @@ public interface IObjectiveManager<V extends Variable> extends IBoundsManager, I
      * @throws org.chocosolver.solver.exception.ContradictionException if posting this cut fails
      */
     void postDynamicCut() throws ContradictionException;
+
+    /**
+     * Share the best bound with other managers, presumably of equivalent models solved in parallel.
+     * On each new solution, its objective value is offered to <i>bound</i>,
+     * and on each dynamic cut, the value of <i>bound</i> is used if it is better than the local one.
+     *
+     * @param bound the bound to share
+     * @throws UnsupportedOperationException if this manager does not deal with an integer objective
+     */
+    default void setSharedBound(SharedBound bound) {
+        throw new UnsupportedOperationException("Only integer objective can share its bound");
+    }
+
+    /**
+     * @return number of times {@link #postDynamicCut()} failed because of the shared bound
+     * whereas the bound of the solutions found by this manager would not have failed.
+     * @see #setSharedBound(SharedBound)
+     */
+    default long getForeignFailCount() {
+        return 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,311 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set of points of a Pareto front, all objectives being maximized, each point being attached to an object.
+ * <p>
+ * Points are indexed by a k-d tree, in which each node knows the bounding box of its subtree,
+ * so that dominance queries only visit the part of the front they are concerned with.
+ * New points are first appended to a buffer, scanned linearly, and the tree is rebuilt once the buffer
+ * or the number of removed points is large enough wrt the size of the tree.
+ * Removed points are only marked in the tree until the next rebuild, boxes remaining valid over-approximations.
+ * </p>
+ *
+ * @param <T> type of objects attached to points
+ * @since 4.10.7
+ */
+final class ParetoIndex<T> {
+
+    /**
+     * Minimum size of the buffer before rebuilding the tree
+     */
+    private static final int MIN_BUFFER = 16;
+
+    /**
+     * Number of objectives
+     */
+    private final int n;
+    /**
+     * Points, those in [0, treeSize[ being in the tree, the others in the buffer
+     */
+    private final List<int[]> points = new ArrayList<>();
+    private final List<T> objects = new ArrayList<>();
+    private boolean[] removed = new boolean[16];
+    private int nbRemoved;
+    /**
+     * Number of points in the tree
+     */
+    private int treeSize;
+    /**
+     * Points of the tree, in tree order: the root of a range of positions is at its middle
+     */
+    private int[] order = new int[0];
+    /**
+     * Bounding box of the subtree rooted at each position
+     */
+    private int[][] lo = new int[0][];
+    private int[][] hi = new int[0][];
+
+    ParetoIndex(int n) {
+        this.n = n;
+    }
+
+    /**
+     * @return the number of points
+     */
+    int size() {
+        return points.size() - nbRemoved;
+    }
+
+    /**
+     * @return the objects attached to the points
+     */
+    List<T> objects() {
+        List<T> list = new ArrayList<>(size());
+        for (int p = 0; p < points.size(); p++) {
+            if (!removed[p]) {
+                list.add(objects.get(p));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Add a point. Points it dominates should be removed beforehand.
+     *
+     * @param point  values of the objectives, copied
+     * @param object attached object
+     */
+    void add(int[] point, T object) {
+        int p = points.size();
+        points.add(point.clone());
+        objects.add(object);
+        if (p == removed.length) {
+            boolean[] tmp = removed;
+            removed = new boolean[p * 2];
+            System.arraycopy(tmp, 0, removed, 0, p);
+        }
+        removed[p] = false;
+        if (points.size() - treeSize > Math.max(MIN_BUFFER, treeSize / 4)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Remove points weakly dominated by <i>point</i>, i.e., no better on any objective
+     *
+     * @param point    values of the objectives
+     * @param onRemove called on the object attached to each removed point
+     */
+    void removeDominated(int[] point, Consumer<T> onRemove) {
+        removeDominated(0, treeSize, point, onRemove);
+        for (int p = treeSize; p < points.size(); p++) {
+            removeIfDominated(p, point, onRemove);
+        }
+        if (nbRemoved > Math.max(MIN_BUFFER, points.size() / 2)) {
+            rebuild();
+        }
+    }
+
+    private void removeDominated(int from, int to, int[] point, Consumer<T> onRemove) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int[] l = lo[mid];
+        for (int i = 0; i < n; i++) {
+            if (l[i] > point[i]) {
+                return;
+            }
+        }
+        removeIfDominated(order[mid], point, onRemove);
+        removeDominated(from, mid, point, onRemove);
+        removeDominated(mid + 1, to, point, onRemove);
+    }
+
+    private void removeIfDominated(int p, int[] point, Consumer<T> onRemove) {
+        if (removed[p]) {
+            return;
+        }
+        int[] q = points.get(p);
+        for (int i = 0; i < n; i++) {
+            if (q[i] > point[i]) {
+                return;
+            }
+        }
+        removed[p] = true;
+        nbRemoved++;
+        onRemove.accept(objects.get(p));
+    }
+
+    /**
+     * @param point values of the objectives
+     * @return <tt>true</tt> if a point is at least as good as <i>point</i> on all objectives
+     */
+    boolean dominates(int[] point) {
+        if (dominates(0, treeSize, point)) {
+            return true;
+        }
+        for (int p = treeSize; p < points.size(); p++) {
+            if (!removed[p] && geq(points.get(p), point, -1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean dominates(int from, int to, int[] point) {
+        if (from >= to || !geq(hi[(from + to) >>> 1], point, -1)) {
+            return false;
+        }
+        int mid = (from + to) >>> 1;
+        return (!removed[order[mid]] && geq(points.get(order[mid]), point, -1))
+                || dominates(from, mid, point)
+                || dominates(mid + 1, to, point);
+    }
+
+    /**
+     * Among points at least as good as <i>bound</i> on all objectives but <i>j</i>,
+     * get the best value of objective <i>j</i>.
+     * Any point better than <i>bound</i> on some objective but <i>j</i>, or worse than or equal to this value
+     * on objective <i>j</i>, is not dominated by these points.
+     *
+     * @param j     an objective
+     * @param bound values of the objectives
+     * @return the best value of objective <i>j</i>, or {@link Integer#MIN_VALUE} if no point is concerned
+     */
+    int best(int j, int[] bound) {
+        int best = best(0, treeSize, j, bound, Integer.MIN_VALUE);
+        for (int p = treeSize; p < points.size(); p++) {
+            int[] q = points.get(p);
+            if (!removed[p] && q[j] > best && geq(q, bound, j)) {
+                best = q[j];
+            }
+        }
+        return best;
+    }
+
+    private int best(int from, int to, int j, int[] bound, int best) {
+        if (from >= to) {
+            return best;
+        }
+        int mid = (from + to) >>> 1;
+        int[] h = hi[mid];
+        if (h[j] <= best || !geq(h, bound, j)) {
+            return best;
+        }
+        int p = order[mid];
+        int[] q = points.get(p);
+        if (!removed[p] && q[j] > best && geq(q, bound, j)) {
+            best = q[j];
+        }
+        best = best(from, mid, j, bound, best);
+        return best(mid + 1, to, j, bound, best);
+    }
+
+    /**
+     * @return <tt>true</tt> if <i>a</i> is greater than or equal to <i>b</i> on all objectives but <i>skip</i>
+     */
+    private boolean geq(int[] a, int[] b, int skip) {
+        for (int i = 0; i < n; i++) {
+            if (i != skip && a[i] < b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forget removed points and build a balanced tree over all points
+     */
+    private void rebuild() {
+        int k = 0;
+        for (int p = 0; p < points.size(); p++) {
+            if (!removed[p]) {
+                points.set(k, points.get(p));
+                objects.set(k, objects.get(p));
+                removed[k] = false;
+                k++;
+            }
+        }
+        points.subList(k, points.size()).clear();
+        objects.subList(k, objects.size()).clear();
+        nbRemoved = 0;
+        treeSize = k;
+        order = new int[k];
+        lo = new int[k][];
+        hi = new int[k][];
+        for (int p = 0; p < k; p++) {
+            order[p] = p;
+        }
+        build(0, k, 0);
+    }
+
+    private void build(int from, int to, int dim) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, dim);
+        build(from, mid, (dim + 1) % n);
+        build(mid + 1, to, (dim + 1) % n);
+        int[] l = points.get(order[mid]).clone();
+        int[] h = l.clone();
+        if (from < mid) {
+            merge(l, h, (from + mid) >>> 1);
+        }
+        if (mid + 1 < to) {
+            merge(l, h, (mid + 1 + to) >>> 1);
+        }
+        lo[mid] = l;
+        hi[mid] = h;
+    }
+
+    private void merge(int[] l, int[] h, int child) {
+        for (int i = 0; i < n; i++) {
+            l[i] = Math.min(l[i], lo[child][i]);
+            h[i] = Math.max(h[i], hi[child][i]);
+        }
+    }
+
+    /**
+     * Partially sort positions in [left, right] so that position <i>k</i> holds the median wrt dimension <i>dim</i>
+     */
+    private void select(int left, int right, int k, int dim) {
+        while (left < right) {
+            int pivot = points.get(order[(left + right) >>> 1])[dim];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points.get(order[i])[dim] < pivot) i++;
+                while (points.get(order[j])[dim] > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
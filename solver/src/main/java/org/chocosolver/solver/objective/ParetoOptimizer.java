@@ -9,12 +9,16 @@
  */
 package org.chocosolver.solver.objective;
 
-import org.chocosolver.solver.constraints.nary.sat.PropSat;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
-import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -22,6 +26,10 @@ import java.util.List;
 /**
  * Class to store the pareto front (multi-objective optimization).
  * Worse solutions are dynamically removed from the solution set.
+ * <p>
+ * The front is indexed by a k-d tree, and a dominance propagator filters the bounds of the objectives
+ * directly from it, so that the model does not grow with the front.
+ * </p>
  *
  * @author Jean-Guillaume Fages
  */
@@ -31,8 +39,8 @@ public class ParetoOptimizer implements IMonitorSolution {
     // VARIABLES
     //***********************************************************************************
 
-    // Set of incomparable and Pareto-best solutions
-    private LinkedList<Solution> paretoFront;
+    // Set of incomparable and Pareto-best solutions, indexed by objective values, all to maximize
+    private final ParetoIndex<Solution> paretoFront;
 
     private Model model;
 
@@ -44,9 +52,10 @@ public class ParetoOptimizer implements IMonitorSolution {
     private IntVar[] objectives;
     private int n;
 
-    // to post dynamical constraints
-    private int[] vals, lits;
-    private PropSat psat;
+    // objective values of the last solution, negated when minimizing
+    private int[] vals;
+    // prevents search from computing dominated solutions
+    private final PropDominance prop;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -55,7 +64,7 @@ public class ParetoOptimizer implements IMonitorSolution {
 	/**
      * Create an object to compute the Pareto front of a multi-objective problem.
      * Maintain the set of dominating solutions and
-     * posts constraints dynamically to prevent search from computing dominated ones.
+     * posts a constraint to prevent search from computing dominated ones.
      * This object must be used as follows:
      *
    	 *     model.getSolver().plugMonitor(paretoRecorder);
@@ -69,14 +78,14 @@ public class ParetoOptimizer implements IMonitorSolution {
      * @param objectives objective variables (must all be optimized in the same direction)
      */
     public ParetoOptimizer(final boolean maximize, final IntVar[] objectives) {
-        this.paretoFront = new LinkedList<>();
         this.objectives = objectives.clone();
         this.maximize = maximize;
         n = objectives.length;
         model = objectives[0].getModel();
-        psat = model.getMinisat().getPropSat();
+        paretoFront = new ParetoIndex<>(n);
         vals = new int[n];
-        lits = new int[n];
+        prop = new PropDominance();
+        new Constraint("PARETO", prop).post();
     }
 
     //***********************************************************************************
@@ -87,48 +96,87 @@ public class ParetoOptimizer implements IMonitorSolution {
     public void onSolution() {
         // get objective values
         for (int i = 0; i < n; i++) {
-            vals[i] = objectives[i].getValue();
+            vals[i] = maximize ? objectives[i].getValue() : -objectives[i].getValue();
         }
         // remove dominated solutions
-        for (int i = paretoFront.size() - 1; i >= 0; i--) {
-            if (isDominated(paretoFront.get(i), vals)) {
-                pool.add(paretoFront.remove(i));
-            }
-        }
+        paretoFront.removeDominated(vals, pool::add);
         // store current solution
         if(pool.isEmpty()){
-            paretoFront.add(new Solution(model).record());
+            paretoFront.add(vals, new Solution(model).record());
         }else{
             Solution solution = pool.remove();
 
             solution.record();
-            paretoFront.add(solution);
-        }
-        // post dynamical constraints to prevent search from computing dominated solutions
-        Operator symbol = Operator.GT;
-        if (!maximize) {
-            symbol = Operator.LT;
-        }
-        for (int i = 0; i < n; i++) {
-            lits[i] = psat.makeLiteral(model.arithm(objectives[i], symbol.toString(), vals[i]).reify(), true);
+            paretoFront.add(vals, solution);
         }
-        psat.addLearnt(lits);
+        // prevent search from computing dominated solutions
+        prop.onFrontChange();
     }
 
 	/**
      * @return the set of Pareto-best (possibly optimal) solutions found so far
      */
     public List<Solution> getParetoFront() {
-   		return paretoFront;
+   		return paretoFront.objects();
    	}
 
-    private boolean isDominated(Solution solution, int[] vals) {
-        for (int i = 0; i < n; i++) {
-            int delta = solution.getIntVal(objectives[i]) - vals[i];
-            if ((delta > 0 && maximize) || (delta < 0 && !maximize)) {
-                return false;
+    /**
+     * Forbids solutions weakly dominated by a solution of the front:
+     * if no objective but <i>j</i> can be better than in some solution, then objective <i>j</i> has to be.
+     * This is the unit propagation of the clauses stating that a new solution is better on at least one objective
+     * than each solution of the front.
+     */
+    private class PropDominance extends Propagator<IntVar> {
+
+        // bounds of the objectives, negated when minimizing
+        private final int[] bounds;
+
+        PropDominance() {
+            super(objectives, PropagatorPriority.LINEAR, false);
+            bounds = new int[n];
+        }
+
+        @Override
+        public int getPropagationConditions(int vIdx) {
+            return IntEventType.boundAndInst();
+        }
+
+        @Override
+        public void propagate(int evtmask) throws ContradictionException {
+            if (paretoFront.size() == 0) {
+                return;
+            }
+            for (int i = 0; i < n; i++) {
+                bounds[i] = maximize ? vars[i].getUB() : -vars[i].getLB();
+            }
+            for (int j = 0; j < n; j++) {
+                int best = paretoFront.best(j, bounds);
+                if (best != Integer.MIN_VALUE) {
+                    if (maximize) {
+                        vars[j].updateLowerBound(best + 1, this);
+                    } else {
+                        vars[j].updateUpperBound(-best - 1, this);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Called when the front changes, for it to be taken into account on backtrack
+         */
+        void onFrontChange() {
+            forcePropagationOnBacktrack();
+        }
+
+        @Override
+        public ESat isEntailed() {
+            if (isCompletelyInstantiated()) {
+                for (int i = 0; i < n; i++) {
+                    bounds[i] = maximize ? vars[i].getValue() : -vars[i].getValue();
+                }
+                return ESat.eval(!paretoFront.dominates(bounds));
             }
+            return ESat.UNDEFINED;
         }
-        return true;
     }
 }
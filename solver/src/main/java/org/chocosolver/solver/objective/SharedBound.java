@@ -0,0 +1,105 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.ResolutionPolicy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free bound on an integer objective, shared among equivalent models solved in parallel.
+ * <p>
+ * Each time a model finds a solution, its objective manager offers the objective value,
+ * and each time it posts its dynamic cut, it reads back the shared bound.
+ * The value and a version number are packed in a single {@link AtomicLong},
+ * so that reading the bound of the other models only costs a volatile read
+ * as long as the version has not changed.
+ * </p>
+ *
+ * @see IObjectiveManager#setSharedBound(SharedBound)
+ * @since 4.10.7
+ */
+public final class SharedBound {
+
+    /**
+     * Version in the 32 high bits, value in the 32 low bits
+     */
+    private final AtomicLong state;
+
+    /**
+     * Set to <tt>true</tt> when maximizing
+     */
+    private final boolean maximize;
+
+    /**
+     * Create a bound for an objective optimized with respect to <i>policy</i>
+     *
+     * @param policy either {@link ResolutionPolicy#MINIMIZE} or {@link ResolutionPolicy#MAXIMIZE}
+     */
+    public SharedBound(ResolutionPolicy policy) {
+        if (policy == ResolutionPolicy.SATISFACTION) {
+            throw new IllegalArgumentException("A shared bound requires an optimization policy");
+        }
+        this.maximize = policy == ResolutionPolicy.MAXIMIZE;
+        this.state = new AtomicLong(pack(0, maximize ? Integer.MIN_VALUE : Integer.MAX_VALUE));
+    }
+
+    /**
+     * Offer the objective value of a new solution
+     *
+     * @param value objective value of a solution
+     * @return <tt>true</tt> if <i>value</i> improves the shared bound
+     */
+    public boolean offer(int value) {
+        long s = state.get();
+        while (maximize ? value > value(s) : value < value(s)) {
+            if (state.compareAndSet(s, pack(version(s) + 1, value))) {
+                return true;
+            }
+            s = state.get();
+        }
+        return false;
+    }
+
+    /**
+     * @return the best objective value offered so far
+     * (or {@link Integer#MIN_VALUE}, resp. {@link Integer#MAX_VALUE}, when maximizing, resp. minimizing,
+     * if no value has been offered yet)
+     */
+    public int getValue() {
+        return value(state.get());
+    }
+
+    /**
+     * @return the number of times the bound has been improved
+     */
+    public int getVersion() {
+        return version(state.get());
+    }
+
+    /**
+     * @return the version and the value, to be decoded with {@link #version(long)} and {@link #value(long)}
+     */
+    long get() {
+        return state.get();
+    }
+
+    static int version(long state) {
+        return (int) (state >>> 32);
+    }
+
+    static int value(long state) {
+        return (int) state;
+    }
+
+    private static long pack(int version, int value) {
+        return ((long) version << 32) | (value & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+
+import java.util.Arrays;
+
+/**
+ * Decides in which queue of the {@link PropagationEngine} a propagator is scheduled,
+ * based on its recent pruning yield.
+ * <p>
+ * For each propagator whose priority is at least {@link #getMinPriority()}, the ratio of calls which
+ * either modify a variable or fail is estimated by an exponential moving average.
+ * When it gets below {@link #getThreshold()}, the propagator is demoted:
+ * it is then scheduled in an extra queue, executed after all the others,
+ * so that it is not called if a cheaper propagator fails first.
+ * The fix point reached is not modified, only the order in which propagators are executed.
+ * </p>
+ * <p>
+ * Since a delayed propagator naturally prunes less, its yield is biased.
+ * So, like in a bandit, a demoted propagator is given a new trial at its original priority every
+ * {@link #getPeriod()} calls; it is promoted back if it prunes enough during the trial.
+ * </p>
+ *
+ * @see PropagationEngine#setScheduler(AdaptiveScheduler)
+ * @see org.chocosolver.solver.Settings#enableAdaptivePropagation()
+ * @since 4.10.7
+ */
+public final class AdaptiveScheduler {
+
+    /**
+     * Index of the queue in which demoted propagators are scheduled
+     */
+    static final int DEMOTED = PropagatorPriority.VERY_SLOW.priority + 1;
+
+    /**
+     * Weight of the last call in the moving average
+     */
+    private static final double ALPHA = 1d / 8;
+
+    private final int minPriority;
+
+    private final double threshold;
+
+    private final int period;
+
+    /**
+     * Moving average of the yield, indexed by propagator ID
+     */
+    private double[] yield;
+
+    /**
+     * Number of calls before a new trial, strictly positive iff the propagator is demoted,
+     * indexed by propagator ID
+     */
+    private int[] countdown;
+
+    private long demotions;
+
+    /**
+     * Create an adaptive scheduler
+     *
+     * @param minPriority only propagators with this priority or a slower one are adapted
+     * @param threshold   yield under which a propagator is demoted, in ]0,1[
+     * @param period      number of calls of a demoted propagator before it is given a new trial
+     */
+    public AdaptiveScheduler(PropagatorPriority minPriority, double threshold, int period) {
+        if (threshold <= 0 || threshold >= 1) {
+            throw new IllegalArgumentException("The yield threshold must be in ]0,1[");
+        }
+        if (period < 1) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+        this.minPriority = minPriority.priority;
+        this.threshold = threshold;
+        this.period = period;
+        this.yield = new double[16];
+        Arrays.fill(yield, 1d);
+        this.countdown = new int[16];
+    }
+
+    /**
+     * Create an adaptive scheduler which adapts quadratic propagators and slower ones,
+     * demotes them when less than 5% of their calls prune
+     * and gives them a new trial every 100 calls.
+     */
+    public AdaptiveScheduler() {
+        this(PropagatorPriority.QUADRATIC, .05, 100);
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return index of the queue <i>propagator</i> has to be scheduled in
+     */
+    int queueOf(Propagator propagator) {
+        int id = propagator.getId();
+        return id < countdown.length && countdown[id] > 0 ? DEMOTED : propagator.getPriority().priority;
+    }
+
+    /**
+     * Update the yield of <i>propagator</i> after a call
+     *
+     * @param propagator a propagator just executed
+     * @param pruned     <tt>true</tt> if the call modified a variable or failed
+     */
+    void record(Propagator propagator, boolean pruned) {
+        if (propagator.getPriority().priority < minPriority) {
+            return;
+        }
+        int id = propagator.getId();
+        if (id >= yield.length) {
+            int n = Math.max(id + 1, yield.length * 3 / 2);
+            int o = yield.length;
+            yield = Arrays.copyOf(yield, n);
+            Arrays.fill(yield, o, n, 1d);
+            countdown = Arrays.copyOf(countdown, n);
+        }
+        double y = yield[id] += ALPHA * ((pruned ? 1d : 0d) - yield[id]);
+        if (countdown[id] > 0) {
+            if (y >= 2 * threshold) {
+                countdown[id] = 0;
+            } else if (--countdown[id] == 0) {
+                // new trial, long enough to be meaningful
+                yield[id] = 2 * threshold;
+            }
+        } else if (y < threshold) {
+            countdown[id] = period;
+            demotions++;
+        }
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return <tt>true</tt> if <i>propagator</i> is currently demoted
+     */
+    public boolean isDemoted(Propagator propagator) {
+        return queueOf(propagator) == DEMOTED;
+    }
+
+    /**
+     * @return the number of times a propagator has been demoted
+     */
+    public long getNbDemotions() {
+        return demotions;
+    }
+
+    /**
+     * @return the priority from which propagators are adapted
+     */
+    public int getMinPriority() {
+        return minPriority;
+    }
+
+    /**
+     * @return the yield under which a propagator is demoted
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return the number of calls of a demoted propagator before it is given a new trial
+     */
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -30,6 +30,8 @@ import java.util.function.Consumer;
  * This engine is priority-driven constraint-oriented seven queues engine.
  * <br/>On a call to {@code onVariableUpdate}, it stores the event generated and schedules the propagator in
  * one of the 7 queues wrt to its priority for future revision.
+ * <br/>With an {@link AdaptiveScheduler}, propagators with a low pruning yield are scheduled
+ * in an eighth queue, executed last.
  * <p>
  * <br/>
  *
@@ -89,6 +91,22 @@ public class PropagationEngine {
      * when set to '0b10', this workds as a variable- oriented propagation engine.
      */
     private final byte hybrid;
+    /**
+     * Records statistics per propagator, if not null
+     */
+    private PropagationProfiler profiler;
+    /**
+     * Adapts the queue of propagators to their yield, if not null
+     */
+    private AdaptiveScheduler scheduler;
+    /**
+     * Set to <tt>true</tt> when {@link #lastProp} modifies a variable, only maintained with a scheduler
+     */
+    private boolean pruned;
+    /**
+     * Number of propagators added, or whose scope has been modified, once the engine is initialized
+     */
+    private long nbDynamicChanges;
     /**
      * For dynamyc addition, avoid creating a new lambda at each call
      */
@@ -110,8 +128,8 @@ public class PropagationEngine {
     public PropagationEngine(Model model) {
         this.model = model;
         //noinspection unchecked
-        this.pro_queue = new CircularQueue[8];
-        for (int i = 0; i < 8; i++) {
+        this.pro_queue = new CircularQueue[AdaptiveScheduler.DEMOTED + 1];
+        for (int i = 0; i < pro_queue.length; i++) {
             pro_queue[i] = new CircularQueue<>(16);
         }
         this.var_queue = new CircularQueue<>(16);
@@ -119,6 +137,9 @@ public class PropagationEngine {
         this.dynPropagators = new DynPropagators();
         this.propagators = new ArrayList<>();
         this.hybrid = model.getSettings().enableHybridizationOfPropagationEngine();
+        if (model.getSettings().enableAdaptivePropagation()) {
+            this.scheduler = new AdaptiveScheduler();
+        }
     }
 
     /**
@@ -181,15 +202,10 @@ public class PropagationEngine {
                 }
                 // revision of the variable
                 lastProp.unschedule();
-                delayedPropagationType = 0;
-                if (lastProp.reactToFineEvent()) {
-                    lastProp.doFinePropagation();
-                    // now we can check whether a delayed propagation has been scheduled
-                    if (delayedPropagationType > 0) {
-                        lastProp.propagate(delayedPropagationType);
-                    }
-                } else if (lastProp.isActive()) { // need to be checked due to views
-                    lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                if (profiler == null && scheduler == null) {
+                    revise(lastProp);
+                } else {
+                    reviseAndMonitor(lastProp);
                 }
                 if (hybrid < 0b01) {
                     manageModifications();
@@ -198,6 +214,43 @@ public class PropagationEngine {
         } while (!var_queue.isEmpty());
     }
 
+    private void reviseAndMonitor(Propagator propagator) throws ContradictionException {
+        if (profiler != null) {
+            profiler.start(propagator);
+        }
+        pruned = false;
+        try {
+            revise(propagator);
+        } catch (ContradictionException cex) {
+            if (profiler != null) {
+                profiler.stop(true);
+            }
+            if (scheduler != null) {
+                scheduler.record(propagator, true);
+            }
+            throw cex;
+        }
+        if (profiler != null) {
+            profiler.stop(false);
+        }
+        if (scheduler != null) {
+            scheduler.record(propagator, pruned);
+        }
+    }
+
+    private void revise(Propagator propagator) throws ContradictionException {
+        delayedPropagationType = 0;
+        if (propagator.reactToFineEvent()) {
+            propagator.doFinePropagation();
+            // now we can check whether a delayed propagation has been scheduled
+            if (delayedPropagationType > 0) {
+                propagator.propagate(delayedPropagationType);
+            }
+        } else if (propagator.isActive()) { // need to be checked due to views
+            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        }
+    }
+
     /**
      * Checks if some propagators were added or have to be propagated on backtrack
      * @throws ContradictionException if a propagation fails
@@ -222,7 +275,18 @@ public class PropagationEngine {
             propagator.setActive();
         }
         if (propagator.isActive()) {
-            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            if (profiler == null) {
+                propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            } else {
+                profiler.start(propagator);
+                try {
+                    propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                } catch (ContradictionException cex) {
+                    profiler.stop(true);
+                    throw cex;
+                }
+                profiler.stop(false);
+            }
             while (!var_queue.isEmpty()) {
                 schedule(var_queue.pollFirst());
             }
@@ -279,6 +343,12 @@ public class PropagationEngine {
             }
             assert found : variable + " not in scope of " + cause;
         }
+        if (profiler != null) {
+            profiler.onEvent(cause);
+        }
+        if (scheduler != null && cause == lastProp) {
+            pruned = true;
+        }
         var_queue.addLast(variable);
         variable.storeEvents(type.getMask(), cause);
     }
@@ -309,7 +379,11 @@ public class PropagationEngine {
 
     public void schedule(Propagator prop, int pindice, int mask) {
         prop.doScheduleEvent(pindice, mask);
-        notEmpty |= (1 << prop.doSchedule(pro_queue));
+        if (scheduler == null) {
+            notEmpty |= (1 << prop.doSchedule(pro_queue));
+        } else if (!prop.isScheduled()) {
+            notEmpty |= (1 << prop.doSchedule(pro_queue, scheduler.queueOf(prop)));
+        }
     }
 
     /**
@@ -344,6 +418,52 @@ public class PropagationEngine {
         }
     }
 
+    /**
+     * Set the profiler which records statistics per propagator.
+     * When no profiler is set (the default), nothing is recorded.
+     *
+     * @param profiler a profiler, or <i>null</i> to stop profiling
+     */
+    public void setProfiler(PropagationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler which records statistics per propagator, or <i>null</i> if none
+     */
+    public PropagationProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Set the scheduler which adapts the queue propagators are scheduled in to their yield.
+     * When no scheduler is set, propagators are scheduled wrt their priority.
+     * Must be called before propagation starts.
+     *
+     * @param scheduler a scheduler, or <i>null</i> to schedule propagators wrt their priority
+     * @see org.chocosolver.solver.Settings#setEnableAdaptivePropagation(boolean)
+     */
+    public void setScheduler(AdaptiveScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return the scheduler which adapts the queue propagators are scheduled in, or <i>null</i> if none
+     */
+    public AdaptiveScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return the number of propagators added, or whose scope has been modified, during resolution:
+     * it changes each time the constraint network does
+     * @see #dynamicAddition(boolean, Propagator...)
+     * @see #updateInvolvedVariables(Propagator)
+     */
+    public long getNbDynamicChanges() {
+        return nbDynamicChanges;
+    }
+
     /**
      * Reset the propagation engine.
      */
@@ -378,6 +498,7 @@ public class PropagationEngine {
      *                  * @throws SolverException if a constraint is declared more than once in this propagation engine
      */
     public void dynamicAddition(boolean permanent, Propagator... ps) throws SolverException {
+        nbDynamicChanges++;
         int nbp = ps.length;
         for (int i = 0; i < nbp; i++) {
             if (permanent) {
@@ -395,6 +516,7 @@ public class PropagationEngine {
      * @param p a propagator
      */
     public void updateInvolvedVariables(Propagator p) {
+        nbDynamicChanges++;
         propagateOnBacktrack(p); // TODO: when p is not permanent AND a new var is added ... well, one looks for trouble!
     }
 
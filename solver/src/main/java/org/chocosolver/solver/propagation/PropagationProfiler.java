@@ -0,0 +1,126 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.search.measure.PropagationStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records, for each propagator, the number of calls, the number of variable modifications produced,
+ * the number of failures and the time spent, while the {@link PropagationEngine} propagates.
+ * <p>
+ * Counters are stored in arrays indexed by propagator ID, so that recording does not allocate.
+ * Propagators executed while another one is running (for instance, by a reification) are timed
+ * on their own, and their time is also counted in the one of the propagator that executed them.
+ * </p>
+ *
+ * @see PropagationEngine#setProfiler(PropagationProfiler)
+ * @since 4.10.7
+ */
+public final class PropagationProfiler {
+
+    private Propagator[] props = new Propagator[16];
+    private long[] calls = new long[16];
+    private long[] events = new long[16];
+    private long[] fails = new long[16];
+    private long[] times = new long[16];
+
+    /**
+     * Propagators being executed, the last one is the innermost
+     */
+    private Propagator[] running = new Propagator[4];
+    private long[] starts = new long[4];
+    private int depth;
+
+    /**
+     * Called before <i>propagator</i> is executed
+     */
+    void start(Propagator propagator) {
+        int id = propagator.getId();
+        if (id >= props.length) {
+            grow(id);
+        }
+        props[id] = propagator;
+        calls[id]++;
+        if (depth == running.length) {
+            running = Arrays.copyOf(running, depth * 2);
+            starts = Arrays.copyOf(starts, depth * 2);
+        }
+        running[depth] = propagator;
+        starts[depth++] = System.nanoTime();
+    }
+
+    /**
+     * Called after the propagator passed to the last call to {@link #start(Propagator)} has been executed
+     *
+     * @param failed set to <tt>true</tt> if the propagator has thrown a contradiction
+     */
+    void stop(boolean failed) {
+        int id = running[--depth].getId();
+        running[depth] = null;
+        times[id] += System.nanoTime() - starts[depth];
+        if (failed) {
+            fails[id]++;
+        }
+    }
+
+    /**
+     * Called when a variable is modified by <i>cause</i>
+     */
+    void onEvent(ICause cause) {
+        if (depth > 0 && running[depth - 1] == cause) {
+            events[running[depth - 1].getId()]++;
+        }
+    }
+
+    private void grow(int id) {
+        int n = Math.max(id + 1, props.length * 3 / 2);
+        props = Arrays.copyOf(props, n);
+        calls = Arrays.copyOf(calls, n);
+        events = Arrays.copyOf(events, n);
+        fails = Arrays.copyOf(fails, n);
+        times = Arrays.copyOf(times, n);
+    }
+
+    /**
+     * Erase all counters
+     */
+    public void reset() {
+        Arrays.fill(props, null);
+        Arrays.fill(calls, 0);
+        Arrays.fill(events, 0);
+        Arrays.fill(fails, 0);
+        Arrays.fill(times, 0);
+    }
+
+    /**
+     * @return a snapshot of the counters
+     */
+    public PropagationStatistics export() {
+        List<PropagationStatistics.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < props.length; i++) {
+            if (props[i] != null) {
+                Propagator p = props[i];
+                String name = p.getClass().getSimpleName() + "#" + i;
+                if (p.getConstraint() != null) {
+                    name += " of " + p.getConstraint().getName();
+                }
+                entries.add(new PropagationStatistics.Entry(p.getClass().getName(), name,
+                        i, calls[i], events[i], fails[i], times[i]));
+            }
+        }
+        return new PropagationStatistics(entries);
+    }
+}
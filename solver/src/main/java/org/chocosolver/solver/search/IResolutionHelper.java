@@ -11,6 +11,7 @@ package org.chocosolver.solver.search;
 
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.SolutionStore;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
@@ -201,6 +202,70 @@ public interface IResolutionHelper extends ISelf<Solver> {
         return solutions;
     }
 
+    /**
+     * Attempts to find all solutions of the declared satisfaction problem, and stores the value of the variables of
+     * <i>store</i> in it.
+     * Contrary to {@link #findAllSolutions(Variable[], Criterion...)}, no {@link Solution} is created:
+     * a solution only costs one <tt>int</tt> per variable.
+     * <p>
+     * This method run the following instructions:
+     * <pre>
+     *     {@code
+     *     while (model.getSolver().solve()){
+     *          store.record();
+     *     }
+     *     return store;
+     *     }
+     * </pre>
+     * <p>
+     * Note that it clears the current objective function, if any
+     *
+     * @param store where to store solutions
+     * @param stop  optional criterion to stop the search before finding all solutions
+     * @return <i>store</i>
+     */
+    default SolutionStore findAllSolutions(SolutionStore store, Criterion... stop) {
+        ref().getModel().clearObjective();
+        ref().addStopCriterion(stop);
+        while (ref().solve()) {
+            store.record();
+        }
+        ref().removeStopCriterion(stop);
+        return store;
+    }
+
+    /**
+     * Attempts to find all solutions of the declared satisfaction problem, and pushes each of them to <i>sink</i>,
+     * as the values of <i>vars</i>.
+     * Solutions are not stored, and no object is created per solution:
+     * the same array of values is passed to <i>sink</i> on each solution.
+     * The enumeration stops as soon as <i>sink</i> returns <tt>false</tt>.
+     * <p>
+     * Note that it clears the current objective function, if any
+     *
+     * @param vars the variables whose value is passed to <i>sink</i>
+     * @param sink the receiver of solutions
+     * @param stop optional criterion to stop the search before finding all solutions
+     * @return the number of solutions passed to <i>sink</i>
+     */
+    default long forEachSolution(IntVar[] vars, ISolutionSink sink, Criterion... stop) {
+        ref().getModel().clearObjective();
+        ref().addStopCriterion(stop);
+        int[] values = new int[vars.length];
+        long nb = 0;
+        while (ref().solve()) {
+            for (int i = 0; i < vars.length; i++) {
+                values[i] = vars[i].getValue();
+            }
+            nb++;
+            if (!sink.accept(values)) {
+                break;
+            }
+        }
+        ref().removeStopCriterion(stop);
+        return nb;
+    }
+
     /**
      * Attempts to find all solutions of the declared problem.
      * <ul>
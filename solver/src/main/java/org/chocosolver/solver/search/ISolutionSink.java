@@ -0,0 +1,30 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+/**
+ * Receives solutions as they are found, as the values of a fixed list of integer variables.
+ * <p>
+ * The array passed is reused from one solution to the next: it has to be copied to be kept.
+ *
+ * @see IResolutionHelper#forEachSolution(org.chocosolver.solver.variables.IntVar[], ISolutionSink, org.chocosolver.util.criteria.Criterion...)
+ * @since 4.10.7
+ */
+@FunctionalInterface
+public interface ISolutionSink {
+
+    /**
+     * Called on each solution.
+     *
+     * @param values the value of each variable in the solution, only valid during this call
+     * @return <tt>true</tt> to look for the next solution, <tt>false</tt> to stop the enumeration
+     */
+    boolean accept(int[] values);
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * This class drives a Large Neighborhood Search run in parallel by several models,
+ * for instance the ones of a {@link org.chocosolver.solver.ParallelPortfolio}.
+ * As for {@link org.chocosolver.solver.search.loop.move.SubtreeStealer}, all models are supposed to be created
+ * following the very same steps, so that a variable has the same ID in all models.
+ * <p>
+ * The pool declares kinds of neighborhoods, each one being built for each model by a factory.
+ * On each restart, a worker draws the kind of its next fragment from the pool,
+ * the more a kind has improved the incumbent, the more likely it is drawn, as in {@link AdaptiveNeighborhood}.
+ * A worker which improves the incumbent publishes its solution to the pool,
+ * and the other workers build their next fragments from it, on their next restart.
+ * </p>
+ * <p>
+ * The pool keeps, for each kind of neighborhood, the number of fragments drawn,
+ * the number of improvements of the incumbent found within them and the overall gain on the objective.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public class NeighborhoodPool {
+
+    /**
+     * Names of the kinds of neighborhoods
+     */
+    private final List<String> names = new ArrayList<>();
+    /**
+     * Factories of the kinds of neighborhoods
+     */
+    private final List<Function<Model, INeighbor>> factories = new ArrayList<>();
+    /**
+     * Number of fails before a worker moves to a new fragment
+     */
+    private final long failLimit;
+    private final Random random;
+    /**
+     * Number of workers plugged so far, once a neighborhood is created no kind can be declared anymore
+     */
+    private int nbWorkers;
+    /**
+     * For each kind, number of fragments drawn
+     */
+    private long[] runs = new long[0];
+    /**
+     * For each kind, number of improvements of the incumbent
+     */
+    private long[] improvements = new long[0];
+    /**
+     * For each kind, sum of the improvements of the objective
+     */
+    private long[] gains = new long[0];
+    private ResolutionPolicy policy;
+    /**
+     * Best solution found so far by any worker, never modified once published
+     */
+    private Solution incumbent;
+    private int best;
+    /**
+     * Number of improvements of the incumbent, used by workers to detect a new one
+     */
+    private int version;
+
+    /**
+     * Create a pool of neighborhoods.
+     *
+     * @param seed      seed of the random selection of neighborhoods
+     * @param failLimit number of fails before a worker moves to a new fragment
+     */
+    public NeighborhoodPool(long seed, long failLimit) {
+        this.random = new Random(seed);
+        this.failLimit = failLimit;
+    }
+
+    /**
+     * Declare a kind of neighborhood.
+     * Must be called before any model is added.
+     *
+     * @param name    name of the kind of neighborhood, to report statistics
+     * @param factory creates the neighborhood of a model, e.g.,
+     *                <code>m -> INeighborFactory.random(m.retrieveIntVars(true))</code>
+     * @return this pool
+     */
+    public synchronized NeighborhoodPool addNeighborhood(String name, Function<Model, INeighbor> factory) {
+        if (nbWorkers > 0) {
+            throw new SolverException("Cannot declare a neighborhood once a model is added to the pool.");
+        }
+        names.add(name);
+        factories.add(factory);
+        runs = Arrays.copyOf(runs, names.size());
+        improvements = Arrays.copyOf(improvements, names.size());
+        gains = Arrays.copyOf(gains, names.size());
+        return this;
+    }
+
+    /**
+     * Plug a Large Neighborhood Search, drawing its fragments from this pool, into the solver of <i>model</i>.
+     * Must be called once the search of the model is configured.
+     *
+     * @param model an optimization model with an integer objective
+     * @throws SolverException if no neighborhood is declared or if the model does not optimize an integer objective
+     */
+    public synchronized void add(Model model) {
+        if (names.isEmpty()) {
+            throw new SolverException("No neighborhood declared in the pool.");
+        }
+        if (model.getResolutionPolicy() == ResolutionPolicy.SATISFACTION
+                || (model.getObjective().getTypeAndKind() & Variable.INT) == 0) {
+            throw new SolverException("A pool of neighborhoods requires an integer objective to optimize.");
+        }
+        assert policy == null || policy == model.getResolutionPolicy() : "Cannot share an incumbent between non equivalent models";
+        policy = model.getResolutionPolicy();
+        INeighbor[] neighbors = new INeighbor[names.size()];
+        for (int i = 0; i < neighbors.length; i++) {
+            neighbors[i] = factories.get(i).apply(model);
+        }
+        nbWorkers++;
+        model.getSolver().setLNS(new PooledNeighborhood(this, model, neighbors), new FailCounter(model, failLimit));
+    }
+
+    /**
+     * @return the index of the kind of neighborhood of the next fragment
+     */
+    synchronized int draw() {
+        long sum = 0;
+        for (int i = 0; i < improvements.length; i++) {
+            sum += improvements[i] + 1;
+        }
+        long r = random.nextInt((int) sum);
+        int who = 0;
+        while ((r -= improvements[who] + 1) >= 0) {
+            who++;
+        }
+        runs[who]++;
+        return who;
+    }
+
+    /**
+     * Called by a worker on each solution: publish it if it improves the incumbent.
+     *
+     * @param w   the worker, whose variables are instantiated
+     * @param who the kind of neighborhood of the fragment the solution belongs to, -1 if none
+     */
+    void offer(PooledNeighborhood w, int who) {
+        Model model = w.model;
+        int value = ((IntVar) model.getObjective()).getValue();
+        synchronized (this) {
+            if (incumbent != null
+                    && (policy == ResolutionPolicy.MINIMIZE ? value >= best : value <= best)) {
+                return;
+            }
+            if (who >= 0) {
+                improvements[who]++;
+                if (incumbent != null) {
+                    gains[who] += Math.abs((long) value - best);
+                }
+            }
+            incumbent = new Solution(model).record();
+            best = value;
+            w.version = ++version;
+        }
+    }
+
+    /**
+     * Called by a worker on each restart: load the incumbent into its neighborhoods,
+     * unless it already knows it.
+     *
+     * @param w the worker
+     */
+    synchronized void synchronize(PooledNeighborhood w) {
+        if (w.version < version) {
+            w.version = version;
+            w.load(incumbent);
+        }
+    }
+
+    /**
+     * @return the number of kinds of neighborhoods
+     */
+    public synchronized int getNbNeighborhoods() {
+        return names.size();
+    }
+
+    /**
+     * @param i index of a kind of neighborhood, in order of declaration
+     * @return its name
+     */
+    public synchronized String getName(int i) {
+        return names.get(i);
+    }
+
+    /**
+     * @param i index of a kind of neighborhood, in order of declaration
+     * @return the number of fragments of this kind drawn so far
+     */
+    public synchronized long getNbRuns(int i) {
+        return runs[i];
+    }
+
+    /**
+     * @param i index of a kind of neighborhood, in order of declaration
+     * @return the number of improvements of the incumbent found in fragments of this kind
+     */
+    public synchronized long getNbImprovements(int i) {
+        return improvements[i];
+    }
+
+    /**
+     * @param i index of a kind of neighborhood, in order of declaration
+     * @return the sum of the improvements of the objective found in fragments of this kind
+     */
+    public synchronized long getGain(int i) {
+        return gains[i];
+    }
+
+    /**
+     * @return the best solution found so far by any worker, or <tt>null</tt> if none
+     */
+    public synchronized Solution getIncumbent() {
+        return incumbent;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder st = new StringBuilder("Neighborhoods:");
+        for (int i = 0; i < names.size(); i++) {
+            st.append(String.format("%n\t%s: %d fragments, %d improvements, gain %d",
+                    names.get(i), runs[i], improvements[i], gains[i]));
+        }
+        return st.toString();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * A neighbor of a worker driven by a {@link NeighborhoodPool}.
+ * It holds one neighborhood of each kind declared in the pool, built for its model.
+ * The kind of each fragment is drawn from the pool, and the fragment is built
+ * from the best solution known by the pool.
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class PooledNeighborhood implements INeighbor {
+
+    private final NeighborhoodPool pool;
+    final Model model;
+    /**
+     * neighbors of this worker, one per kind declared in the pool
+     */
+    private final INeighbor[] neighbors;
+    /**
+     * neighbor currently selected, -1 if none
+     */
+    private int who = -1;
+    /**
+     * Version of the incumbent of the pool the neighbors are based on
+     */
+    int version;
+
+    PooledNeighborhood(NeighborhoodPool pool, Model model, INeighbor[] neighbors) {
+        this.pool = pool;
+        this.model = model;
+        this.neighbors = neighbors;
+    }
+
+    @Override
+    public void init() {
+        for (INeighbor neighbor : neighbors) {
+            neighbor.init();
+        }
+    }
+
+    @Override
+    public void recordSolution() {
+        for (INeighbor neighbor : neighbors) {
+            neighbor.recordSolution();
+        }
+        pool.offer(this, who);
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        load(solution);
+    }
+
+    void load(Solution solution) {
+        for (INeighbor neighbor : neighbors) {
+            neighbor.loadFromSolution(solution);
+        }
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        pool.synchronize(this);
+        who = pool.draw();
+        neighbors[who].fixSomeVariables();
+    }
+
+    @Override
+    public void restrictLess() {
+        if (who >= 0) {
+            neighbors[who].restrictLess();
+        }
+    }
+
+    /**
+     * @return true iff the neighbor which built the last fragment is in a complete mode,
+     * the other kinds of neighbors did not take part in the current run
+     */
+    @Override
+    public boolean isSearchComplete() {
+        return who >= 0 && neighbors[who].isSearchComplete();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorClose;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This {@link Move} implementation enables a worker of a {@link org.chocosolver.solver.ParallelPortfolio}
+ * to explore subtrees stolen from other workers once its own search space is explored,
+ * and to give subtrees away to idle workers. It is not self-content
+ * and needs a underlying {@link Move} to explore its search space and each subtree.
+ * <p>
+ * A stolen subtree is entered by applying, at root node, the decisions leading to it, which cannot be refuted.
+ * They are applied again after each restart.
+ * Moving to another subtree is done with a restart.
+ * </p>
+ *
+ * @see SubtreeStealer
+ * @since 4.10.7
+ */
+public class MoveSteal implements Move, IMonitorClose {
+
+    /**
+     * the {@link Move} exploring the search space, and then each subtree
+     */
+    private Move move;
+    /**
+     * Manages subtrees among workers
+     */
+    private final SubtreeStealer stealer;
+    final Model model;
+    /**
+     * Index of the worker
+     */
+    final int worker;
+    final boolean reliable;
+    /**
+     * Subtree being explored, <i>null</i> for the search space of the worker
+     */
+    SubtreeStealer.Subtree job;
+    SubtreeStealer.State state = SubtreeStealer.State.BUSY;
+
+    MoveSteal(Move move, SubtreeStealer stealer, Model model, int worker, boolean reliable) {
+        this.move = move;
+        this.stealer = stealer;
+        this.model = model;
+        this.worker = worker;
+        this.reliable = reliable;
+    }
+
+    @Override
+    public boolean init() {
+        return move.init();
+    }
+
+    /**
+     * Return true when:
+     * <ul>
+     * <li>a decision leading to the current subtree is applied,</li>
+     * <li>or the underlying move provides a new decision,</li>
+     * <li>or the worker is idle and should stop waiting for a subtree, in which case nothing is applied.</li>
+     * </ul>
+     *
+     * @param solver SearchLoop
+     * @return true if the decision path is extended
+     */
+    @Override
+    public boolean extend(Solver solver) {
+        if (state == SubtreeStealer.State.PAUSED) {
+            stealer.setState(this, SubtreeStealer.State.BUSY);
+        }
+        if (state == SubtreeStealer.State.IDLE && !await(solver)) {
+            return true;
+        }
+        DecisionPath path = solver.getDecisionPath();
+        // after a restart, enter the subtree again
+        if (job != null && path.size() - 1 < job.size()) {
+            path.pushDecision(job.decision(path.size() - 1, model, path));
+            solver.getEnvironment().worldPush();
+            return true;
+        }
+        if (stealer.isWanted()) {
+            stealer.donate(this, solver);
+        }
+        return move.extend(solver);
+    }
+
+    /**
+     * Return false when:
+     * <ul>
+     * <li>the search space of a reliable worker is proven to be explored,</li>
+     * <li>or the root node fails while the worker is idle.</li>
+     * </ul>
+     * Otherwise, when the underlying move cannot repair,
+     * the worker becomes idle and waits for a subtree on next extension.
+     *
+     * @param solver SearchLoop
+     * @return true if the decision path is repaired
+     */
+    @Override
+    public boolean repair(Solver solver) {
+        if (state == SubtreeStealer.State.PAUSED) {
+            stealer.setState(this, SubtreeStealer.State.BUSY);
+        }
+        if (state == SubtreeStealer.State.IDLE) {
+            // the cut cannot be satisfied anymore
+            stealer.setState(this, SubtreeStealer.State.OVER);
+            return false;
+        }
+        if (move.repair(solver)) {
+            return true;
+        }
+        if (stealer.explored(this)) {
+            return false;
+        }
+        solver.restart();
+        return true;
+    }
+
+    /**
+     * Wait for a subtree, until one is given or a stop criterion is met.
+     *
+     * @param solver SearchLoop
+     * @return <tt>true</tt> if a subtree is given
+     */
+    private boolean await(Solver solver) {
+        try {
+            while (!solver.isStopCriterionMet()) {
+                switch (stealer.take(this)) {
+                    case TAKEN:
+                        return true;
+                    case OVER:
+                        // check again, the other workers may have been stopped
+                        if (!solver.isStopCriterionMet()) {
+                            stealer.setState(this, SubtreeStealer.State.OVER);
+                        }
+                        return false;
+                    default:
+                        break;
+                }
+            }
+        } catch (InterruptedException e) {
+            stealer.setState(this, SubtreeStealer.State.OVER);
+        }
+        return false;
+    }
+
+    /**
+     * @return <tt>true</tt> if this worker cannot expect any subtree anymore
+     */
+    boolean isOver() {
+        return state == SubtreeStealer.State.OVER;
+    }
+
+    @Override
+    public void afterClose() {
+        if (state == SubtreeStealer.State.BUSY) {
+            // stopped by a criterion: cannot give subtrees away until resumed
+            stealer.setState(this, SubtreeStealer.State.PAUSED);
+        }
+    }
+
+    @Override
+    public void setTopDecisionPosition(int position) {
+        this.move.setTopDecisionPosition(position);
+    }
+
+    @Override
+    public <V extends Variable> AbstractStrategy<V> getStrategy() {
+        return move.getStrategy();
+    }
+
+    @Override
+    public <V extends Variable> void setStrategy(AbstractStrategy<V> aStrategy) {
+        move.setStrategy(aStrategy);
+    }
+
+    @Override
+    public void removeStrategy() {
+        move.removeStrategy();
+    }
+
+    @Override
+    public List<Move> getChildMoves() {
+        return Collections.singletonList(move);
+    }
+
+    @Override
+    public void setChildMoves(List<Move> someMoves) {
+        if (someMoves.size() == 1) {
+            this.move = someMoves.get(0);
+        } else {
+            throw new UnsupportedOperationException("Only one child move can be attached to it.");
+        }
+    }
+}
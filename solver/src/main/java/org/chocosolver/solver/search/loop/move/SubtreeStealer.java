@@ -0,0 +1,307 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class manages subtree stealing among models involved in a {@link org.chocosolver.solver.ParallelPortfolio}.
+ * As for {@link org.chocosolver.solver.constraints.nary.sat.NogoodStealer}, all models are supposed to be created
+ * following the very same steps, so that a variable has the same ID in all models.
+ * <p>
+ * Each model is driven by a {@link MoveSteal}.
+ * When a worker has explored its search space, it becomes idle and waits for a subtree.
+ * A busy worker, running a depth-first search without restarts, then gives away the shallowest right branch
+ * left open in its decision path: the subtree is described by the decisions leading to it,
+ * and the donor will not refute the decision anymore.
+ * </p>
+ * <p>
+ * The search space of a reliable worker is thus split into subtrees explored by several workers.
+ * It is proven to be explored once the worker and all the workers that explore subtrees given away from it,
+ * transitively, are done. An unreliable worker can explore a subtree too, looking for solutions,
+ * but the subtree is given back when explored and has to be explored by a reliable worker afterwards.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public class SubtreeStealer {
+
+    /**
+     * Time waited by an idle worker before checking its stop criteria again, in milliseconds
+     */
+    private static final long WAIT = 10;
+
+    /**
+     * A subtree, defined by a conjunction of decisions, each one being an integer variable ID, an operator and a value.
+     */
+    static final class Subtree {
+        /**
+         * Index of the worker whose search space this subtree comes from
+         */
+        final int root;
+        final int[] ids;
+        final DecisionOperator<IntVar>[] ops;
+        final int[] values;
+
+        @SuppressWarnings("unchecked")
+        Subtree(int root, int size) {
+            this.root = root;
+            this.ids = new int[size];
+            this.ops = new DecisionOperator[size];
+            this.values = new int[size];
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * @return the <i>i</i>-th decision, built for <i>path</i>, which cannot be refuted
+         */
+        Decision<IntVar> decision(int i, Model model, DecisionPath path) {
+            IntVar var = (IntVar) getById(model, ids[i]);
+            return path.makeIntDecision(var, ops[i], values[i]).setRefutable(false);
+        }
+    }
+
+    enum State {
+        BUSY, PAUSED, IDLE, OVER
+    }
+
+    /**
+     * Workers, in order of registration
+     */
+    private final List<MoveSteal> workers = new ArrayList<>();
+    /**
+     * Subtrees given away, not explored yet
+     */
+    private final ArrayDeque<Subtree> fresh = new ArrayDeque<>();
+    /**
+     * Subtrees explored by unreliable workers only
+     */
+    private final ArrayDeque<Subtree> unproven = new ArrayDeque<>();
+    /**
+     * For each worker, number of parts of its search space not explored yet: its own part and the subtrees given away
+     */
+    private int[] open = new int[0];
+    private int nbBusy;
+    /**
+     * Number of workers stopped by a criterion, which will resume on next resolution
+     */
+    private int nbPaused;
+    private int nbIdle;
+    /**
+     * Number of idle workers not matched by a fresh subtree, read by busy workers on each node
+     */
+    private volatile int wanted;
+    private boolean proven;
+    private long nbStolen;
+
+    /**
+     * Plug a {@link MoveSteal} into the solver of <i>model</i>, unless its search is not a depth-first search,
+     * possibly with restarts.
+     * Must be called once the search of the model is configured.
+     *
+     * @param model    a model to steal subtrees from and for
+     * @param reliable set to {@code true} if the model is reliable
+     * @return <tt>true</tt> if the model is able to steal subtrees
+     */
+    public synchronized boolean add(Model model, boolean reliable) {
+        Solver solver = model.getSolver();
+        if (!isSupported(solver.getMove(), false)) {
+            return false;
+        }
+        assert workers.isEmpty() || model.getNbVars() == workers.get(0).model.getNbVars()
+                : "Cannot steal subtrees between non equivalent models";
+        MoveSteal move = new MoveSteal(solver.getMove(), this, model, workers.size(), reliable);
+        workers.add(move);
+        open = Arrays.copyOf(open, workers.size());
+        open[move.worker] = 1;
+        nbBusy++;
+        solver.setMove(move);
+        solver.plugMonitor(move);
+        solver.addStopCriterion(move::isOver);
+        return true;
+    }
+
+    /**
+     * @param move        a move
+     * @param withoutRestarts set to <tt>true</tt> to reject restarts
+     * @return <tt>true</tt> if <i>move</i> explores the search space depth-first, possibly with restarts
+     */
+    static boolean isSupported(Move move, boolean withoutRestarts) {
+        if (move.getClass() == MoveBinaryDFS.class || move instanceof MoveSteal) {
+            return move.getChildMoves().isEmpty() || isSupported(move.getChildMoves().get(0), withoutRestarts);
+        }
+        return move.getClass() == MoveRestart.class && !withoutRestarts
+                && isSupported(move.getChildMoves().get(0), false);
+    }
+
+    /**
+     * @return the number of subtrees stolen so far
+     */
+    public synchronized long getNbStolen() {
+        return nbStolen;
+    }
+
+    /**
+     * @return <tt>true</tt> if at least one worker is idle and no subtree is waiting for it
+     */
+    boolean isWanted() {
+        return wanted > 0;
+    }
+
+    private void update() {
+        wanted = nbIdle - fresh.size();
+        notifyAll();
+    }
+
+    synchronized void setState(MoveSteal w, State state) {
+        if (w.state == State.BUSY) nbBusy--;
+        if (w.state == State.PAUSED) nbPaused--;
+        if (w.state == State.IDLE) nbIdle--;
+        w.state = state;
+        if (state == State.BUSY) nbBusy++;
+        if (state == State.PAUSED) nbPaused++;
+        if (state == State.IDLE) nbIdle++;
+        update();
+    }
+
+    /**
+     * Called by a worker which has explored its current subtree, or its whole search space.
+     *
+     * @param w the worker
+     * @return <tt>true</tt> if the search is over, <tt>false</tt> if the worker becomes idle
+     */
+    synchronized boolean explored(MoveSteal w) {
+        Subtree job = w.job;
+        w.job = null;
+        if (w.reliable) {
+            if (--open[job == null ? w.worker : job.root] == 0) {
+                proven = true;
+            }
+        } else if (job != null) {
+            unproven.add(job);
+        }
+        setState(w, proven ? State.OVER : State.IDLE);
+        return proven;
+    }
+
+    enum Status {
+        TAKEN, WAIT, OVER
+    }
+
+    /**
+     * Try to give a subtree to an idle worker, waiting a bit if none is available.
+     *
+     * @param w an idle worker
+     * @return {@link Status#TAKEN} if a subtree is given, {@link Status#OVER} if the worker cannot expect any
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    synchronized Status take(MoveSteal w) throws InterruptedException {
+        Subtree job = w.reliable ? unproven.poll() : null;
+        if (job == null) {
+            job = fresh.poll();
+        }
+        if (job != null) {
+            w.job = job;
+            nbStolen++;
+            setState(w, State.BUSY);
+            return Status.TAKEN;
+        }
+        // nobody can give a subtree away anymore
+        if (proven || nbBusy + nbPaused == 0) {
+            return Status.OVER;
+        }
+        wait(WAIT);
+        return Status.WAIT;
+    }
+
+    /**
+     * Called on each node by a busy worker when another worker is idle:
+     * give away the shallowest right branch left open in the decision path of <i>w</i>, if any.
+     *
+     * @param w      a busy worker
+     * @param solver its solver
+     */
+    void donate(MoveSteal w, Solver solver) {
+        if (!w.reliable || !isSupported(solver.getMove(), true)) {
+            return;
+        }
+        DecisionPath path = solver.getDecisionPath();
+        int from = w.job == null ? 1 : w.job.size() + 1;
+        int d = -1;
+        for (int i = 1; i < path.size() && d == -1; i++) {
+            if (!(path.getDecision(i) instanceof IntDecision)) {
+                return;
+            }
+            if (i >= from && path.getDecision(i).hasNext()) {
+                d = i;
+            }
+        }
+        if (d == -1) {
+            return;
+        }
+        Subtree job = new Subtree(w.job == null ? w.worker : w.job.root, d);
+        for (int i = 1; i <= d; i++) {
+            IntDecision dec = (IntDecision) path.getDecision(i);
+            // refuted decisions, and the one given away, are taken in their negated form
+            boolean negated = i == d || (dec.getArity() == 2 && !dec.hasNext());
+            IntDecision form = negated ? dec.flip() : dec;
+            job.ids[i - 1] = form.getDecisionVariable().getId();
+            job.ops[i - 1] = form.getDecOp();
+            job.values[i - 1] = form.getDecisionValue();
+            if (negated) {
+                form.free();
+            }
+        }
+        synchronized (this) {
+            if (wanted <= 0 || proven) {
+                return;
+            }
+            fresh.add(job);
+            open[job.root]++;
+            update();
+        }
+        path.getDecision(d).setRefutable(false);
+    }
+
+    /**
+     * Adapted from {@link java.util.Arrays#binarySearch(Object[], Object)}, variables being sorted by ID
+     */
+    private static Variable getById(Model model, int id) {
+        int low = 0;
+        int high = model.getNbVars() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = model.getVar(mid).getId() - id;
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return model.getVar(mid);
+            }
+        }
+        throw new IllegalStateException("No variable with ID " + id + " in " + model.getName());
+    }
+}
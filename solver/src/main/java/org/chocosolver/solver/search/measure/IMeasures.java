@@ -149,6 +149,14 @@ public interface IMeasures extends Serializable {
      */
     IBoundsManager getBoundsManager();
 
+    /**
+     * @return statistics per propagator, empty unless propagation profiling is enabled
+     * (see {@link org.chocosolver.solver.Solver#setPropagationProfiling(boolean)})
+     */
+    default PropagationStatistics getPropagationStatistics() {
+        return PropagationStatistics.EMPTY;
+    }
+
     /**
      * @return a summary of recorded statistics
      */
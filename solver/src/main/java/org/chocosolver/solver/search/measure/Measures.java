@@ -107,6 +107,11 @@ public class Measures implements IMeasures, Cloneable {
      */
     protected long backjumpCount;
 
+    /**
+     * Statistics per propagator, if profiled
+     */
+    protected PropagationStatistics propagationStatistics = PropagationStatistics.EMPTY;
+
     //***********************************************************************************
     // CONSTRUCTOR
     //***********************************************************************************
@@ -141,6 +146,7 @@ public class Measures implements IMeasures, Cloneable {
         failCount = measures.getFailCount();
         depth = measures.getCurrentDepth();
         maxDepth = measures.getMaxDepth();
+        propagationStatistics = measures.getPropagationStatistics();
     }
 
     //****************************************************************************************************************//
@@ -240,6 +246,11 @@ public class Measures implements IMeasures, Cloneable {
         return boundsManager;
     }
 
+    @Override
+    public PropagationStatistics getPropagationStatistics() {
+        return propagationStatistics;
+    }
+
     @Override
     public final long getSolutionCount() {
         return solutionCount;
@@ -10,6 +10,7 @@
 package org.chocosolver.solver.search.measure;
 
 import org.chocosolver.solver.objective.IBoundsManager;
+import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.SearchState;
 
 import java.io.IOException;
@@ -35,6 +36,11 @@ public final class MeasuresRecorder extends Measures {
 
     transient private LongSupplier currentNanoTime;
 
+    /**
+     * Records statistics per propagator, if not null
+     */
+    transient private PropagationProfiler profiler;
+
     /**
      * Create a measures recorder
      */
@@ -45,6 +51,7 @@ public final class MeasuresRecorder extends Measures {
 
     private void writeObject(ObjectOutputStream out) throws IOException {
         getTimeCountInNanoSeconds();
+        propagationStatistics = getPropagationStatistics();
         out.defaultWriteObject();
     }
     
@@ -61,6 +68,11 @@ public final class MeasuresRecorder extends Measures {
         return super.getTimeCountInNanoSeconds();
     }
 
+    @Override
+    public PropagationStatistics getPropagationStatistics() {
+        return profiler == null ? super.getPropagationStatistics() : profiler.export();
+    }
+
     public void updateTimeToBestSolution() {
         timeToBestSolution = currentNanoTime.getAsLong();
     }
@@ -102,6 +114,14 @@ public final class MeasuresRecorder extends Measures {
         this.objectiveOptimal = objectiveOptimal;
     }
 
+    /**
+     * Set the profiler statistics per propagator are read from
+     * @param profiler a profiler, or <i>null</i> if propagation is not profiled
+     */
+    public final void setPropagationProfiler(PropagationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
     /**
      * Reset every measure to its default value (mostly 0)
      */
@@ -117,6 +137,9 @@ public final class MeasuresRecorder extends Measures {
         restartCount = 0;
         depth = 0;
         maxDepth = 0;
+        if (profiler != null) {
+            profiler.reset();
+        }
     }
 
     //****************************************************************************************************************//
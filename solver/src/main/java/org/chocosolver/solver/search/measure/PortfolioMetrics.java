@@ -0,0 +1,367 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.measure;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseConstraint;
+import org.chocosolver.solver.constraints.nary.cnf.SatConstraint;
+import org.chocosolver.solver.search.loop.monitors.IMonitorClose;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe statistics of several solvers running concurrently, for instance the workers of a
+ * {@link org.chocosolver.solver.ParallelPortfolio}.
+ * <p>
+ * Each worker owns a stripe of counters, padded to its own cache lines.
+ * Counters of {@link MeasuresRecorder} are plain fields, only read by the thread of the worker,
+ * which copies them into its stripe every {@link #getPeriod()} nodes, on solutions, restarts and at the end of the
+ * resolution. Any thread can then take a consistent {@link Snapshot} of all stripes without locking
+ * nor slowing down the workers.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public final class PortfolioMetrics {
+
+    /**
+     * Index of the number of nodes
+     */
+    public static final int NODES = 0;
+    /**
+     * Index of the number of fails
+     */
+    public static final int FAILS = 1;
+    /**
+     * Index of the number of backtracks
+     */
+    public static final int BACKTRACKS = 2;
+    /**
+     * Index of the number of restarts
+     */
+    public static final int RESTARTS = 3;
+    /**
+     * Index of the number of solutions
+     */
+    public static final int SOLUTIONS = 4;
+    /**
+     * Index of the number of fix points, that is calls to the propagation engine
+     */
+    public static final int PROPAGATIONS = 5;
+    /**
+     * Index of the number of learnt clauses currently stored
+     */
+    public static final int LEARNT = 6;
+    /**
+     * Name of each counter
+     */
+    public static final String[] NAMES = {"nodes", "fails", "backtracks", "restarts", "solutions", "propagations", "learnt_clauses"};
+
+    /**
+     * Index of the best objective value in a stripe, as raw long bits of a double
+     */
+    private static final int BEST = NAMES.length;
+    /**
+     * Number of longs per worker: 128 bytes, so that two workers never write to the same cache line
+     */
+    private static final int STRIDE = 16;
+    /**
+     * Number of nodes between two publications, by default
+     */
+    private static final int DEFAULT_PERIOD = 1024;
+
+    private final AtomicLongArray cells;
+    private final String[] workers;
+    private final int period;
+    private final long start;
+    private volatile ResolutionPolicy policy = ResolutionPolicy.SATISFACTION;
+
+    /**
+     * Create statistics of <i>nbWorkers</i> workers, published every 1024 nodes
+     *
+     * @param nbWorkers number of workers
+     */
+    public PortfolioMetrics(int nbWorkers) {
+        this(nbWorkers, DEFAULT_PERIOD);
+    }
+
+    /**
+     * Create statistics of <i>nbWorkers</i> workers, published every <i>period</i> nodes
+     *
+     * @param nbWorkers number of workers
+     * @param period    number of nodes between two publications of the counters of a worker
+     */
+    public PortfolioMetrics(int nbWorkers, int period) {
+        this.cells = new AtomicLongArray((nbWorkers + 1) * STRIDE);
+        this.workers = new String[nbWorkers];
+        this.period = Math.max(1, period);
+        this.start = System.nanoTime();
+        for (int w = 0; w < nbWorkers; w++) {
+            workers[w] = "worker" + w;
+            cells.set(offset(w) + BEST, Double.doubleToRawLongBits(Double.NaN));
+        }
+    }
+
+    // the first stripe is left empty, to avoid sharing a cache line with the header of the array
+    private static int offset(int worker) {
+        return (worker + 1) * STRIDE;
+    }
+
+    /**
+     * @return the number of workers
+     */
+    public int getNbWorkers() {
+        return workers.length;
+    }
+
+    /**
+     * @return the number of nodes between two publications of the counters of a worker
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Plug into <i>solver</i> a monitor which publishes its counters as the ones of worker <i>worker</i>.
+     * Must be called before the resolution starts.
+     *
+     * @param worker index of the worker
+     * @param solver its solver
+     */
+    public void attach(int worker, Solver solver) {
+        Model model = solver.getModel();
+        workers[worker] = model.getName();
+        if (model.getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            policy = model.getResolutionPolicy();
+        }
+        solver.plugMonitor(new Publisher(worker, solver));
+    }
+
+    /**
+     * Copy the counters of <i>solver</i> into the stripe of <i>worker</i>.
+     * Must only be called by the thread running <i>solver</i>.
+     *
+     * @param worker index of the worker
+     * @param solver its solver
+     */
+    public void publish(int worker, Solver solver) {
+        int o = offset(worker);
+        // ordered writes: cheaper than volatile ones, and still visible to readers
+        cells.lazySet(o + NODES, solver.getNodeCount());
+        cells.lazySet(o + FAILS, solver.getFailCount());
+        cells.lazySet(o + BACKTRACKS, solver.getBackTrackCount());
+        cells.lazySet(o + RESTARTS, solver.getRestartCount());
+        cells.lazySet(o + SOLUTIONS, solver.getSolutionCount());
+        cells.lazySet(o + PROPAGATIONS, solver.getFixpointCount());
+        cells.lazySet(o + LEARNT, nbLearnt(solver.getModel()));
+        if (solver.getSolutionCount() > 0 && solver.getModel().getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            cells.lazySet(o + BEST, Double.doubleToRawLongBits(solver.getBestSolutionValue().doubleValue()));
+        }
+    }
+
+    private static long nbLearnt(Model model) {
+        long nb = 0;
+        Object hook = model.getHook(Model.CLAUSES_HOOK_NAME);
+        if (hook != null) {
+            nb += ((ClauseConstraint) hook).getClauseStore().getNbLearntClauses();
+        }
+        hook = model.getHook(Model.MINISAT_HOOK_NAME);
+        if (hook != null) {
+            nb += ((SatConstraint) hook).getPropSat().getSatSolver().nLearnt();
+        }
+        return nb;
+    }
+
+    /**
+     * @return the last values published by each worker
+     */
+    public Snapshot snapshot() {
+        long time = System.nanoTime() - start;
+        long[][] values = new long[workers.length][NAMES.length];
+        double[] best = new double[workers.length];
+        for (int w = 0; w < workers.length; w++) {
+            int o = offset(w);
+            for (int m = 0; m < NAMES.length; m++) {
+                values[w][m] = cells.get(o + m);
+            }
+            best[w] = Double.longBitsToDouble(cells.get(o + BEST));
+        }
+        return new Snapshot(time, workers.clone(), values, best, policy);
+    }
+
+    /**
+     * Publishes the counters of a worker
+     */
+    private final class Publisher implements IMonitorOpenNode, IMonitorSolution, IMonitorRestart, IMonitorClose {
+        private final int worker;
+        private final Solver solver;
+        private int ticks;
+
+        Publisher(int worker, Solver solver) {
+            this.worker = worker;
+            this.solver = solver;
+        }
+
+        @Override
+        public void afterOpenNode() {
+            if (++ticks >= period) {
+                ticks = 0;
+                publish(worker, solver);
+            }
+        }
+
+        @Override
+        public void onSolution() {
+            publish(worker, solver);
+        }
+
+        @Override
+        public void afterRestart() {
+            publish(worker, solver);
+        }
+
+        @Override
+        public void afterClose() {
+            publish(worker, solver);
+        }
+    }
+
+    /**
+     * Values of the counters of all workers at a given time
+     */
+    public static final class Snapshot {
+
+        private final long time;
+        private final String[] workers;
+        private final long[][] values;
+        private final double[] best;
+        private final ResolutionPolicy policy;
+
+        private Snapshot(long time, String[] workers, long[][] values, double[] best, ResolutionPolicy policy) {
+            this.time = time;
+            this.workers = workers;
+            this.values = values;
+            this.best = best;
+            this.policy = policy;
+        }
+
+        /**
+         * @return the time of this snapshot, in nanoseconds since the creation of the metrics
+         */
+        public long getTimeInNanoSeconds() {
+            return time;
+        }
+
+        /**
+         * @param worker index of a worker
+         * @param metric index of a counter
+         * @return the value of the counter for the worker
+         */
+        public long get(int worker, int metric) {
+            return values[worker][metric];
+        }
+
+        /**
+         * @param metric index of a counter
+         * @return the sum of the counter over all workers
+         */
+        public long total(int metric) {
+            long sum = 0;
+            for (long[] v : values) {
+                sum += v[metric];
+            }
+            return sum;
+        }
+
+        /**
+         * @param metric   index of a counter
+         * @param previous an earlier snapshot, or <i>null</i> to get the rate since the creation of the metrics
+         * @return the number of occurrences per second of the counter, summed over all workers, since <i>previous</i>
+         */
+        public double perSecond(int metric, Snapshot previous) {
+            long dt = time - (previous == null ? 0 : previous.time);
+            long dv = total(metric) - (previous == null ? 0 : previous.total(metric));
+            return dt <= 0 ? 0. : dv * 1e9 / dt;
+        }
+
+        /**
+         * @return the best objective value found by any worker, or <i>NaN</i> if none
+         */
+        public double getBestBound() {
+            double b = Double.NaN;
+            for (double v : best) {
+                if (!Double.isNaN(v) && (Double.isNaN(b)
+                        || (policy == ResolutionPolicy.MAXIMIZE ? v > b : v < b))) {
+                    b = v;
+                }
+            }
+            return b;
+        }
+
+        /**
+         * @param previous an earlier snapshot, or <i>null</i>
+         * @return this snapshot as a single-line JSON object
+         */
+        public String toJson(Snapshot previous) {
+            StringBuilder st = new StringBuilder("{");
+            st.append(String.format(Locale.US, "\"time\":%.3f", time / 1e9));
+            for (int m = 0; m < NAMES.length; m++) {
+                st.append(",\"").append(NAMES[m]).append("\":").append(total(m));
+            }
+            st.append(String.format(Locale.US, ",\"nodes_per_s\":%.1f,\"fails_per_s\":%.1f",
+                    perSecond(NODES, previous), perSecond(FAILS, previous)));
+            double b = getBestBound();
+            st.append(",\"best\":").append(Double.isNaN(b) ? "null" : format(b));
+            st.append(",\"workers\":[");
+            for (int w = 0; w < workers.length; w++) {
+                if (w > 0) st.append(',');
+                st.append("{\"name\":\"").append(workers[w].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                for (int m = 0; m < NAMES.length; m++) {
+                    st.append(",\"").append(NAMES[m]).append("\":").append(values[w][m]);
+                }
+                st.append('}');
+            }
+            return st.append("]}").toString();
+        }
+
+        /**
+         * @return this snapshot in Prometheus text exposition format
+         */
+        public String toPrometheus() {
+            StringBuilder st = new StringBuilder();
+            for (int m = 0; m < NAMES.length; m++) {
+                String name = "choco_" + NAMES[m] + (m == LEARNT ? "" : "_total");
+                st.append("# TYPE ").append(name).append(m == LEARNT ? " gauge\n" : " counter\n");
+                for (int w = 0; w < workers.length; w++) {
+                    st.append(name).append("{worker=\"").append(workers[w].replace("\\", "\\\\").replace("\"", "\\\""))
+                            .append("\"} ").append(values[w][m]).append('\n');
+                }
+            }
+            double b = getBestBound();
+            if (!Double.isNaN(b)) {
+                st.append("# TYPE choco_best_bound gauge\n");
+                st.append("choco_best_bound ").append(format(b)).append('\n');
+            }
+            st.append("# TYPE choco_time_seconds gauge\n");
+            st.append(String.format(Locale.US, "choco_time_seconds %.3f\n", time / 1e9));
+            return st.toString();
+        }
+
+        private static String format(double v) {
+            return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : Double.toString(v);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.measure;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics recorded per propagator while propagating,
+ * when profiling is enabled (see {@link org.chocosolver.solver.Solver#setPropagationProfiling(boolean)}).
+ * <p>
+ * For each propagator, it stores the number of calls, the number of variable modifications it produced,
+ * the number of failures it detected and the time spent in it.
+ * Statistics can also be aggregated per propagator class.
+ * No reference to the model is kept.
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public final class PropagationStatistics implements Serializable {
+
+    private static final long serialVersionUID = 2446519829011370215L;
+
+    /**
+     * Statistics when profiling is disabled
+     */
+    public static final PropagationStatistics EMPTY = new PropagationStatistics(Collections.emptyList());
+
+    /**
+     * Statistics of a propagator, or of a class of propagators
+     */
+    public static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = -2858040937829548224L;
+
+        private final String className;
+        private final String name;
+        private final int id;
+        private long calls;
+        private long events;
+        private long fails;
+        private long time;
+
+        /**
+         * Create the statistics of a propagator
+         *
+         * @param className class of the propagator
+         * @param name      name of the propagator
+         * @param id        ID of the propagator, or -1 for a class of propagators
+         * @param calls     number of calls
+         * @param events    number of variable modifications
+         * @param fails     number of failures
+         * @param time      time spent, in nanoseconds
+         */
+        public Entry(String className, String name, int id, long calls, long events, long fails, long time) {
+            this.className = className;
+            this.name = name;
+            this.id = id;
+            this.calls = calls;
+            this.events = events;
+            this.fails = fails;
+            this.time = time;
+        }
+
+        /**
+         * @return the fully qualified name of the propagator class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return the name of the propagator, or of its class for aggregated statistics
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the ID of the propagator, or -1 for aggregated statistics
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * @return the number of times the propagator has been called
+         */
+        public long getCallCount() {
+            return calls;
+        }
+
+        /**
+         * @return the number of variable modifications produced by the propagator
+         */
+        public long getEventCount() {
+            return events;
+        }
+
+        /**
+         * @return the number of failures detected by the propagator
+         */
+        public long getFailCount() {
+            return fails;
+        }
+
+        /**
+         * @return the time spent in the propagator (in nano seconds)
+         */
+        public long getTimeInNanoSeconds() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %,d calls, %,d events, %,d fails, %.3fs",
+                    name, calls, events, fails, time / IMeasures.IN_SEC);
+        }
+    }
+
+    private final List<Entry> entries;
+
+    /**
+     * Create a snapshot from statistics per propagator
+     *
+     * @param entries statistics per propagator
+     */
+    public PropagationStatistics(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(BY_TIME);
+        this.entries = Collections.unmodifiableList(sorted);
+    }
+
+    private static final Comparator<Entry> BY_TIME = (e1, e2) -> Long.compare(e2.time, e1.time);
+
+    /**
+     * @return <tt>true</tt> if no statistics have been recorded
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return the statistics of each propagator called at least once, by decreasing time spent
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the statistics aggregated per class of propagators, by decreasing time spent
+     */
+    public List<Entry> getEntriesByClass() {
+        Map<String, Entry> byClass = new LinkedHashMap<>();
+        for (Entry e : entries) {
+            Entry c = byClass.computeIfAbsent(e.className,
+                    k -> new Entry(k, k.substring(k.lastIndexOf('.') + 1), -1, 0, 0, 0, 0));
+            c.calls += e.calls;
+            c.events += e.events;
+            c.fails += e.fails;
+            c.time += e.time;
+        }
+        List<Entry> list = new ArrayList<>(byClass.values());
+        list.sort(BY_TIME);
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder(256);
+        for (Entry e : getEntriesByClass()) {
+            st.append('\t').append(e).append('\n');
+        }
+        return st.toString();
+    }
+}
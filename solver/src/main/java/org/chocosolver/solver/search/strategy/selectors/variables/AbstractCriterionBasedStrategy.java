@@ -16,82 +16,466 @@ import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactor
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IndexedMaxHeap;
 import org.chocosolver.util.objects.IntMap;
 
+import java.util.Arrays;
+
 /**
+ * A strategy which selects the variable with the largest {@link #weight(IntVar)},
+ * where the weight is a weighted degree divided by the domain size, ties being broken randomly.
+ * <p>
+ * To avoid computing the weight of all variables at each decision, variables are stored in a heap
+ * ordered by an upper bound of their weight.
+ * The bound of a variable is made exact when it reaches the top of the heap, and the variable is selected
+ * once the top of the heap is exact, so the selection is the same as computing the weight of all variables.
+ * The bound is maintained on the weighted degree, and divided by the current domain size:
+ * it is updated when the domain of the variable is modified (observed as a {@link IVariableMonitor}),
+ * when the weighted degree increases, which has to be declared with {@link #bump(Variable, double)},
+ * and on backtrack, since bounds made exact are trailed.
+ * When propagators are added to the model during resolution, all the bounds are recomputed.
+ * </p>
  * <p>
  * Project: choco.
  *
  * @author Charles Prud'homme
  * @since 26/02/2020.
  */
-public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<IntVar> {
+public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<IntVar> implements IVariableMonitor<IntVar> {
 
+    /**
+     * Relative margin added to exact bounds, to absorb rounding errors of incremental sums
+     */
+    private static final double EPS = 1e-9;
     /**
      * Randomness to break ties
      */
     private java.util.Random random;
-    /***
-     * Pointer to the last uninstantiated variable
-     */
-    private IStateInt last;
     /**
      * The way value is selected for a given variable
      */
     private IntValueSelector valueSelector;
     /**
-     * Temporary. Stores index of variables with the same (best) score
+     * Temporary. Stores positions in {@link #order} of variables with the same (best) score
      */
     private TIntArrayList bests = new TIntArrayList();
+    /***
+     * Pointer to the last uninstantiated variable in {@link #order}
+     */
+    private IStateInt last;
+    /**
+     * Indices of the variables, in the order a scan would evaluate them:
+     * instantiated variables are swapped to the end, as in former versions of this strategy,
+     * so that ties are broken the same way.
+     */
+    private final int[] order;
+    /**
+     * Position of each variable in {@link #order}
+     */
+    private final int[] rank;
+    /**
+     * Next index of the same variable in {@link #vars}, or -1
+     */
+    private final int[] nextDup;
+    /**
+     * Temporary. Stores positions in {@link #order} of variables instantiated since the last call
+     */
+    private final TIntArrayList instantiated = new TIntArrayList();
 
     /**
      * Kind of duplicate of pid2ari to limit calls of backtrackable objects
      */
     IntMap pid2arity;
 
+    /**
+     * Map (variable ID - index in {@link #vars})
+     */
+    private final IntMap v2i;
+    /**
+     * Uninstantiated variables, ordered by an upper bound of their weight
+     */
+    private final IndexedMaxHeap heap;
+    /**
+     * For each variable, the upper bound of the weighted degree is <i>base + inc</i>,
+     * where <i>base</i> is made exact when the weight is computed, and trailed.
+     */
+    private final double[] base;
+    /**
+     * Sum of the increases of the weighted degree, never restored
+     */
+    private final double[] inc;
+    /**
+     * Weight of the variables computed during the current call to {@link #getDecision()}
+     */
+    private final double[] score;
+    /**
+     * Equal to {@link #stamp} when {@link #score} is up-to-date
+     */
+    private final int[] fresh;
+    private int stamp;
+    /**
+     * Variables whose bound has to be updated in the heap
+     */
+    private final int[] dirty;
+    private final boolean[] isDirty;
+    private int nbDirty;
+    /**
+     * Trail of (variable, previous base) pairs, restored on backtrack.
+     * Entries pushed before the last rebuilding of the heap, i.e. from another epoch, are ignored.
+     */
+    private int[] tVar;
+    private double[] tBase;
+    private int[] tEpoch;
+    private final IStateInt tSize;
+    /**
+     * Size of the trail when last seen, greater than {@link #tSize} after a backtrack
+     */
+    private int seen;
+    private int epoch;
+    /**
+     * Set to <tt>true</tt> when this observes the variables
+     */
+    private boolean monitoring;
+    /**
+     * Set to <tt>true</tt> when the heap has to be rebuilt
+     */
+    private boolean rebuild = true;
+    /**
+     * Number of dynamic changes in the propagation engine when the heap was last rebuilt
+     */
+    private long changes;
+    /**
+     * Temporary. Stores positions in the heap and variables evaluated when collecting ties
+     */
+    private final TIntArrayList stack = new TIntArrayList();
+    private final TIntArrayList evaluated = new TIntArrayList();
+
     public AbstractCriterionBasedStrategy(IntVar[] vars, long seed,
                                           IntValueSelector valueSelector) {
         super(vars);
         this.random = new java.util.Random(seed);
         this.valueSelector = valueSelector;
-        this.last = vars[0].getModel().getEnvironment().makeInt(vars.length - 1);
         pid2arity = new IntMap(vars[0].getModel().getCstrs().length * 3 / 2 + 1, -1);
+        int n = vars.length;
+        this.last = vars[0].getModel().getEnvironment().makeInt(n - 1);
+        this.v2i = new IntMap(n * 3 / 2 + 1, -1);
+        this.order = new int[n];
+        this.rank = new int[n];
+        this.nextDup = new int[n];
+        Arrays.fill(nextDup, -1);
+        for (int i = n - 1; i >= 0; i--) {
+            int j = v2i.get(vars[i].getId());
+            if (j > -1) {
+                nextDup[i] = j;
+            }
+            v2i.put(vars[i].getId(), i);
+            order[i] = i;
+            rank[i] = i;
+        }
+        this.heap = new IndexedMaxHeap(n);
+        this.base = new double[n];
+        this.inc = new double[n];
+        this.score = new double[n];
+        this.fresh = new int[n];
+        this.dirty = new int[n];
+        this.isDirty = new boolean[n];
+        this.tVar = new int[n];
+        this.tBase = new double[n];
+        this.tEpoch = new int[n];
+        this.tSize = vars[0].getModel().getEnvironment().makeInt(0);
+    }
+
+    @Override
+    public boolean init() {
+        if (!monitoring) {
+            monitoring = true;
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].addMonitor(this);
+                }
+            }
+        }
+        rebuild = true;
+        return true;
+    }
+
+    @Override
+    public void remove() {
+        if (monitoring) {
+            monitoring = false;
+            for (int i = 0; i < vars.length; i++) {
+                if (v2i.get(vars[i].getId()) == i) {
+                    vars[i].removeMonitor(this);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onUpdate(IntVar var, IEventType evt) {
+        markDirty(v2i.get(var.getId()));
+    }
+
+    /**
+     * Declare that the weighted degree of <i>var</i> has increased, at most by <i>delta</i>.
+     * Must be called each time the weight of a variable may increase,
+     * otherwise than by a modification of its domain.
+     *
+     * @param var   a variable
+     * @param delta a positive upper bound of the increase
+     */
+    protected final void bump(Variable var, double delta) {
+        int i = v2i.get(var.getId());
+        if (i > -1 && delta > 0.) {
+            inc[i] += delta;
+            markDirty(i);
+        }
     }
 
     @Override
     public Decision<IntVar> getDecision() {
+        pid2arity.clear();
+        stamp++;
+        long c = vars[0].getModel().getSolver().getEngine().getNbDynamicChanges();
+        instantiated.resetQuick();
+        if (rebuild || c != changes) {
+            changes = c;
+            rebuild = false;
+            build();
+        } else {
+            undo();
+            for (int k = 0; k < nbDirty; k++) {
+                int i = dirty[k];
+                isDirty[i] = false;
+                refresh(i);
+            }
+            nbDirty = 0;
+        }
+        swapInstantiated();
         IntVar best = null;
         bests.resetQuick();
-        pid2arity.clear();
-        double w = 0.;
+        // make the top of the heap exact
+        while (!heap.isEmpty()) {
+            int t = heap.top();
+            if (fresh[t] == stamp) {
+                break;
+            }
+            if (vars[t].getDomainSize() > 1) {
+                tighten(t, weight(vars[t]));
+            } else {
+                heap.remove(t);
+                push(t, base[t]);
+            }
+        }
+        if (!heap.isEmpty() && score[heap.top()] > 0.) {
+            collectTies(score[heap.top()]);
+            if (bests.isEmpty()) {
+                addTie(heap.top());
+            }
+            bests.sort();
+            int currentVar = order[bests.get(random.nextInt(bests.size()))];
+            best = vars[currentVar];
+        }
+        return computeDecision(best);
+    }
+
+    /**
+     * Swap the variables instantiated since the last call to the end of {@link #order},
+     * in the same way as a scan from the first position to {@link #last}.
+     */
+    private void swapInstantiated() {
+        if (instantiated.isEmpty()) {
+            return;
+        }
+        instantiated.sort();
         int to = last.get();
-        for (int idx = 0; idx <= to; idx++) {
-            int dsize = vars[idx].getDomainSize();
-            if (dsize > 1) {
-                double weight = weight(vars[idx]);
-                if (w < weight) {
+        for (int k = 0; k < instantiated.size(); k++) {
+            int p = instantiated.getQuick(k);
+            if (p > to) {
+                break;
+            }
+            while (p <= to && vars[order[p]].isInstantiated()) {
+                int tmp = order[to];
+                order[to] = order[p];
+                order[p] = tmp;
+                rank[order[p]] = p;
+                rank[order[to]] = to;
+                to--;
+            }
+        }
+        last.set(to);
+    }
+
+    /**
+     * Record that the variable at index <i>i</i> is instantiated, if it was not on last call
+     */
+    private void onInstantiation(int i) {
+        int to = last.get();
+        for (int j = i; j > -1; j = nextDup[j]) {
+            if (rank[j] <= to) {
+                instantiated.add(rank[j]);
+            }
+        }
+    }
+
+    private void addTie(int i) {
+        for (int j = i; j > -1; j = nextDup[j]) {
+            bests.add(rank[j]);
+        }
+    }
+
+    /**
+     * Store in {@link #bests} the variables whose weight is <i>w</i>, the largest one.
+     * Only the subtrees of the heap whose bound is not smaller than <i>w</i> are explored.
+     */
+    private void collectTies(double w) {
+        evaluated.resetQuick();
+        stack.resetQuick();
+        stack.add(0);
+        while (!stack.isEmpty()) {
+            int pos = stack.removeAt(stack.size() - 1);
+            int e = heap.get(pos);
+            if (heap.key(e) < w) {
+                continue;
+            }
+            if (fresh[e] != stamp && vars[e].getDomainSize() > 1) {
+                score[e] = weight(vars[e]);
+                fresh[e] = stamp;
+                evaluated.add(e);
+            }
+            if (fresh[e] == stamp) {
+                if (w < score[e]) { // only possible within rounding errors
                     bests.resetQuick();
-                    bests.add(idx);
-                    w = weight;
-                } else if (w == weight) {
-                    bests.add(idx);
+                    w = score[e];
                 }
+                if (w == score[e]) {
+                    addTie(e);
+                }
+            }
+            if (2 * pos + 1 < heap.size()) {
+                stack.add(2 * pos + 1);
+                if (2 * pos + 2 < heap.size()) {
+                    stack.add(2 * pos + 2);
+                }
+            }
+        }
+        for (int k = 0; k < evaluated.size(); k++) {
+            int e = evaluated.getQuick(k);
+            tighten(e, score[e]);
+        }
+    }
+
+    /**
+     * Compute the weight of all the variables and fill the heap again
+     */
+    private void build() {
+        epoch++;
+        seen = tSize.get();
+        heap.clear();
+        for (int k = 0; k < nbDirty; k++) {
+            isDirty[dirty[k]] = false;
+        }
+        nbDirty = 0;
+        for (int i = 0; i < vars.length; i++) {
+            if (v2i.get(vars[i].getId()) != i) {
+                continue; // duplicate
+            }
+            // the weights before this point are unknown
+            push(i, Double.POSITIVE_INFINITY);
+            int ds = vars[i].getDomainSize();
+            if (ds > 1) {
+                double w = weight(vars[i]);
+                score[i] = w;
+                fresh[i] = stamp;
+                base[i] = bound(i, w, ds);
+                heap.insert(i, (base[i] + inc[i]) / ds);
             } else {
-                // swap
-                IntVar tmp = vars[to];
-                vars[to] = vars[idx];
-                vars[idx] = tmp;
-                idx--;
-                to--;
+                base[i] = Double.POSITIVE_INFINITY;
+                onInstantiation(i);
             }
         }
-        last.set(to);
-        if (bests.size() > 0) {
-            int currentVar = bests.get(random.nextInt(bests.size()));
-            best = vars[currentVar];
+    }
+
+    /**
+     * Restore the bases modified, and the variables removed, in the branches undone since the last call.
+     * A variable restored while being instantiated again is removed again by {@link #refresh(int)},
+     * so that its removal is trailed in the current branch.
+     */
+    private void undo() {
+        int s = tSize.get();
+        for (int k = seen - 1; k >= s; k--) {
+            if (tEpoch[k] == epoch) {
+                int i = tVar[k];
+                base[i] = tBase[k];
+                if (!heap.contains(i)) {
+                    heap.insert(i, Double.POSITIVE_INFINITY);
+                }
+                markDirty(i);
+            }
         }
-        return computeDecision(best);
+        seen = s;
+    }
+
+    private void refresh(int i) {
+        int ds = vars[i].getDomainSize();
+        if (ds > 1) {
+            heap.insert(i, (base[i] + inc[i]) / ds);
+        } else {
+            onInstantiation(i);
+            if (heap.contains(i)) {
+                heap.remove(i);
+                push(i, base[i]);
+            }
+        }
+    }
+
+    /**
+     * Set the bound of the variable at index <i>i</i> to its weight, <i>w</i>
+     */
+    private void tighten(int i, double w) {
+        int ds = vars[i].getDomainSize();
+        score[i] = w;
+        fresh[i] = stamp;
+        double b = bound(i, w, ds);
+        if (b != base[i]) {
+            push(i, base[i]);
+            base[i] = b;
+        }
+        heap.update(i, (b + inc[i]) / ds);
+    }
+
+    /**
+     * @return the base of the variable at index <i>i</i> so that its bound is its weight, <i>w</i>
+     */
+    private double bound(int i, double w, int ds) {
+        double d = w * ds;
+        return d + (Math.abs(d) + inc[i]) * EPS - inc[i];
+    }
+
+    private void markDirty(int i) {
+        if (i > -1 && !isDirty[i]) {
+            isDirty[i] = true;
+            dirty[nbDirty++] = i;
+        }
+    }
+
+    private void push(int i, double b) {
+        int s = tSize.get();
+        if (s == tVar.length) {
+            int n = s * 3 / 2 + 1;
+            tVar = Arrays.copyOf(tVar, n);
+            tBase = Arrays.copyOf(tBase, n);
+            tEpoch = Arrays.copyOf(tEpoch, n);
+        }
+        tVar[s] = i;
+        tBase[s] = b;
+        tEpoch[s] = epoch;
+        tSize.set(++s);
+        seen = s;
     }
 
     @Override
@@ -105,6 +489,10 @@ public abstract class AbstractCriterionBasedStrategy extends AbstractStrategy<In
                         .makeIntEq(), currentVal);
     }
 
+    /**
+     * @param v an uninstantiated variable
+     * @return the weighted degree of <i>v</i> divided by its domain size
+     */
     protected abstract double weight(IntVar v);
 
     protected final int futVars(Propagator prop) {
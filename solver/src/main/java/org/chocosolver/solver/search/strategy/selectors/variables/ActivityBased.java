@@ -102,6 +102,10 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
     private final Model model;
     private IntValueSelector valueSelector = new ActivityValueSelector();
     private final IntMap v2i;
+    /**
+     * Index in {@link #A} of the activity of each variable, to avoid looking into {@link #v2i} for each decision
+     */
+    private final int[] i2a;
     private final IntVar[] vars;
 
     private final double[] A; // activity of all variables
@@ -145,6 +149,7 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
         affected = new BitSet(vars.length);
 
         this.v2i = new IntMap(vars.length);
+        this.i2a = new int[vars.length];
         assert g >= 0.0f && g <= 1.0f;
         this.g = g;
         assert d >= 0.0f && d <= 1.0f;
@@ -180,6 +185,9 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                 v2i.put(vars[i].getId(), i);
                 vars[i].addMonitor(this);
             }
+            for (int i = 0; i < vars.length; i++) {
+                i2a[i] = v2i.get(vars[i].getId());
+            }
         }
         for (int i = 0; i < vars.length; i++) {
             //TODO handle large domain size
@@ -244,7 +252,7 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
         for (int i = 0; i < vars.length; i++) {
             int ds = vars[i].getDomainSize();
             if (ds > 1) {
-                double a = A[v2i.get(vars[i].getId())] / ds;
+                double a = A[i2a[i]] / ds;
                 if (a > bestVal) {
                     bests.clear();
                     bests.add(i);
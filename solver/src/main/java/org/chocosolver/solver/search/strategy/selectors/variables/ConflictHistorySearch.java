@@ -65,6 +65,7 @@ public class ConflictHistorySearch
 
     @Override
     public boolean init() {
+        super.init();
         Solver solver = vars[0].getModel().getSolver();
         if(!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
@@ -74,6 +75,7 @@ public class ConflictHistorySearch
 
     @Override
     public void remove() {
+        super.remove();
         Solver solver = vars[0].getModel().getSolver();
         if(solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
@@ -89,7 +91,11 @@ public class ConflictHistorySearch
             // compute the reward
             double r = 1d / (conflicts - conflict.get(p) + 1);
             // update q
-            q.put(p, (1 - a) * qj + a * r);
+            double nq = (1 - a) * qj + a * r;
+            q.put(p, nq);
+            for (int i = 0; i < p.getNbVars(); i++) {
+                bump(p.getVar(i), nq - qj);
+            }
             // decrease a
             a = Math.max(0.06, a - STEP);
             // update conflicts
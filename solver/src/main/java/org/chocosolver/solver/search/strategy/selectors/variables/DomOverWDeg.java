@@ -61,6 +61,7 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
 
     @Override
     public boolean init() {
+        super.init();
         Solver solver = vars[0].getModel().getSolver();
         if(!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
@@ -70,6 +71,7 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
 
     @Override
     public void remove() {
+        super.remove();
         Solver solver = vars[0].getModel().getSolver();
         if(solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
@@ -81,6 +83,9 @@ public class DomOverWDeg extends AbstractCriterionBasedStrategy implements IMoni
         if (cex.c instanceof Propagator) {
             Propagator p = (Propagator) cex.c;
             p2w.putOrAdjust(p.getId(), 1, 1);
+            for (int i = 0; i < p.getNbVars(); i++) {
+                bump(p.getVar(i), 1);
+            }
         }
     }
 
@@ -63,6 +63,7 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
 
     @Override
     public boolean init() {
+        super.init();
         Solver solver = vars[0].getModel().getSolver();
         if (!solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().plugMonitor(this);
@@ -72,6 +73,7 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
 
     @Override
     public void remove() {
+        super.remove();
         Solver solver = vars[0].getModel().getSolver();
         if (solver.getSearchMonitors().contains(this)) {
             vars[0].getModel().getSolver().unplugMonitor(this);
@@ -94,7 +96,9 @@ public class DomOverWDegRef extends AbstractCriterionBasedStrategy implements IM
             incWeight.clearCache();
             for (int i = 0; i < p.getNbVars(); i++) {
                 if (!p.getVar(i).isInstantiated()) {
-                    weigths[i] += 1d / incWeight.inc(p, p.getVar(i));
+                    double w = 1d / incWeight.inc(p, p.getVar(i));
+                    weigths[i] += w;
+                    bump(p.getVar(i), w);
                 }
             }
         }
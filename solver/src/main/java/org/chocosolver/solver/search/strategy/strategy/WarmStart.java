@@ -0,0 +1,133 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.strategy;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+/**
+ * Warm start heuristic.
+ * Composite heuristic which hacks a main strategy by first branching on hints,
+ * that is, pairs of variable and value, typically taken from a previous solution.
+ * <p>
+ * Hints are followed in the order they are declared, as long as their value is in the domain of their variable.
+ * They are abandoned on the first solution and on the first restart, the main strategy then takes over.
+ * Since hint decisions are refutable, the completeness of the main strategy is preserved.
+ * </p>
+ *
+ * @see Solver#addHint(IntVar, int)
+ * @since 4.10.7
+ */
+public class WarmStart extends AbstractStrategy<Variable> implements IMonitorRestart, IMonitorSolution {
+
+    /**
+     * The target solver
+     */
+    private final Solver solver;
+
+    /**
+     * The main strategy declared in the solver
+     */
+    private final AbstractStrategy<Variable> mainStrategy;
+
+    /**
+     * Hinted variables
+     */
+    private final IntVar[] hintVars;
+
+    /**
+     * Hinted values
+     */
+    private final int[] hintVals;
+
+    /**
+     * Index of the next hint to consider
+     */
+    private final IStateInt next;
+
+    /**
+     * Set to <tt>true</tt> while hints are followed
+     */
+    private boolean active;
+
+    /**
+     * Creates a warm start heuristic
+     *
+     * @param hintVars     hinted variables
+     * @param hintVals     hinted values, one per variable
+     * @param mainStrategy the main strategy declared
+     */
+    public WarmStart(IntVar[] hintVars, int[] hintVals, AbstractStrategy<Variable> mainStrategy) {
+        super(mainStrategy.vars);
+        if (hintVars.length != hintVals.length) {
+            throw new IllegalArgumentException("Each hinted variable requires exactly one hinted value");
+        }
+        this.solver = hintVars[0].getModel().getSolver();
+        this.mainStrategy = mainStrategy;
+        this.hintVars = hintVars.clone();
+        this.hintVals = hintVals.clone();
+        this.next = solver.getModel().getEnvironment().makeInt(0);
+    }
+
+    /**
+     * @return the main strategy declared
+     */
+    public AbstractStrategy<Variable> getMainStrategy() {
+        return mainStrategy;
+    }
+
+    @Override
+    public boolean init() {
+        if (!solver.getSearchMonitors().contains(this)) {
+            solver.plugMonitor(this);
+        }
+        active = true;
+        return mainStrategy.init();
+    }
+
+    @Override
+    public void remove() {
+        this.mainStrategy.remove();
+        if (solver.getSearchMonitors().contains(this)) {
+            solver.unplugMonitor(this);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Decision<Variable> getDecision() {
+        if (active) {
+            for (int i = next.get(); i < hintVars.length; i++) {
+                IntVar var = hintVars[i];
+                if (!var.isInstantiated() && var.contains(hintVals[i])) {
+                    next.set(i + 1);
+                    return (Decision<Variable>) (Decision<?>) makeIntDecision(var, hintVals[i]);
+                }
+            }
+            next.set(hintVars.length);
+        }
+        return mainStrategy.getDecision();
+    }
+
+    @Override
+    public void afterRestart() {
+        active = false;
+    }
+
+    @Override
+    public void onSolution() {
+        active = false;
+    }
+}
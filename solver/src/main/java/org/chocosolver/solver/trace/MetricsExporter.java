@@ -0,0 +1,226 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.trace;
+
+import org.chocosolver.solver.search.measure.PortfolioMetrics;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Export snapshots of {@link PortfolioMetrics} while the resolution runs, for dashboards:
+ * <ul>
+ *     <li>periodically to a file, either appending JSON lines or rewriting a Prometheus text file,</li>
+ *     <li>or on demand, by serving the Prometheus text format over HTTP on a local port.</li>
+ * </ul>
+ * Exports are done by a daemon thread, which only reads published counters, and is stopped by {@link #close()}.
+ * <pre>
+ *     {@code
+ *     PortfolioMetrics metrics = portfolio.collectMetrics();
+ *     try (MetricsExporter exporter = MetricsExporter.toHttp(metrics, 9400)) {
+ *         portfolio.solve();
+ *     }
+ *     }
+ * </pre>
+ *
+ * @since 4.10.7
+ */
+public final class MetricsExporter implements Closeable {
+
+    /**
+     * Formats of exported files
+     */
+    public enum Format {
+        /**
+         * One JSON object per snapshot, appended to the file
+         */
+        JSON_LINES,
+        /**
+         * Prometheus text exposition format, the file being replaced by each snapshot
+         */
+        PROMETHEUS
+    }
+
+    /**
+     * Delay after which a client that does not send its request is dropped, in milliseconds
+     */
+    private static final int READ_TIMEOUT = 5000;
+
+    private final Thread thread;
+    /**
+     * Server socket, <i>null</i> when writing to a file
+     */
+    private final ServerSocket server;
+    /**
+     * Client being served, if any, closed on {@link #close()}
+     */
+    private volatile Socket client;
+    /**
+     * Writes a snapshot to a file, <i>null</i> when serving over HTTP
+     */
+    private final Runnable write;
+    private boolean alive = true;
+
+    private MetricsExporter(Runnable write, long period) {
+        this.server = null;
+        this.write = write;
+        this.thread = new Thread(() -> {
+            try {
+                Thread.sleep(period);
+                while (writeIfAlive()) {
+                    Thread.sleep(period);
+                }
+            } catch (InterruptedException ignored) {
+            }
+        }, "metrics-exporter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private MetricsExporter(ServerSocket server, PortfolioMetrics metrics) {
+        this.server = server;
+        this.write = null;
+        this.thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try (Socket client = server.accept()) {
+                    this.client = client;
+                    // checked after publishing the client, see close()
+                    if (!server.isClosed()) {
+                        // clients are served one after the other, an idle one must not block the others
+                        client.setSoTimeout(READ_TIMEOUT);
+                        serve(client, metrics.snapshot().toPrometheus());
+                    }
+                } catch (IOException ignored) {
+                    // closed, timed out, or the client went away
+                } finally {
+                    this.client = null;
+                }
+            }
+        }, "metrics-exporter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Write a snapshot of <i>metrics</i> to <i>file</i> every <i>period</i> milliseconds, and on closing.
+     *
+     * @param metrics statistics to export
+     * @param file    file to write to
+     * @param format  format of the file
+     * @param period  delay between two snapshots, in milliseconds
+     * @return the exporter, to close once the resolution is over
+     */
+    public static MetricsExporter toFile(PortfolioMetrics metrics, Path file, Format format, long period) {
+        PortfolioMetrics.Snapshot[] previous = new PortfolioMetrics.Snapshot[1];
+        return new MetricsExporter(() -> {
+            PortfolioMetrics.Snapshot snapshot = metrics.snapshot();
+            try {
+                if (format == Format.JSON_LINES) {
+                    Files.write(file, (snapshot.toJson(previous[0]) + "\n").getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } else {
+                    // readers never see a partially written file
+                    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                    Files.write(tmp, snapshot.toPrometheus().getBytes(StandardCharsets.UTF_8));
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            previous[0] = snapshot;
+        }, period);
+    }
+
+    /**
+     * Serve snapshots of <i>metrics</i> in Prometheus text format over HTTP, on the loopback interface.
+     *
+     * @param metrics statistics to export
+     * @param port    port to listen to, 0 to pick any free port (see {@link #getPort()})
+     * @return the exporter, to close once the resolution is over
+     * @throws IOException if the port cannot be bound
+     */
+    public static MetricsExporter toHttp(PortfolioMetrics metrics, int port) throws IOException {
+        return new MetricsExporter(new ServerSocket(port, 8, InetAddress.getLoopbackAddress()), metrics);
+    }
+
+    // writing is never interrupted, which would close the file channel
+    private synchronized boolean writeIfAlive() {
+        if (alive) {
+            write.run();
+        }
+        return alive;
+    }
+
+    private static void serve(Socket client, String body) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+        // skip the request, whatever it is
+        String line;
+        do {
+            line = in.readLine();
+        } while (line != null && !line.isEmpty());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        OutputStream out = client.getOutputStream();
+        out.write(("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: text/plain; version=0.0.4; charset=utf-8\r\n"
+                + "Content-Length: " + bytes.length + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * @return the port snapshots are served on, or -1 if they are written to a file
+     */
+    public int getPort() {
+        return server == null ? -1 : server.getLocalPort();
+    }
+
+    /**
+     * Stop exporting. When exporting to a file, a last snapshot is written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!alive) {
+                return;
+            }
+            alive = false;
+        }
+        if (server != null) {
+            server.close();
+            // a blocked read is neither released by closing the server nor by an interruption
+            Socket c = client;
+            if (c != null) {
+                c.close();
+            }
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (write != null) {
+            write.run();
+        }
+    }
+}
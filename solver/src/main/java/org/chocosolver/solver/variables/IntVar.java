@@ -82,6 +82,8 @@ public interface IntVar extends ICause, Variable, Iterable<Integer>, ArExpressio
      * the event type is created (the original event can be promoted) and observers are notified
      * and the return value is <code>true</code></li>
      * </ul>
+     * Removing several values at once should be preferred to removing them one by one,
+     * the modification being notified only once.
      *
      * @param values set of ordered values to remove
      * @param cause  removal release
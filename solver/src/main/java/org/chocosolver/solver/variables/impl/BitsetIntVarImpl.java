@@ -213,13 +213,14 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                 nub = values.previousValue(oub + 1);
             }
         }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(olb, oub, cause);
-        // now deal with holes
+        // the new bounds are now known, apply them without notifying yet
+        IntEventType e = applyBounds(olb, oub, cause);
+        // now deal with holes, clearing runs of consecutive values at once
         int value = nlb;
         int to = nub;
-        boolean hasRemoved = false;
         int count = SIZE.get();
+        int from = -1;
+        int end = -1;
         while (value <= to) {
             int aValue = value - OFFSET;
             if (aValue >= 0 && aValue <= LENGTH && VALUES.get(aValue)) {
@@ -228,27 +229,52 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                     this.contradiction(cause, MSG_REMOVE);
                 }
                 count--;
-                hasRemoved = true;
-                VALUES.clear(aValue);
                 if (reactOnRemoval) {
                     delta.add(value, cause);
                 }
+                if (aValue != end) {
+                    if (from > -1) {
+                        VALUES.clear(from, end);
+                    }
+                    from = aValue;
+                }
+                end = aValue + 1;
             }
             value = values.nextValue(value);
         }
+        boolean hasRemoved = from > -1;
         if (hasRemoved) {
-            notifyRemovals(count, cause);
+            VALUES.clear(from, end);
+            SIZE.set(count);
         }
-        return hasRemoved || hasChanged;
+        return notifyBatch(e, hasRemoved, cause);
     }
 
-    private void notifyRemovals(int count, ICause cause) throws ContradictionException {
-        SIZE.set(count);
-        IntEventType e = IntEventType.REMOVE;
-        if (count == 1) {
-            e = IntEventType.INSTANTIATE;
+    /**
+     * Notify the modifications made by a batch of removals, once the domain is up to date.
+     * A bound event does not imply that holes were punched, so both events are notified when needed,
+     * for propagators which check {@link IntEventType#isRemove(int)}.
+     *
+     * @param e the bound event of the batch, <tt>null</tt> if the bounds are unchanged
+     * @param hasRemoved <tt>true</tt> if values were removed between the new bounds
+     * @param cause removal releaser
+     * @return <tt>true</tt> if the domain has changed
+     */
+    private boolean notifyBatch(IntEventType e, boolean hasRemoved, ICause cause) throws ContradictionException {
+        if (e == null && !hasRemoved) {
+            return false;
+        }
+        if (isInstantiated()) {
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        if (e != null) {
+            this.notifyPropagators(e, cause);
+        }
+        if (hasRemoved) {
+            this.notifyPropagators(IntEventType.REMOVE, cause);
         }
-        this.notifyPropagators(e, cause);
+        return true;
     }
 
     @Override
@@ -273,8 +299,8 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                 nub = values.previousValue(oub + 1);
             }
         }
-        // the new bounds are now known, delegate to the right method
-        boolean hasChanged = updateBounds(nlb, nub, cause);
+        // the new bounds are now known, apply them without notifying yet
+        IntEventType e = applyBounds(nlb, nub, cause);
         // now deal with holes
         boolean hasRemoved = false;
         int count = SIZE.get();
@@ -311,9 +337,9 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
         }
 
         if (hasRemoved) {
-            notifyRemovals(count, cause);
+            SIZE.set(count);
         }
-        return hasRemoved || hasChanged;
+        return notifyBatch(e, hasRemoved, cause);
     }
 
     @Override
@@ -497,12 +523,24 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
 
     @Override
     public boolean updateBounds(int lb, int ub, ICause cause) throws ContradictionException {
+        return notifyBatch(applyBounds(lb, ub, cause), false, cause);
+    }
+
+    /**
+     * Update the bounds of the domain, without notifying the modification.
+     *
+     * @param lb new lower bound
+     * @param ub new upper bound
+     * @param cause update releaser
+     * @return the event to notify, <tt>null</tt> if the bounds are unchanged
+     * @throws ContradictionException if the domain becomes empty
+     */
+    private IntEventType applyBounds(int lb, int ub, ICause cause) throws ContradictionException {
         assert cause != null;
         int olb = this.getLB();
         int oub = this.getUB();
-        boolean update = false;
+        IntEventType e = null;
         if (olb < lb || oub > ub) {
-            IntEventType e = null;
             if (oub < lb) {
                 model.getSolver().getEventObserver().updateLowerBound(this, lb, olb, cause);
                 this.contradiction(cause, MSG_LOW);
@@ -539,13 +577,8 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                 UB.set(VALUES.prevSetBit(aUB));
                 SIZE.set(VALUES.cardinality());
             }
-            if (isInstantiated()) {
-                e = IntEventType.INSTANTIATE;
-            }
-            this.notifyPropagators(e, cause);
-            update = true;
         }
-        return update;
+        return e;
     }
 
     @Override
@@ -0,0 +1,200 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects;
+
+import java.util.Arrays;
+
+/**
+ * A binary max-heap of integers in [0, n[, each of them being associated with a key.
+ * <p>
+ * The position of each element in the heap is indexed, so that the key of an element
+ * can be increased or decreased, and the element can be removed, in O(log n).
+ * </p>
+ *
+ * @since 4.10.7
+ */
+public final class IndexedMaxHeap {
+
+    /**
+     * Elements, in heap order
+     */
+    private final int[] heap;
+
+    /**
+     * Position of each element in {@link #heap}, or -1 when not in the heap
+     */
+    private final int[] position;
+
+    /**
+     * Key of each element
+     */
+    private final double[] keys;
+
+    private int size;
+
+    /**
+     * Create an empty heap
+     *
+     * @param n elements are in [0, n[
+     */
+    public IndexedMaxHeap(int n) {
+        this.heap = new int[n];
+        this.position = new int[n];
+        this.keys = new double[n];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * @return the number of elements in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return <tt>true</tt> if the heap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param e an element
+     * @return <tt>true</tt> if <i>e</i> is in the heap
+     */
+    public boolean contains(int e) {
+        return position[e] > -1;
+    }
+
+    /**
+     * @param e an element
+     * @return the last key of <i>e</i>
+     */
+    public double key(int e) {
+        return keys[e];
+    }
+
+    /**
+     * @return an element with the largest key, the heap must not be empty
+     */
+    public int top() {
+        return heap[0];
+    }
+
+    /**
+     * @param pos a position in [0, {@link #size()}[
+     * @return the element at position <i>pos</i>; children of <i>pos</i> are at positions 2*pos+1 and 2*pos+2
+     */
+    public int get(int pos) {
+        return heap[pos];
+    }
+
+    /**
+     * Add <i>e</i> in the heap, or update its key if it is already in
+     *
+     * @param e   an element
+     * @param key its key
+     */
+    public void insert(int e, double key) {
+        if (position[e] > -1) {
+            update(e, key);
+        } else {
+            keys[e] = key;
+            heap[size] = e;
+            position[e] = size;
+            siftUp(size++);
+        }
+    }
+
+    /**
+     * Change the key of <i>e</i>, which must be in the heap
+     *
+     * @param e   an element
+     * @param key its new key
+     */
+    public void update(int e, double key) {
+        double old = keys[e];
+        keys[e] = key;
+        if (key > old) {
+            siftUp(position[e]);
+        } else if (key < old) {
+            siftDown(position[e]);
+        }
+    }
+
+    /**
+     * Remove <i>e</i> from the heap, if it is in
+     *
+     * @param e an element
+     */
+    public void remove(int e) {
+        int pos = position[e];
+        if (pos < 0) {
+            return;
+        }
+        position[e] = -1;
+        int last = heap[--size];
+        if (pos < size) {
+            heap[pos] = last;
+            position[last] = pos;
+            siftDown(pos);
+            siftUp(position[last]);
+        }
+    }
+
+    /**
+     * Remove all elements
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int e = heap[pos];
+        double k = keys[e];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] >= k) {
+                break;
+            }
+            heap[pos] = p;
+            position[p] = pos;
+            pos = parent;
+        }
+        heap[pos] = e;
+        position[e] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int e = heap[pos];
+        double k = keys[e];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] > keys[heap[child]]) {
+                child = right;
+            }
+            int c = heap[child];
+            if (k >= keys[c]) {
+                break;
+            }
+            heap[pos] = c;
+            position[c] = pos;
+            pos = child;
+        }
+        heap[pos] = e;
+        position[e] = pos;
+    }
+}
@@ -169,6 +169,11 @@ public class MultivaluedDecisionDiagram  {
 
     @SuppressWarnings("unchecked")
     private void init(Tuples TUPLES) {
+        if (nbLayers == 0) {
+            // no variable: a single cell tells whether the empty tuple is allowed
+            mdd = new int[]{TUPLES.nbTuples() > 0 ? TERMINAL : EMPTY};
+            return;
+        }
         nextFreeCell = sizes[0];
         _pos = new int[nbLayers];
 
@@ -502,6 +507,9 @@ public class MultivaluedDecisionDiagram  {
      * @return true if PATH is valid
      */
     public boolean exists(int... PATH) {
+        if (nbLayers == 0) {
+            return PATH.length == 0 && mdd[0] == TERMINAL;
+        }
         if (PATH.length == nbLayers) {
             int p = 0;
             for (int i = 0; i < nbLayers; i++) {
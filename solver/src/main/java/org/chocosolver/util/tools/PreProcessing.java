@@ -65,6 +65,17 @@ public class PreProcessing {
         if (model.getSolver().getSearchState() != SearchState.NEW) {
             return Collections.emptyList();
         }
+        return mergeIntEqualities(model);
+    }
+
+    /**
+     * Same as {@link #detectIntEqualities(Model)}, whatever the state of the resolution is.
+     * Only safe before the propagation engine is initialized.
+     *
+     * @param model the model to pre-process
+     * @return the list of components
+     */
+    static List<List<IntVar>> mergeIntEqualities(Model model) {
         // 2. get all integer variables and a map to their position in the array
         IntVar[] ivars = model.retrieveIntVars(true);
         int pos = 0;
@@ -77,6 +88,8 @@ public class PreProcessing {
         Arrays.stream(model.getCstrs())
                 .filter(ARITHM.and(POSTED).and(EQXY))
                 .map(c -> c.getPropagator(0))
+                // X = X is always satisfied, it is simply removed
+                .filter(p -> p.getVar(0) != p.getVar(1))
                 .forEach(p -> {
                     g.addNode(id2pos.get(p.getVar(0).getId()));
                     g.addNode(id2pos.get(p.getVar(1).getId()));
@@ -0,0 +1,694 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.tools;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.binary.PropLessOrEqualXY_C;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseConstraint;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
+import org.chocosolver.solver.constraints.nary.clauses.PropSignedClause;
+import org.chocosolver.solver.constraints.nary.sum.IntLinCombFactory;
+import org.chocosolver.solver.constraints.nary.sum.PropSum;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+
+import java.util.*;
+
+/**
+ * A presolve pipeline, applied on the posted constraints of a model before the propagation engine is initialized.
+ * <p>
+ * The following rules are applied, in that order:
+ * <ol>
+ *     <li>arithmetic constraints on a single variable are applied to its domain, and removed,</li>
+ *     <li>equality constraints between integer variables are merged, as in
+ *     {@link PreProcessing#detectIntEqualities(Model)}, and each class of equal variables is aliased to a representative
+ *     in linear constraints,</li>
+ *     <li>fixed variables are eliminated from linear constraints,</li>
+ *     <li>duplicate or dominated linear constraints, on the same linear combination, are removed,
+ *     and a pair of inequalities with the same bound is merged into an equality,</li>
+ *     <li>cliques of boolean variables, among binary constraints X + Y &le; 1, boolean sums &le; 1
+ *     and binary signed clauses, are detected and replaced by a single sum,</li>
+ *     <li>entailed arithmetic and linear constraints are removed.</li>
+ * </ol>
+ * Linear constraints are those filtered by a {@link PropSum} (or one of its subclasses).
+ * What has been done is reported by {@link #toString()}.
+ *
+ * @since 4.10.7
+ */
+public class Presolver {
+
+    /**
+     * Maximum number of variables of a boolean sum to be considered in clique detection
+     */
+    private static final int MAX_CLIQUE_SUM = 64;
+
+    private final Model model;
+    /**
+     * Constraints which cannot be removed: the ones stored in hooks, like the sat or nogood stores
+     */
+    private final Set<Constraint> protectedCstrs = new HashSet<>();
+
+    private int nbCstrsBefore, nbCstrsAfter;
+    private int nbPropsBefore, nbPropsAfter;
+    private int nbUnaries;
+    private int nbAliases;
+    private int nbFixed;
+    private int nbDominated;
+    private int nbCliques, nbInCliques;
+    private int nbEntailed;
+    private long time;
+
+    /**
+     * Create a presolver for <i>model</i>
+     *
+     * @param model the model to presolve
+     */
+    public Presolver(Model model) {
+        this.model = model;
+        for (String hook : new String[]{Model.MINISAT_HOOK_NAME, Model.NOGOODS_HOOK_NAME, Model.CLAUSES_HOOK_NAME}) {
+            Object o = model.getHook(hook);
+            if (o instanceof Constraint) {
+                protectedCstrs.add((Constraint) o);
+            }
+        }
+    }
+
+    /**
+     * Apply the presolve rules.
+     * Must be called before the propagation engine is initialized.
+     *
+     * @return this
+     */
+    public Presolver presolve() {
+        if (model.getSolver().getEngine().isInitialized()) {
+            throw new SolverException("The presolve must be applied before the propagation engine is initialized");
+        }
+        long start = System.nanoTime();
+        nbCstrsBefore = model.getNbCstrs();
+        nbPropsBefore = nbPropagators();
+        if (!applyUnaries()) {
+            // the model is proved infeasible, the propagation will fail
+            return end(start);
+        }
+        TIntObjectHashMap<IntVar> aliases = aliasEqualities();
+        List<Linear> linears = collectLinears(aliases);
+        removeDominated(linears);
+        rebuildLinears(linears);
+        detectCliques();
+        removeEntailed();
+        return end(start);
+    }
+
+    private Presolver end(long start) {
+        nbCstrsAfter = model.getNbCstrs();
+        nbPropsAfter = nbPropagators();
+        time = System.nanoTime() - start;
+        return this;
+    }
+
+    private int nbPropagators() {
+        int n = 0;
+        for (Constraint c : model.getCstrs()) {
+            n += c.getPropagators().length;
+        }
+        return n;
+    }
+
+    private boolean isCandidate(Constraint c) {
+        return c.getStatus() == Constraint.Status.POSTED && !protectedCstrs.contains(c);
+    }
+
+    /**
+     * Apply arithmetic constraints on a single variable, like X &le; C, to the domain of the variable
+     * and remove the ones that are satisfied by the domain.
+     * The others, like X &ne; C on a bounded domain, are kept.
+     *
+     * @return <i>false</i> if a domain becomes empty
+     */
+    private boolean applyUnaries() {
+        List<Constraint> unaries = new ArrayList<>();
+        for (Constraint c : model.getCstrs()) {
+            if (isCandidate(c) && c.getName().equals(ConstraintsName.ARITHM)
+                    && c.getPropagators().length == 1 && c.getPropagator(0).getNbVars() == 1) {
+                unaries.add(c);
+            }
+        }
+        try {
+            for (Constraint c : unaries) {
+                Propagator<?> p = c.getPropagator(0);
+                p.setActive();
+                p.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            }
+        } catch (ContradictionException e) {
+            return false;
+        }
+        // checked once all of them ran, since the domains may have been reduced by the next ones
+        unaries.removeIf(c -> {
+            Propagator<?> p = c.getPropagator(0);
+            return !p.isPassive() && p.isEntailed() != ESat.TRUE;
+        });
+        model.unpost(unaries.toArray(new Constraint[0]));
+        nbUnaries += unaries.size();
+        return true;
+    }
+
+    /**
+     * Merge equality constraints and map each variable of a class of equal variables to a representative:
+     * an instantiated variable if any, otherwise the first one.
+     */
+    private TIntObjectHashMap<IntVar> aliasEqualities() {
+        TIntObjectHashMap<IntVar> aliases = new TIntObjectHashMap<>();
+        for (List<IntVar> component : PreProcessing.mergeIntEqualities(model)) {
+            IntVar rep = component.stream().filter(IntVar::isInstantiated).findFirst().orElse(component.get(0));
+            for (IntVar v : component) {
+                if (v != rep) {
+                    aliases.put(v.getId(), rep);
+                }
+            }
+        }
+        return aliases;
+    }
+
+    //***********************************************************************************
+    // LINEAR CONSTRAINTS
+    //***********************************************************************************
+
+    /**
+     * A linear constraint SUM(coeffs[i].vars[i]) op b, in normal form:
+     * variables sorted by id, coefficients divided by their gcd and the first one positive.
+     */
+    private static final class Linear {
+        final Constraint cstr;
+        IntVar[] vars;
+        int[] coeffs;
+        Operator op;
+        long b;
+        // true if variables were aliased or eliminated, or coefficients merged
+        boolean changed;
+        String key;
+        // the inequality merged into this one, removed only once this one is rebuilt as an equality
+        Linear merged;
+
+        Linear(Constraint cstr) {
+            this.cstr = cstr;
+        }
+    }
+
+    private List<Linear> collectLinears(TIntObjectHashMap<IntVar> aliases) {
+        List<Linear> linears = new ArrayList<>();
+        for (Constraint c : model.getCstrs()) {
+            if (isCandidate(c) && c.getPropagators().length == 1 && c.getPropagator(0) instanceof PropSum) {
+                Linear l = normalize(c, (PropSum) c.getPropagator(0), aliases);
+                if (l != null) {
+                    linears.add(l);
+                }
+            }
+        }
+        return linears;
+    }
+
+    private Linear normalize(Constraint c, PropSum p, TIntObjectHashMap<IntVar> aliases) {
+        Linear l = new Linear(c);
+        int n = p.getNbVars();
+        IntVar[] vars = new IntVar[n];
+        long[] coeffs = new long[n];
+        long b = p.getBound();
+        TIntIntHashMap pos = new TIntIntHashMap(n, .5f, -1, -1);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            IntVar v = p.getVar(i);
+            int coeff = p.getCoefficient(i);
+            IntVar rep = aliases.get(v.getId());
+            if (rep != null) {
+                nbAliases++;
+                l.changed = true;
+                v = rep;
+            }
+            if (v.isInstantiated()) {
+                nbFixed++;
+                l.changed = true;
+                b -= (long) coeff * v.getValue();
+                continue;
+            }
+            int j = pos.get(v.getId());
+            if (j >= 0) {
+                l.changed = true;
+                coeffs[j] += coeff;
+            } else {
+                pos.put(v.getId(), k);
+                vars[k] = v;
+                coeffs[k++] = coeff;
+            }
+        }
+        Integer[] order = new Integer[k];
+        int m = 0;
+        long gcd = 0;
+        for (int i = 0; i < k; i++) {
+            if (coeffs[i] != 0) {
+                order[m++] = i;
+                gcd = gcd(gcd, Math.abs(coeffs[i]));
+            } else {
+                l.changed = true;
+            }
+        }
+        Arrays.sort(order, 0, m, Comparator.comparingInt(i -> vars[i].getId()));
+        Operator op = p.getOperator();
+        if (m > 0 && gcd > 1 && op != Operator.NQ) {
+            if (op == Operator.EQ && b % gcd != 0) {
+                // infeasible, left to the propagation
+                return null;
+            }
+            b = op == Operator.GE ? -Math.floorDiv(-b, gcd) : Math.floorDiv(b, gcd);
+        } else {
+            gcd = 1;
+        }
+        long sign = m > 0 && coeffs[order[0]] < 0 ? -1 : 1;
+        l.vars = new IntVar[m];
+        l.coeffs = new int[m];
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < m; i++) {
+            l.vars[i] = vars[order[i]];
+            long coeff = sign * coeffs[order[i]] / gcd;
+            if (coeff < Integer.MIN_VALUE || coeff > Integer.MAX_VALUE) {
+                return null;
+            }
+            l.coeffs[i] = (int) coeff;
+            key.append(l.vars[i].getId()).append(':').append(coeff).append(' ');
+        }
+        l.b = sign * b;
+        l.op = op;
+        if (sign < 0 && op == Operator.LE) {
+            l.op = Operator.GE;
+        } else if (sign < 0 && op == Operator.GE) {
+            l.op = Operator.LE;
+        }
+        l.key = key.toString();
+        return l;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Among the linear constraints on the same linear combination, keep the tightest ones.
+     */
+    private void removeDominated(List<Linear> linears) {
+        Map<String, List<Linear>> groups = new LinkedHashMap<>();
+        for (Linear l : linears) {
+            groups.computeIfAbsent(l.key, k -> new ArrayList<>()).add(l);
+        }
+        Set<Linear> removed = new LinkedHashSet<>();
+        Set<Linear> merged = new LinkedHashSet<>();
+        for (List<Linear> group : groups.values()) {
+            if (group.size() < 2) {
+                continue;
+            }
+            Linear eq = null, le = null, ge = null;
+            Set<Long> nqs = new HashSet<>();
+            for (Linear l : group) {
+                switch (l.op) {
+                    case EQ:
+                        if (eq == null) {
+                            eq = l;
+                        } else if (eq.b == l.b) {
+                            removed.add(l);
+                        }
+                        break;
+                    case LE:
+                        if (le == null || l.b < le.b) {
+                            if (le != null) {
+                                removed.add(le);
+                            }
+                            le = l;
+                        } else {
+                            removed.add(l);
+                        }
+                        break;
+                    case GE:
+                        if (ge == null || l.b > ge.b) {
+                            if (ge != null) {
+                                removed.add(ge);
+                            }
+                            ge = l;
+                        } else {
+                            removed.add(l);
+                        }
+                        break;
+                    case NQ:
+                        if (!nqs.add(l.b)) {
+                            removed.add(l);
+                        }
+                        break;
+                }
+            }
+            if (eq != null) {
+                if (le != null && le.b >= eq.b) {
+                    removed.add(le);
+                }
+                if (ge != null && ge.b <= eq.b) {
+                    removed.add(ge);
+                }
+            } else if (le != null && ge != null && le.b == ge.b) {
+                le.op = Operator.EQ;
+                le.changed = true;
+                le.merged = ge;
+                merged.add(ge);
+            }
+        }
+        for (Linear l : removed) {
+            model.unpost(l.cstr);
+        }
+        nbDominated += removed.size();
+        linears.removeAll(removed);
+        linears.removeAll(merged);
+    }
+
+    /**
+     * Replace the linear constraints which changed by their normal form.
+     * When a constraint cannot be rebuilt, it is kept as is, and so is the inequality merged into it, if any.
+     */
+    private void rebuildLinears(List<Linear> linears) {
+        for (Linear l : linears) {
+            if (!l.changed || l.b < Integer.MIN_VALUE || l.b > Integer.MAX_VALUE) {
+                continue;
+            }
+            Constraint c;
+            try {
+                c = IntLinCombFactory.reduce(l.vars, l.coeffs, l.op, model.intVar((int) l.b), Integer.MAX_VALUE);
+            } catch (SolverException e) {
+                // overflow, the constraint is kept as is
+                continue;
+            }
+            model.unpost(l.cstr);
+            if (l.merged != null) {
+                model.unpost(l.merged.cstr);
+                nbDominated++;
+            }
+            if (c.isSatisfied() != ESat.TRUE) {
+                c.post();
+            } else {
+                nbEntailed++;
+            }
+        }
+    }
+
+    //***********************************************************************************
+    // CLIQUES
+    //***********************************************************************************
+
+    /**
+     * Find cliques in the graph whose nodes are boolean variables and edges are constraints
+     * X + Y &le; 1, boolean sums &le; 1 or signed clauses (X = 0 &or; Y = 0).
+     * Each clique which subsumes at least two constraints is posted as a single sum and the constraints it subsumes
+     * are removed.
+     * The clauses of the clause store are only read: they subsume nothing but are kept in the store.
+     */
+    private void detectCliques() {
+        // constraints (by index) and their variables, a null constraint stands for a clause of the store
+        List<Constraint> atMostOnes = new ArrayList<>();
+        List<BoolVar[]> scopes = new ArrayList<>();
+        for (Constraint c : model.getCstrs()) {
+            if (!isCandidate(c) || c.getPropagators().length != 1) {
+                continue;
+            }
+            BoolVar[] scope = atMostOne(c.getPropagator(0));
+            if (scope != null) {
+                atMostOnes.add(c);
+                scopes.add(scope);
+            }
+        }
+        Object clauses = model.getHook(Model.CLAUSES_HOOK_NAME);
+        if (clauses instanceof ClauseConstraint) {
+            for (ClauseStore.SignedClause c : ((ClauseConstraint) clauses).getClauseStore().getClauses()) {
+                BoolVar[] scope = atMostOne(c);
+                if (scope != null) {
+                    atMostOnes.add(null);
+                    scopes.add(scope);
+                }
+            }
+        }
+        if (atMostOnes.size() < 2) {
+            return;
+        }
+        TIntObjectHashMap<TIntHashSet> neighbors = new TIntObjectHashMap<>();
+        TIntObjectHashMap<List<Integer>> occurrences = new TIntObjectHashMap<>();
+        TIntObjectHashMap<BoolVar> byId = new TIntObjectHashMap<>();
+        for (int c = 0; c < scopes.size(); c++) {
+            BoolVar[] scope = scopes.get(c);
+            for (BoolVar x : scope) {
+                byId.put(x.getId(), x);
+                List<Integer> occ = occurrences.get(x.getId());
+                if (occ == null) {
+                    occurrences.put(x.getId(), occ = new ArrayList<>());
+                }
+                occ.add(c);
+                TIntHashSet neigh = neighbors.get(x.getId());
+                if (neigh == null) {
+                    neighbors.put(x.getId(), neigh = new TIntHashSet());
+                }
+                for (BoolVar y : scope) {
+                    if (y != x) {
+                        neigh.add(y.getId());
+                    }
+                }
+            }
+        }
+        boolean[] subsumed = new boolean[scopes.size()];
+        int[] nodes = neighbors.keys();
+        Arrays.sort(nodes);
+        Integer[] sorted = Arrays.stream(nodes).boxed().toArray(Integer[]::new);
+        Arrays.sort(sorted, Comparator.comparingInt(v -> -neighbors.get(v).size()));
+        for (int v : sorted) {
+            if (occurrences.get(v).stream().allMatch(c -> subsumed[c])) {
+                continue;
+            }
+            // greedy clique, built from the neighbors of v with the largest degree
+            Integer[] candidates = Arrays.stream(neighbors.get(v).toArray()).boxed().toArray(Integer[]::new);
+            Arrays.sort(candidates, Comparator.<Integer>comparingInt(u -> -neighbors.get(u).size()).thenComparingInt(u -> u));
+            TIntHashSet clique = new TIntHashSet();
+            clique.add(v);
+            for (int u : candidates) {
+                TIntHashSet neigh = neighbors.get(u);
+                if (neigh.containsAll(clique)) {
+                    clique.add(u);
+                }
+            }
+            if (clique.size() < 3) {
+                continue;
+            }
+            List<Integer> within = new ArrayList<>();
+            for (int u : clique.toArray()) {
+                for (int c : occurrences.get(u)) {
+                    if (!subsumed[c] && !within.contains(c)
+                            && Arrays.stream(scopes.get(c)).allMatch(x -> clique.contains(x.getId()))) {
+                        within.add(c);
+                    }
+                }
+            }
+            if (within.size() < 2) {
+                continue;
+            }
+            int[] ids = clique.toArray();
+            Arrays.sort(ids);
+            BoolVar[] vars = Arrays.stream(ids).mapToObj(byId::get).toArray(BoolVar[]::new);
+            for (int c : within) {
+                subsumed[c] = true;
+                if (atMostOnes.get(c) != null) {
+                    model.unpost(atMostOnes.get(c));
+                    nbInCliques++;
+                }
+            }
+            model.sum(vars, "<=", 1).post();
+            nbCliques++;
+        }
+    }
+
+    /**
+     * @return the boolean variables of <i>p</i> if it states that at most one of them is true, <i>null</i> otherwise
+     */
+    private static BoolVar[] atMostOne(Propagator<?> p) {
+        if (p instanceof PropLessOrEqualXY_C) {
+            if (((PropLessOrEqualXY_C) p).getConstant() == 1 && isBool(p)) {
+                return toBoolVars(p);
+            }
+        } else if (p instanceof PropSum) {
+            PropSum s = (PropSum) p;
+            if (s.getOperator() == Operator.LE && s.getBound() == 1 && s.getNbVars() <= MAX_CLIQUE_SUM && isBool(p)) {
+                for (int i = 0; i < s.getNbVars(); i++) {
+                    if (s.getCoefficient(i) != 1) {
+                        return null;
+                    }
+                }
+                return toBoolVars(p);
+            }
+        } else if (p instanceof PropSignedClause) {
+            PropSignedClause c = (PropSignedClause) p;
+            if (c.cardinality() == 2) {
+                return atMostOne(c.getLiteralVar(0), c.getLiteralLB(0), c.getLiteralUB(0),
+                        c.getLiteralVar(1), c.getLiteralLB(1), c.getLiteralUB(1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the boolean variables of <i>c</i> if it states that at most one of them is true, <i>null</i> otherwise
+     */
+    private static BoolVar[] atMostOne(ClauseStore.SignedClause c) {
+        if (c.cardinality() == 2) {
+            return atMostOne(c.getLiteralVar(0), c.getLiteralLB(0), c.getLiteralUB(0),
+                    c.getLiteralVar(1), c.getLiteralLB(1), c.getLiteralUB(1));
+        }
+        return null;
+    }
+
+    /**
+     * @return X and Y if the clause (X &isin; [l1, u1] &or; Y &isin; [l2, u2]) states that X + Y &le; 1
+     * on boolean variables, <i>null</i> otherwise
+     */
+    private static BoolVar[] atMostOne(IntVar x, int l1, int u1, IntVar y, int l2, int u2) {
+        if (x != y && x instanceof BoolVar && y instanceof BoolVar && !x.isInstantiated() && !y.isInstantiated()
+                && l1 <= 0 && u1 == 0 && l2 <= 0 && u2 == 0) {
+            return new BoolVar[]{(BoolVar) x, (BoolVar) y};
+        }
+        return null;
+    }
+
+    private static boolean isBool(Propagator<?> p) {
+        for (int i = 0; i < p.getNbVars(); i++) {
+            if (!(p.getVar(i) instanceof BoolVar) || p.getVar(i).isInstantiated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BoolVar[] toBoolVars(Propagator<?> p) {
+        BoolVar[] vars = new BoolVar[p.getNbVars()];
+        for (int i = 0; i < vars.length; i++) {
+            vars[i] = (BoolVar) p.getVar(i);
+        }
+        return vars;
+    }
+
+    //***********************************************************************************
+    // ENTAILMENT
+    //***********************************************************************************
+
+    /**
+     * Remove arithmetic and linear constraints which are entailed.
+     * Other constraints are kept, since some propagators only provide a weak entailment check.
+     */
+    private void removeEntailed() {
+        List<Constraint> entailed = new ArrayList<>();
+        for (Constraint c : model.getCstrs()) {
+            if (isCandidate(c) && (c.getName().equals(ConstraintsName.ARITHM) || c.getName().equals(ConstraintsName.SUM))
+                    && c.isSatisfied() == ESat.TRUE) {
+                entailed.add(c);
+            }
+        }
+        model.unpost(entailed.toArray(new Constraint[0]));
+        nbEntailed += entailed.size();
+    }
+
+    //***********************************************************************************
+    // REPORT
+    //***********************************************************************************
+
+    /**
+     * @return number of arithmetic constraints on a single variable applied to its domain
+     */
+    public int getNbUnaries() {
+        return nbUnaries;
+    }
+
+    /**
+     * @return number of variables occurrences replaced by their representative in linear constraints
+     */
+    public int getNbAliases() {
+        return nbAliases;
+    }
+
+    /**
+     * @return number of occurrences of fixed variables eliminated from linear constraints
+     */
+    public int getNbFixed() {
+        return nbFixed;
+    }
+
+    /**
+     * @return number of duplicate or dominated linear constraints removed
+     */
+    public int getNbDominated() {
+        return nbDominated;
+    }
+
+    /**
+     * @return number of cliques posted
+     */
+    public int getNbCliques() {
+        return nbCliques;
+    }
+
+    /**
+     * @return number of constraints subsumed by the cliques posted, and removed
+     */
+    public int getNbInCliques() {
+        return nbInCliques;
+    }
+
+    /**
+     * @return number of entailed constraints removed
+     */
+    public int getNbEntailed() {
+        return nbEntailed;
+    }
+
+    /**
+     * @return number of propagators before the presolve
+     */
+    public int getNbPropagatorsBefore() {
+        return nbPropsBefore;
+    }
+
+    /**
+     * @return number of propagators after the presolve
+     */
+    public int getNbPropagatorsAfter() {
+        return nbPropsAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Presolve: %d -> %d constraints, %d -> %d propagators; " +
+                        "%d unary constraints applied, %d aliases, %d fixed variables eliminated, %d dominated linear constraints, " +
+                        "%d cliques (subsuming %d constraints), %d entailed constraints; %.3fs",
+                nbCstrsBefore, nbCstrsAfter, nbPropsBefore, nbPropsAfter,
+                nbUnaries, nbAliases, nbFixed, nbDominated, nbCliques, nbInCliques, nbEntailed,
+                time / 1e9);
+    }
+}
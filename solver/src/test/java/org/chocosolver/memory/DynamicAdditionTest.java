@@ -26,7 +26,9 @@ public class DynamicAdditionTest {
     public Object[][] getEnvs(){
         return new EnvironmentTrailing[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromCopy().build()},
+                {new EnvironmentBuilder().fromHybrid().build()}
         };
     }
 
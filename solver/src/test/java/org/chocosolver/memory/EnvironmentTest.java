@@ -31,7 +31,9 @@ public class EnvironmentTest {
     public Object[][] env() {
         return new IEnvironment[][]{
             {new EnvironmentBuilder().fromFlat().build()},
-            {new EnvironmentBuilder().fromChunk().build()}
+            {new EnvironmentBuilder().fromChunk().build()},
+            {new EnvironmentBuilder().fromCopy().build()},
+            {new EnvironmentBuilder().fromHybrid().build()}
         };
     }
 
@@ -278,6 +280,63 @@ public class EnvironmentTest {
         Assert.assertEquals(val[0], 0);
     }
 
+    @DataProvider(name = "envCommit")
+    public Object[][] envCommit() {
+        // chunked trails do not support commit
+        return new IEnvironment[][]{
+            {new EnvironmentBuilder().fromFlat().build()},
+            {new EnvironmentBuilder().fromCopy().build()},
+            {new EnvironmentBuilder().fromHybrid().build()}
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "envCommit")
+    public void testCommit(IEnvironment env) {
+        IStateInt snt = env.makeInt(0);
+        IStateBitSet bs = env.makeBitSet(128);
+        env.worldPush();
+        snt.set(2);
+        bs.set(2);
+        env.worldPush();
+        snt.set(4);
+        bs.set(100);
+        env.worldPush();
+        snt.set(6);
+        bs.set(6);
+        env.worldCommit();
+        Assert.assertEquals(snt.get(), 6);
+        Assert.assertEquals(bs.cardinality(), 3);
+        env.worldPop();
+        Assert.assertEquals(snt.get(), 2);
+        Assert.assertEquals(bs.toString(), "{2}");
+        env.worldPop();
+        Assert.assertEquals(snt.get(), 0);
+        Assert.assertTrue(bs.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testDeepSearch(IEnvironment env) {
+        IStateInt[] ints = new IStateInt[50];
+        IStateBitSet bs = env.makeBitSet(500);
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = env.makeInt(i);
+        }
+        bs.set(0, 500);
+        for (int w = 0; w < 300; w++) {
+            env.worldPush();
+            ints[w % ints.length].add(1);
+            bs.clear(w);
+        }
+        Assert.assertEquals(bs.nextSetBit(0), 300);
+        for (int w = 299; w >= 0; w--) {
+            env.worldPop();
+            Assert.assertEquals(bs.nextSetBit(0), w);
+        }
+        for (int i = 0; i < ints.length; i++) {
+            Assert.assertEquals(ints[i].get(), i);
+        }
+    }
+
     @Test(groups = "1s")
     public void testWorldCommit() {
         Model model = new Model();
@@ -20,7 +20,9 @@ public class PopTest {
     public Object[][] getEnvs(){
         return new EnvironmentTrailing[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromCopy().build()},
+                {new EnvironmentBuilder().fromHybrid().build()}
         };
     }
 
@@ -34,7 +34,9 @@ public class EnvironmentTest {
 	public Object[][] getEnvs(){
 		return new EnvironmentTrailing[][]{
 				{new EnvironmentBuilder().fromFlat().build()},
-				{new EnvironmentBuilder().fromChunk().build()}
+				{new EnvironmentBuilder().fromChunk().build()},
+				{new EnvironmentBuilder().fromCopy().build()},
+				{new EnvironmentBuilder().fromHybrid().build()}
 		};
 	}
 
@@ -78,6 +80,21 @@ public class EnvironmentTest {
 		model.getSolver().solve();
 	}
 
+	@Test(groups="1s", timeOut=60000, dataProvider = "env")
+	public void testQueens(EnvironmentTrailing env) {
+		int n = 8;
+		Model model = new Model(env, "Queens");
+		IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+		model.allDifferent(vars, "AC").post();
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				model.arithm(vars[i], "!=", vars[j], "+", j - i).post();
+				model.arithm(vars[i], "!=", vars[j], "-", j - i).post();
+			}
+		}
+		Assert.assertEquals(model.getSolver().findAllSolutions().size(), 92);
+	}
+
 	@Test(groups="1s", timeOut=60000)
 	public void testBuilder(){
 		ChunckedIntTrail it = new ChunckedIntTrail(1000, 3, 1.4);
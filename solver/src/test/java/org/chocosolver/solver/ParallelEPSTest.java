@@ -0,0 +1,123 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * Tests for {@link ParallelEPS}
+ *
+ * @since 4.10.7
+ */
+public class ParallelEPSTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAllSolutions() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(8));
+        }
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertEquals(eps.getSolutionCount(), 92);
+        Assert.assertTrue(eps.getNbSubproblems() > 4);
+        Assert.assertTrue(eps.isSearchCompleted());
+        // no solution is found twice
+        IntVar[] qs = eps.getModels().get(0).retrieveIntVars(true);
+        Set<String> distinct = solutions.stream()
+                .map(s -> {
+                    StringBuilder st = new StringBuilder();
+                    for (IntVar q : qs) {
+                        st.append(s.getIntVal(q)).append(',');
+                    }
+                    return st.toString();
+                })
+                .collect(Collectors.toSet());
+        Assert.assertEquals(distinct.size(), 92);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOneSolution() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 3; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(10));
+        }
+        Assert.assertTrue(eps.solve());
+        Solution sol = eps.getBestSolution();
+        Assert.assertNotNull(sol);
+        IntVar[] qs = eps.getModels().get(0).retrieveIntVars(true);
+        for (int i = 0; i < qs.length; i++) {
+            for (int j = i + 1; j < qs.length; j++) {
+                int vi = sol.getIntVal(qs[i]), vj = sol.getIntVal(qs[j]);
+                Assert.assertNotEquals(vi, vj);
+                Assert.assertNotEquals(Math.abs(vi - vj), j - i);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoSolution() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 2; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(3));
+        }
+        Assert.assertFalse(eps.solve());
+        Assert.assertNull(eps.getBestSolution());
+        Assert.assertTrue(eps.isSearchCompleted());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptimization() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(knapsack());
+        }
+        Assert.assertTrue(eps.solve());
+        IntVar power = (IntVar) eps.getModels().get(0).getObjective();
+        Assert.assertEquals(eps.getBestSolution().getIntVal(power), 51);
+        Assert.assertTrue(eps.isSearchCompleted());
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testGolomb() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(ProblemMaker.makeGolombRuler(8));
+        }
+        eps.setSubproblemsPerWorker(10);
+        Assert.assertTrue(eps.solve());
+        IntVar obj = (IntVar) eps.getModels().get(0).getObjective();
+        Assert.assertEquals(eps.getBestSolution().getIntVal(obj), 34);
+        // solving twice gives the same answer
+        Assert.assertTrue(eps.solve());
+        Assert.assertEquals(eps.getBestSolution().getIntVal(obj), 34);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testStopCriterion() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 2; i++) {
+            eps.addModel(ProblemMaker.makeNQueenWithBinaryConstraints(12));
+        }
+        eps.addStopCriterion(() -> true);
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertTrue(solutions.isEmpty());
+        Assert.assertFalse(eps.isSearchCompleted());
+    }
+}
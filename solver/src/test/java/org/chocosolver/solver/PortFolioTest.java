@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.constraints.nary.clauses.ClauseExchange;
+import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ProblemMaker;
@@ -269,4 +271,50 @@ public class PortFolioTest {
             System.gc();
         }
     }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testSharedBound() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 4; i++) {
+            pares.addModel(ProblemMaker.makeGolombRuler(10));
+        }
+        while (pares.solve()) ;
+        Model finder = pares.getBestModel();
+        Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 55);
+        for (Model m : pares.getModels()) {
+            // a model may have been stopped before reading the last bound
+            Assert.assertTrue(m.getSolver().getObjectiveManager().getBestSolutionValue().intValue() >= 55);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testShareClauses() {
+        // pigeonhole: 8 pigeons, 7 holes
+        int n = 8;
+        ParallelPortfolio pares = new ParallelPortfolio();
+        ClauseExchange exchange = new ClauseExchange();
+        pares.shareLearntClauses(exchange);
+        for (int i = 0; i < 4; i++) {
+            Model m = new Model("pigeons-" + i);
+            IntVar[] p = m.intVarArray("p", n, 0, n - 2);
+            for (int j = 0; j < n; j++) {
+                for (int k = j + 1; k < n; k++) {
+                    m.arithm(p[j], "!=", p[k]).post();
+                }
+            }
+            Solver s = m.getSolver();
+            s.setSearch(randomSearch(p, i));
+            s.setLearningSignedClauses();
+            s.setLubyRestart(20, new FailCounter(m, 0), 5000);
+            pares.addModel(m);
+        }
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(exchange.getNbPublished() > 0);
+        long imported = 0;
+        for (Model m : pares.getModels()) {
+            Assert.assertTrue(exchange.getNbPublished(m) + exchange.getNbFiltered(m) > 0);
+            imported += exchange.getNbImported(m);
+        }
+        Assert.assertTrue(imported > 0);
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class SolutionStoreTest {
+
+    private static Model model(int n) {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("x", n, 0, n - 1);
+        model.allDifferent(vars).post();
+        model.getSolver().setSearch(Search.inputOrderLBSearch(vars));
+        return model;
+    }
+
+    private static void check(SolutionStore store, IntVar[] vars) {
+        List<Solution> solutions = model(vars.length).getSolver().findAllSolutions();
+        Assert.assertEquals(store.size(), solutions.size());
+        int[] row = null;
+        for (int s = 0; s < store.size(); s++) {
+            row = store.getRow(s, row);
+            Solution solution = solutions.get(s);
+            List<IntVar> svars = solution.retrieveIntVars(true);
+            for (int c = 0; c < vars.length; c++) {
+                int expected = solution.getIntVal(svars.get(c));
+                Assert.assertEquals(row[c], expected);
+                Assert.assertEquals(store.getIntVal(s, vars[c]), expected);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOnHeap() {
+        Model model = model(7);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(vars));
+        // more than one block
+        Assert.assertTrue(store.size() > SolutionStore.BLOCK);
+        check(store, vars);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMapped() throws IOException {
+        Path file = Files.createTempFile("solutions", ".bin");
+        try {
+            Model model = model(7);
+            IntVar[] vars = model.retrieveIntVars(true);
+            try (SolutionStore store = new SolutionStore(file, vars)) {
+                model.getSolver().findAllSolutions(store);
+                check(store, vars);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testToSolution() {
+        Model model = model(4);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(vars[1], vars[3]));
+        Assert.assertEquals(store.size(), 24);
+        Assert.assertEquals(store.arity(), 2);
+        Solution solution = store.toSolution(5);
+        Assert.assertEquals(solution.getIntVal(vars[1]), store.get(5, 0));
+        Assert.assertEquals(solution.getIntVal(vars[3]), store.get(5, 1));
+        Assert.assertThrows(SolverException.class, () -> store.getIntVal(0, vars[0]));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> store.get(24, 0));
+        store.clear();
+        Assert.assertEquals(store.size(), 0);
+        Assert.assertEquals(store.add(3, 2), 0);
+        Assert.assertEquals(store.get(0, 1), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSink() {
+        Model model = model(6);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionStore store = new SolutionStore(vars);
+        long nb = model.getSolver().forEachSolution(vars, values -> {
+            store.add(values);
+            return true;
+        });
+        Assert.assertEquals(nb, 720);
+        check(store, vars);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSinkStop() {
+        Model model = model(6);
+        IntVar[] vars = model.retrieveIntVars(true);
+        int[] first = new int[vars.length];
+        long nb = model.getSolver().forEachSolution(vars, values -> {
+            if (first[0] == first[1]) {
+                System.arraycopy(values, 0, first, 0, values.length);
+            }
+            return false;
+        });
+        Assert.assertEquals(nb, 1);
+        Assert.assertEquals(first, new int[]{0, 1, 2, 3, 4, 5});
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
+    }
+}
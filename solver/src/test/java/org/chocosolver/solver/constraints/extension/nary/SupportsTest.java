@@ -0,0 +1,88 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class SupportsTest {
+
+    private static Tuples random(int n, int size, int nb, long seed) {
+        Random rnd = new Random(seed);
+        Tuples tuples = new Tuples(true);
+        for (int t = 0; t < nb; t++) {
+            int[] tuple = new int[n];
+            for (int i = 0; i < n; i++) {
+                tuple[i] = rnd.nextInt(size);
+            }
+            tuples.add(tuple);
+        }
+        return tuples;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testShared() {
+        Tuples tuples = random(3, 10, 100, 0);
+        Model m1 = new Model();
+        Model m2 = new Model();
+        PropCompactTable p1 = new PropCompactTable(m1.intVarArray("x", 3, 0, 9), tuples);
+        PropCompactTable p2 = new PropCompactTable(m1.intVarArray("y", 3, 0, 9), tuples);
+        PropCompactTable p3 = new PropCompactTable(m2.intVarArray("x", 3, 0, 9), tuples);
+        Assert.assertSame(p1.supports, p2.supports);
+        Assert.assertSame(p1.supports, p3.supports);
+        // other domains, other tuples or universal value lead to other supports
+        PropCompactTable p4 = new PropCompactTable(m1.intVarArray("z", 3, 0, 8), tuples);
+        Assert.assertNotSame(p1.supports, p4.supports);
+        PropCompactTable p5 = new PropCompactTable(m1.intVarArray("w", 3, 0, 9), random(3, 10, 100, 0));
+        Assert.assertNotSame(p1.supports, p5.supports);
+        tuples.setUniversalValue(-1);
+        PropCompactTable p6 = new PropCompactTableStar(m1.intVarArray("v", 3, 0, 9), tuples);
+        Assert.assertNotSame(p1.supports, p6.supports);
+        Assert.assertNotNull(p6.supports.inc);
+        // residues are not shared
+        Assert.assertNotSame(p1.residues, p2.residues);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRepresentation() {
+        Model model = new Model();
+        IntVar[] vars = new IntVar[]{model.intVar("a", 0, 1), model.intVar("b", 0, 9999)};
+        Tuples tuples = new Tuples(true);
+        for (int t = 0; t < 10000; t++) {
+            tuples.add(t % 2, t);
+        }
+        // out of domain, not numbered
+        tuples.add(2, 0);
+        Supports supports = Supports.of(vars, tuples, false);
+        Assert.assertEquals(supports.nbTuples, 10000);
+        Assert.assertNotNull(supports.sup[0].dense);
+        Assert.assertNull(supports.sup[1].dense);
+        // each value of b is supported by a single tuple
+        Supports.Column column = supports.sup[1];
+        for (int v = 0; v < 10000; v++) {
+            Assert.assertEquals(column.start[v + 1] - column.start[v], 1);
+            Assert.assertEquals(column.index[column.start[v]], v / 64);
+            Assert.assertEquals(column.bits[column.start[v]], 1L << (63 - (v % 64)));
+        }
+        long[] even = supports.sup[0].dense[0];
+        Assert.assertEquals(even.length, 157);
+        Assert.assertEquals(even[0], 0xAAAAAAAAAAAAAAAAL);
+    }
+}
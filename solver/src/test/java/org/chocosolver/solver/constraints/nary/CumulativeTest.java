@@ -19,7 +19,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
 
@@ -209,4 +211,229 @@ public class CumulativeTest {
             }
         }
 	}
+
+	private static int schedule(int n, int capa, long seed, boolean learn, Cumulative.Filter... filters) {
+		Model model = new Model();
+		IntVar[] s = model.intVarArray("s", n, 0, 4 * n, false);
+		IntVar[] d = model.intVarArray("d", n, 1, 4, false);
+		IntVar[] e = model.intVarArray("e", n, 0, 4 * n, false);
+		IntVar[] h = model.intVarArray("h", n, 1, capa, false);
+		IntVar last = model.intVar("last", 0, 4 * n, false);
+		Task[] t = new Task[n];
+		Random rnd = new Random(seed);
+		for (int i = 0; i < n; i++) {
+			t[i] = new Task(s[i], d[i], e[i]);
+			model.arithm(e[i], "<=", last).post();
+			// makes instances tighter
+			model.arithm(d[i], ">=", 1 + rnd.nextInt(4)).post();
+			model.arithm(h[i], ">=", 1 + rnd.nextInt(capa)).post();
+		}
+		model.cumulative(t, h, model.intVar(capa), false, filters).post();
+		Solver r = model.getSolver();
+		if (learn) {
+			r.setLearningSignedClauses();
+		}
+		r.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+		model.setObjective(Model.MINIMIZE, last);
+		int best = -1;
+		while (r.solve()) {
+			best = last.getValue();
+		}
+		return best;
+	}
+
+	@Test(groups="10s", timeOut=60000)
+	public void testLearning() {
+		Cumulative.Filter[][] filters = new Cumulative.Filter[][]{
+				{Cumulative.Filter.TIME},
+				{Cumulative.Filter.TIME, Cumulative.Filter.NRJ},
+				{Cumulative.Filter.HEIGHTS, Cumulative.Filter.SWEEP},
+				{Cumulative.Filter.DEFAULT}
+		};
+		for (long seed = 1; seed < 5; seed++) {
+			for (Cumulative.Filter[] f : filters) {
+				int ref = schedule(5, 3, seed, false, f);
+				Assert.assertEquals(schedule(5, 3, seed, true, f), ref, Arrays.toString(f) + " " + seed);
+			}
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testLearningDisjunctive() {
+		for (long seed = 0; seed < 5; seed++) {
+			for (Cumulative.Filter[] f : new Cumulative.Filter[][]{
+					{Cumulative.Filter.DISJUNCTIVE_TASK_INTERVAL},
+					{Cumulative.Filter.DEFAULT}}) {
+				int ref = schedule(6, 1, seed, false, f);
+				Assert.assertEquals(schedule(6, 1, seed, true, f), ref, Arrays.toString(f) + " " + seed);
+			}
+		}
+	}
+
+	private static int pack(int n, long seed, boolean learn) {
+		Model model = new Model();
+		Random rnd = new Random(seed);
+		IntVar[] x = model.intVarArray("x", n, 0, 2 * n, false);
+		IntVar[] y = model.intVarArray("y", n, 0, 3, false);
+		IntVar[] dx = new IntVar[n];
+		IntVar[] dy = new IntVar[n];
+		IntVar width = model.intVar("width", 0, 4 * n, false);
+		for (int i = 0; i < n; i++) {
+			dx[i] = model.intVar("dx" + i, 1 + rnd.nextInt(3), 3, false);
+			dy[i] = model.intVar(1 + rnd.nextInt(2));
+			model.arithm(x[i], "+", dx[i], "<=", width).post();
+			model.arithm(y[i], "+", dy[i], "<=", 4).post();
+		}
+		model.diffN(x, y, dx, dy, false).post();
+		Solver r = model.getSolver();
+		if (learn) {
+			r.setLearningSignedClauses();
+		}
+		r.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+		model.setObjective(Model.MINIMIZE, width);
+		int best = -1;
+		while (r.solve()) {
+			best = width.getValue();
+		}
+		return best;
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testLearningDiffN() {
+		for (long seed = 0; seed < 5; seed++) {
+			Assert.assertEquals(pack(5, seed, true), pack(5, seed, false), "seed " + seed);
+		}
+	}
+
+	private static long count(int n, int capa, long seed, boolean graph, Cumulative.Filter... filters) {
+		Model model = new Model();
+		Random rnd = new Random(seed);
+		IntVar[] s = model.intVarArray("s", n, 0, n + 1, false);
+		IntVar[] d = new IntVar[n];
+		IntVar[] e = new IntVar[n];
+		IntVar[] h = new IntVar[n];
+		Task[] t = new Task[n];
+		for (int i = 0; i < n; i++) {
+			d[i] = model.intVar("d" + i, rnd.nextInt(2), 1 + rnd.nextInt(2), false);
+			e[i] = model.intVar("e" + i, 0, n + 3, false);
+			h[i] = model.intVar("h" + i, rnd.nextInt(2), 1 + rnd.nextInt(capa), false);
+			t[i] = new Task(s[i], d[i], e[i]);
+		}
+		model.cumulative(t, h, model.intVar("capa", 1, capa, false), graph, filters).post();
+		Solver r = model.getSolver();
+		r.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+		while (r.solve()) ;
+		return r.getSolutionCount();
+	}
+
+	@Test(groups="10s", timeOut=60000)
+	public void testIncrementalFilters() {
+		Cumulative.Filter[][] filters = new Cumulative.Filter[][]{
+				{Cumulative.Filter.INCREMENTAL_TIME},
+				{Cumulative.Filter.TIME, Cumulative.Filter.TIME_EDGE_FINDING},
+				{Cumulative.Filter.TIME, Cumulative.Filter.ENERGETIC},
+				{Cumulative.Filter.INCREMENTAL_TIME, Cumulative.Filter.TIME_EDGE_FINDING, Cumulative.Filter.ENERGETIC}
+		};
+		for (long seed = 0; seed < 8; seed++) {
+			long ref = count(3, 2, seed, false, Cumulative.Filter.TIME);
+			for (boolean graph : new boolean[]{false, true}) {
+				for (Cumulative.Filter[] f : filters) {
+					Assert.assertEquals(count(3, 2, seed, graph, f), ref, Arrays.toString(f) + " " + seed);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts the solutions of a random instance of 8 to 10 tasks with fixed durations and heights,
+	 * released over a short horizon, under a capacity of 3 to 5
+	 */
+	private static long countScheduling(long seed, boolean graph, Cumulative.Filter... filters) {
+		Model model = new Model();
+		Random rnd = new Random(seed);
+		int n = 8 + rnd.nextInt(3);
+		int capa = 3 + rnd.nextInt(3);
+		IntVar[] s = new IntVar[n];
+		IntVar[] h = new IntVar[n];
+		Task[] t = new Task[n];
+		for (int i = 0; i < n; i++) {
+			int r = rnd.nextInt(2 * n);
+			s[i] = model.intVar("s" + i, r, r + 2, false);
+			t[i] = new Task(s[i], model.intVar(1 + rnd.nextInt(3)), model.intVar("e" + i, 0, 2 * n + 7, false));
+			h[i] = model.intVar(1 + rnd.nextInt(capa - 1));
+		}
+		model.cumulative(t, h, model.intVar(capa), graph, filters).post();
+		Solver r = model.getSolver();
+		r.setSearch(randomSearch(s, seed));
+		while (r.solve()) ;
+		return r.getSolutionCount();
+	}
+
+	@Test(groups="10s", timeOut=60000)
+	public void testIncrementalFiltersLarger() {
+		Cumulative.Filter[][] filters = new Cumulative.Filter[][]{
+				{Cumulative.Filter.INCREMENTAL_TIME},
+				{Cumulative.Filter.INCREMENTAL_TIME, Cumulative.Filter.TIME_EDGE_FINDING, Cumulative.Filter.ENERGETIC}
+		};
+		for (long seed = 0; seed < 10; seed++) {
+			long ref = countScheduling(seed, false, Cumulative.Filter.TIME);
+			for (boolean graph : new boolean[]{false, true}) {
+				for (Cumulative.Filter[] f : filters) {
+					Assert.assertEquals(countScheduling(seed, graph, f), ref, Arrays.toString(f) + " " + seed);
+				}
+			}
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testTimeEdgeFinding() throws ContradictionException {
+		for (boolean edgeFinding : new boolean[]{false, true}) {
+			Model model = new Model();
+			Task[] t = new Task[]{
+					new Task(model.intVar("s0", 0, 7), 3),
+					new Task(model.intVar("s1", 0, 7), 3),
+					new Task(model.intVar("s2", 0, 15), 5)
+			};
+			IntVar[] h = new IntVar[]{model.intVar(1), model.intVar(1), model.intVar(1)};
+			model.cumulative(t, h, model.intVar(1), false, edgeFinding ?
+					new Cumulative.Filter[]{Cumulative.Filter.TIME, Cumulative.Filter.TIME_EDGE_FINDING} :
+					new Cumulative.Filter[]{Cumulative.Filter.TIME}).post();
+			model.getSolver().propagate();
+			// the third task cannot be processed before the two others
+			Assert.assertEquals(t[2].getStart().getLB(), edgeFinding ? 6 : 0);
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
+	public void testEnergetic() throws ContradictionException {
+		Model model = new Model();
+		Task[] t = new Task[3];
+		IntVar[] h = new IntVar[3];
+		for (int i = 0; i < 3; i++) {
+			t[i] = new Task(model.intVar("s" + i, 0, 5), 3);
+			h[i] = model.intVar(1);
+		}
+		model.cumulative(t, h, model.intVar(1), false, Cumulative.Filter.TIME, Cumulative.Filter.ENERGETIC).post();
+		model.getSolver().propagate();
+	}
+
+	@Test(groups="10s", timeOut=60000)
+	public void testIncrementalTimeLarge() {
+		int n = 2000;
+		Random rnd = new Random(0);
+		Model model = new Model();
+		Task[] t = new Task[n];
+		IntVar[] h = new IntVar[n];
+		IntVar[] s = new IntVar[n];
+		for (int i = 0; i < n; i++) {
+			s[i] = model.intVar("s" + i, 0, 5 * n, true);
+			t[i] = new Task(s[i], 1 + rnd.nextInt(10));
+			h[i] = model.intVar(1 + rnd.nextInt(5));
+		}
+		model.cumulative(t, h, model.intVar(10), false, Cumulative.Filter.INCREMENTAL_TIME).post();
+		Solver r = model.getSolver();
+		r.setSearch(inputOrderLBSearch(s));
+		Assert.assertTrue(r.solve());
+		Assert.assertEquals(r.getFailCount(), 0);
+	}
 }
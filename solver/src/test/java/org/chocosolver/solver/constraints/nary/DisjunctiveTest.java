@@ -0,0 +1,209 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.*;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class DisjunctiveTest {
+
+    private static Task[] tasks(Model model, int[] est, int[] lct, int[] p) {
+        Task[] tasks = new Task[est.length];
+        for (int i = 0; i < est.length; i++) {
+            IntVar s = model.intVar("s" + i, est[i], lct[i] - p[i]);
+            tasks[i] = new Task(s, p[i]);
+        }
+        return tasks;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = tasks(model, new int[]{0, 0, 0}, new int[]{10, 10, 20}, new int[]{3, 3, 5});
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+        // the third task cannot be processed before the two others
+        Assert.assertEquals(tasks[2].getStart().getLB(), 6);
+        Assert.assertEquals(tasks[0].getEnd().getUB(), 10);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNotLast() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = tasks(model, new int[]{5, 5, 0}, new int[]{16, 16, 15}, new int[]{4, 4, 3});
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+        // the third task cannot be processed after the two others, so it completes before one of them starts
+        Assert.assertEquals(tasks[2].getEnd().getUB(), 12);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = ContradictionException.class)
+    public void testOverload() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = tasks(model, new int[]{0, 1, 2}, new int[]{9, 9, 9}, new int[]{3, 3, 4});
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNullDurations() throws ContradictionException {
+        Model model = new Model();
+        IntVar s0 = model.intVar("s0", 0, 10);
+        IntVar s1 = model.intVar("s1", 0, 10);
+        IntVar d1 = model.intVar("d1", 0, 5);
+        Task t0 = new Task(s0, model.intVar(6), model.intVar("e0", 0, 16));
+        Task t1 = new Task(s1, d1, model.intVar("e1", 0, 3));
+        model.disjunctive(new Task[]{t0, t1, new Task(s1, 0)}).post();
+        Solver solver = model.getSolver();
+        solver.propagate();
+        Assert.assertEquals(s0.getLB(), 0);
+        model.getEnvironment().worldPush();
+        d1.updateLowerBound(1, Cause.Null);
+        solver.propagate();
+        Assert.assertEquals(s0.getLB(), 1);
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(s0.getLB(), 0);
+    }
+
+    private static Model model(int[] est, int[] lct, int[] p, boolean disjunctive, long seed) {
+        Model model = new Model();
+        Task[] tasks = tasks(model, est, lct, p);
+        if (disjunctive) {
+            model.disjunctive(tasks).post();
+        } else {
+            IntVar[] heights = new IntVar[tasks.length];
+            Arrays.fill(heights, model.intVar(1));
+            model.cumulative(tasks, heights, model.intVar(1)).post();
+        }
+        IntVar[] starts = Arrays.stream(tasks).map(Task::getStart).toArray(IntVar[]::new);
+        model.getSolver().setSearch(randomSearch(starts, seed));
+        return model;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 100; seed++) {
+            rnd.setSeed(seed);
+            int n = 2 + rnd.nextInt(5);
+            int[] est = new int[n];
+            int[] lct = new int[n];
+            int[] p = new int[n];
+            for (int i = 0; i < n; i++) {
+                p[i] = rnd.nextInt(4);
+                est[i] = rnd.nextInt(8);
+                lct[i] = est[i] + p[i] + rnd.nextInt(8);
+            }
+            Model ref = model(est, lct, p, false, seed);
+            Model dis = model(est, lct, p, true, seed);
+            while (ref.getSolver().solve()) ;
+            while (dis.getSolver().solve()) ;
+            Assert.assertEquals(dis.getSolver().getSolutionCount(), ref.getSolver().getSolutionCount(), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testJobShop() {
+        // ft06, from Fisher and Thompson
+        int[][] machines = {
+                {2, 0, 1, 3, 5, 4},
+                {1, 2, 4, 5, 0, 3},
+                {2, 3, 5, 0, 1, 4},
+                {1, 0, 2, 3, 4, 5},
+                {2, 1, 4, 5, 0, 3},
+                {1, 3, 5, 0, 4, 2}
+        };
+        int[][] durations = {
+                {1, 3, 6, 7, 3, 6},
+                {8, 5, 10, 10, 10, 4},
+                {5, 4, 8, 9, 1, 7},
+                {5, 5, 5, 3, 8, 9},
+                {9, 3, 5, 4, 3, 1},
+                {3, 3, 9, 10, 4, 1}
+        };
+        int horizon = Arrays.stream(durations).flatMapToInt(Arrays::stream).sum();
+        Model model = new Model();
+        Task[][] ops = new Task[6][6];
+        IntVar[] starts = new IntVar[36];
+        IntVar[] ends = new IntVar[6];
+        for (int j = 0; j < 6; j++) {
+            for (int k = 0; k < 6; k++) {
+                starts[j * 6 + k] = model.intVar("s_" + j + "_" + k, 0, horizon);
+                ops[j][k] = new Task(starts[j * 6 + k], durations[j][k]);
+                if (k > 0) {
+                    model.arithm(ops[j][k - 1].getEnd(), "<=", starts[j * 6 + k]).post();
+                }
+            }
+            ends[j] = ops[j][5].getEnd();
+        }
+        for (int m = 0; m < 6; m++) {
+            Task[] onM = new Task[6];
+            for (int j = 0; j < 6; j++) {
+                for (int k = 0; k < 6; k++) {
+                    if (machines[j][k] == m) {
+                        onM[j] = ops[j][k];
+                    }
+                }
+            }
+            model.disjunctive(onM).post();
+        }
+        IntVar makespan = model.intVar("makespan", 0, horizon);
+        model.max(makespan, ends).post();
+        model.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = model.getSolver();
+        solver.setSearch(lastConflict(inputOrderLBSearch(starts)));
+        int best = horizon;
+        while (solver.solve()) {
+            best = makespan.getValue();
+        }
+        Assert.assertEquals(best, 55);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testLarge() {
+        int n = 500;
+        Random rnd = new Random(0);
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = 1 + rnd.nextInt(10);
+        }
+        int horizon = Arrays.stream(p).sum();
+        Model model = new Model();
+        int[] est = new int[n];
+        int[] lct = new int[n];
+        Arrays.fill(lct, horizon);
+        Task[] tasks = tasks(model, est, lct, p);
+        model.disjunctive(tasks).post();
+        IntVar[] starts = Arrays.stream(tasks).map(Task::getStart).toArray(IntVar[]::new);
+        Solver solver = model.getSolver();
+        solver.setSearch(inputOrderLBSearch(starts));
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(solver.getFailCount(), 0);
+        int[] ends = Arrays.stream(tasks).sorted((t1, t2) -> t1.getStart().getValue() - t2.getStart().getValue())
+                .mapToInt(t -> t.getEnd().getValue()).toArray();
+        Assert.assertEquals(ends[n - 1], horizon);
+    }
+}
@@ -11,7 +11,6 @@ package org.chocosolver.solver.constraints.nary;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
-import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
@@ -456,7 +455,7 @@ public class SumTest {
      * here it is not the case (even though all possible solutions are
      * feasible).
      */
-    @Test(groups="1s", timeOut=60000,expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000)
     public void firstSumGeShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = -2147483647;
         Model  cp = new Model();
@@ -467,9 +466,13 @@ public class SumTest {
 
         cp.post(cp.sum(new IntVar[]{x0, x1, x2, x3}, ">=", rhs));
         cp.getSolver().propagate(); // throws a spurious inconsistency
+        assertEquals(x0.getDomainSize(), 2);
+        assertEquals(x1.getDomainSize(), 2);
+        assertEquals(x2.getDomainSize(), 2);
+        assertEquals(x3.getDomainSize(), 2);
     }
 
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void secndSumGeShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -484,7 +487,7 @@ public class SumTest {
     /**
      * Same remark as above, exept it is for the > operator rather than >=
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000)
     public void firstSumGtShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = -2147483647;
         Model  cp = new Model();
@@ -495,11 +498,15 @@ public class SumTest {
 
         cp.post(cp.sum(new IntVar[]{x0, x1, x2, x3}, ">", rhs));
         cp.getSolver().propagate(); // throws a spurious inconsistency
+        assertEquals(x0.getDomainSize(), 2);
+        assertEquals(x1.getDomainSize(), 2);
+        assertEquals(x2.getDomainSize(), 2);
+        assertEquals(x3.getDomainSize(), 2);
     }
     /**
      * Same remark as above, exept it is for the > operator rather than >=
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void secndSumGtShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -532,7 +539,7 @@ public class SumTest {
      * Here we consider the <= operator. Here, it is problematic as it fails to
      * detect an inconsistency (even one which is obvious to an human brain)
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void firstSumLeShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = -2147483647;
         Model  cp = new Model();
@@ -547,7 +554,7 @@ public class SumTest {
      * Here we consider the <= operator. Here, it is problematic as it fails to
      * detect an inconsistency (even one which is obvious to an human brain)
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void secndSumLeShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -563,7 +570,7 @@ public class SumTest {
     /**
      * Same as above, for the '<' operator
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void firstSumLtShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = -2147483647;
         Model  cp = new Model();
@@ -577,7 +584,7 @@ public class SumTest {
     /**
      * Same as above, for the '<' operator
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000)
     public void secndSumLtShouldBeBoundZ() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -589,6 +596,11 @@ public class SumTest {
 
         cp.post(cp.sum(new IntVar[]{x0, x1, x2, x3, x4}, "<", rhs));
         cp.getSolver().propagate(); // throws a spurious inconsistency
+        assertEquals(x0.getDomainSize(), 1);
+        assertEquals(x1.getDomainSize(), 2);
+        assertEquals(x2.getDomainSize(), 2);
+        assertEquals(x3.getDomainSize(), 2);
+        assertEquals(x4.getDomainSize(), 4);
     }
 
     /**
@@ -596,7 +608,7 @@ public class SumTest {
      * here it is not the case (even though all possible solutions are
      * feasible).
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000)
     public void firstSumGeShouldBeBoundZConsistent3() throws ContradictionException {
         int   rhs = -2147483647;
         Model  cp = new Model();
@@ -607,9 +619,13 @@ public class SumTest {
 
         cp.post(cp.sum(new IntVar[]{x0, x1, x2, x3}, ">=", rhs));
         cp.getSolver().propagate(); // throws a spurious inconsistency
+        assertEquals(x0.getDomainSize(), 2);
+        assertEquals(x1.getDomainSize(), 2);
+        assertEquals(x2.getDomainSize(), 2);
+        assertEquals(x3.getDomainSize(), 2);
     }
 
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000)
     public void secndSumGeShouldBeBoundZConsistent4() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -620,6 +636,10 @@ public class SumTest {
 
         cp.post(cp.sum(new IntVar[]{x0, x1, x2, x3}, ">=", rhs));
         cp.getSolver().propagate(); // throws a spurious inconsistency
+        assertEquals(x0.getDomainSize(), 4);
+        assertEquals(x1.getDomainSize(), 1);
+        assertEquals(x2.getDomainSize(), 3);
+        assertEquals(x3.getDomainSize(), 1);
     }
 
     /**
@@ -633,7 +653,7 @@ public class SumTest {
      * WITNESS   : x0={-530774850,-530774849,-530774844,-530774842,-530774840}, x1={-530774850,-530774845}, x2={-530774847}, x3={-530774847,-530774846,-530774844,-530774841}, x4={-530774840}
      * ###########################
      */
-    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
     public void thirdSumGeShouldBeBoundZConsistent() throws ContradictionException {
         int   rhs = 0;
         Model  cp = new Model();
@@ -26,6 +26,7 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -709,4 +710,40 @@ public class TableTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "starred")
+    public void testWideDomains(String staralgo) {
+        // few tuples per value, so that CT+ stores sparse supports, shared by the two constraints
+        int n = 4, size = 500;
+        for (long seed = 0; seed < 5; seed++) {
+            Random rnd = new Random(seed);
+            int ST = -1;
+            Tuples tuples = new Tuples(true);
+            tuples.setUniversalValue(ST);
+            for (int t = 0; t < 3000; t++) {
+                int[] tuple = new int[n];
+                for (int i = 0; i < n; i++) {
+                    tuple[i] = rnd.nextInt(20) == 0 ? ST : rnd.nextInt(size);
+                }
+                tuples.add(tuple);
+            }
+            long[][] counts = new long[2][2];
+            String[] algos = {staralgo, "STR2+"};
+            for (int a = 0; a < algos.length; a++) {
+                Model model = new Model();
+                IntVar[] vars = model.intVarArray("x", n, 0, size - 1, false);
+                IntVar[] wars = new IntVar[]{vars[0], model.intVar("y", 0, size - 1, true), vars[2], model.intVar("z", 0, size - 1)};
+                model.table(vars, tuples, algos[a]).post();
+                model.table(wars, tuples, algos[a]).post();
+                model.getSolver().setSearch(randomSearch(ArrayUtils.append(vars, wars), seed));
+                model.getSolver().limitNode(20000);
+                while (model.getSolver().solve()) ;
+                // both algorithms achieve GAC, hence explore the same tree
+                counts[a][0] = model.getSolver().getSolutionCount();
+                counts[a][1] = model.getSolver().getNodeCount();
+            }
+            Assert.assertTrue(counts[0][0] > 0);
+            assertEquals(counts[0], counts[1]);
+        }
+    }
+}
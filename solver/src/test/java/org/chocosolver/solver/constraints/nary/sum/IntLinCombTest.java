@@ -1075,4 +1075,200 @@ public class IntLinCombTest {
         model.getSolver().findAllSolutions();
         Assert.assertEquals(model.getSolver().getSolutionCount(), 772);
     }
+
+    private static Model scalar(int[][] domains, int[] coeffs, int b, String op, boolean incr, long seed) {
+        Model model = new Model(new DefaultSettings().setEnableIncrementalityOnSum(i -> incr));
+        IntVar[] vars = new IntVar[domains.length];
+        for (int i = 0; i < domains.length; i++) {
+            vars[i] = model.intVar("v_" + i, domains[i]);
+        }
+        model.scalar(vars, coeffs, op, b).post();
+        model.getSolver().setSearch(Search.randomSearch(vars, seed));
+        return model;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalar() {
+        Random rand = new Random();
+        String[] ops = {"=", "<=", ">=", "<", ">"};
+        for (int seed = 0; seed < 300; seed++) {
+            rand.setSeed(seed);
+            int n = 3 + rand.nextInt(5);
+            int[][] domains = buildFullDomains(n, -5, 5, rand, 0.8, false);
+            int[] coeffs = new int[n];
+            for (int i = 0; i < n; i++) {
+                coeffs[i] = rand.nextBoolean() ? 1 - 2 * rand.nextInt(2) : -10 + rand.nextInt(21);
+            }
+            int b = -10 + rand.nextInt(21);
+            String op = ops[rand.nextInt(ops.length)];
+            Model ref = scalar(domains, coeffs, b, op, false, seed);
+            Model incr = scalar(domains, coeffs, b, op, true, seed);
+            while (ref.getSolver().solve()) ;
+            while (incr.getSolver().solve()) ;
+            assertEquals(incr.getSolver().getSolutionCount(), ref.getSolver().getSolutionCount(), "seed " + seed);
+            assertEquals(incr.getSolver().getNodeCount(), ref.getSolver().getNodeCount(), "seed " + seed);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalarLongArithmetic() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 1_000_000_000);
+        IntVar y = model.intVar("y", 0, 1_000_000_000);
+        IntVar z = model.intVar("z", 0, 10);
+        // the sum of the upper bounds does not fit into an int
+        Constraint c = model.scalar(new IntVar[]{x, y, z}, new int[]{1000, 1000, 1}, "<=", 2005);
+        Assert.assertTrue(c.getPropagator(0) instanceof PropScalarIncr);
+        c.post();
+        model.getSolver().propagate();
+        Assert.assertEquals(x.getUB(), 2);
+        Assert.assertEquals(y.getUB(), 2);
+        Assert.assertEquals(z.getUB(), 10);
+        model.getEnvironment().worldPush();
+        x.instantiateTo(2, Cause.Null);
+        model.getSolver().propagate();
+        Assert.assertEquals(y.getUB(), 0);
+        Assert.assertEquals(z.getUB(), 5);
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(y.getUB(), 2);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalarLongArithmeticSearch() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -1_000_000_000, 1_000_000_000);
+        IntVar y = model.intVar("y", -1_000_000_000, 1_000_000_000);
+        IntVar z = model.intVar("z", 0, 10);
+        model.scalar(new IntVar[]{x, y, z}, new int[]{1000, -1000, 3}, "=", 2006).post();
+        model.arithm(x, ">=", 999_999_998).post();
+        model.getSolver().setSearch(inputOrderLBSearch(x, y, z));
+        // 1000 * (x - y) + 3 * z = 2006, so x - y = 2 and z = 2
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 3);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalarOnViews() {
+        Random rand = new Random();
+        Operator[] ops = {Operator.EQ, Operator.NQ, Operator.LE, Operator.GE};
+        for (int seed = 0; seed < 300; seed++) {
+            rand.setSeed(seed);
+            int n = 3 + rand.nextInt(3);
+            // v_0..v_n-1, then -v_0 and v_1 + 2, positive coefficients first
+            int[] coeffs = new int[n + 2];
+            for (int i = 0; i < n + 2; i++) {
+                coeffs[i] = (1 + rand.nextInt(5)) * (rand.nextBoolean() ? 1 : -1);
+            }
+            int b = -10 + rand.nextInt(21);
+            Operator op = ops[rand.nextInt(ops.length)];
+            Model model = new Model();
+            IntVar[] vars = model.intVarArray("v", n, -3, 3);
+            IntVar[] terms = ArrayUtils.append(vars,
+                    new IntVar[]{model.intMinusView(vars[0]), model.intOffsetView(vars[1], 2)});
+            IntVar[] tv = new IntVar[n + 2];
+            int[] tc = new int[n + 2];
+            int pos = 0, neg = n + 2;
+            for (int i = 0; i < n + 2; i++) {
+                int k = coeffs[i] > 0 ? pos++ : --neg;
+                tv[k] = terms[i];
+                tc[k] = coeffs[i];
+            }
+            new SumConstraint(new PropScalarIncr(tv, tc, pos, op, b)).post();
+            model.getSolver().setSearch(Search.randomSearch(vars, seed));
+            // count the solutions by enumeration
+            int expected = 0;
+            int[] values = new int[n];
+            for (int t = 0; t < (int) Math.pow(7, n); t++) {
+                for (int i = 0, r = t; i < n; i++, r /= 7) {
+                    values[i] = r % 7 - 3;
+                }
+                int sum = coeffs[n] * -values[0] + coeffs[n + 1] * (values[1] + 2);
+                for (int i = 0; i < n; i++) {
+                    sum += coeffs[i] * values[i];
+                }
+                if (op == Operator.EQ ? sum == b : op == Operator.NQ ? sum != b : op == Operator.LE ? sum <= b : sum >= b) {
+                    expected++;
+                }
+            }
+            assertEquals(model.getSolver().streamSolutions().count(), expected, "seed " + seed);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalarLongArithmeticReified() {
+        Random rand = new Random();
+        String[] ops = {"=", "!=", "<=", ">=", "<", ">"};
+        for (int seed = 0; seed < 100; seed++) {
+            rand.setSeed(seed);
+            int n = 3;
+            // the sums of the bounds of the terms do not fit into an int
+            int[] coeffs = new int[n];
+            for (int i = 0; i < n; i++) {
+                coeffs[i] = (500_000_000 + rand.nextInt(3)) * (rand.nextBoolean() ? 1 : -1);
+            }
+            coeffs[0] = (1 + rand.nextInt(2)) * (rand.nextBoolean() ? 1 : -1);
+            int b = coeffs[0] * (rand.nextInt(7) - 3) + (rand.nextInt(3) - 1) * (500_000_000 + rand.nextInt(3));
+            String op = ops[rand.nextInt(ops.length)];
+            boolean learn = rand.nextBoolean();
+            Model model = new Model();
+            IntVar[] vars = model.intVarArray("v", n, -3, 3);
+            BoolVar r = model.boolVar("r");
+            Constraint c = model.scalar(vars, coeffs, op, b);
+            Assert.assertTrue(c.getPropagator(0) instanceof PropScalarIncr, "seed " + seed);
+            c.reifyWith(r);
+            if (learn) {
+                model.getSolver().setLearningSignedClauses();
+            }
+            model.getSolver().setSearch(Search.randomSearch(ArrayUtils.append(vars, new IntVar[]{r}), seed));
+            int[] values = new int[n];
+            int expected = 0;
+            while (model.getSolver().solve()) {
+                long sum = 0;
+                for (int i = 0; i < n; i++) {
+                    values[i] = vars[i].getValue();
+                    sum += (long) coeffs[i] * values[i];
+                }
+                boolean holds;
+                switch (op) {
+                    case "=": holds = sum == b; break;
+                    case "!=": holds = sum != b; break;
+                    case "<=": holds = sum <= b; break;
+                    case ">=": holds = sum >= b; break;
+                    case "<": holds = sum < b; break;
+                    default: holds = sum > b;
+                }
+                assertEquals(r.getValue() == 1, holds, "seed " + seed + ": " + Arrays.toString(values));
+                expected++;
+            }
+            // exactly one value of r per tuple
+            assertEquals(expected, (int) Math.pow(7, n), "seed " + seed);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalScalarLongArithmeticExplained() {
+        for (boolean learn : new boolean[]{false, true}) {
+            Model model = new Model();
+            IntVar[] vars = model.intVarArray("v", 4, 0, 5);
+            // 1_000_000_000 * (v0 + v1 - v2 - v3) + v0 = 1_000_000_002, sums do not fit into an int
+            model.scalar(vars, new int[]{1_000_000_001, 1_000_000_000, -1_000_000_000, -1_000_000_000}, "=", 1_000_000_002).post();
+            model.allDifferent(vars).post();
+            if (learn) {
+                model.getSolver().setLearningSignedClauses();
+            }
+            // v0 = 2, v1 = v2 + v3 - 1, all different
+            assertEquals(model.getSolver().streamSolutions().count(), 4, "learn " + learn);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrementalLongSum() {
+        Model model = new Model(new DefaultSettings().setMinCardinalityForSumDecomposition(Integer.MAX_VALUE));
+        IntVar[] vars = model.intVarArray("x", 10_000, 0, 5);
+        Constraint c = model.sum(vars, "=", 25_000);
+        Assert.assertTrue(c.getPropagator(0) instanceof PropScalarIncr);
+        c.post();
+        model.getSolver().setSearch(Search.randomSearch(vars, 0));
+        Assert.assertTrue(model.getSolver().solve());
+        Assert.assertEquals(Arrays.stream(vars).mapToInt(IntVar::getValue).sum(), 25_000);
+    }
 }
@@ -32,7 +32,7 @@ public class ExpressionTest {
 
     @DataProvider(name = "post")
     public Object[][] provider() {
-        return new Object[][]{{0}, {1}, {2}};
+        return new Object[][]{{0}, {1}, {2}, {3}};
     }
 
     private void eval(Model model, ReExpression ex, int postAs, int nbsol){
@@ -46,6 +46,9 @@ public class ExpressionTest {
             case 2:
                 ex.boolVar().eq(1).post();
                 break;
+            case 3:
+                ex.mddExtension().post();
+                break;
         }
         model.displayVariableOccurrences();
         model.displayPropagatorOccurrences();
@@ -0,0 +1,319 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.constraints.extension.TuplesFactory;
+import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
+import org.chocosolver.solver.expression.discrete.relational.ReExpression;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class TuplesGeneratorTest {
+
+    private static ArExpression arithm(Random rnd, IntVar[] xs, int depth) {
+        if (depth == 0 || rnd.nextInt(4) == 0) {
+            return rnd.nextInt(5) == 0 ? xs[0].getModel().intVar(rnd.nextInt(7) - 3) : xs[rnd.nextInt(xs.length)];
+        }
+        ArExpression e = arithm(rnd, xs, depth - 1);
+        switch (rnd.nextInt(14)) {
+            case 0:
+                return e.add(arithm(rnd, xs, depth - 1));
+            case 1:
+                return e.sub(arithm(rnd, xs, depth - 1));
+            case 2:
+                return e.mul(arithm(rnd, xs, depth - 1));
+            case 3:
+                return e.div(arithm(rnd, xs, depth - 1));
+            case 4:
+                return e.mod(arithm(rnd, xs, depth - 1));
+            case 5:
+                return e.min(arithm(rnd, xs, depth - 1), arithm(rnd, xs, depth - 1));
+            case 6:
+                return e.max(arithm(rnd, xs, depth - 1));
+            case 7:
+                return e.abs();
+            case 8:
+                return e.neg();
+            case 9:
+                return e.sqr();
+            case 10:
+                return e.pow(rnd.nextInt(3));
+            case 11:
+                return e.add(arithm(rnd, xs, depth - 1), arithm(rnd, xs, depth - 1));
+            case 12:
+                return e.mul(rnd.nextInt(5) - 2);
+            default:
+                return relational(rnd, xs, depth - 1).ift(e, arithm(rnd, xs, depth - 1));
+        }
+    }
+
+    private static ReExpression relational(Random rnd, IntVar[] xs, int depth) {
+        if (depth == 0 || rnd.nextInt(3) == 0) {
+            ArExpression e = arithm(rnd, xs, depth);
+            switch (rnd.nextInt(8)) {
+                case 0:
+                    return e.eq(arithm(rnd, xs, depth));
+                case 1:
+                    return e.ne(arithm(rnd, xs, depth));
+                case 2:
+                    return e.lt(arithm(rnd, xs, depth));
+                case 3:
+                    return e.le(rnd.nextInt(7) - 3);
+                case 4:
+                    return e.gt(arithm(rnd, xs, depth));
+                case 5:
+                    return e.ge(arithm(rnd, xs, depth));
+                case 6:
+                    return e.eq(arithm(rnd, xs, depth), arithm(rnd, xs, depth));
+                default:
+                    return e.in(arithm(rnd, xs, depth), arithm(rnd, xs, depth));
+            }
+        }
+        ReExpression e = relational(rnd, xs, depth - 1);
+        switch (rnd.nextInt(7)) {
+            case 0:
+                return e.and(relational(rnd, xs, depth - 1));
+            case 1:
+                return e.or(relational(rnd, xs, depth - 1), relational(rnd, xs, depth - 1));
+            case 2:
+                return e.xor(relational(rnd, xs, depth - 1));
+            case 3:
+                return e.imp(relational(rnd, xs, depth - 1));
+            case 4:
+                return e.iff(relational(rnd, xs, depth - 1));
+            case 5:
+                return e.not();
+            default:
+                return e.and((BoolVar) xs[xs.length - 1]);
+        }
+    }
+
+    private static Tuples bruteForce(ReExpression e, IntVar[] vars) {
+        Map<IntVar, Integer> map = IntStream.range(0, vars.length).boxed().collect(Collectors.toMap(i -> vars[i], i -> i));
+        Tuples tuples = TuplesFactory.generateTuples(values -> e.beval(values, map), true, vars);
+        tuples.sort();
+        return tuples;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 500; seed++) {
+            rnd.setSeed(seed);
+            Model model = new Model();
+            IntVar[] xs = new IntVar[4];
+            for (int i = 0; i < 3; i++) {
+                xs[i] = model.intVar("x" + i, -3, 3);
+            }
+            xs[3] = model.boolVar("b");
+            ReExpression e = relational(rnd, xs, 3);
+            for (boolean parallel : new boolean[]{false, true}) {
+                TuplesGenerator generator = new TuplesGenerator(e).setParallel(parallel);
+                Tuples expected = bruteForce(e, generator.getVariables());
+                Tuples tuples = generator.generateTuples();
+                tuples.sort();
+                Assert.assertEquals(tuples.toMatrix(), expected.toMatrix(), "seed " + seed + ": " + e);
+                MultivaluedDecisionDiagram mdd = generator.generateMDD();
+                for (int t = 0; t < expected.nbTuples(); t++) {
+                    Assert.assertTrue(mdd.exists(expected.get(t)), "seed " + seed + ": " + e);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testParallel() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 10; seed++) {
+            rnd.setSeed(seed);
+            Model model = new Model();
+            IntVar[] xs = new IntVar[5];
+            for (int i = 0; i < 4; i++) {
+                xs[i] = model.intVar("x" + i, -8, 8);
+            }
+            xs[4] = model.boolVar("b");
+            ReExpression e = relational(rnd, xs, 3);
+            Tuples expected = new TuplesGenerator(e).setParallel(false).generateTuples();
+            expected.sort();
+            TuplesGenerator generator = new TuplesGenerator(e).setParallel(true);
+            Tuples tuples = generator.generateTuples();
+            tuples.sort();
+            Assert.assertEquals(tuples.toMatrix(), expected.toMatrix(), "seed " + seed + ": " + e);
+            // count the tuples of the MDD on copies of the variables of the expression only
+            Model copy = new Model();
+            IntVar[] ys = Arrays.stream(generator.getVariables())
+                    .map(x -> copy.intVar(x.getName(), x.getLB(), x.getUB()))
+                    .toArray(IntVar[]::new);
+            copy.mddc(ys, generator.generateMDD()).post();
+            Assert.assertEquals(copy.getSolver().streamSolutions().count(), expected.nbTuples(), "seed " + seed + ": " + e);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMDD() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 100; seed++) {
+            rnd.setSeed(seed);
+            long[] counts = new long[2];
+            for (int p = 0; p < 2; p++) {
+                Model model = new Model();
+                IntVar[] xs = new IntVar[4];
+                for (int i = 0; i < 3; i++) {
+                    xs[i] = model.intVar("x" + i, -3, 3);
+                }
+                xs[3] = model.boolVar("b");
+                rnd.setSeed(seed);
+                ReExpression e = relational(rnd, xs, 3);
+                if (p == 0) {
+                    e.extension().post();
+                } else {
+                    e.mddExtension().post();
+                }
+                counts[p] = model.getSolver().streamSolutions().count();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLarge() {
+        // 50^6 tuples to consider without pruning
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 6, 0, 49);
+        ReExpression e = xs[0].add(xs[1], xs[2], xs[3], xs[4], xs[5]).le(10).and(xs[0].ne(xs[1]));
+        for (boolean parallel : new boolean[]{false, true}) {
+            TuplesGenerator generator = new TuplesGenerator(e).setParallel(parallel);
+            // C(16, 6) tuples whose sum is at most 10, minus the ones with x0 = x1
+            Tuples tuples = generator.generateTuples();
+            int expected = 0;
+            for (int s = 0; s <= 5; s++) {
+                // x0 = x1 = s, the four others sum to at most 10 - 2s
+                expected += binomial(10 - 2 * s + 4, 4);
+            }
+            Assert.assertEquals(tuples.nbTuples(), binomial(16, 6) - expected);
+            MultivaluedDecisionDiagram mdd = generator.generateMDD();
+            for (int t = 0; t < tuples.nbTuples(); t += 97) {
+                Assert.assertTrue(mdd.exists(tuples.get(t)));
+            }
+            Assert.assertFalse(mdd.exists(1, 1, 0, 0, 0, 0));
+            Assert.assertFalse(mdd.exists(5, 0, 0, 6, 0, 0));
+        }
+    }
+
+    private static int binomial(int n, int k) {
+        long r = 1;
+        for (int i = 1; i <= k; i++) {
+            r = r * (n - k + i) / i;
+        }
+        return (int) r;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEmpty() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 5);
+        ReExpression e = xs[0].add(xs[1]).gt(xs[2].add(20));
+        TuplesGenerator generator = new TuplesGenerator(e);
+        Assert.assertEquals(generator.generateTuples().nbTuples(), 0);
+        Assert.assertFalse(generator.generateMDD().exists(0, 0, 0));
+        e.mddExtension().post();
+        Assert.assertFalse(model.getSolver().solve());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoVariable() {
+        Model model = new Model();
+        for (boolean value : new boolean[]{false, true}) {
+            // a constant expression, without any variable
+            ReExpression e = new ReExpression() {
+                @Override
+                public Model getModel() {
+                    return model;
+                }
+
+                @Override
+                public BoolVar boolVar() {
+                    return model.boolVar(value);
+                }
+
+                @Override
+                public void extractVar(HashSet<IntVar> variables) {
+                }
+
+                @Override
+                public boolean beval(int[] values, Map<IntVar, Integer> map) {
+                    return value;
+                }
+            };
+            TuplesGenerator generator = new TuplesGenerator(e);
+            Assert.assertEquals(generator.getVariables().length, 0);
+            Assert.assertEquals(generator.generateTuples().nbTuples(), value ? 1 : 0);
+            Assert.assertEquals(generator.generateMDD().exists(), value);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNotCompiled() {
+        for (boolean mdd : new boolean[]{false, true}) {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 5);
+            IntVar y = model.intVar("y", 0, 5);
+            // a user-defined expression, only evaluated on tuples
+            ReExpression e = new ReExpression() {
+                @Override
+                public Model getModel() {
+                    return model;
+                }
+
+                @Override
+                public BoolVar boolVar() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void extractVar(HashSet<IntVar> variables) {
+                    variables.add(x);
+                    variables.add(y);
+                }
+
+                @Override
+                public boolean beval(int[] values, Map<IntVar, Integer> map) {
+                    return values[map.get(x)] + values[map.get(y)] == 3;
+                }
+            };
+            // combined with compiled expressions
+            ReExpression f = e.and(x.lt(y));
+            if (mdd) {
+                f.mddExtension().post();
+            } else {
+                f.extension().post();
+            }
+            // (0,3), (1,2)
+            Assert.assertEquals(model.getSolver().streamSolutions().count(), 2);
+        }
+    }
+}
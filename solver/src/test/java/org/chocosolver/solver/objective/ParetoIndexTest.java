@@ -0,0 +1,69 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class ParetoIndexTest {
+
+    private static boolean geq(int[] a, int[] b, int skip) {
+        for (int i = 0; i < a.length; i++) {
+            if (i != skip && a[i] < b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        int n = 3;
+        Random rnd = new Random(0);
+        ParetoIndex<int[]> index = new ParetoIndex<>(n);
+        List<int[]> front = new ArrayList<>();
+        for (int k = 0; k < 3000; k++) {
+            int[] p = new int[n];
+            for (int i = 0; i < n; i++) {
+                p[i] = rnd.nextInt(100);
+            }
+            // a point of the front dominates p
+            boolean dominated = front.stream().anyMatch(q -> geq(q, p, -1));
+            Assert.assertEquals(index.dominates(p), dominated);
+            // best of each objective among points as good on other objectives
+            for (int j = 0; j < n; j++) {
+                int jj = j;
+                int best = front.stream().filter(q -> geq(q, p, jj)).mapToInt(q -> q[jj]).max().orElse(Integer.MIN_VALUE);
+                Assert.assertEquals(index.best(j, p), best);
+            }
+            if (!dominated) {
+                List<int[]> removed = new ArrayList<>();
+                index.removeDominated(p, removed::add);
+                List<int[]> expected = new ArrayList<>();
+                front.removeIf(q -> geq(p, q, -1) && expected.add(q));
+                Assert.assertEquals(new HashSet<>(removed), new HashSet<>(expected));
+                index.add(p, p);
+                front.add(p);
+            }
+            Assert.assertEquals(index.size(), front.size());
+        }
+        Assert.assertEquals(new HashSet<>(index.objects()), new HashSet<>(front));
+    }
+}
@@ -16,14 +16,19 @@ import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.measure.Measures;
+import org.chocosolver.solver.search.measure.PropagationStatistics;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.ProblemMaker;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 import static java.util.Arrays.sort;
 import static org.chocosolver.solver.Cause.Null;
+import static org.chocosolver.solver.constraints.PropagatorPriority.QUADRATIC;
 import static org.chocosolver.solver.constraints.PropagatorPriority.UNARY;
 import static org.chocosolver.solver.search.strategy.Search.minDomLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
@@ -210,4 +215,79 @@ public class PropEngineTest {
         solver.getEngine().clear();
         solver.reset(); // error (null)
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testProfiling() {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        Solver solver = model.getSolver();
+        Assert.assertTrue(solver.getPropagationStatistics().isEmpty());
+        solver.setPropagationProfiling(true);
+        solver.setSearch(minDomLBSearch((IntVar[]) model.getHook("vars")));
+        assertEquals(solver.streamSolutions().count(), 92);
+        PropagationStatistics stats = solver.getPropagationStatistics();
+        Assert.assertFalse(stats.isEmpty());
+        long calls = 0, events = 0, fails = 0;
+        for (PropagationStatistics.Entry e : stats.getEntries()) {
+            Assert.assertTrue(e.getId() >= 0);
+            calls += e.getCallCount();
+            events += e.getEventCount();
+            fails += e.getFailCount();
+        }
+        Assert.assertTrue(calls > 0);
+        Assert.assertTrue(events > 0);
+        assertEquals(fails, solver.getFailCount());
+        List<PropagationStatistics.Entry> byClass = stats.getEntriesByClass();
+        long ccalls = 0;
+        for (PropagationStatistics.Entry e : byClass) {
+            assertEquals(e.getId(), -1);
+            ccalls += e.getCallCount();
+        }
+        assertEquals(ccalls, calls);
+        // snapshots are exported through measures
+        assertEquals(new Measures(solver.getMeasures()).getPropagationStatistics().getEntries().size(),
+                stats.getEntries().size());
+        solver.reset();
+        Assert.assertTrue(solver.getPropagationStatistics().isEmpty());
+        solver.setPropagationProfiling(false);
+        solver.findAllSolutions();
+        Assert.assertTrue(solver.getPropagationStatistics().isEmpty());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptiveScheduling() {
+        for (boolean adaptive : new boolean[]{false, true}) {
+            Model model = new Model(new DefaultSettings().setEnableAdaptivePropagation(adaptive));
+            IntVar[] x = model.intVarArray("x", 8, 0, 7);
+            for (int i = 0; i < 8; i++) {
+                for (int j = i + 1; j < 8; j++) {
+                    model.arithm(x[i], "!=", x[j]).post();
+                    model.arithm(x[i], "!=", x[j], "+", j - i).post();
+                    model.arithm(x[i], "!=", x[j], "+", i - j).post();
+                }
+            }
+            // an expensive propagator which never prunes
+            Propagator<IntVar> useless = new Propagator<IntVar>(x, QUADRATIC, false) {
+                @Override
+                public void propagate(int evtmask) {
+                }
+
+                @Override
+                public ESat isEntailed() {
+                    return TRUE;
+                }
+            };
+            new Constraint("useless", useless).post();
+            model.allDifferent(x, "AC").post();
+            Solver solver = model.getSolver();
+            solver.setSearch(minDomLBSearch(x));
+            assertEquals(solver.streamSolutions().count(), 92);
+            AdaptiveScheduler scheduler = solver.getEngine().getScheduler();
+            if (adaptive) {
+                Assert.assertTrue(scheduler.getNbDemotions() > 0);
+                Assert.assertTrue(scheduler.isDemoted(useless));
+            } else {
+                Assert.assertNull(scheduler);
+            }
+        }
+    }
 }
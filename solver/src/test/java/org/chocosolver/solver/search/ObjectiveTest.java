@@ -11,14 +11,17 @@ package org.chocosolver.solver.search;
 
 
 import org.chocosolver.cutoffseq.LubyCutoffStrategy;
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
 import org.chocosolver.solver.objective.OptimizationPolicy;
+import org.chocosolver.solver.objective.SharedBound;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.decision.DecisionMakerTest;
@@ -470,4 +473,63 @@ public class ObjectiveTest {
         assertEquals(model.getSolver().isStopCriterionMet(), false);
         assertEquals(solver.getBestSolutionValue(), 44);
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSharedBound() {
+        SharedBound bound = new SharedBound(ResolutionPolicy.MAXIMIZE);
+        assertEquals(bound.getVersion(), 0);
+        assertTrue(bound.offer(3));
+        assertFalse(bound.offer(2));
+        assertFalse(bound.offer(-1));
+        assertEquals(bound.getValue(), 3);
+        assertEquals(bound.getVersion(), 1);
+        assertTrue(bound.offer(Integer.MAX_VALUE));
+        assertEquals(bound.getValue(), Integer.MAX_VALUE);
+        assertEquals(bound.getVersion(), 2);
+        bound = new SharedBound(ResolutionPolicy.MINIMIZE);
+        assertTrue(bound.offer(-7));
+        assertFalse(bound.offer(0));
+        assertEquals(bound.getValue(), -7);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSharedBoundCut() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        model.setObjective(Model.MAXIMIZE, x);
+        IObjectiveManager<IntVar> om = model.getSolver().getObjectiveManager();
+        SharedBound bound = new SharedBound(ResolutionPolicy.MAXIMIZE);
+        om.setSharedBound(bound);
+        bound.offer(5);
+        model.getEnvironment().worldPush();
+        x.updateUpperBound(4, Cause.Null);
+        try {
+            om.postDynamicCut();
+            fail();
+        } catch (ContradictionException ignored) {
+        }
+        model.getEnvironment().worldPop();
+        assertEquals(om.getBestSolutionValue(), 5);
+        assertEquals(om.getForeignFailCount(), 1);
+        om.postDynamicCut();
+        assertEquals(x.getLB(), 6);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSharedBoundSolve() {
+        Model model = makeGolombRuler(6);
+        IObjectiveManager<IntVar> om = model.getSolver().getObjectiveManager();
+        SharedBound bound = new SharedBound(ResolutionPolicy.MINIMIZE);
+        om.setSharedBound(bound);
+        // a foreign solution better than the optimum prevents from finding any solution
+        bound.offer(17);
+        assertFalse(model.getSolver().solve());
+        model.getSolver().reset();
+        bound = new SharedBound(ResolutionPolicy.MINIMIZE);
+        om.setSharedBound(bound);
+        while (model.getSolver().solve()) ;
+        // own solutions are offered
+        assertEquals(bound.getValue(), 17);
+        assertEquals(model.getSolver().getBestSolutionValue(), 17);
+    }
 }
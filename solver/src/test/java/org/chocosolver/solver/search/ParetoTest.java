@@ -14,10 +14,13 @@ import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.objective.ParetoOptimizer;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.*;
+
 import static java.lang.Integer.parseInt;
 import static java.lang.Math.max;
 
@@ -85,4 +88,86 @@ public class ParetoTest {
             System.out.println(sol.getIntVal(totalProfit_1)+" // "+sol.getIntVal(totalProfit_2));
         }
     }
+
+    /**
+     * Random multi-objective problem: each objective is a weighted sum of the same boolean variables,
+     * whose Pareto front is compared with the one computed by enumerating all solutions
+     */
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFrontAgainstEnumeration() {
+        for (int nbObj = 1; nbObj <= 3; nbObj++) {
+            for (boolean maximize : new boolean[]{true, false}) {
+                for (long seed = 0; seed < 4; seed++) {
+                    int[][] all = enumerate(nbObj, seed);
+                    Set<String> expected = new HashSet<>();
+                    for (int[] a : all) {
+                        boolean dominated = false;
+                        for (int[] b : all) {
+                            boolean weak = true, strict = false;
+                            for (int i = 0; i < nbObj; i++) {
+                                int d = maximize ? b[i] - a[i] : a[i] - b[i];
+                                weak &= d >= 0;
+                                strict |= d > 0;
+                            }
+                            dominated |= weak && strict;
+                        }
+                        if (!dominated) {
+                            expected.add(Arrays.toString(a));
+                        }
+                    }
+                    Model model = new Model();
+                    IntVar[] objectives = knapsacks(model, nbObj, seed);
+                    int cstrs = model.getNbCstrs();
+                    List<Solution> front = model.getSolver().findParetoFront(objectives, maximize);
+                    Set<String> actual = new HashSet<>();
+                    for (Solution sol : front) {
+                        int[] point = new int[nbObj];
+                        for (int i = 0; i < nbObj; i++) {
+                            point[i] = sol.getIntVal(objectives[i]);
+                        }
+                        actual.add(Arrays.toString(point));
+                    }
+                    Assert.assertEquals(actual, expected);
+                    // only the dominance constraint has been added
+                    Assert.assertEquals(model.getNbCstrs(), cstrs + 1);
+                }
+            }
+        }
+    }
+
+    private static IntVar[] knapsacks(Model model, int nbObj, long seed) {
+        Random rnd = new Random(seed);
+        int n = 12;
+        BoolVar[] items = model.boolVarArray("b", n);
+        int[] weights = new int[n];
+        for (int k = 0; k < n; k++) {
+            weights[k] = 1 + rnd.nextInt(10);
+        }
+        model.scalar(items, weights, "<=", 25).post();
+        IntVar[] objectives = new IntVar[nbObj];
+        for (int i = 0; i < nbObj; i++) {
+            int[] profits = new int[n];
+            for (int k = 0; k < n; k++) {
+                profits[k] = 1 + rnd.nextInt(20);
+            }
+            objectives[i] = model.intVar("o" + i, 0, 20 * n);
+            model.scalar(items, profits, "=", objectives[i]).post();
+        }
+        model.getSolver().setSearch(Search.inputOrderLBSearch(items));
+        return objectives;
+    }
+
+    private static int[][] enumerate(int nbObj, long seed) {
+        Model model = new Model();
+        IntVar[] objectives = knapsacks(model, nbObj, seed);
+        List<int[]> points = new ArrayList<>();
+        while (model.getSolver().solve()) {
+            int[] point = new int[nbObj];
+            for (int i = 0; i < nbObj; i++) {
+                point[i] = objectives[i].getValue();
+            }
+            points.add(point);
+        }
+        return points.toArray(new int[0][]);
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.measure.PortfolioMetrics;
+import org.chocosolver.solver.trace.MetricsExporter;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class PortfolioMetricsTest {
+
+    private static ParallelPortfolio knapsacks(int n) {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < n; i++) {
+            pares.addModel(knapsack());
+        }
+        return pares;
+    }
+
+    private static void checkTotals(ParallelPortfolio pares, PortfolioMetrics.Snapshot snapshot) {
+        List<Model> models = pares.getModels();
+        long nodes = 0, fails = 0, solutions = 0, propagations = 0;
+        for (int w = 0; w < models.size(); w++) {
+            Solver s = models.get(w).getSolver();
+            Assert.assertEquals(snapshot.get(w, PortfolioMetrics.NODES), s.getNodeCount());
+            nodes += s.getNodeCount();
+            fails += s.getFailCount();
+            solutions += s.getSolutionCount();
+            propagations += s.getFixpointCount();
+        }
+        Assert.assertEquals(snapshot.total(PortfolioMetrics.NODES), nodes);
+        Assert.assertEquals(snapshot.total(PortfolioMetrics.FAILS), fails);
+        Assert.assertEquals(snapshot.total(PortfolioMetrics.SOLUTIONS), solutions);
+        Assert.assertEquals(snapshot.total(PortfolioMetrics.PROPAGATIONS), propagations);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTotals() {
+        ParallelPortfolio pares = knapsacks(4);
+        PortfolioMetrics metrics = pares.collectMetrics();
+        Assert.assertSame(pares.getMetrics(), metrics);
+        //noinspection StatementWithEmptyBody
+        while (pares.solve()) ;
+        PortfolioMetrics.Snapshot snapshot = metrics.snapshot();
+        checkTotals(pares, snapshot);
+        Assert.assertEquals(snapshot.getBestBound(), 51.);
+        Assert.assertTrue(snapshot.perSecond(PortfolioMetrics.NODES, null) > 0);
+        Assert.assertEquals(snapshot.perSecond(PortfolioMetrics.NODES, snapshot), 0.);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAttachAfterPrepare() {
+        ParallelPortfolio pares = knapsacks(2);
+        for (Model m : pares.getModels()) {
+            m.clearObjective();
+        }
+        pares.prepare();
+        PortfolioMetrics metrics = pares.collectMetrics();
+        Assert.assertTrue(pares.solve());
+        PortfolioMetrics.Snapshot snapshot = metrics.snapshot();
+        Assert.assertTrue(snapshot.total(PortfolioMetrics.SOLUTIONS) >= 1);
+        Assert.assertTrue(Double.isNaN(snapshot.getBestBound()));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLearntClauses() {
+        int n = 6;
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 2; i++) {
+            Model m = new Model("pigeons-" + i);
+            IntVar[] p = m.intVarArray("p", n, 0, n - 2);
+            for (int j = 0; j < n; j++) {
+                for (int k = j + 1; k < n; k++) {
+                    m.arithm(p[j], "!=", p[k]).post();
+                }
+            }
+            Solver s = m.getSolver();
+            s.setSearch(randomSearch(p, i));
+            s.setLearningSignedClauses();
+            s.setLubyRestart(20, new FailCounter(m, 0), 5000);
+            pares.addModel(m);
+        }
+        PortfolioMetrics metrics = pares.collectMetrics();
+        Assert.assertFalse(pares.solve());
+        PortfolioMetrics.Snapshot snapshot = metrics.snapshot();
+        checkTotals(pares, snapshot);
+        Assert.assertTrue(snapshot.total(PortfolioMetrics.LEARNT) > 0);
+        Assert.assertTrue(snapshot.toJson(null).contains("\"name\":\"pigeons-1\""));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testToFile() throws IOException {
+        Path json = Files.createTempFile("metrics", ".jsonl");
+        Path prom = Files.createTempFile("metrics", ".prom");
+        try {
+            ParallelPortfolio pares = knapsacks(2);
+            PortfolioMetrics metrics = pares.collectMetrics();
+            try (MetricsExporter e1 = MetricsExporter.toFile(metrics, json, MetricsExporter.Format.JSON_LINES, 1);
+                 MetricsExporter e2 = MetricsExporter.toFile(metrics, prom, MetricsExporter.Format.PROMETHEUS, 1)) {
+                Assert.assertEquals(e1.getPort(), -1);
+                //noinspection StatementWithEmptyBody
+                while (pares.solve()) ;
+            }
+            List<String> lines = Files.readAllLines(json);
+            Assert.assertFalse(lines.isEmpty());
+            String last = lines.get(lines.size() - 1);
+            Assert.assertTrue(last.startsWith("{\"time\":"));
+            Assert.assertTrue(last.contains("\"best\":51"));
+            Assert.assertTrue(last.contains("\"nodes\":" + metrics.snapshot().total(PortfolioMetrics.NODES)));
+            String text = new String(Files.readAllBytes(prom), StandardCharsets.UTF_8);
+            Assert.assertTrue(text.contains("# TYPE choco_nodes_total counter"));
+            Assert.assertTrue(text.contains("choco_best_bound 51"));
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(prom);
+        }
+    }
+
+    private static String scrape(URL url) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = url.openStream()) {
+            byte[] buffer = new byte[1024];
+            int nb;
+            while ((nb = in.read(buffer)) > 0) {
+                body.write(buffer, 0, nb);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testToHttp() throws IOException {
+        ParallelPortfolio pares = knapsacks(2);
+        PortfolioMetrics metrics = pares.collectMetrics();
+        try (MetricsExporter exporter = MetricsExporter.toHttp(metrics, 0)) {
+            //noinspection StatementWithEmptyBody
+            while (pares.solve()) ;
+            for (int i = 0; i < 2; i++) {
+                URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+                String text = scrape(url);
+                Assert.assertTrue(text.contains("choco_solutions_total{worker="));
+                Assert.assertTrue(text.contains("choco_best_bound 51"));
+            }
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testToHttpIdleClient() throws IOException {
+        ParallelPortfolio pares = knapsacks(2);
+        PortfolioMetrics metrics = pares.collectMetrics();
+        MetricsExporter exporter = MetricsExporter.toHttp(metrics, 0);
+        try (Socket idle = new Socket(InetAddress.getLoopbackAddress(), exporter.getPort())) {
+            // the idle client is dropped after a while, then the scrape is served
+            URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+            Assert.assertTrue(scrape(url).contains("choco_solutions_total"));
+        }
+        try (Socket idle = new Socket(InetAddress.getLoopbackAddress(), exporter.getPort())) {
+            long start = System.currentTimeMillis();
+            exporter.close();
+            Assert.assertTrue(System.currentTimeMillis() - start < 2000);
+            // the connection is closed by the exporter
+            Assert.assertEquals(idle.getInputStream().read(), -1);
+        }
+    }
+}
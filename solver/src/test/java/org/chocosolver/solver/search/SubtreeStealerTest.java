@@ -0,0 +1,120 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.move.MoveSteal;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class SubtreeStealerTest {
+
+    private static Model pigeons(int n, boolean easy) {
+        Model m = new Model("pigeons");
+        IntVar[] p = m.intVarArray("p", n, 0, n - 2);
+        for (int j = 0; j < n; j++) {
+            for (int k = j + 1; k < n; k++) {
+                m.arithm(p[j], "!=", p[k]).post();
+            }
+        }
+        m.getSolver().setSearch(inputOrderLBSearch(p));
+        if (easy) {
+            // fails on each branch where p[0] != p[1] is not yet entailed: exhausted quickly
+            m.arithm(p[0], "=", p[1]).post();
+        }
+        return m;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnsat() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        pares.addModel(pigeons(8, false));
+        pares.addModel(pigeons(8, true), false);
+        pares.addModel(pigeons(8, true), false);
+        pares.stealSubtrees();
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(pares.getSubtreeStealer().getNbStolen() > 0);
+        for (Model m : pares.getModels()) {
+            Assert.assertTrue(m.getSolver().getMove() instanceof MoveSteal);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnsatReliableThieves() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        pares.addModel(pigeons(8, false));
+        pares.addModel(pigeons(8, false));
+        pares.addModel(pigeons(8, true), false);
+        pares.stealSubtrees();
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(pares.getSubtreeStealer().getNbStolen() > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOptimization() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 3; i++) {
+            pares.addModel(ProblemMaker.makeGolombRuler(8));
+            if (i == 2) {
+                Solver s = pares.getModels().get(i).getSolver();
+                // a restarting worker only steals subtrees
+                s.setLubyRestart(50, new FailCounter(s.getModel(), 0), 1000);
+            }
+        }
+        pares.stealSubtrees();
+        int best = Integer.MAX_VALUE;
+        while (pares.solve()) {
+            best = pares.getBestModel().getSolver().getBestSolutionValue().intValue();
+        }
+        Assert.assertEquals(best, 34);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testKnapsack() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 4; i++) {
+            Model m = knapsack();
+            if (i > 0) {
+                m.getSolver().setSearch(randomSearch(m.retrieveIntVars(true), i));
+            }
+            pares.addModel(m);
+        }
+        pares.stealSubtrees();
+        int best = 0;
+        while (pares.solve()) {
+            best = pares.getBestModel().getSolver().getBestSolutionValue().intValue();
+        }
+        Assert.assertEquals(best, 51);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testNoNogoods() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        pares.addModel(pigeons(5, false));
+        pares.stealSubtrees();
+        pares.stealNogoodsOnRestarts();
+        pares.solve();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.neighbors.NeighborhoodPool;
+import org.chocosolver.solver.search.loop.move.MoveLNS;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class NeighborhoodPoolTest {
+
+    private static IntVar[] decisions(Model model) {
+        return Arrays.stream(model.getSolver().getSearch().getVariables())
+                .map(IntVar.class::cast)
+                .toArray(IntVar[]::new);
+    }
+
+    private static NeighborhoodPool pool() {
+        return new NeighborhoodPool(0, 100)
+                .addNeighborhood("random", m -> INeighborFactory.random(0, decisions(m)))
+                .addNeighborhood("pgn", m -> INeighborFactory.propagationGuided(0, decisions(m)));
+    }
+
+    private static void check(NeighborhoodPool pool, ParallelPortfolio pares, int best) {
+        Assert.assertEquals(pool.getNbNeighborhoods(), 2);
+        long runs = 0;
+        for (int i = 0; i < pool.getNbNeighborhoods(); i++) {
+            Assert.assertTrue(pool.getNbImprovements(i) <= pool.getNbRuns(i));
+            runs += pool.getNbRuns(i);
+        }
+        Assert.assertTrue(runs > 0);
+        IntVar objective = (IntVar) pares.getModels().get(0).getObjective();
+        Assert.assertEquals(pool.getIncumbent().getIntVal(objective), best);
+        for (Model m : pares.getModels()) {
+            Assert.assertTrue(m.getSolver().getMove() instanceof MoveLNS);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testKnapsack() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 3; i++) {
+            Model m = knapsack();
+            m.getSolver().setSearch(randomSearch(decisions(m), i));
+            m.getSolver().limitTime(1000);
+            pares.addModel(m);
+        }
+        NeighborhoodPool pool = pool();
+        pares.searchLNS(pool);
+        int best = 0;
+        while (pares.solve()) {
+            best = pares.getBestModel().getSolver().getBestSolutionValue().intValue();
+        }
+        Assert.assertEquals(best, 51);
+        check(pool, pares, best);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testGolomb() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 3; i++) {
+            Model m = ProblemMaker.makeGolombRuler(8);
+            m.getSolver().setSearch(inputOrderLBSearch((IntVar[]) m.getHook("ticks")));
+            m.getSolver().limitTime(1000);
+            pares.addModel(m);
+        }
+        NeighborhoodPool pool = pool();
+        pares.searchLNS(pool);
+        int best = Integer.MAX_VALUE;
+        while (pares.solve()) {
+            best = pares.getBestModel().getSolver().getBestSolutionValue().intValue();
+        }
+        Assert.assertTrue(best >= 34);
+        check(pool, pares, best);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testSatisfaction() {
+        Model m = knapsack();
+        m.clearObjective();
+        pool().add(m);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testLateNeighborhood() {
+        NeighborhoodPool pool = pool();
+        pool.add(knapsack());
+        pool.addNeighborhood("black box", m -> INeighborFactory.blackBox(decisions(m)));
+    }
+}
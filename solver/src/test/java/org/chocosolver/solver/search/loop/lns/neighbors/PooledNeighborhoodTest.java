@@ -0,0 +1,79 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class PooledNeighborhoodTest {
+
+    /**
+     * A neighbor which records whether it built the last fragment
+     */
+    private static final class Kind implements INeighbor {
+        private final boolean complete;
+        boolean drawn;
+
+        Kind(boolean complete) {
+            this.complete = complete;
+        }
+
+        @Override
+        public void recordSolution() {
+        }
+
+        @Override
+        public void fixSomeVariables() {
+            drawn = true;
+        }
+
+        @Override
+        public void loadFromSolution(Solution solution) {
+        }
+
+        @Override
+        public boolean isSearchComplete() {
+            return complete;
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSearchComplete() throws ContradictionException {
+        Model model = new Model();
+        NeighborhoodPool pool = new NeighborhoodPool(0, 100)
+                .addNeighborhood("complete", m -> new Kind(true))
+                .addNeighborhood("partial", m -> new Kind(false));
+        Kind complete = new Kind(true);
+        Kind partial = new Kind(false);
+        PooledNeighborhood neighbor = new PooledNeighborhood(pool, model, new INeighbor[]{complete, partial});
+        // no fragment built yet
+        Assert.assertFalse(neighbor.isSearchComplete());
+        int nbPartial = 0;
+        for (int i = 0; i < 50; i++) {
+            complete.drawn = partial.drawn = false;
+            neighbor.fixSomeVariables();
+            Assert.assertTrue(complete.drawn ^ partial.drawn);
+            // a complete neighbor of another kind must not end the search
+            Assert.assertEquals(neighbor.isSearchComplete(), complete.drawn);
+            if (partial.drawn) {
+                nbPartial++;
+            }
+        }
+        Assert.assertTrue(nbPartial > 0 && nbPartial < 50);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class CriterionBasedStrategyTest {
+
+    /**
+     * Check that the variable selected by the heap has the largest weight,
+     * and that no variable is forgotten
+     */
+    private static class Checker extends AbstractStrategy<IntVar> {
+
+        private final AbstractCriterionBasedStrategy strategy;
+
+        private int decisions;
+
+        Checker(AbstractCriterionBasedStrategy strategy) {
+            super(strategy.getVariables());
+            this.strategy = strategy;
+        }
+
+        @Override
+        public boolean init() {
+            return strategy.init();
+        }
+
+        @Override
+        public void remove() {
+            strategy.remove();
+        }
+
+        @Override
+        public Decision<IntVar> getDecision() {
+            Decision<IntVar> d = strategy.getDecision();
+            if (d != null) {
+                double max = 0.;
+                for (IntVar v : vars) {
+                    if (!v.isInstantiated()) {
+                        max = Math.max(max, strategy.weight(v));
+                    }
+                }
+                Assert.assertEquals(strategy.weight(d.getDecisionVariable()), max, max * 1e-6);
+                decisions++;
+            } else {
+                for (IntVar v : vars) {
+                    Assert.assertTrue(v.isInstantiated(), v.getName());
+                }
+            }
+            return d;
+        }
+    }
+
+    private static AbstractCriterionBasedStrategy make(String name, IntVar[] vars) {
+        switch (name) {
+            case "wdeg":
+                return new DomOverWDeg(vars, 0, new IntDomainMin());
+            case "wdegref":
+                return new DomOverWDegRef(vars, 0, new IntDomainMin());
+            case "chs":
+                return new ConflictHistorySearch(vars, 0, new IntDomainMin());
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    @DataProvider
+    public Object[][] strategies() {
+        String[] names = {"wdeg", "wdegref", "chs"};
+        Object[][] params = new Object[names.length * 3][];
+        for (int i = 0; i < names.length; i++) {
+            for (int mode = 0; mode < 3; mode++) {
+                params[3 * i + mode] = new Object[]{names[i], mode};
+            }
+        }
+        return params;
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "strategies")
+    public void testSelection(String name, int mode) {
+        Model model = ProblemMaker.makeGolombRuler(7);
+        IntVar[] ticks = (IntVar[]) model.getHook("ticks");
+        IntVar[] diffs = (IntVar[]) model.getHook("diffs");
+        IntVar[] vars = new IntVar[ticks.length + diffs.length];
+        System.arraycopy(ticks, 0, vars, 0, ticks.length);
+        System.arraycopy(diffs, 0, vars, ticks.length, diffs.length);
+        Solver solver = model.getSolver();
+        Checker checker = new Checker(make(name, vars));
+        solver.setSearch(checker);
+        if (mode > 0) {
+            solver.setLubyRestart(10, new FailCounter(model, 0), 1000);
+        }
+        if (mode > 1) {
+            // nogoods are attached to variables during search
+            solver.setNoGoodRecordingFromRestarts();
+            solver.setNoGoodRecordingFromSolutions(ticks);
+        }
+        int best = Integer.MAX_VALUE;
+        while (solver.solve()) {
+            best = ticks[ticks.length - 1].getValue();
+        }
+        Assert.assertEquals(best, 25);
+        Assert.assertTrue(checker.decisions > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDuplicates() {
+        Model model = ProblemMaker.makeCostasArrays(7);
+        IntVar[] vars = model.retrieveIntVars(true);
+        IntVar[] dup = new IntVar[vars.length * 2];
+        System.arraycopy(vars, 0, dup, 0, vars.length);
+        System.arraycopy(vars, 0, dup, vars.length, vars.length);
+        Solver solver = model.getSolver();
+        Checker checker = new Checker(make("wdeg", dup));
+        solver.setSearch(checker);
+        while (solver.solve()) ;
+        Model ref = ProblemMaker.makeCostasArrays(7);
+        ref.getSolver().setSearch(Search.inputOrderLBSearch(ref.retrieveIntVars(true)));
+        Assert.assertEquals(solver.getSolutionCount(), ref.getSolver().findAllSolutions().size());
+        Assert.assertTrue(checker.decisions > 0);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.strategy;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class WarmStartTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFirstSolution() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 3, 0, 5);
+        model.allDifferent(x).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(x));
+        solver.addHint(x[1], 4);
+        solver.addHint(x[0], 3);
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(x[0].getValue(), 3);
+        Assert.assertEquals(x[1].getValue(), 4);
+        Assert.assertEquals(x[2].getValue(), 0);
+        Assert.assertEquals(solver.getFailCount(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCompleteness() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 4, 0, 3);
+        model.allDifferent(x).post();
+        model.arithm(x[0], "<", 2).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(x));
+        solver.addHint(x[0], 3); // cannot be satisfied
+        solver.addHint(x[1], 2);
+        solver.addHint(x[1], 1); // already hinted
+        Assert.assertEquals(solver.streamSolutions().count(), 12);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveHints() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 3, 0, 5);
+        Solver solver = model.getSolver();
+        AbstractStrategy<IntVar> search = Search.inputOrderLBSearch(x);
+        solver.setSearch(search);
+        solver.addHint(x[0], 5);
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(x[0].getValue(), 5);
+        Assert.assertTrue(solver.getSearch() instanceof WarmStart);
+        solver.reset();
+        solver.removeHints();
+        Assert.assertSame(solver.getSearch(), search);
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(x[0].getValue(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testResolveAfterModification() {
+        Model model = ProblemMaker.makeGolombRuler(7);
+        IntVar[] ticks = (IntVar[]) model.getHook("ticks");
+        IntVar[] diffs = (IntVar[]) model.getHook("diffs");
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(ticks));
+        Solution best = solver.findOptimalSolution(ticks[6], false);
+        Assert.assertEquals(best.getIntVal(ticks[6]), 25);
+
+        // forbid the first difference of the optimal solution and warm start from it
+        solver.reset();
+        Constraint forbid = model.arithm(diffs[0], "!=", best.getIntVal(diffs[0]));
+        forbid.post();
+        solver.addHints(best);
+        Solution next = solver.findOptimalSolution(ticks[6], false);
+        Assert.assertNotEquals(next.getIntVal(diffs[0]), best.getIntVal(diffs[0]));
+
+        Model scratch = ProblemMaker.makeGolombRuler(7);
+        IntVar[] sticks = (IntVar[]) scratch.getHook("ticks");
+        IntVar[] sdiffs = (IntVar[]) scratch.getHook("diffs");
+        scratch.arithm(sdiffs[0], "!=", best.getIntVal(diffs[0])).post();
+        scratch.getSolver().setSearch(Search.inputOrderLBSearch(sticks));
+        Solution expected = scratch.getSolver().findOptimalSolution(sticks[6], false);
+        Assert.assertEquals(next.getIntVal(ticks[6]), expected.getIntVal(sticks[6]));
+
+        // back to the original model
+        solver.reset();
+        model.unpost(forbid);
+        solver.removeHints();
+        solver.addHints(next);
+        Assert.assertEquals(solver.findOptimalSolution(ticks[6], false).getIntVal(ticks[6]), 25);
+    }
+}
@@ -11,9 +11,14 @@ package org.chocosolver.solver.variables.fast;
 
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseConstraint;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.solver.variables.impl.BitsetIntVarImpl;
 import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.iterators.DisposableValueIterator;
@@ -22,6 +27,11 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeS
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * <br/>
  *
@@ -747,6 +757,61 @@ public class BitsetIntVarImplTest {
         Assert.assertEquals(new IntIterableRangeSet(x), check);
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveValuesNotifiesOnce() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("X", 0, 10, false);
+        List<IEventType> events = new ArrayList<>();
+        x.addMonitor((IVariableMonitor<IntVar>) (v, e) -> events.add(e));
+        // bounds are moved and holes are punched at 4, 6 and 7
+        Assert.assertTrue(x.removeValues(new IntIterableRangeSet(new int[]{0, 1, 4, 6, 7, 10}), Cause.Null));
+        Assert.assertEquals(events, Arrays.asList(IntEventType.BOUND, IntEventType.REMOVE));
+        Assert.assertEquals(new IntIterableRangeSet(x), new IntIterableRangeSet(new int[]{2, 3, 5, 8, 9}));
+        events.clear();
+        Assert.assertTrue(x.removeValues(new IntIterableRangeSet(new int[]{3, 5}), Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.REMOVE));
+        events.clear();
+        Assert.assertTrue(x.removeAllValuesBut(new IntIterableRangeSet(new int[]{8, 9, 10}), Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.INCLOW));
+        events.clear();
+        Assert.assertTrue(x.removeValues(new IntIterableRangeSet(new int[]{9}), Cause.Null));
+        Assert.assertEquals(events, Collections.singletonList(IntEventType.INSTANTIATE));
+        events.clear();
+        Assert.assertFalse(x.removeValues(new IntIterableRangeSet(new int[]{0, 9}), Cause.Null));
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveAllValuesButNotifiesHoles() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("X", 0, 10, false);
+        List<IEventType> events = new ArrayList<>();
+        x.addMonitor((IVariableMonitor<IntVar>) (v, e) -> events.add(e));
+        Assert.assertTrue(x.removeAllValuesBut(new IntIterableRangeSet(new int[]{2, 5, 8}), Cause.Null));
+        Assert.assertEquals(events, Arrays.asList(IntEventType.BOUND, IntEventType.REMOVE));
+        Assert.assertEquals(new IntIterableRangeSet(x), new IntIterableRangeSet(new int[]{2, 5, 8}));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRemoveValuesWakesUpLearntClauses() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("X", 0, 10, false);
+        IntVar y = model.intVar("Y", 0, 10, false);
+        ClauseConstraint clauses = model.getClauseConstraint();
+        Solver solver = model.getSolver();
+        solver.getEngine().initialize();
+        // learnt clause: X = 5 or Y = 1
+        clauses.addClause(new IntVar[]{x, y},
+                new IntIterableRangeSet[]{new IntIterableRangeSet(5), new IntIterableRangeSet(1)});
+        Assert.assertEquals(clauses.getClauseStore().getNbLearntClauses(), 1);
+        solver.getEngine().propagate();
+        Assert.assertFalse(y.isInstantiated());
+        // the lower bound of X is increased and 5 is removed in the same batch
+        Assert.assertTrue(x.removeValues(new IntIterableRangeSet(new int[]{0, 5}), Cause.Null));
+        solver.getEngine().propagate();
+        Assert.assertTrue(y.isInstantiatedTo(1));
+    }
+
     @Test(groups = "10s", timeOut = 120000)
     public void testRAL1() throws ContradictionException {
         int ub = 115200;
@@ -0,0 +1,80 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class IndexedMaxHeapTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNominal() {
+        IndexedMaxHeap heap = new IndexedMaxHeap(4);
+        Assert.assertTrue(heap.isEmpty());
+        heap.insert(0, 1.);
+        heap.insert(1, 3.);
+        heap.insert(2, 2.);
+        Assert.assertEquals(heap.size(), 3);
+        Assert.assertEquals(heap.top(), 1);
+        heap.update(0, 4.);
+        Assert.assertEquals(heap.top(), 0);
+        heap.remove(0);
+        Assert.assertFalse(heap.contains(0));
+        Assert.assertEquals(heap.top(), 1);
+        heap.insert(1, .5);
+        Assert.assertEquals(heap.top(), 2);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        int n = 50;
+        Random rnd = new Random(0);
+        IndexedMaxHeap heap = new IndexedMaxHeap(n);
+        double[] keys = new double[n];
+        boolean[] in = new boolean[n];
+        for (int k = 0; k < 10000; k++) {
+            int e = rnd.nextInt(n);
+            if (rnd.nextInt(4) == 0) {
+                heap.remove(e);
+                in[e] = false;
+            } else {
+                keys[e] = rnd.nextInt(20);
+                heap.insert(e, keys[e]);
+                in[e] = true;
+            }
+            double max = Double.NEGATIVE_INFINITY;
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(heap.contains(i), in[i]);
+                if (in[i]) {
+                    max = Math.max(max, keys[i]);
+                    size++;
+                }
+            }
+            Assert.assertEquals(heap.size(), size);
+            if (size > 0) {
+                Assert.assertEquals(heap.key(heap.top()), max);
+                for (int pos = 1; pos < size; pos++) {
+                    Assert.assertTrue(heap.key(heap.get((pos - 1) / 2)) >= heap.key(heap.get(pos)));
+                }
+            }
+        }
+    }
+}
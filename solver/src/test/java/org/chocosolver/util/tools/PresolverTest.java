@@ -0,0 +1,257 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.tools;
+
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.nary.clauses.PropSignedClause;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <br/>
+ *
+ * @since 4.10.7
+ */
+public class PresolverTest {
+
+    private static Model model(boolean presolve) {
+        return new Model("presolve", new DefaultSettings().setEnablePresolve(presolve));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFixedAndAliases() {
+        for (boolean presolve : new boolean[]{false, true}) {
+            Model model = model(presolve);
+            IntVar x = model.intVar("x", 0, 5);
+            IntVar y = model.intVar("y", 0, 5);
+            IntVar z = model.intVar("z", 0, 5);
+            IntVar c = model.intVar("c", 0, 5);
+            model.arithm(x, "=", y).post();
+            model.arithm(c, "=", 3).post();
+            model.scalar(new IntVar[]{x, y, z, c}, new int[]{1, 2, 3, 1}, "<=", 12).post();
+            Solver solver = model.getSolver();
+            Assert.assertEquals(solver.findAllSolutions().size(), 10);
+            if (presolve) {
+                Presolver presolver = solver.getPresolver();
+                Assert.assertNotNull(presolver);
+                Assert.assertEquals(presolver.getNbUnaries(), 1);
+                Assert.assertEquals(presolver.getNbFixed(), 1);
+                Assert.assertEquals(presolver.getNbAliases(), 1);
+            } else {
+                Assert.assertNull(solver.getPresolver());
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnariesOnBoundedDomain() {
+        for (boolean presolve : new boolean[]{false, true}) {
+            Model model = model(presolve);
+            IntVar x = model.intVar("x", 0, 100_000, true);
+            // the value cannot be removed from the bounded domain, the constraint has to be kept
+            model.arithm(x, "!=", 5).post();
+            model.arithm(x, "<=", 5).post();
+            model.arithm(x, ">=", 5).post();
+            Assert.assertFalse(model.getSolver().solve());
+            if (presolve) {
+                Assert.assertEquals(model.getSolver().getPresolver().getNbUnaries(), 2);
+            }
+        }
+        for (boolean presolve : new boolean[]{false, true}) {
+            Model model = model(presolve);
+            IntVar x = model.intVar("x", 0, 100_000, true);
+            model.arithm(x, "!=", 5).post();
+            model.arithm(x, "<=", 6).post();
+            model.arithm(x, ">=", 4).post();
+            Assert.assertEquals(model.getSolver().findAllSolutions().size(), 2);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDominated() {
+        Model model = model(true);
+        IntVar[] xs = model.intVarArray("x", 3, 0, 5);
+        model.scalar(xs, new int[]{1, 2, 3}, "<=", 12).post();
+        model.scalar(xs, new int[]{1, 2, 3}, "<=", 10).post();
+        model.scalar(xs, new int[]{2, 4, 6}, "<=", 21).post();
+        model.scalar(xs, new int[]{-1, -2, -3}, ">=", -11).post();
+        model.scalar(xs, new int[]{1, 2, 1}, ">=", 2).post();
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbDominated(), 3);
+        Assert.assertEquals(model.getNbCstrs(), 2);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), count(xs, 10));
+    }
+
+    private static int count(IntVar[] xs, int b) {
+        int n = 0;
+        for (int i = 0; i <= 5; i++) {
+            for (int j = 0; j <= 5; j++) {
+                for (int k = 0; k <= 5; k++) {
+                    if (i + 2 * j + 3 * k <= b && i + 2 * j + k >= 2) {
+                        n++;
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMergeIntoEquality() {
+        Model model = model(true);
+        IntVar[] xs = model.intVarArray("x", 3, 0, 5);
+        model.scalar(xs, new int[]{1, 2, 3}, "<=", 7).post();
+        model.scalar(xs, new int[]{1, 2, 3}, ">=", 7).post();
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbDominated(), 1);
+        Assert.assertEquals(model.getNbCstrs(), 1);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 7);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMergeIntoEqualityOnWideDomains() {
+        Model model = model(true);
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 2_000_000_000);
+        IntVar w = model.intVar("w", 0, 2_000_000_000);
+        model.arithm(y, "=", w).post();
+        // once y is aliased, the sums of the bounds of the equality do not fit into an int
+        model.scalar(new IntVar[]{x, y}, new int[]{1, 1000}, "<=", 2005).post();
+        model.scalar(new IntVar[]{x, y}, new int[]{1, 1000}, ">=", 2005).post();
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbDominated(), 1);
+        Assert.assertEquals(model.getNbCstrs(), 2);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMergeIntoEqualityNotRebuilt() {
+        Model model = model(true);
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10_000_000);
+        IntVar w = model.intVar("w", 0, 10_000_000);
+        model.arithm(y, "=", model.intVar(10_000_000)).post();
+        IntVar[] vars = {x, y, w};
+        int[] coeffs = {1, 1000, -1000};
+        model.scalar(vars, coeffs, "<=", 3).post();
+        model.scalar(vars, coeffs, ">=", 3).post();
+        // once y is eliminated, the bound of the equality does not fit into an int: both inequalities are kept
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbDominated(), 0);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 1);
+        Assert.assertEquals(x.getValue(), 3);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCliques() {
+        Model model = model(true);
+        BoolVar[] bs = model.boolVarArray("b", 6);
+        for (int i = 0; i < 5; i++) {
+            for (int j = i + 1; j < 5; j++) {
+                model.arithm(bs[i], "+", bs[j], "<=", 1).post();
+            }
+        }
+        model.arithm(bs[4], "+", bs[5], "<=", 1).post();
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbCliques(), 1);
+        Assert.assertEquals(presolver.getNbInCliques(), 10);
+        Assert.assertEquals(model.getNbCstrs(), 2);
+        // 1 + 5 for b0..b4, times 2 for b5 but b4 and b5 cannot be both true
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 11);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCliquesOfClauses() {
+        Model model = model(true);
+        BoolVar[] bs = model.boolVarArray("b", 5);
+        IntIterableRangeSet zero = new IntIterableRangeSet(0);
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                if (i == 0) {
+                    model.getClauseConstraint().addClause(new IntVar[]{bs[i], bs[j]}, new IntIterableRangeSet[]{zero, zero});
+                } else {
+                    new Constraint("SC", PropSignedClause.makeFromIn(
+                            new IntVar[]{bs[i], bs[j]}, new IntIterableRangeSet[]{zero, zero})).post();
+                }
+            }
+        }
+        // not a clique
+        model.getClauseConstraint().addClause(new IntVar[]{bs[3], bs[4]}, new IntIterableRangeSet[]{zero, new IntIterableRangeSet(1)});
+        Presolver presolver = new Presolver(model).presolve();
+        Assert.assertEquals(presolver.getNbCliques(), 1);
+        // the clauses of the store are kept
+        Assert.assertEquals(presolver.getNbInCliques(), 3);
+        Assert.assertEquals(model.getClauseConstraint().getClauseStore().getNbClauses(), 4);
+        // 1 + 4 for b0..b3, b4 is true if b3 is
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 9);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEntailed() {
+        Model model = model(true);
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        model.arithm(x, "+", y, "<=", 10).post();
+        model.sum(new IntVar[]{x, y}, "<=", 12).post();
+        model.arithm(x, "<", y).post();
+        Solver solver = model.getSolver();
+        Assert.assertEquals(solver.findAllSolutions().size(), 15);
+        Assert.assertEquals(solver.getPresolver().getNbEntailed(), 2);
+        Assert.assertEquals(model.getNbCstrs(), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 50; seed++) {
+            long[] counts = new long[2];
+            for (int p = 0; p < 2; p++) {
+                rnd.setSeed(seed);
+                Model model = model(p == 1);
+                int n = 4;
+                IntVar[] xs = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    xs[i] = rnd.nextInt(4) == 0 ? model.intVar(rnd.nextInt(3)) : model.intVar("x" + i, 0, 3);
+                }
+                BoolVar[] bs = model.boolVarArray("b", 4);
+                for (int c = 0; c < 6; c++) {
+                    int[] coeffs = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        coeffs[i] = rnd.nextInt(5) - 2;
+                    }
+                    String op = new String[]{"<=", ">=", "=", "!="}[rnd.nextInt(4)];
+                    model.scalar(xs, coeffs, op, rnd.nextInt(7) - 3).post();
+                    switch (rnd.nextInt(3)) {
+                        case 0:
+                            model.arithm(xs[rnd.nextInt(n)], "=", xs[rnd.nextInt(n)]).post();
+                            break;
+                        case 1:
+                            model.arithm(bs[rnd.nextInt(4)], "+", bs[rnd.nextInt(4)], "<=", 1).post();
+                            break;
+                        default:
+                            model.arithm(bs[rnd.nextInt(4)], "<=", xs[rnd.nextInt(n)]).post();
+                    }
+                }
+                Solver solver = model.getSolver();
+                while (solver.solve()) ;
+                counts[p] = solver.getSolutionCount();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed " + seed);
+        }
+    }
+}